@@ -1,115 +1,180 @@
 /*******************************************************************************
  * Copyright 2013, 2014 Institute of Mathematics and Computer Science, University of Latvia
  * Author: Pēteris Paikens
- * 
+ *
  *     This program is free software: you can redistribute it and/or modify
  *     it under the terms of the GNU General Public License as published by
  *     the Free Software Foundation, either version 3 of the License, or
  *     (at your option) any later version.
- * 
+ *
  *     This program is distributed in the hope that it will be useful,
  *     but WITHOUT ANY WARRANTY; without even the implied warranty of
  *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
  *     GNU General Public License for more details.
- * 
+ *
  *     You should have received a copy of the GNU General Public License
  *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
  *******************************************************************************/
 package lv.semti.morphology.analyzer;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 
 import lv.semti.morphology.lexicon.Ending;
 
+/**
+ * All the endings of a lexicon, for finding the endings that a word may have. The endings are read backwards into
+ * an automaton over the characters that occur in them: a state for each distinct ending text, with the transitions
+ * of all states in one dense table, and a word is run through it from its last character. The state that the word
+ * stops in has all the endings that the word ends with, grouped by length - longest first, and within a length in
+ * the order of the lexicon.
+ *
+ * An ending is matched only if the word is at least two characters longer, so that the stem has at least two
+ * characters - except the empty endings, which any word has. The automaton is immutable and can be used by any
+ * number of threads.
+ */
 public class AllEndings {
-	private ArrayList<Ending> endings;
-	private node root = new node(' ');
-	
+	private static final int NONE = -1;
+	private static final int ROOT = 0;
+
+	private final int[] charClass; // index in a row of the transition table by character, NONE for other characters
+	private final int classes;
+	private final int[] transitions; // state * classes + class -> state
+	private final Ending[][] endings; // per state, the endings that it matches, longest first
+	private final int[][] bounds; // per state and length, the number of endings at least that long
+	private final List<Ending>[] lists; // the same endings, for matchedEndings
+	private final HashMap<Integer, Ending> byID = new HashMap<>();
+
+	@SuppressWarnings("unchecked")
 	public AllEndings(List<Ending> endingsource) {
-		endings = new ArrayList<Ending>();
-		endings.addAll(endingsource);
-		for (Ending e : endingsource) { add(e); };
-		root.populate(new LinkedList<Ending>());
-	}
-	
-	public List<Ending> matchedEndings(String word) {
-		int i=word.length();
-		
-		node t=root;
-		node p=root;
-		while(i>1)
-		{
-			p=t;
-			t=t.firstChild;
-			while (t!=null) {
-				if (t.symbol==word.charAt(i-1)) {break;}
-				t=t.nextSibling;
-			}
-			if (t==null) break;
-			i--;
+		char maxChar = 0;
+		for (Ending e : endingsource) {
+			String s = e.getEnding();
+			for (int i = 0; i < s.length(); i++)
+				if (s.charAt(i) > maxChar) maxChar = s.charAt(i);
+			byID.put(e.getID(), e); // as before, of several endings with one ID the last one is found
 		}
-		return p.endings;
-	}
-	
-	public Ending endingByID(int nr) {
-		Ending rezults = null;
-		for (Ending ending : endings) {
-			if (ending.getID() == nr)
-				rezults = ending;
+		charClass = new int[maxChar + 1];
+		Arrays.fill(charClass, NONE);
+		int classCount = 0;
+		for (Ending e : endingsource) {
+			String s = e.getEnding();
+			for (int i = 0; i < s.length(); i++)
+				if (charClass[s.charAt(i)] == NONE) charClass[s.charAt(i)] = classCount++;
 		}
-		return rezults;
-	}
-	
-	private class node  {
-		public char symbol;
-		public node firstChild;
-		public node nextSibling;
-		public ArrayList<Ending> endings;
-		
-		private node(char c)
-		{
-			symbol=c;
-			firstChild=null;
-			nextSibling=null;
-			endings = new ArrayList<Ending>();
+		classes = Math.max(classCount, 1);
+
+		// the trie of the reversed endings, with the endings of each state in the order of the lexicon
+		int[] table = new int[16 * classes];
+		Arrays.fill(table, NONE);
+		ArrayList<ArrayList<Ending>> own = new ArrayList<>();
+		ArrayList<Integer> parents = new ArrayList<>();
+		ArrayList<Integer> depths = new ArrayList<>();
+		own.add(new ArrayList<>());
+		parents.add(NONE);
+		depths.add(0);
+		for (Ending e : endingsource) {
+			String s = e.getEnding();
+			int state = ROOT;
+			for (int i = s.length() - 1; i >= 0; i--) {
+				int cell = state * classes + charClass[s.charAt(i)];
+				if (table[cell] == NONE) {
+					int next = own.size();
+					own.add(new ArrayList<>());
+					parents.add(state);
+					depths.add(depths.get(state) + 1);
+					if (table.length < (next + 1) * classes) {
+						int oldLength = table.length;
+						table = Arrays.copyOf(table, oldLength * 2);
+						Arrays.fill(table, oldLength, table.length, NONE);
+					}
+					table[cell] = next;
+				}
+				state = table[cell];
+			}
+			own.get(state).add(e);
 		}
-		
-		private void populate(List<Ending> suffixes) {
-			endings.addAll(suffixes);
-			if (firstChild != null) {firstChild.populate(endings);};
-			if (nextSibling != null) {nextSibling.populate(suffixes);};
+		int states = own.size();
+		transitions = Arrays.copyOf(table, states * classes);
+
+		// each state gets its own endings and those of the states on the way to it; parents come before children
+		endings = new Ending[states][];
+		bounds = new int[states][];
+		lists = newLists(states);
+		for (int state = 0; state < states; state++) {
+			int depth = depths.get(state);
+			int parent = parents.get(state);
+			Ending[] inherited = parent == NONE ? new Ending[0] : endings[parent];
+			Ending[] matched = own.get(state).toArray(new Ending[own.get(state).size() + inherited.length]);
+			System.arraycopy(inherited, 0, matched, own.get(state).size(), inherited.length);
+			int[] stateBounds = new int[depth + 2]; // the number of endings at least l long, and 0 for depth + 1
+			for (int l = 0; l <= depth; l++)
+				stateBounds[l] = own.get(state).size() + (l < depth ? bounds[parent][l] : 0);
+			endings[state] = matched;
+			bounds[state] = stateBounds;
+			lists[state] = Collections.unmodifiableList(Arrays.asList(matched));
 		}
 	}
-	
-	private void add(Ending e)
-	{
-		String s = e.getEnding();
-		int i=s.length();
-		
-		node t=root;
-		node p=null;
-		while(i>0)
-		{
-			p=t;
-			t=t.firstChild;
-			while(t!=null)
-			{
-				if(t.symbol==s.charAt(i-1))
-				{
-					break;
-				}
-				t=t.nextSibling;
-			}
-			if(t==null)
-			{
-				t=new node(s.charAt(i-1));
-				t.nextSibling=p.firstChild;
-				p.firstChild=t;
-			}
-			i--;
+
+	@SuppressWarnings("unchecked")
+	private static List<Ending>[] newLists(int size) {
+		return (List<Ending>[]) new List<?>[size];
+	}
+
+	/**
+	 * The state of the automaton for the word: the one that has all the endings that the word may have
+	 */
+	public int match(CharSequence word) {
+		int state = ROOT;
+		for (int i = word.length() - 1; i > 1; i--) {
+			char c = word.charAt(i);
+			if (c >= charClass.length || charClass[c] == NONE) break;
+			int next = transitions[state * classes + charClass[c]];
+			if (next == NONE) break;
+			state = next;
 		}
-		t.endings.add(e);
+		return state;
+	}
+
+	/**
+	 * All the endings of the state, longest first - shared, not to be changed
+	 */
+	public Ending[] endings(int state) {
+		return endings[state];
+	}
+
+	/**
+	 * Index in endings(state) of the first ending of this length
+	 */
+	public int from(int state, int length) {
+		return length + 1 < bounds[state].length ? bounds[state][length + 1] : 0;
+	}
+
+	/**
+	 * Index in endings(state) after the last ending of this length
+	 */
+	public int to(int state, int length) {
+		return length < bounds[state].length ? bounds[state][length] : 0;
+	}
+
+	/**
+	 * The endings that the word may have, longest first
+	 */
+	public List<Ending> matchedEndings(String word) {
+		return lists[match(word)];
+	}
+
+	/**
+	 * Whether the character occurs in any ending
+	 */
+	public boolean hasCharacter(char c) {
+		return c < charClass.length && charClass[c] != NONE;
+	}
+
+	public Ending endingByID(int nr) {
+		return byID.get(nr);
 	}
 }
@@ -17,13 +17,15 @@
  *******************************************************************************/
 package lv.semti.morphology.analyzer;
 
+import java.io.File;
 import java.io.PrintWriter;
 import java.util.*;
-import java.util.regex.Pattern;
 
 import lv.semti.morphology.attributes.AttributeNames;
 import lv.semti.morphology.attributes.AttributeValues;
+import lv.semti.morphology.attributes.Feature;
 import lv.semti.morphology.corpus.ParadigmFrequencyComparator;
+import lv.semti.morphology.corpus.Statistics;
 import lv.semti.morphology.lexicon.*;
 
 public class Analyzer extends Lexicon {
@@ -44,16 +46,55 @@ public class Analyzer extends Lexicon {
 	public boolean removeRegionalWords = true; // Ignore regiona/dialect forms as they tend to produce unexpected overlap with forms of other common words
 
 
-	private final Pattern p_number = Pattern.compile("[\\d., ]*[\\d+⁰¹²³⁴⁵⁶⁷⁸⁹₀₁₂₃₄₅₆₇₈₉]([.,][-‐‑‒–—―])?");
-	private final Pattern p_ordinal = Pattern.compile("\\d+\\.");
-	private final Pattern p_fractional = Pattern.compile("\\d+[\\\\/]\\d+");
-	private final Pattern p_abbrev = Pattern.compile("\\w+\\.");
-	private final Pattern p_abbrev_caps = Pattern.compile("\\p{Lu}+\\."); // abbreviation in all caps
-	private final Pattern p_acronym = Pattern.compile("(\\p{Lu}){2,5}"); // all caps, repeated 2-5 times
-	private final Pattern p_letter = Pattern.compile("(\\p{L})"); // an isolated letter
-	private final Pattern p_url = Pattern.compile("((ht|f)tps?://)?[.\\w-]+\\.(lv|com|org|gov)(/[\\w\\d-@:?=&%.]*)?");
-		
-	private Cache<String, Word> wordCache = new Cache<>();
+	private final Cache<WordKey, Word> wordCache = new Cache<>(); // shared by all threads that use this analyzer
+	private final Cache<WordKey, LemmaTags> lemmaTagCache = new Cache<>(); // of lemmaTags, apart from the full analyses
+	private volatile AnalyzerOptions flagOptions = AnalyzerOptions.DEFAULT; // the last seen values of the public flags
+
+	// frequent checks, resolved once - see Feature
+	private static final Feature FREQUENCY_RARE = new Feature(AttributeNames.i_Frequency, AttributeNames.v_Rare);
+	private static final Feature USAGE_OUTDATED = new Feature(AttributeNames.i_Usage, AttributeNames.v_Outdated);
+	private static final Feature USAGE_REGIONAL = new Feature(AttributeNames.i_Usage, AttributeNames.v_Regional);
+	private static final Feature USAGE_REGIONAL_OUTDATED = new Feature(AttributeNames.i_Usage, AttributeNames.v_RegionalOutdated);
+	private static final Feature CASE_VOCATIVE = new Feature(AttributeNames.i_Case, AttributeNames.v_Vocative);
+	private static final Feature PLURARE_TANTUM = new Feature(AttributeNames.i_NumberSpecial, AttributeNames.v_PlurareTantum);
+	private static final Feature NUMBER_PLURAL = new Feature(AttributeNames.i_Number, AttributeNames.v_Plural);
+	private static final Feature NUMBER_NA = new Feature(AttributeNames.i_Number, AttributeNames.v_NA);
+	private static final Feature SINGULARE_TANTUM = new Feature(AttributeNames.i_NumberSpecial, AttributeNames.v_SingulareTantum);
+	private static final Feature NUMBER_SINGULAR = new Feature(AttributeNames.i_Number, AttributeNames.v_Singular);
+	private static final Feature HARDCODED_WORDFORMS = new Feature(AttributeNames.i_ParadigmProperties, AttributeNames.v_HardcodedWordforms);
+	private static final Feature POS_NOUN = new Feature(AttributeNames.i_PartOfSpeech, AttributeNames.v_Noun);
+	private static final Feature DECLENSION_NA = new Feature(AttributeNames.i_Declension, AttributeNames.v_NA);
+	private static final Feature POS_VERB = new Feature(AttributeNames.i_PartOfSpeech, AttributeNames.v_Verb);
+	private static final Feature POS_ADJECTIVE = new Feature(AttributeNames.i_PartOfSpeech, AttributeNames.v_Adjective);
+	private static final Feature MOOD_PARTICIPLE = new Feature(AttributeNames.i_Mood, AttributeNames.v_Participle);
+	private static final Feature POS_RESIDUAL = new Feature(AttributeNames.i_PartOfSpeech, AttributeNames.v_Residual);
+	private static final Feature DECLENSION_INFLEXIBLE_GENITIVE = new Feature(AttributeNames.i_Declension, AttributeNames.v_InflexibleGenitive);
+
+	private volatile KnownParadigms knownParadigms; // resolved when first needed, dropped when the paradigms change
+	private volatile PrefixTrie prefixTrie; // made when first needed
+
+	/**
+	 * The paradigms that the analysis refers to by name or number, resolved once instead of for each word
+	 */
+	private static final class KnownParadigms {
+		final Paradigm hardcoded;
+		final Paradigm abbreviation;
+		final Paradigm noun1a;
+		final Paradigm noun4f;
+		final Paradigm adverb;
+		final Paradigm verb1;
+		final Paradigm[] tājsVerbs; // verbs of 2nd and 3rd conjugation that the -tājs/-tāja nouns are derived from
+
+		KnownParadigms(Lexicon lexicon) {
+			hardcoded = lexicon.paradigmByName("hardcoded");
+			abbreviation = lexicon.paradigmByName("abbr");
+			noun1a = lexicon.paradigmByName("noun-1a");
+			noun4f = lexicon.paradigmByName("noun-4f");
+			adverb = lexicon.paradigmByName("adverb");
+			verb1 = lexicon.paradigmByID(15);
+			tājsVerbs = new Paradigm[]{lexicon.paradigmByID(16), lexicon.paradigmByID(17), lexicon.paradigmByID(45)};
+		}
+	}
 
 
 	/**
@@ -86,6 +127,44 @@ public class Analyzer extends Lexicon {
 		super(lexiconFileName, blacklist);
 	}
 
+	/**
+	 * Loads the analyzer lexicon from a precompiled snapshot of the specified lexicon file
+	 * @param lexiconFileName filename of the core lexicon, used to check that the snapshot is up to date
+	 * @param snapshotFile snapshot compiled with LexiconSnapshot
+	 */
+	public Analyzer(String lexiconFileName, File snapshotFile) throws Exception{
+		super(lexiconFileName, snapshotFile);
+	}
+
+	/**
+	 * Makes an analyzer on an already loaded lexicon, e.g. from LexiconRegistry, sharing its data instead of
+	 * loading another copy - only the settings and the word cache are this analyzer's own.
+	 * @param lexicon the loaded lexicon, frozen - see Lexicon.freeze()
+	 * @throws IllegalArgumentException if the lexicon isn't frozen
+	 */
+	public Analyzer(Lexicon lexicon) {
+		super(lexicon);
+	}
+
+	private KnownParadigms knownParadigms() {
+		KnownParadigms result = knownParadigms;
+		if (result == null)
+			knownParadigms = result = new KnownParadigms(this);
+		return result;
+	}
+
+	private PrefixTrie prefixTrie() {
+		PrefixTrie result = prefixTrie;
+		if (result == null || !result.isFor(prefixes))
+			prefixTrie = result = new PrefixTrie(prefixes);
+		return result;
+	}
+
+	@Override
+	protected void paradigmsChanged() {
+		knownParadigms = null;
+	}
+
 	/* TODO - salikteņu minēšana jāuzaisa
 	private boolean DerSalikteņaSākumam(Ending ending) {
 		if (ending.getParadigm().isMatchingStrong(AttributeNames.i_PartOfSpeech,AttributeNames.v_Noun))
@@ -129,35 +208,200 @@ public class Analyzer extends Lexicon {
 		pipe.flush();
 	}
 
+	/**
+	 * The current values of the public analysis flags, as an immutable AnalyzerOptions
+	 */
+	public AnalyzerOptions getOptions() {
+		AnalyzerOptions options = flagOptions;
+		int fingerprint = AnalyzerOptions.fingerprint(this);
+		if (options.fingerprint() != fingerprint) {
+			options = AnalyzerOptions.of(this);
+			flagOptions = options;
+		}
+		return options;
+	}
+
+	/**
+	 * Sets the public analysis flags to these options
+	 */
+	public void setOptions(AnalyzerOptions options) {
+		options.applyTo(this);
+	}
+
 	/**
 	 * Performs a morphological analysis of an arbitrary token according to the configuration parameters set in this
 	 * Analyzer object.
 	 * This method handles the caching and capitalization, and delegates the actual analysis to analyzeLowercase.
+	 * The result is the caller's own editable copy - see analyzeShared for reading the cached result without copying.
 	 * @param word - the token string to be analyzed
 	 * @return a Word object containing the possible analysis options
 	 */
 	public Word analyze(String word) {
+		return analyze(word, getOptions());
+	}
+
+	/**
+	 * Performs a morphological analysis of an arbitrary token according to the given options instead of the flags
+	 * of this Analyzer object, so that calls with different options can share one analyzer, also concurrently.
+	 * @param word - the token string to be analyzed
+	 * @param options - the analysis settings for this call
+	 * @return a Word object containing the possible analysis options
+	 */
+	public Word analyze(String word, AnalyzerOptions options) {
 		word = word.trim();
-		
-		Word cacheWord = wordCache.get(word);
-		if (cacheWord != null) return (Word) cacheWord.clone();		
-				
+		WordKey key = new WordKey(word, options);
+
+		Word cacheWord = wordCache.get(key);
+		if (cacheWord != null) return cacheWord.mutableCopy();
+
+		Word result = analyzeUncached(word, options);
+		Word snapshot = result.mutableCopy();
+		snapshot.freeze();
+		wordCache.put(key, snapshot);
+		return result;
+	}
+
+	/**
+	 * Same as analyze, but returns the frozen (immutable) analysis result that is kept in the cache, without
+	 * copying it - a cache hit allocates nothing. The result and its wordforms can't be edited; callers that need
+	 * to, e.g. to filterByAttributes or setCorrectWordform, should edit its mutableCopy().
+	 * @param word - the token string to be analyzed
+	 * @return a frozen Word object containing the possible analysis options
+	 */
+	public Word analyzeShared(String word) {
+		return analyzeShared(word, getOptions());
+	}
+
+	/**
+	 * Same as analyze(word, options), but returns the frozen analysis result that is kept in the cache - see
+	 * analyzeShared(word)
+	 */
+	public Word analyzeShared(String word, AnalyzerOptions options) {
+		word = word.trim();
+		WordKey key = new WordKey(word, options);
+
+		Word cacheWord = wordCache.get(key);
+		if (cacheWord != null) return cacheWord;
+
+		Word result = analyzeUncached(word, options);
+		result.freeze();
+		wordCache.put(key, result);
+		return result;
+	}
+
+	/**
+	 * The distinct lemmas of the analyses of the token, in the order that analyze(word) lists them
+	 * @param word - the token string to be analyzed
+	 * @return an unmodifiable list of lemmas
+	 */
+	public List<String> lemmas(String word) {
+		return lemmaTags(word, getOptions()).lemmas();
+	}
+
+	/**
+	 * Same as lemmas(word), with the given options
+	 */
+	public List<String> lemmas(String word, AnalyzerOptions options) {
+		return lemmaTags(word, options).lemmas();
+	}
+
+	/**
+	 * The distinct lemma and tag pairs of the analyses of the token, for callers that need only these and not the
+	 * other attributes. They are kept in a cache of their own, so that a token seen again costs one lookup, and a
+	 * token that is not in the word cache is analyzed without being added to it.
+	 * @param word - the token string to be analyzed
+	 * @return the lemmas and tags, shared with other callers
+	 */
+	public LemmaTags lemmaTags(String word) {
+		return lemmaTags(word, getOptions());
+	}
+
+	/**
+	 * Same as lemmaTags(word), with the given options
+	 */
+	public LemmaTags lemmaTags(String word, AnalyzerOptions options) {
+		word = word.trim();
+		WordKey key = new WordKey(word, options);
+
+		LemmaTags result = lemmaTagCache.get(key);
+		if (result != null) return result;
+
+		Word analysis = wordCache.get(key);
+		if (analysis == null) analysis = analyzeUncached(word, options);
+		result = new LemmaTags(analysis.wordforms);
+		lemmaTagCache.put(key, result);
+		return result;
+	}
+
+	/**
+	 * The statistically most likely analysis of the token - the same as analyze(word).getBestWordform(), but read
+	 * from the shared analysis, so that only the chosen wordform is copied
+	 * @param word - the token string to be analyzed
+	 * @return an editable wordform, or null if the token has no analysis
+	 */
+	public Wordform analyzeBest(String word) {
+		return analyzeBest(word, getOptions());
+	}
+
+	/**
+	 * Same as analyzeBest(word), with the given options
+	 */
+	public Wordform analyzeBest(String word, AnalyzerOptions options) {
+		List<Wordform> best = analyzeTopK(word, 1, options);
+		return best.isEmpty() ? null : best.get(0);
+	}
+
+	/**
+	 * The k statistically most likely analyses of the token, the most likely first, and of equally likely ones the
+	 * one that analyze(word) lists first - so the first one is analyze(word).getBestWordform(). The wordforms are
+	 * ranked in a heap of the k best so far, and those that can't enter it are passed over without being copied.
+	 * @param word - the token string to be analyzed
+	 * @param k - how many analyses to return at most
+	 * @return editable wordforms, fewer than k if the token has fewer analyses
+	 */
+	public List<Wordform> analyzeTopK(String word, int k) {
+		return analyzeTopK(word, k, getOptions());
+	}
+
+	/**
+	 * Same as analyzeTopK(word, k), with the given options
+	 */
+	public List<Wordform> analyzeTopK(String word, int k, AnalyzerOptions options) {
+		if (k < 1) return new ArrayList<>();
+		List<Wordform> wordforms = analyzeShared(word, options).wordforms;
+		Statistics statistics = Statistics.getStatistics();
+		double[] estimates = new double[wordforms.size()];
+		// the positions of the best ones so far, with the one that would be dropped first at the head
+		PriorityQueue<Integer> best = new PriorityQueue<>(k + 1, (a, b) -> estimates[a] != estimates[b]
+				? Double.compare(estimates[a], estimates[b]) : Integer.compare(b, a));
+		for (int i = 0; i < wordforms.size(); i++) {
+			estimates[i] = wordforms.get(i).getEstimate(statistics);
+			if (best.size() == k && estimates[i] <= estimates[best.peek()])
+				continue; // can't enter, as an earlier one is at least as likely
+			best.add(i);
+			if (best.size() > k) best.poll();
+		}
+		Wordform[] result = new Wordform[best.size()];
+		for (int i = result.length - 1; i >= 0; i--)
+			result[i] = (Wordform) wordforms.get(best.poll()).clone();
+		return new ArrayList<>(Arrays.asList(result));
+	}
+
+	private Word analyzeUncached(String word, AnalyzerOptions options) {
 		Word result = new Word(word);
-		if (!word.equals(word.toLowerCase().trim())) {
-			String lettercase = AttributeNames.v_Lowercase;
-			if (p_firstcap.matcher(word).matches()) lettercase = AttributeNames.v_FirstUpper;
-			if (p_allcaps.matcher(word).matches()) lettercase = AttributeNames.v_AllUpper;
-			Word lowercase = analyzeLowercase(word.toLowerCase().trim(), word);			
+		String lowercaseWord = word.toLowerCase().trim();
+		TokenShape shape = new TokenShape(word, lowercaseWord);
+		if (!word.equals(lowercaseWord)) {
+			String lettercase = shape.lettercase();
+			Word lowercase = analyzeLowercase(lowercaseWord, word, shape, options);
 			for (Wordform wodform : lowercase.wordforms) {
 				wodform.setToken(word.trim());
 				wodform.addAttribute(AttributeNames.i_CapitalLetters, lettercase);
 				result.addWordform(wodform);
 			}
 		} else { 
-			result = analyzeLowercase(word, word);
+			result = analyzeLowercase(word, word, shape, options);
 		}
-		
-		wordCache.put(word, (Word) result.clone());
 		return result;
 	}
 
@@ -165,108 +409,84 @@ public class Analyzer extends Lexicon {
 	 * Implements the actual core morphological analysis algorithm
 	 * @param word - the lowercase form of the word
 	 * @param originalWord - the word with the original capitalization
+	 * @param shape - the shape of the word
+	 * @param options - the analysis settings
 	 * @return a Word object containing the possible analysis options
 	 */
-	private Word analyzeLowercase(String word, String originalWord) {
+	private Word analyzeLowercase(String word, String originalWord, TokenShape shape, AnalyzerOptions options) {
 		Word result = new Word(word);
-		
-		for (Ending ending : getAllEndings().matchedEndings(word)) {
-			String stemWithoutMija;
-			try {
-				stemWithoutMija = ending.stem(word);
-			} catch (Ending.WrongEndingException e) {
-				throw new Error(e); // Shouldn't ever happen - matchedEndings should ensure that word contains that ending.
-			}
-			int stemChange = ending.getMija();
-			boolean properName = p_firstcap.matcher(originalWord).matches();
-			ArrayList<StemVariant> stemVariants = Mijas.applyFormToLemmaMija(stemWithoutMija, stemChange, properName);
-
-			for (StemVariant stemVariant : stemVariants) {
-				ArrayList<Lexeme> lexemes = ending.getEndingLexemes(stemVariant.stem);
-				boolean foundSomethingHere = false;
-				if (lexemes != null) 					
-					for (Lexeme lexeme : lexemes) {
-						String thirdStem = stemWithoutMija;
-						if (lexeme.getParadigm().getStems().contains(StemType.STEM3)) {
-							thirdStem = lexeme.getStem(StemType.STEM3);
-						}
-						if (!Mijas.backwardsVerification(stemVariant, stemWithoutMija, stemChange, thirdStem, properName))
-							continue;
-						Wordform wordformOptions = new Wordform(word, lexeme, ending, originalWord);
-						wordformOptions.addAttributes(stemVariant);
-						wordformOptions.addAttribute(AttributeNames.i_Guess, AttributeNames.v_NoGuess);
-						if (wordformOptions.isMatchingStrong(AttributeNames.i_PartOfSpeech, AttributeNames.v_Abbreviation) && p_allcaps.matcher(originalWord).matches())
-						    wordformOptions.addAttribute(AttributeNames.i_Lemma, wordformOptions.getValue(AttributeNames.i_Lemma).toUpperCase());
-						if (this.isAcceptable(wordformOptions)) { // izmetam tos variantus, kas nav īsti pieļaujami - vienskaitliniekus daudzskaitlī, vokatīvus ja tos negrib
-							result.addWordform(wordformOptions);
-							foundSomethingHere = true;
-						}
-					}				
-
-				if (!foundSomethingHere && enableDiminutive) 
-					guessDeminutive(word, result, ending, stemVariant, originalWord);
-
-				if (!foundSomethingHere && enableDerivedNouns)
-					guessDerivedNoun(word, result, ending, stemVariant, originalWord);
-			}
+		boolean properName = shape.firstUpper;
+		Word lexical = result; // the guessing below may replace the result
+		LexemeMatches addWordforms = (ending, stemVariant, lexemes) -> {
+			boolean foundSomethingHere = false;
+			for (Lexeme lexeme : lexemes)
+				foundSomethingHere |= addLexemeWordform(word, lexical, lexeme, ending, stemVariant, originalWord, shape, options);
+			if (!foundSomethingHere)
+				guessDerivations(word, lexical, ending, stemVariant, originalWord, options);
+		};
+
+		if (!(shape.residual() && outsideLexicon(word))) { // numbers and URLs go straight to the hardcoded cases below
+			FormAutomaton forms = getFormAutomaton();
+			int record = forms == null ? -1 : forms.find(word);
+			if (record >= 0 && !(forms.mayBeDerived(record, properName) && (options.enableDiminutive() || options.enableDerivedNouns())))
+				forms.replay(record, properName, this, addWordforms); // a known form, with no derivations to guess
+			else
+				findLexemes(word, properName, options, addWordforms);
 		}
-		
-		if (result.isRecognized() && (removeRareWords || removeRegionalWords)) {
+
+		if (result.isRecognized() && (options.removeRareWords() || options.removeRegionalWords())) {
 			boolean hasNonrareOption = false;
 			for (Wordform wf : result.wordforms) {
-				if (removeRareWords && (wf.isMatchingStrong(AttributeNames.i_Frequency, AttributeNames.v_Rare) ||
-						wf.isMatchingStrong(AttributeNames.i_Usage, AttributeNames.v_Outdated)))
+				if (options.removeRareWords() && (wf.isMatchingStrong(FREQUENCY_RARE) ||
+						wf.isMatchingStrong(USAGE_OUTDATED)))
 					continue; // rare and removed
-				if (removeRegionalWords && (wf.isMatchingStrong(AttributeNames.i_Usage, AttributeNames.v_Regional) ||
-						wf.isMatchingStrong(AttributeNames.i_Usage, AttributeNames.v_RegionalOutdated)))
+				if (options.removeRegionalWords() && (wf.isMatchingStrong(USAGE_REGIONAL) ||
+						wf.isMatchingStrong(USAGE_REGIONAL_OUTDATED)))
 					continue; // regional and removed
 				hasNonrareOption = true;
 			}
 
 			List<Wordform> to_remove = new LinkedList<Wordform>();
 			for (Wordform wf : result.wordforms) {
-				if (removeRareWords && hasNonrareOption && (
-						wf.isMatchingStrong(AttributeNames.i_Frequency, AttributeNames.v_Rare) ||
-						wf.isMatchingStrong(AttributeNames.i_Usage, AttributeNames.v_Outdated)
+				if (options.removeRareWords() && hasNonrareOption && (
+						wf.isMatchingStrong(FREQUENCY_RARE) ||
+						wf.isMatchingStrong(USAGE_OUTDATED)
 				))
 					to_remove.add(wf); // we remove rare words only if there's a non-rare option remaining, i.e. only in overlap
-				if (removeRegionalWords && (wf.isMatchingStrong(AttributeNames.i_Usage, AttributeNames.v_Regional) ||
-						wf.isMatchingStrong(AttributeNames.i_Usage, AttributeNames.v_RegionalOutdated)))
+				if (options.removeRegionalWords() && (wf.isMatchingStrong(USAGE_REGIONAL) ||
+						wf.isMatchingStrong(USAGE_REGIONAL_OUTDATED)))
 					to_remove.add(wf); // we remove regional words whenever the flag is set, even without overlap
 			}
 			result.wordforms.removeAll(to_remove);
 		}
 
 		if (!result.isRecognized()) {  //Hardcoded izņēmumi (ar regex) kas atpazīst ciparus, kārtas skaitļus utml
-			Ending HARDCODED_ENDING = this.paradigmByName("hardcoded").getLemmaEnding();
+			Ending HARDCODED_ENDING = knownParadigms().hardcoded.getLemmaEnding();
 			if (HARDCODED_ENDING == null) {
 				System.err.println("Hardcoded ending not found");
 				return result;
 			}
-			if (p_number.matcher(word).matches()) {
+			if (shape.number) {
 				Wordform wf = new Wordform(word, word, HARDCODED_ENDING, AttributeNames.v_Residual);
 				wf.addAttribute(AttributeNames.i_ResidualType, AttributeNames.v_Number);
 				result.addWordform(wf);
 				return result;
 			}
-			if (p_fractional.matcher(word).matches()) {
+			if (shape.fractional) {
 				Wordform wf = new Wordform(word, word, HARDCODED_ENDING, AttributeNames.v_Residual);
 				wf.addAttribute(AttributeNames.i_ResidualType, AttributeNames.v_Number);
 				result.addWordform(wf);
 				return result;
 			}
-			if (p_ordinal.matcher(word).matches()) {
+			if (shape.ordinal) {
 				Wordform wf = new Wordform(word, word, HARDCODED_ENDING, AttributeNames.v_Residual);
 				wf.addAttribute(AttributeNames.i_ResidualType, AttributeNames.v_Ordinal);
 				result.addWordform(wf);
 				return result;
 			}
 
-            if (p_abbrev_caps.matcher(originalWord).matches() ||
-					p_abbrev.matcher(word).matches() ||
-					(enableGuessing && p_acronym.matcher(originalWord).matches())
-			) {
-				Ending ABBREV_ENDING = this.paradigmByName("abbr").getLemmaEnding();
+            if (shape.abbreviationCaps || shape.abbreviation || (options.enableGuessing() && shape.acronym)) {
+				Ending ABBREV_ENDING = knownParadigms().abbreviation.getLemmaEnding();
 				if (ABBREV_ENDING == null) {
 					System.err.println("Abbreviation ending not found");
 					return result;
@@ -274,12 +494,12 @@ public class Analyzer extends Lexicon {
 				result.addWordform(new Wordform(word, word, ABBREV_ENDING, AttributeNames.v_Abbreviation));
 				return result;
             }
-            if (p_letter.matcher(word).matches()) {
+            if (shape.letter) {
 				Wordform wf = new Wordform(word, word, HARDCODED_ENDING, AttributeNames.v_Residual);
 				result.addWordform(wf);
 				return result;
             }
-			if (p_url.matcher(word).matches()) {
+			if (shape.url) {
 				Wordform wf = new Wordform(word, word, HARDCODED_ENDING, AttributeNames.v_Residual);
 				wf.addAttribute(AttributeNames.i_ResidualType, AttributeNames.v_URI);
 				result.addWordform(wf);
@@ -287,11 +507,11 @@ public class Analyzer extends Lexicon {
 			}
 		}
 		
-		if (enablePrefixes) {
+		if (options.enablePrefixes()) {
 			if (!result.isRecognized()
 					|| (word.startsWith(this.NEGATION_PREFIX) &&
 					(!result.hasAttribute(AttributeNames.i_PartOfSpeech, AttributeNames.v_Verb)) || result.hasAttribute(AttributeNames.i_Mood, AttributeNames.v_Participle))) {
-				for (Wordform wf : guessByPrefix(word).wordforms) {
+				for (Wordform wf : guessByPrefix(word, options).wordforms) {
 					result.addWordform(wf);
 				}
 			}
@@ -308,17 +528,20 @@ public class Analyzer extends Lexicon {
 					}
 				} */
 
-		if (!result.isRecognized() && enableGuessing )
-			result = guessByEnding(word, originalWord);
+		boolean guessed = false;
+		if (!result.isRecognized() && options.enableGuessing()) {
+			result = guessByEnding(word, originalWord, shape, options);
+			guessed = true;
+		}
 
-		if (enableGuessing) {
+		if (options.enableGuessing() && !guessed) { // guessing again would give the same
 			boolean allDeminutives = true;
 			// We want to do full guessing also if there was a deminutive found - otherwise masc sg gen "Rāviņa" gets interpreted as deminutive of "rāva"
 			for (Wordform wf : result.wordforms) {
 				if (!wf.isMatchingStrong(AttributeNames.i_Guess, AttributeNames.v_Deminutive))
 					allDeminutives = false;
 			}
-			if (!result.isRecognized() || allDeminutives) result = guessByEnding(word, originalWord);
+			if (!result.isRecognized() || allDeminutives) result = guessByEnding(word, originalWord, shape, options);
 		}
 
 		/*for (Wordform wordformOption : rezultāts.wordforms) {
@@ -336,6 +559,148 @@ public class Analyzer extends Lexicon {
 		return result;
 	}
 
+	/**
+	 * Receives the stem variants that a word may have with the endings that it matches, with the lexemes that it is
+	 * recognized as (which may be none)
+	 */
+	interface LexemeMatches {
+		void found(Ending ending, StemVariant stemVariant, List<Lexeme> lexemes);
+	}
+
+	/**
+	 * Finds the lexemes that the word can be a form of: cuts off each ending that the word matches, undoes the stem
+	 * changes of the ending and looks up the lexemes with the resulting stem. The options are used only to know
+	 * which derivations will be guessed - stem variants without lexemes are skipped, when no derivation can be
+	 * guessed from them.
+	 * @param word - the lowercase form of the word
+	 * @param properName - whether the original word is capitalized
+	 */
+	void findLexemes(String word, boolean properName, AnalyzerOptions options, LexemeMatches matches) {
+		StemIndex stemIndex = getStemIndex();
+		SurfaceStemIndex surfaceStems = getSurfaceStemIndex();
+		// endings of the same length leave the same stem, so it's cut and looked up in the stem index once per length
+		String[] stems = new String[word.length() + 1];
+		StemIndex.Mask[] stemMasks = new StemIndex.Mask[word.length() + 1];
+
+		AllEndings allEndings = getAllEndings();
+		for (Ending ending : allEndings.endings(allEndings.match(word))) {
+			int stemChange = ending.getMija();
+			int stemLength = word.length() - ending.getEnding().length();
+			if (stems[stemLength] == null) {
+				if (!word.endsWith(ending.getEnding()))
+					throw new Error("matchedEndings should ensure that word contains that ending.");
+				stems[stemLength] = word.substring(0, stemLength);
+				stemMasks[stemLength] = stemIndex.get(stems[stemLength]);
+			}
+			String stemWithoutMija = stems[stemLength];
+			if (stemChange == 0 && !stemMasks[stemLength].contains(ending) && !mayBeDerived(stemWithoutMija, options))
+				continue; // without a stem change, the only stem variant is this stem, and no lexeme of this paradigm has it
+
+			if (surfaceStems.covers(ending)) {
+				// the stem variants and the lexemes they are recognized as, found when the lexicon was loaded
+				SurfaceStemIndex.Match[] known = surfaceStems.get(stemWithoutMija, ending, properName);
+				if (known != null) {
+					for (SurfaceStemIndex.Match match : known)
+						matches.found(ending, match.stemVariant, match.lexemes);
+					continue;
+				}
+				if (!mayBeDerived(ending.getParadigm(), options))
+					continue; // not a known lexeme, and the stem variants would be looked up only to guess derivations
+			}
+
+			List<StemVariant> stemVariants = Mijas.applyFormToLemmaMija(stemWithoutMija, stemChange, properName);
+
+			for (StemVariant stemVariant : stemVariants) {
+				List<Lexeme> lexemes = ending.getEndingLexemes(stemVariant.stem);
+				List<Lexeme> verified = Collections.emptyList();
+				if (lexemes != null)
+					for (Lexeme lexeme : lexemes) {
+						String thirdStem = stemWithoutMija;
+						if (lexeme.getParadigm().getStems().contains(StemType.STEM3)) {
+							thirdStem = lexeme.getStem(StemType.STEM3);
+						}
+						if (!Mijas.backwardsVerification(stemVariant, stemWithoutMija, stemChange, thirdStem, properName))
+							continue;
+						if (verified.isEmpty()) verified = new ArrayList<>(lexemes.size());
+						verified.add(lexeme);
+					}
+				matches.found(ending, stemVariant, verified);
+			}
+		}
+	}
+
+	/**
+	 * Whether the word has a character, other than a letter, that is in no ending and no stem of the lexicon - then
+	 * it can't be a form of any lexeme, as the stem changes only replace letters
+	 */
+	private boolean outsideLexicon(String word) {
+		AllEndings allEndings = getAllEndings();
+		StemIndex stemIndex = getStemIndex();
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			if (!Character.isLetter(c) && !allEndings.hasCharacter(c) && !stemIndex.hasCharacter(c))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Whether guessDeminutive or guessDerivedNoun could find something for a stem that is not in the lexicon
+	 */
+	private static boolean mayBeDerived(String stem, AnalyzerOptions options) {
+		return (options.enableDiminutive() && (stem.endsWith("īt") || stem.endsWith("iņ"))) ||
+				(options.enableDerivedNouns() && (stem.endsWith("tāj") || stem.endsWith("ēj")));
+	}
+
+	/**
+	 * Whether guessDeminutive or guessDerivedNoun may find something with this ending and stem variant, when enabled
+	 */
+	static boolean mayBeDerived(Ending ending, StemVariant stemVariant) {
+		Paradigm paradigm = ending.getParadigm();
+		String stem = stemVariant.stem;
+		return (stem.endsWith("īt") && paradigm.isMatchingStrong(AttributeNames.i_ParadigmSupportedDerivations, AttributeNames.v_Diminutive_īt)) ||
+				(stem.endsWith("iņ") && paradigm.isMatchingStrong(AttributeNames.i_ParadigmSupportedDerivations, AttributeNames.v_Diminutive_iņ)) ||
+				((stem.endsWith("tāj") || stem.endsWith("ēj")) &&
+						paradigm.isMatchingStrong(AttributeNames.i_ParadigmSupportedDerivations, AttributeNames.v_Derivation_tājs_tāja_ējs_ēja));
+	}
+
+	/**
+	 * Whether guessDeminutive or guessDerivedNoun may find something with the endings of this paradigm
+	 */
+	private static boolean mayBeDerived(Paradigm paradigm, AnalyzerOptions options) {
+		return (options.enableDiminutive() &&
+				(paradigm.isMatchingStrong(AttributeNames.i_ParadigmSupportedDerivations, AttributeNames.v_Diminutive_īt) ||
+				paradigm.isMatchingStrong(AttributeNames.i_ParadigmSupportedDerivations, AttributeNames.v_Diminutive_iņ))) ||
+				(options.enableDerivedNouns() &&
+				paradigm.isMatchingStrong(AttributeNames.i_ParadigmSupportedDerivations, AttributeNames.v_Derivation_tājs_tāja_ējs_ēja));
+	}
+
+	/**
+	 * Adds the wordform of a lexeme that the word is recognized as, if it is acceptable with these options
+	 * @return whether it was added
+	 */
+	private boolean addLexemeWordform(String word, Word result, Lexeme lexeme, Ending ending, StemVariant stemVariant,
+									  String originalWord, TokenShape shape, AnalyzerOptions options) {
+		Wordform wordformOptions = new Wordform(word, lexeme, ending, originalWord);
+		wordformOptions.addAttributes(stemVariant);
+		wordformOptions.addAttribute(AttributeNames.i_Guess, AttributeNames.v_NoGuess);
+		if (wordformOptions.isMatchingStrong(AttributeNames.i_PartOfSpeech, AttributeNames.v_Abbreviation) && shape.allUpper)
+		    wordformOptions.addAttribute(AttributeNames.i_Lemma, wordformOptions.getValue(AttributeNames.i_Lemma).toUpperCase());
+		if (!this.isAcceptable(wordformOptions, options)) // izmetam tos variantus, kas nav īsti pieļaujami - vienskaitliniekus daudzskaitlī, vokatīvus ja tos negrib
+			return false;
+		result.addWordform(wordformOptions);
+		return true;
+	}
+
+	private void guessDerivations(String word, Word result, Ending ending, StemVariant stemVariant, String originalWord,
+								  AnalyzerOptions options) {
+		if (options.enableDiminutive())
+			guessDeminutive(word, result, ending, stemVariant, originalWord);
+
+		if (options.enableDerivedNouns())
+			guessDerivedNoun(word, result, ending, stemVariant, originalWord);
+	}
+
 	private void guessDerivedNoun(String word, Word result, Ending ending, StemVariant stemVariant, String originalWord) {
 		// -tājs, -ējs, -tāja, -ēja
 		if (!ending.getParadigm().isMatchingStrong(AttributeNames.i_ParadigmSupportedDerivations, AttributeNames.v_Derivation_tājs_tāja_ējs_ēja))
@@ -343,9 +708,9 @@ public class Analyzer extends Lexicon {
 
 		if (stemVariant.stem.endsWith("tāj")) {
 			String verb_stem = stemVariant.stem.substring(0,stemVariant.stem.length()-3);
-			for (int paradigmID : new int[]{16, 17, 45}) {
-				Paradigm p = this.paradigmByID(paradigmID);
-				ArrayList<Lexeme> lexemes = p.getLexemesByStem(StemType.STEM1).get(verb_stem);
+			if (getStemIndex().get(verb_stem).isEmpty()) return;
+			for (Paradigm p : knownParadigms().tājsVerbs) {
+				List<Lexeme> lexemes = p.getLexemesByStem(StemType.STEM1, verb_stem);
 				if (lexemes != null) {
 					for (Lexeme lexeme : lexemes) {
 						Wordform wordformOption = new Wordform(word, lexeme, ending);
@@ -361,10 +726,10 @@ public class Analyzer extends Lexicon {
 				}
 			}
 		} else if (stemVariant.stem.endsWith("ēj")) {
-			Paradigm p = this.paradigmByID(15); // verb-1
-			ArrayList<StemVariant> verbStemVariants = Mijas.applyFormToLemmaMija(stemVariant.stem.substring(0,stemVariant.stem.length()-2), 14,false); // 1. konj -is formas mija - manuprāt tas šeit ir pareizais
+			Paradigm p = knownParadigms().verb1;
+			List<StemVariant> verbStemVariants = Mijas.applyFormToLemmaMija(stemVariant.stem.substring(0,stemVariant.stem.length()-2), 14,false); // 1. konj -is formas mija - manuprāt tas šeit ir pareizais
 			for (StemVariant verbStem : verbStemVariants) {
-				ArrayList<Lexeme> lexemes = p.getLexemesByStem(StemType.STEM3).get(verbStem.stem);
+				List<Lexeme> lexemes = p.getLexemesByStem(StemType.STEM3, verbStem.stem);
 				if (lexemes != null) {
 					for (Lexeme lexeme : lexemes) {
 						Wordform wordFormOption = new Wordform(word, lexeme, ending);
@@ -391,7 +756,7 @@ public class Analyzer extends Lexicon {
 
 		if (stemVariant.stem.endsWith("īt") &&
 				ending.getParadigm().isMatchingStrong(AttributeNames.i_ParadigmSupportedDerivations, AttributeNames.v_Diminutive_īt)) {
-			ArrayList<Lexeme> deminutiveLexemes = ending.getEndingLexemes(stemVariant.stem.substring(0,stemVariant.stem.length()-2));
+			List<Lexeme> deminutiveLexemes = ending.getEndingLexemes(stemVariant.stem.substring(0,stemVariant.stem.length()-2));
 			if (deminutiveLexemes != null)
 				for (Lexeme lexeme : deminutiveLexemes) {
 					Wordform wordformOption = new Wordform(word, lexeme, ending);
@@ -414,16 +779,19 @@ public class Analyzer extends Lexicon {
 			if (lemmaCandidate1.endsWith("dz")) lemmaCandidate2 = lemmaCandidate1.substring(0,lemmaCandidate1.length()-2)+"g";
 			if (lemmaCandidate1.endsWith("c")) lemmaCandidate2 = lemmaCandidate1.substring(0,lemmaCandidate1.length()-1)+"k";
 
-			ArrayList<Lexeme> deminutiveLexemes = ending.getEndingLexemes(lemmaCandidate2);
+			List<Lexeme> deminutiveLexemes = ending.getEndingLexemes(lemmaCandidate2);
 
 			if (ending.getParadigm().getName().equalsIgnoreCase("noun-1b")) {  // mainās deklinācija galds -> galdiņš, tāpēc īpaši
-				deminutiveLexemes = this.paradigmByName("noun-1a").getLemmaEnding().getEndingLexemes(lemmaCandidate2);
+				deminutiveLexemes = knownParadigms().noun1a.getLemmaEnding().getEndingLexemes(lemmaCandidate2);
 
 				if (lemmaCandidate1.endsWith("l")) lemmaCandidate2 = lemmaCandidate1.substring(0,lemmaCandidate1.length()-1)+"ļ";
-				ArrayList<Lexeme> deminutiveLexemes2 = ending.getEndingLexemes(lemmaCandidate2);
+				List<Lexeme> deminutiveLexemes2 = ending.getEndingLexemes(lemmaCandidate2);
 					// bet ir arī ceļš->celiņš, kur paliek 2. deklinācija
 				if (deminutiveLexemes == null) deminutiveLexemes = deminutiveLexemes2;
-				else if (deminutiveLexemes2 != null) deminutiveLexemes.addAll(deminutiveLexemes2);
+				else if (deminutiveLexemes2 != null) { // a new list, the found ones are the lexicon's own
+					deminutiveLexemes = new ArrayList<>(deminutiveLexemes);
+					deminutiveLexemes.addAll(deminutiveLexemes2);
+				}
 			}
 			if ((lemmaCandidate1.endsWith("ļ") && ending.getParadigm().getName().equalsIgnoreCase("noun-1b")) || lemmaCandidate1.endsWith("k") || lemmaCandidate1.endsWith("g"))
 				deminutiveLexemes = null; // nepieļaujam nepareizās mijas 'ceļiņš', 'pīrāgiņš', 'druskiņa'
@@ -445,19 +813,19 @@ public class Analyzer extends Lexicon {
 		}
 	}
 
-	private boolean isAcceptable(Wordform wordformOption) {
-		if (!enableVocative && wordformOption.isMatchingStrong(AttributeNames.i_Case,AttributeNames.v_Vocative))
+	private boolean isAcceptable(Wordform wordformOption, AnalyzerOptions options) {
+		if (!options.enableVocative() && wordformOption.isMatchingStrong(CASE_VOCATIVE))
 			return false;
 
-		if (wordformOption.isMatchingStrong(AttributeNames.i_NumberSpecial, AttributeNames.v_PlurareTantum) &&
-				!(wordformOption.isMatchingWeak(AttributeNames.i_Number, AttributeNames.v_Plural) || wordformOption.isMatchingWeak(AttributeNames.i_Number, AttributeNames.v_NA)))
+		if (wordformOption.isMatchingStrong(PLURARE_TANTUM) &&
+				!(wordformOption.isMatchingWeak(NUMBER_PLURAL) || wordformOption.isMatchingWeak(NUMBER_NA)))
 			return false;
 
-		return !wordformOption.isMatchingStrong(AttributeNames.i_NumberSpecial, AttributeNames.v_SingulareTantum) ||
-				(wordformOption.isMatchingWeak(AttributeNames.i_Number, AttributeNames.v_Singular) || wordformOption.isMatchingWeak(AttributeNames.i_Number, AttributeNames.v_NA));
+		return !wordformOption.isMatchingStrong(SINGULARE_TANTUM) ||
+				(wordformOption.isMatchingWeak(NUMBER_SINGULAR) || wordformOption.isMatchingWeak(NUMBER_NA));
 	}
 
-	private Word guessByPrefix(String word) {
+	private Word guessByPrefix(String word, AnalyzerOptions options) {
 		Word result = new Word(word);
 		if (word.contains(" ")) return result;
 
@@ -467,60 +835,94 @@ public class Analyzer extends Lexicon {
 			word = word.substring(2);
 		}
 
-		for (String prefix : prefixes)
-			if (word.startsWith(prefix) || word.startsWith(this.SUPERLATIVE_PREFIX+prefix)) {
-				String cutWord;
-				if (word.startsWith(this.SUPERLATIVE_PREFIX)) {
-					cutWord = this.SUPERLATIVE_PREFIX+word.substring(this.SUPERLATIVE_PREFIX.length()+prefix.length());
-				} else {
-					cutWord = word.substring(prefix.length());
-				}
-				if (debitive) cutWord = this.DEBITIVE_PREFIX + cutWord;
-
-				Word prefixless = analyzeLowercase(cutWord, cutWord);
-				for (Wordform wordformOption : prefixless.wordforms)
-					if (wordformOption.getEnding() != null && wordformOption.getEnding().getParadigm() != null && wordformOption.getEnding().getParadigm().getValue(AttributeNames.i_Konjugaacija) != null) { // Tikai no verbiem atvasinātās klases
-						if (prefix.equals(this.NEGATION_PREFIX) && (wordformOption.isMatchingStrong(AttributeNames.i_Mood, AttributeNames.v_DebitiveQuotative)
-								|| wordformOption.isMatchingStrong(AttributeNames.i_Mood, AttributeNames.v_Debitive))
-								|| wordformOption.isMatchingStrong(AttributeNames.i_Noliegums, AttributeNames.v_Yes) ) {
-							continue; // neģenerējam ne- atvasinājumus vajadzības izteiksmei un jau noliegtiem šķirkļiem
-						}
-						if (wordformOption.isMatchingStrong(AttributeNames.i_Degree, AttributeNames.v_Superlative) && !word.startsWith(this.SUPERLATIVE_PREFIX) ) {
-							continue; // neņemam tos, kur ir "vis" uzlicies aiz priedēkļa, kā nevisdomājošākais pavisdomājošākais
-						}
-						wordformOption.setToken(word);
-						wordformOption.addAttribute(AttributeNames.i_Source,"priedēkļu atvasināšana");
-						wordformOption.addAttribute(AttributeNames.i_Prefix, prefix);
-						if (!prefix.equals(this.NEGATION_PREFIX) || !wordformOption.isMatchingWeak(AttributeNames.i_PartOfSpeech, AttributeNames.v_Verb)) {
-							wordformOption.addAttribute(AttributeNames.i_SourceLemma, wordformOption.getValue(AttributeNames.i_Lemma));
-							wordformOption.addAttribute(AttributeNames.i_Lemma,prefix+wordformOption.getValue(AttributeNames.i_Lemma));
-						}
-						wordformOption.addAttribute(AttributeNames.i_Guess, AttributeNames.v_Prefix);
-						wordformOption.addAttribute(AttributeNames.i_Noliegums, prefix.equals(this.NEGATION_PREFIX) ? AttributeNames.v_Yes : AttributeNames.v_No);
-						result.wordforms.add(wordformOption);
-					}
+		// the prefixes that the word starts with, also after vis-, in the order of the list
+		BitSet found = new BitSet();
+		PrefixTrie trie = prefixTrie();
+		trie.match(word, 0, found);
+		boolean superlative = word.startsWith(this.SUPERLATIVE_PREFIX);
+		if (superlative) trie.match(word, this.SUPERLATIVE_PREFIX.length(), found);
+
+		Map<String, Word> analyzed = null; // of the cut words, for a prefix that is listed twice
+		for (int position = found.nextSetBit(0); position >= 0; position = found.nextSetBit(position + 1)) {
+			String prefix = prefixes.get(position);
+			String cutWord;
+			if (superlative) {
+				cutWord = this.SUPERLATIVE_PREFIX+word.substring(this.SUPERLATIVE_PREFIX.length()+prefix.length());
+			} else {
+				cutWord = word.substring(prefix.length());
 			}
+			if (debitive) cutWord = this.DEBITIVE_PREFIX + cutWord;
+
+			if (analyzed == null) analyzed = new HashMap<>();
+			Word prefixless = analyzed.computeIfAbsent(cutWord, w -> analyzeCutWord(w, options));
+			for (Wordform sharedOption : prefixless.wordforms)
+				if (sharedOption.getEnding() != null && sharedOption.getEnding().getParadigm() != null && sharedOption.getEnding().getParadigm().getValue(AttributeNames.i_Konjugaacija) != null) { // Tikai no verbiem atvasinātās klases
+					if (prefix.equals(this.NEGATION_PREFIX) && (sharedOption.isMatchingStrong(AttributeNames.i_Mood, AttributeNames.v_DebitiveQuotative)
+							|| sharedOption.isMatchingStrong(AttributeNames.i_Mood, AttributeNames.v_Debitive))
+							|| sharedOption.isMatchingStrong(AttributeNames.i_Noliegums, AttributeNames.v_Yes) ) {
+						continue; // neģenerējam ne- atvasinājumus vajadzības izteiksmei un jau noliegtiem šķirkļiem
+					}
+					if (sharedOption.isMatchingStrong(AttributeNames.i_Degree, AttributeNames.v_Superlative) && !superlative) {
+						continue; // neņemam tos, kur ir "vis" uzlicies aiz priedēkļa, kā nevisdomājošākais pavisdomājošākais
+					}
+					Wordform wordformOption = (Wordform) sharedOption.clone();
+					wordformOption.setToken(word);
+					wordformOption.addAttribute(AttributeNames.i_Source,"priedēkļu atvasināšana");
+					wordformOption.addAttribute(AttributeNames.i_Prefix, prefix);
+					if (!prefix.equals(this.NEGATION_PREFIX) || !wordformOption.isMatchingWeak(AttributeNames.i_PartOfSpeech, AttributeNames.v_Verb)) {
+						wordformOption.addAttribute(AttributeNames.i_SourceLemma, wordformOption.getValue(AttributeNames.i_Lemma));
+						wordformOption.addAttribute(AttributeNames.i_Lemma,prefix+wordformOption.getValue(AttributeNames.i_Lemma));
+					}
+					wordformOption.addAttribute(AttributeNames.i_Guess, AttributeNames.v_Prefix);
+					wordformOption.addAttribute(AttributeNames.i_Noliegums, prefix.equals(this.NEGATION_PREFIX) ? AttributeNames.v_Yes : AttributeNames.v_No);
+					result.wordforms.add(wordformOption);
+				}
+		}
 		return result;
 	}
 
+	/**
+	 * The analysis of a word with its prefix cut off, shared with the word cache, so that the same stem is not
+	 * analyzed again for each word with a prefix.
+	 */
+	private Word analyzeCutWord(String cutWord, AnalyzerOptions options) {
+		if (cutWord.equals(cutWord.toLowerCase().trim()))
+			return analyzeShared(cutWord, options); // the same as analyzeLowercase for such a word
+		return analyzeLowercase(cutWord, cutWord, new TokenShape(cutWord, cutWord), options);
+	}
+
 	public void reanalyze(Word word) {
 		Word newWord = analyze(word.getToken());
 		word.wordforms.clear();
 		word.wordforms.addAll(newWord.wordforms);
-		word.notifyObservers();
 	}
 
 	/**
 	 * 	Parameter originalWord must provide original capitalization
  	 */
 	public Word guessByEnding(String word, String originalWord) {
+		return guessByEnding(word, originalWord, getOptions());
+	}
+
+	/**
+	 * Same as guessByEnding(word, originalWord), but according to the given options instead of the flags of this
+	 * Analyzer object
+	 */
+	public Word guessByEnding(String word, String originalWord, AnalyzerOptions options) {
+		return guessByEnding(word, originalWord, new TokenShape(originalWord, word), options);
+	}
+
+	private Word guessByEnding(String word, String originalWord, TokenShape shape, AnalyzerOptions options) {
 		Word result = new Word(word);
 
+		AllEndings allEndings = getAllEndings();
+		int state = allEndings.match(word);
+		Ending[] endings = allEndings.endings(state);
 		for (int i=word.length()-2; i>=0; i--) { // TODO - duma heiristika, kas vērtē tīri pēc galotņu garuma; vajag pēc statistikas
-			for (Ending ending : getAllEndings().matchedEndings(word))
-				if (ending.getEnding().length()==i) {
+			for (int j = allEndings.from(state, i); j < allEndings.to(state, i); j++) {
+				Ending ending = endings[j];
                     Paradigm p = ending.getParadigm();
-                    if (p.isMatchingStrong(AttributeNames.i_ParadigmProperties, AttributeNames.v_HardcodedWordforms))
+                    if (p.isMatchingStrong(HARDCODED_WORDFORMS))
                         continue; // Hardcoded vārdgrupa minēšanai nav aktuāla
 
                     String stemFromEnding;
@@ -530,12 +932,12 @@ public class Analyzer extends Lexicon {
                         throw new Error(e); // Shouldn't ever happen - matchedEndings should ensure that word contains that ending.
                     }
 
-                    ArrayList<StemVariant> stemVariants = Mijas.applyFormToLemmaMija(stemFromEnding, ending.getMija(), false); //FIXME - te var būt arī propername... tikai kā tā info līdz šejienei nonāks?
+                    List<StemVariant> stemVariants = Mijas.applyFormToLemmaMija(stemFromEnding, ending.getMija(), false); //FIXME - te var būt arī propername... tikai kā tā info līdz šejienei nonāks?
                     for (StemVariant stemVariant : stemVariants) {
                         String stemFromMija = stemVariant.stem;
 
-                        if (!p.allowedGuess(stemFromMija))
-                            if (p_firstcap.matcher(originalWord).matches() && (p.getName().equalsIgnoreCase("noun-4m") ||
+                        if (!p.allowedGuess(stemFromMija, options.guessAllParadigms()))
+                            if (shape.firstUpper && (p.getName().equalsIgnoreCase("noun-4m") ||
 									p.getName().equalsIgnoreCase("noun-4ma") || p.getName().equalsIgnoreCase("noun-3f"))) {
                             } // Ja ir īpašvārds ar -a -e galotni, tad mēģina arī vīriešu dzimtes variantus uzvārdiem
                             else
@@ -550,27 +952,27 @@ public class Analyzer extends Lexicon {
                         if (lemmaEnding != null) {
                             // Izdomājam korektu lemmu
                             String lemma = stemFromMija + lemmaEnding.getEnding();
-                            lemma = recapitalize(lemma, originalWord);
+                            lemma = recapitalize(lemma, shape);
 
                             wordformOption.addAttribute(AttributeNames.i_Lemma, lemma);
                         }
 
-                        if (((this.guessNouns && ending.getParadigm().isMatchingStrong(AttributeNames.i_PartOfSpeech, AttributeNames.v_Noun) &&
-                                (enableVocative || !wordformOption.isMatchingStrong(AttributeNames.i_Case, AttributeNames.v_Vocative)) &&
-                                (guessInflexibleNouns || !wordformOption.isMatchingStrong(AttributeNames.i_Declension, AttributeNames.v_NA))
+                        if (((options.guessNouns() && ending.getParadigm().isMatchingStrong(POS_NOUN) &&
+                                (options.enableVocative() || !wordformOption.isMatchingStrong(CASE_VOCATIVE)) &&
+                                (options.guessInflexibleNouns() || !wordformOption.isMatchingStrong(DECLENSION_NA))
                         ) ||
-                                (this.guessVerbs && ending.getParadigm().isMatchingWeak(AttributeNames.i_PartOfSpeech, AttributeNames.v_Verb)) ||
-                                (this.guessAdjectives && ending.getParadigm().isMatchingStrong(AttributeNames.i_PartOfSpeech, AttributeNames.v_Adjective)) ||
-                                (this.guessParticiples && wordformOption.isMatchingStrong(AttributeNames.i_Mood, AttributeNames.v_Participle)) ||
-								(this.guessNouns && this.guessInflexibleNouns && wordformOption.isMatchingStrong(AttributeNames.i_PartOfSpeech, AttributeNames.v_Residual))
+                                (options.guessVerbs() && ending.getParadigm().isMatchingWeak(POS_VERB)) ||
+                                (options.guessAdjectives() && ending.getParadigm().isMatchingStrong(POS_ADJECTIVE)) ||
+                                (options.guessParticiples() && wordformOption.isMatchingStrong(MOOD_PARTICIPLE)) ||
+								(options.guessNouns() && options.guessInflexibleNouns() && wordformOption.isMatchingStrong(POS_RESIDUAL))
 						)
-                                && (i > 0 || wordformOption.isMatchingStrong(AttributeNames.i_Declension, AttributeNames.v_NA)
-										  || wordformOption.isMatchingStrong(AttributeNames.i_Declension, AttributeNames.v_InflexibleGenitive)
-										  || wordformOption.isMatchingStrong(AttributeNames.i_PartOfSpeech, AttributeNames.v_Residual)
+                                && (i > 0 || wordformOption.isMatchingStrong(DECLENSION_NA)
+										  || wordformOption.isMatchingStrong(DECLENSION_INFLEXIBLE_GENITIVE)
+										  || wordformOption.isMatchingStrong(POS_RESIDUAL)
 						)) // ja galotnes nav, tad vai nu nelokāms lietvārds vai neatpazīstam. Lai nav verbu bezgalotņu formas minējumos, kas parasti nav pareizās.
                         {
 
-                            if (wordformOption.isMatchingStrong(AttributeNames.i_PartOfSpeech, AttributeNames.v_Residual)) {
+                            if (wordformOption.isMatchingStrong(POS_RESIDUAL)) {
                                 char last = stemFromMija.charAt(stemFromMija.length() - 1);
 								if (Character.isDigit(last)) {
 									wordformOption.removeAttribute(AttributeNames.i_ResidualType); // defaultais AttributeNames.v_Foreign te neatblist
@@ -580,7 +982,7 @@ public class Analyzer extends Lexicon {
                         }
                     }
                 }
-			if (result.isRecognized() && !enableAllGuesses) {
+			if (result.isRecognized() && !options.enableAllGuesses()) {
                 // FIXME - šo te vajag aizstāt ar kādu heiristiku, kas atrastu, piemēram, ticamākos lietvārdvariantus, ticamākos īpašībasvārdagadījumus utml.
                 if (!word.endsWith("o")) // mēdz būt nelokāmi -o lietvārdi - bez galotnes, pretstatā dažām -o formām
 			        break;
@@ -649,10 +1051,26 @@ public class Analyzer extends Lexicon {
 
 	public void setCacheSize (int maxSize) {
 		wordCache.setSize(maxSize);
+		lemmaTagCache.setSize(maxSize);
 	}
 	
 	public void clearCache () {
 		wordCache.clear();
+		lemmaTagCache.clear();
+	}
+
+	/**
+	 * The cache of analyzed words, with its hit, miss and eviction counts
+	 */
+	public Cache<?, Word> getCache() {
+		return wordCache;
+	}
+
+	/**
+	 * The cache of lemmaTags results
+	 */
+	public Cache<?, LemmaTags> getLemmaTagCache() {
+		return lemmaTagCache;
 	}
 
 	public ArrayList<Wordform> generateInflections(String lemma) {
@@ -842,22 +1260,14 @@ public class Analyzer extends Lexicon {
         }
 		if (ending == null) return new ArrayList<>();
 
-        Lexeme l = this.createLexeme(lemma, ending, "temp");
+        Lexeme l = this.createTemporaryLexeme(lemma, ending, "temp"); // not added to the lexicon, so as not to pollute it
         if (l == null) { // Couldn't create the lexeme - the word wasn't compatible with the supplied paradigm
             return new ArrayList<Wordform>();
         }
         l.addAttributes(lemmaAttributes);
-		// Workaround priekš tā, ka vajag leksēmas ID lai atrastu atbilstošās papildformas
-		ArrayList<Lexeme> matchingLexemes = p.getLexemesByStem(StemType.STEM1).get(l.getStem(StemType.STEM1));
-		for (Lexeme l2: matchingLexemes) {
-			// FIXME - salūzīs, ja būs vairākas homoformas vienā paradigmā
-			if (l != l2) {
-				l.setID(l2.getID());
-			}
-		}
+		useMatchingLexemeID(l, p);
         ArrayList<Wordform> result = generateInflections(l, lemma);
 		filterInflectionOptions(false, null, result);
-        p.removeLexeme(l); // To not pollute the in-memory lexicon - FIXME - this temporary lexeme does have temporary pollution which could have multithreading race conditions
 
         return result;
     }
@@ -890,7 +1300,7 @@ public class Analyzer extends Lexicon {
 		Ending e = p.getLemmaEnding();
 		String normallemma = stem1 + e.getEnding();
 
-		Lexeme l = this.createLexeme(normallemma, e, "temp");
+		Lexeme l = this.createTemporaryLexeme(normallemma, e, "temp"); // not added to the lexicon, so as not to pollute it
 		if (l == null) { // Couldn't create the lexeme - the word wasn't compatible with the supplied paradigm
 			return new ArrayList<>();
 		}
@@ -904,21 +1314,26 @@ public class Analyzer extends Lexicon {
 		if (p.getStems().contains(StemType.STEM3)) {
 			l.setStem(StemType.STEM3, stem3);
 		}
-		// Workaround priekš tā, ka vajag leksēmas ID lai atrastu atbilstošās papildformas
-		ArrayList<Lexeme> matchingLexemes = p.getLexemesByStem(StemType.STEM1).get(l.getStem(StemType.STEM1));
-		for (Lexeme l2: matchingLexemes) {
-			// FIXME - salūzīs, ja būs vairākas homoformas vienā paradigmā
-			if (l != l2) {
-				l.setID(l2.getID());
-			}
-		}
+		useMatchingLexemeID(l, p);
 		ArrayList<Wordform> result = generateInflections(l, lemma);
 		filterInflectionOptions(false, null, result);
-		p.removeLexeme(l); // To not pollute the in-memory lexicon
 
 		return result;
 	}
 
+	/**
+	 * Workaround priekš tā, ka vajag leksēmas ID lai atrastu atbilstošās papildformas - the temporary lexeme gets the
+	 * ID of a lexicon lexeme of the paradigm with the same first stem
+	 */
+	private static void useMatchingLexemeID(Lexeme temporary, Paradigm paradigm) {
+		List<Lexeme> matchingLexemes = paradigm.getLexemesByStem(StemType.STEM1, temporary.getStem(StemType.STEM1));
+		if (matchingLexemes == null) return;
+		for (Lexeme l2: matchingLexemes) {
+			// FIXME - salūzīs, ja būs vairākas homoformas vienā paradigmā
+			temporary.setID(l2.getID());
+		}
+	}
+
 	/**
 	 * 	Removes possibilities that aren't nouns/substantivised adjectives, and don't match the filter
  	 */
@@ -973,13 +1388,13 @@ public class Analyzer extends Lexicon {
                     // Ja nav pareizā leksēma (atvasināšana vai minēšana) tad uztaisam leksēmu
 					Ending ending = wf.getEnding();
 					if (wf.isMatchingStrong(AttributeNames.i_PartOfSpeech, AttributeNames.v_Adverb))
-						ending = this.paradigmByName("adverb").getLemmaEnding();
+						ending = knownParadigms().adverb.getLemmaEnding();
 					// FIXME - es te iekodēju izņēmumgadījumu jo nevaru saprast kā pareizāk darīt vispārīgi
 					if (lemma.endsWith("šana") && wf.getEnding().getParadigm().isMatchingStrong(AttributeNames.i_PartOfSpeech, AttributeNames.v_Verb)) {
-						ending = this.paradigmByName("noun-4f").getLemmaEnding();
+						ending = knownParadigms().noun4f.getLemmaEnding();
 					}
 						
-					lex = this.createLexeme(lemma, ending, "generateInflectionsFromParadigm"); // Temporary lexeme
+					lex = this.createTemporaryLexeme(lemma, ending, "generateInflectionsFromParadigm");
 					if (lex.getValue(AttributeNames.i_PartOfSpeech) == null)
 						lex.addAttribute(AttributeNames.i_PartOfSpeech, wf.getValue(AttributeNames.i_PartOfSpeech)); // Hardcoded vārdšķirai lai ir POS - saīsinājumi utml
 					if (p_firstcap.matcher(lemma).matches())
@@ -993,10 +1408,7 @@ public class Analyzer extends Lexicon {
 					}
 
 				}
-				ArrayList<Wordform> result = generateInflections(lex, lemma);
-				if (lex.isMatchingStrong(AttributeNames.i_Source, "generateInflectionsFromParadigm"))
-					lex.getParadigm().removeLexeme(lex); // removed temporary lexeme
-				return result;
+				return generateInflections(lex, lemma);
 			}
 			if (lemma.startsWith(this.NEGATION_PREFIX) && lemma.equalsIgnoreCase(this.NEGATION_PREFIX + wf.getValue(AttributeNames.i_Lemma)) && lex != null) {
 				// inflection of negated verbs/participles
@@ -1008,7 +1420,7 @@ public class Analyzer extends Lexicon {
 				 (lemma.toLowerCase().endsWith("ā") && wf.getValue(AttributeNames.i_Lemma).equalsIgnoreCase(lemma.substring(0, lemma.length()-1)+"s") && wf.isMatchingStrong(AttributeNames.i_Gender, AttributeNames.v_Feminine)) ) ) {
 				// Exception for adjective-based surnames "Lielais", "Platais" etc
 				if ((lex == null && lemma.toLowerCase().endsWith("ais")) || (lex != null && !lex.getValue(AttributeNames.i_Lemma).equalsIgnoreCase(lemma))) {
-					lex = this.createLexeme(lemma, wf.getEnding(), "generateInflectionsFromParadigm");
+					lex = this.createTemporaryLexeme(lemma, wf.getEnding(), "generateInflectionsFromParadigm");
 					if (p_firstcap.matcher(lemma).matches())
 						lex.addAttribute(AttributeNames.i_NounType, AttributeNames.v_ProperNoun); //FIXME - hack personvārdu 'Valdis' utml locīšanai
 				}
@@ -1019,8 +1431,6 @@ public class Analyzer extends Lexicon {
 						result.add(wf2);
 					}
 				}
-				if (lex.isMatchingStrong(AttributeNames.i_Source, "generateInflectionsFromParadigm"))
-					lex.getParadigm().removeLexeme(lex);
 				return result;
 			}
 		}
@@ -1052,7 +1462,7 @@ public class Analyzer extends Lexicon {
 					stemBeforeMija = this.NEGATION_PREFIX + stemBeforeMija;
 				}
 
-		    	ArrayList<StemVariant> stemVariants = Mijas.applyLemmaToFormMija(stemBeforeMija, ending.getMija(), thirdStem, superlativeDegree, properName);
+		    	List<StemVariant> stemVariants = Mijas.applyLemmaToFormMija(stemBeforeMija, ending.getMija(), thirdStem, superlativeDegree, properName);
 
 		    	for (StemVariant stemVariant : stemVariants){
 		    		word = stemVariant.stem + ending.getEnding();
@@ -1121,4 +1531,28 @@ public class Analyzer extends Lexicon {
 		return inflections;
 	}
 
+	/**
+	 * Key of the word cache - the token together with the fingerprint of the options it was analyzed with
+	 */
+	private static final class WordKey {
+		private final String word;
+		private final int options;
+
+		WordKey(String word, AnalyzerOptions options) {
+			this.word = word;
+			this.options = options.fingerprint();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof WordKey)) return false;
+			WordKey other = (WordKey) o;
+			return options == other.options && word.equals(other.word);
+		}
+
+		@Override
+		public int hashCode() {
+			return word.hashCode() * 31 + options;
+		}
+	}
 }
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.analyzer;
+
+/**
+ * Immutable set of the analysis settings, which can be passed to Analyzer.analyze for a single call - so that one
+ * analyzer (and its lexicon) can serve requests with different settings at the same time.
+ *
+ * The settings have the same names and meaning as the public flags of Analyzer; analyze(word) without options uses
+ * the current values of those flags. Each setting is one bit of the fingerprint, which is used in the keys of the
+ * word cache, so results for different settings never get mixed up.
+ *
+ * Options are changed by making a modified copy, e.g. AnalyzerOptions.DEFAULT.enableGuessing(true).enableVocative(true)
+ */
+public final class AnalyzerOptions {
+	private static final int ENABLE_PREFIXES = 1;
+	private static final int SEARCH_COMPOUND_WORDS = 1 << 1;
+	private static final int ENABLE_GUESSING = 1 << 2;
+	private static final int ENABLE_DIMINUTIVE = 1 << 3;
+	private static final int ENABLE_DERIVED_NOUNS = 1 << 4;
+	private static final int ENABLE_VOCATIVE = 1 << 5;
+	private static final int GUESS_NOUNS = 1 << 6;
+	private static final int GUESS_VERBS = 1 << 7;
+	private static final int GUESS_PARTICIPLES = 1 << 8;
+	private static final int GUESS_ADJECTIVES = 1 << 9;
+	private static final int GUESS_ALL_PARADIGMS = 1 << 10;
+	private static final int ENABLE_ALL_GUESSES = 1 << 11;
+	private static final int GUESS_INFLEXIBLE_NOUNS = 1 << 12;
+	private static final int REMOVE_RARE_WORDS = 1 << 13;
+	private static final int REMOVE_REGIONAL_WORDS = 1 << 14;
+
+	/**
+	 * The settings of Analyzer.defaultSettings()
+	 */
+	public static final AnalyzerOptions DEFAULT = new AnalyzerOptions(ENABLE_PREFIXES | ENABLE_DIMINUTIVE |
+			ENABLE_DERIVED_NOUNS | GUESS_NOUNS | GUESS_VERBS | GUESS_PARTICIPLES | GUESS_ADJECTIVES |
+			GUESS_INFLEXIBLE_NOUNS | REMOVE_RARE_WORDS | REMOVE_REGIONAL_WORDS);
+
+	private final int flags;
+
+	private AnalyzerOptions(int flags) {
+		this.flags = flags;
+	}
+
+	/**
+	 * The current values of the public flags of this analyzer
+	 */
+	static AnalyzerOptions of(Analyzer analyzer) {
+		return new AnalyzerOptions(fingerprint(analyzer));
+	}
+
+	/**
+	 * Fingerprint of the current values of the public flags of this analyzer, without making an AnalyzerOptions
+	 */
+	static int fingerprint(Analyzer analyzer) {
+		int flags = 0;
+		if (analyzer.enablePrefixes) flags |= ENABLE_PREFIXES;
+		if (analyzer.searchCompoundWords) flags |= SEARCH_COMPOUND_WORDS;
+		if (analyzer.enableGuessing) flags |= ENABLE_GUESSING;
+		if (analyzer.enableDiminutive) flags |= ENABLE_DIMINUTIVE;
+		if (analyzer.enableDerivedNouns) flags |= ENABLE_DERIVED_NOUNS;
+		if (analyzer.enableVocative) flags |= ENABLE_VOCATIVE;
+		if (analyzer.guessNouns) flags |= GUESS_NOUNS;
+		if (analyzer.guessVerbs) flags |= GUESS_VERBS;
+		if (analyzer.guessParticiples) flags |= GUESS_PARTICIPLES;
+		if (analyzer.guessAdjectives) flags |= GUESS_ADJECTIVES;
+		if (analyzer.guessAllParadigms) flags |= GUESS_ALL_PARADIGMS;
+		if (analyzer.enableAllGuesses) flags |= ENABLE_ALL_GUESSES;
+		if (analyzer.guessInflexibleNouns) flags |= GUESS_INFLEXIBLE_NOUNS;
+		if (analyzer.removeRareWords) flags |= REMOVE_RARE_WORDS;
+		if (analyzer.removeRegionalWords) flags |= REMOVE_REGIONAL_WORDS;
+		return flags;
+	}
+
+	/**
+	 * Sets the public flags of this analyzer to these options
+	 */
+	void applyTo(Analyzer analyzer) {
+		analyzer.enablePrefixes = enablePrefixes();
+		analyzer.searchCompoundWords = searchCompoundWords();
+		analyzer.enableGuessing = enableGuessing();
+		analyzer.enableDiminutive = enableDiminutive();
+		analyzer.enableDerivedNouns = enableDerivedNouns();
+		analyzer.enableVocative = enableVocative();
+		analyzer.guessNouns = guessNouns();
+		analyzer.guessVerbs = guessVerbs();
+		analyzer.guessParticiples = guessParticiples();
+		analyzer.guessAdjectives = guessAdjectives();
+		analyzer.guessAllParadigms = guessAllParadigms();
+		analyzer.enableAllGuesses = enableAllGuesses();
+		analyzer.guessInflexibleNouns = guessInflexibleNouns();
+		analyzer.removeRareWords = removeRareWords();
+		analyzer.removeRegionalWords = removeRegionalWords();
+	}
+
+	/**
+	 * All the settings packed in one int, a bit for each - equal options have equal fingerprints, and different
+	 * options different ones
+	 */
+	public int fingerprint() {
+		return flags;
+	}
+
+	private boolean is(int flag) {
+		return (flags & flag) != 0;
+	}
+
+	private AnalyzerOptions with(int flag, boolean value) {
+		int changed = value ? flags | flag : flags & ~flag;
+		return changed == flags ? this : new AnalyzerOptions(changed);
+	}
+
+	public boolean enablePrefixes() { return is(ENABLE_PREFIXES); }
+	public boolean searchCompoundWords() { return is(SEARCH_COMPOUND_WORDS); }
+	public boolean enableGuessing() { return is(ENABLE_GUESSING); }
+	public boolean enableDiminutive() { return is(ENABLE_DIMINUTIVE); }
+	public boolean enableDerivedNouns() { return is(ENABLE_DERIVED_NOUNS); }
+	public boolean enableVocative() { return is(ENABLE_VOCATIVE); }
+	public boolean guessNouns() { return is(GUESS_NOUNS); }
+	public boolean guessVerbs() { return is(GUESS_VERBS); }
+	public boolean guessParticiples() { return is(GUESS_PARTICIPLES); }
+	public boolean guessAdjectives() { return is(GUESS_ADJECTIVES); }
+	public boolean guessAllParadigms() { return is(GUESS_ALL_PARADIGMS); }
+	public boolean enableAllGuesses() { return is(ENABLE_ALL_GUESSES); }
+	public boolean guessInflexibleNouns() { return is(GUESS_INFLEXIBLE_NOUNS); }
+	public boolean removeRareWords() { return is(REMOVE_RARE_WORDS); }
+	public boolean removeRegionalWords() { return is(REMOVE_REGIONAL_WORDS); }
+
+	// copies with one setting changed
+	public AnalyzerOptions enablePrefixes(boolean value) { return with(ENABLE_PREFIXES, value); }
+	public AnalyzerOptions searchCompoundWords(boolean value) { return with(SEARCH_COMPOUND_WORDS, value); }
+	public AnalyzerOptions enableGuessing(boolean value) { return with(ENABLE_GUESSING, value); }
+	public AnalyzerOptions enableDiminutive(boolean value) { return with(ENABLE_DIMINUTIVE, value); }
+	public AnalyzerOptions enableDerivedNouns(boolean value) { return with(ENABLE_DERIVED_NOUNS, value); }
+	public AnalyzerOptions enableVocative(boolean value) { return with(ENABLE_VOCATIVE, value); }
+	public AnalyzerOptions guessNouns(boolean value) { return with(GUESS_NOUNS, value); }
+	public AnalyzerOptions guessVerbs(boolean value) { return with(GUESS_VERBS, value); }
+	public AnalyzerOptions guessParticiples(boolean value) { return with(GUESS_PARTICIPLES, value); }
+	public AnalyzerOptions guessAdjectives(boolean value) { return with(GUESS_ADJECTIVES, value); }
+	public AnalyzerOptions guessAllParadigms(boolean value) { return with(GUESS_ALL_PARADIGMS, value); }
+	public AnalyzerOptions enableAllGuesses(boolean value) { return with(ENABLE_ALL_GUESSES, value); }
+	public AnalyzerOptions guessInflexibleNouns(boolean value) { return with(GUESS_INFLEXIBLE_NOUNS, value); }
+	public AnalyzerOptions removeRareWords(boolean value) { return with(REMOVE_RARE_WORDS, value); }
+	public AnalyzerOptions removeRegionalWords(boolean value) { return with(REMOVE_REGIONAL_WORDS, value); }
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof AnalyzerOptions && ((AnalyzerOptions) o).flags == flags;
+	}
+
+	@Override
+	public int hashCode() {
+		return flags;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("enableGuessing=%b, enablePrefixes=%b, enableDiminutive=%b, enableDerivedNouns=%b, " +
+				"enableVocative=%b, enableAllGuesses=%b, searchCompoundWords=%b, guessNouns=%b, guessVerbs=%b, " +
+				"guessParticiples=%b, guessAdjectives=%b, guessInflexibleNouns=%b, guessAllParadigms=%b, " +
+				"removeRareWords=%b, removeRegionalWords=%b",
+				enableGuessing(), enablePrefixes(), enableDiminutive(), enableDerivedNouns(),
+				enableVocative(), enableAllGuesses(), searchCompoundWords(), guessNouns(), guessVerbs(),
+				guessParticiples(), guessAdjectives(), guessInflexibleNouns(), guessAllParadigms(),
+				removeRareWords(), removeRegionalWords());
+	}
+}
@@ -1,43 +1,408 @@
 /*******************************************************************************
  * Copyright 2013,2014 Institute of Mathematics and Computer Science, University of Latvia
  * Author: Pēteris Paikens
- * 
+ *
  *     This program is free software: you can redistribute it and/or modify
  *     it under the terms of the GNU General Public License as published by
  *     the Free Software Foundation, either version 3 of the License, or
  *     (at your option) any later version.
- * 
+ *
  *     This program is distributed in the hope that it will be useful,
  *     but WITHOUT ANY WARRANTY; without even the implied warranty of
  *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
  *     GNU General Public License for more details.
- * 
+ *
  *     You should have received a copy of the GNU General Public License
  *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
  *******************************************************************************/
 package lv.semti.morphology.analyzer;
 
-import java.util.Map;
-import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache that can be shared by any number of threads, so that one Analyzer can serve them all.
+ *
+ * Lookups go to a ConcurrentHashMap without locking; the accesses are recorded in small per-thread-stripe buffers
+ * and applied to the eviction order in batches, under a lock that is only tried, never waited for. Additions take
+ * the lock - they follow a full analysis of the word anyway.
+ *
+ * Eviction is W-TinyLFU: new entries go to a small LRU window, and an entry leaving the window is admitted to the
+ * main area only if it has been requested more often than the entry that would be evicted for it, as estimated by
+ * a count-min sketch of recent access frequencies. The main area is a segmented LRU, where entries that have been
+ * hit at least once are protected from entries that were seen only once. This keeps the frequent words of a text
+ * in the cache even when a long run of rare words (names, numbers, typos) passes through.
+ */
+public class Cache<K, V> {
+	private static final int STRIPES = 8;
+	private static final int BUFFER_SIZE = 32; // per stripe, a power of 2
+
+	private static final int WINDOW = 0;
+	private static final int PROBATION = 1;
+	private static final int PROTECTED = 2;
+	private static final int DEAD = 3;
+
+	private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final ReadBuffer[] readBuffers = new ReadBuffer[STRIPES];
+
+	// guarded by lock
+	private final Queue<K, V> window = new Queue<>();
+	private final Queue<K, V> probation = new Queue<>();
+	private final Queue<K, V> protectedQueue = new Queue<>();
+	private final FrequencySketch sketch = new FrequencySketch();
+	private int maxSize;
+	private int maxWindow;
+	private int maxProtected;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
 
-public class Cache<K, V> extends LinkedHashMap<K, V> {
-	private static final long serialVersionUID = -6922479578059244274L;
-	private int maxSize = 10000;
-	
 	public Cache(){
-		super(10, 0.75f, true);
+		this(10000);
 	}
 
 	public Cache(int maxSize){
-		super(10, 0.75f, true);
-		this.maxSize = maxSize;
+		for (int i = 0; i < STRIPES; i++)
+			readBuffers[i] = new ReadBuffer();
+		setSize(maxSize);
 	}
-	
+
 	public void setSize(int maxSize) {
-		this.maxSize = maxSize;		
+		lock.lock();
+		try {
+			this.maxSize = Math.max(maxSize, 0);
+			this.maxWindow = Math.max(this.maxSize / 100, 1);
+			this.maxProtected = (this.maxSize - this.maxWindow) * 4 / 5;
+			sketch.setMaximumSize(this.maxSize);
+			drainReadBuffers();
+			evict();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public V get(K key) {
+		Node<K, V> node = data.get(key);
+		if (node == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		recordRead(node);
+		return node.value;
+	}
+
+	public void put(K key, V value) {
+		lock.lock();
+		try {
+			if (maxSize == 0) return;
+			drainReadBuffers();
+			Node<K, V> node = data.get(key);
+			if (node != null) {
+				node.value = value;
+				onAccess(node);
+				return;
+			}
+			node = new Node<>(key, value);
+			data.put(key, node);
+			sketch.ensureCapacity(data.size());
+			sketch.increment(key);
+			window.addLast(node, WINDOW);
+			evict();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void clear() {
+		lock.lock();
+		try {
+			for (ReadBuffer buffer : readBuffers)
+				buffer.clear();
+			for (Node<K, V> node : data.values())
+				node.queue = DEAD;
+			data.clear();
+			window.clear();
+			probation.clear();
+			protectedQueue.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int size() {
+		return data.size();
+	}
+
+	public long hitCount() {
+		return hits.sum();
+	}
+
+	public long missCount() {
+		return misses.sum();
+	}
+
+	public long evictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Share of lookups that were found in the cache, or 0 if there have been none
+	 */
+	public double hitRate() {
+		long hitCount = hits.sum();
+		long total = hitCount + misses.sum();
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d entries, %d hits, %d misses, %d evictions", size(), hitCount(), missCount(), evictionCount());
+	}
+
+	private void recordRead(Node<K, V> node) {
+		ReadBuffer buffer = readBuffers[(int) Thread.currentThread().getId() & (STRIPES - 1)];
+		if (buffer.offer(node) && lock.tryLock()) {
+			try {
+				drainReadBuffers();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	// the methods below are called with the lock held
+
+	private void drainReadBuffers() {
+		for (ReadBuffer buffer : readBuffers) {
+			for (int i = 0; i < BUFFER_SIZE; i++) {
+				@SuppressWarnings("unchecked")
+				Node<K, V> node = (Node<K, V>) buffer.nodes.getAndSet(i, null);
+				if (node != null) onAccess(node);
+			}
+		}
+	}
+
+	private void onAccess(Node<K, V> node) {
+		switch (node.queue) {
+			case WINDOW:
+				sketch.increment(node.key);
+				window.moveToLast(node);
+				break;
+			case PROBATION:
+				sketch.increment(node.key);
+				probation.remove(node);
+				protectedQueue.addLast(node, PROTECTED);
+				while (protectedQueue.size > maxProtected)
+					probation.addLast(protectedQueue.removeFirst(), PROBATION);
+				break;
+			case PROTECTED:
+				sketch.increment(node.key);
+				protectedQueue.moveToLast(node);
+				break;
+			default: // already evicted
+		}
+	}
+
+	/**
+	 * Moves the overflow of the window to the main area, and evicts either these candidates or the least recently
+	 * used entries in probation, whichever are less frequent
+	 */
+	private void evict() {
+		Node<K, V> candidate = null;
+		while (window.size > maxWindow) {
+			Node<K, V> node = window.removeFirst();
+			probation.addLast(node, PROBATION);
+			if (candidate == null) candidate = node;
+		}
+
+		while (data.size() > maxSize) {
+			Node<K, V> victim = probation.first;
+			if (victim == null) victim = protectedQueue.first != null ? protectedQueue.first : window.first;
+			if (candidate != null && candidate != victim && candidate.queue == PROBATION &&
+					sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+				victim = candidate;
+			}
+			if (victim == candidate) candidate = candidate.next;
+			evict(victim);
+		}
+	}
+
+	private void evict(Node<K, V> node) {
+		if (node.queue == WINDOW) window.remove(node);
+		else if (node.queue == PROBATION) probation.remove(node);
+		else protectedQueue.remove(node);
+		node.queue = DEAD;
+		data.remove(node.key, node);
+		evictions.increment();
+	}
+
+	private static final class Node<K, V> {
+		final K key;
+		volatile V value;
+		int queue; // guarded by lock, as are the links
+		Node<K, V> previous;
+		Node<K, V> next;
+
+		Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * Doubly linked list in access order, least recent first
+	 */
+	private static final class Queue<K, V> {
+		Node<K, V> first;
+		Node<K, V> last;
+		int size;
+
+		void addLast(Node<K, V> node, int queue) {
+			node.queue = queue;
+			node.previous = last;
+			node.next = null;
+			if (last == null) first = node;
+			else last.next = node;
+			last = node;
+			size++;
+		}
+
+		void remove(Node<K, V> node) {
+			if (node.previous == null) first = node.next;
+			else node.previous.next = node.next;
+			if (node.next == null) last = node.previous;
+			else node.next.previous = node.previous;
+			node.previous = null;
+			node.next = null;
+			size--;
+		}
+
+		Node<K, V> removeFirst() {
+			Node<K, V> node = first;
+			remove(node);
+			return node;
+		}
+
+		void moveToLast(Node<K, V> node) {
+			if (node == last) return;
+			int queue = node.queue;
+			remove(node);
+			addLast(node, queue);
+		}
+
+		void clear() {
+			first = null;
+			last = null;
+			size = 0;
+		}
+	}
+
+	/**
+	 * Lossy buffer of recent hits - if the lock is busy for long, hits that don't fit are simply not recorded
+	 */
+	private static final class ReadBuffer {
+		final AtomicReferenceArray<Object> nodes = new AtomicReferenceArray<>(BUFFER_SIZE);
+		final AtomicInteger position = new AtomicInteger();
+
+		/**
+		 * @return whether the buffer has filled up and should be drained
+		 */
+		boolean offer(Object node) {
+			int index = position.getAndIncrement() & (BUFFER_SIZE - 1);
+			nodes.lazySet(index, node);
+			return index == BUFFER_SIZE - 1;
+		}
+
+		void clear() {
+			for (int i = 0; i < BUFFER_SIZE; i++)
+				nodes.set(i, null);
+		}
+	}
+
+	/**
+	 * Count-min sketch of 4-bit counters, 16 in a long, halved after every 10 * maximum size increments so that the
+	 * estimates follow recent popularity. The table grows with the number of entries, up to a long per entry of a
+	 * full cache, so that a cache (and an analyzer) that has seen few words stays small.
+	 */
+	private static final class FrequencySketch {
+		private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+		private static final long RESET_MASK = 0x7777777777777777L;
+
+		private static final int MINIMUM_LENGTH = 16;
+
+		private long[] table = new long[MINIMUM_LENGTH];
+		private int sampleSize = 10;
+		private int maxLength = MINIMUM_LENGTH;
+		private int additions = 0;
+
+		void setMaximumSize(int maxSize) {
+			sampleSize = 10 * Math.max(maxSize, 1);
+			maxLength = MINIMUM_LENGTH;
+			while (maxLength < maxSize) maxLength <<= 1;
+		}
+
+		/**
+		 * Grows the table to twice the number of entries, if it is smaller; the counts gathered so far are dropped
+		 */
+		void ensureCapacity(int size) {
+			if (table.length >= maxLength || table.length >= 2 * size) return;
+			int length = table.length;
+			while (length < 2 * size && length < maxLength) length <<= 1;
+			table = new long[length];
+			additions = 0;
+		}
+
+		int frequency(Object key) {
+			int hash = spread(key.hashCode());
+			int frequency = Integer.MAX_VALUE;
+			for (int i = 0; i < 4; i++) {
+				int index = indexOf(hash, i);
+				int offset = counterOffset(hash, i);
+				frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xfL));
+			}
+			return frequency;
+		}
+
+		void increment(Object key) {
+			int hash = spread(key.hashCode());
+			boolean added = false;
+			for (int i = 0; i < 4; i++) {
+				int index = indexOf(hash, i);
+				int offset = counterOffset(hash, i);
+				if (((table[index] >>> offset) & 0xfL) != 0xfL) {
+					table[index] += 1L << offset;
+					added = true;
+				}
+			}
+			if (added && ++additions >= sampleSize) reset();
+		}
+
+		private void reset() {
+			for (int i = 0; i < table.length; i++)
+				table[i] = (table[i] >>> 1) & RESET_MASK;
+			additions /= 2;
+		}
+
+		private int indexOf(int hash, int i) {
+			long h = (hash + SEEDS[i]) * SEEDS[i];
+			h += h >>> 32;
+			return (int) h & (table.length - 1);
+		}
+
+		private static int counterOffset(int hash, int i) {
+			return (((hash >>> (i << 3)) & 3) << 2) + (i << 4) & 63;
+		}
+
+		private static int spread(int x) {
+			x = ((x >>> 16) ^ x) * 0x45d9f3b;
+			x = ((x >>> 16) ^ x) * 0x45d9f3b;
+			return (x >>> 16) ^ x;
+		}
 	}
-	
-	protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
-		return size() > maxSize;
-	} 
 }
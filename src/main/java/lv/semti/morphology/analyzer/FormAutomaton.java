@@ -0,0 +1,587 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.analyzer;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.Map.Entry;
+
+import lv.semti.morphology.attributes.AttributeNames;
+import lv.semti.morphology.lexicon.Ending;
+import lv.semti.morphology.lexicon.Lexeme;
+import lv.semti.morphology.lexicon.Lexicon;
+import lv.semti.morphology.lexicon.LexiconSnapshot;
+import lv.semti.morphology.lexicon.Paradigm;
+import lv.semti.morphology.lexicon.StemType;
+
+/**
+ * Precompiled lexeme lookup for all the inflected forms of the lexicon: a minimal acyclic automaton of the forms,
+ * which maps each form to what the analyzer finds for it when it cuts off the endings and undoes the stem changes -
+ * the endings, stem variant attributes and lexemes, in the order they are found. The analyzer then looks up known
+ * forms in the automaton instead, and does the rest of the analysis (acceptability, rare words, prefixes, guessing)
+ * as usual. Forms that are not in the automaton, and those from which a derivation might be guessed, are analyzed
+ * without it.
+ *
+ * The forms are those made by Analyzer.generateInflections for every lexeme, negated verb forms and hardcoded forms
+ * included, and the stored results are made by the analyzer itself, so they are the same as without the automaton.
+ * An automaton is compiled with
+ * <pre>java lv.semti.morphology.analyzer.FormAutomaton Lexicon_v2.xml [Lexicon_v2.xml.fst] [--core-only]</pre>
+ * and used with {@link Lexicon#setFormAutomaton(FormAutomaton)}, after {@link #load(File, Lexicon)} has memory-mapped
+ * it. It refers to endings and lexemes by their positions in the lexicon, so it can be used only with the lexicon
+ * that it was compiled from (checked with a fingerprint of the lexicon), and it is dropped when the lexicon is edited.
+ *
+ * Layout: header (magic, format version, lexicon revision and fingerprint), the stem variant attribute table, and
+ * then int arrays - the automaton states, the record of each form (in the sorted order of the forms), the records.
+ * A state is its transition count and final flag, followed by a (character, target state, number of forms before it)
+ * triple for each transition, sorted by character; the number of a form is the sum along its path.
+ */
+public final class FormAutomaton {
+	private static final int MAGIC = 0x4C564641; // "LVFA"
+	static final int FORMAT_VERSION = 1;
+
+	// record flags
+	private static final int DERIVABLE = 1;
+	private static final int DERIVABLE_PROPER_NAME = 2;
+	private static final int SEPARATE_PROPER_NAME = 4;
+
+	private final String revision;
+	private final long lexiconFingerprint;
+	private final StemVariant[] stemVariants;
+	private final int root;
+	private final IntBuffer states;
+	private final IntBuffer values;
+	private final IntBuffer records;
+
+	private FormAutomaton(String revision, long lexiconFingerprint, StemVariant[] stemVariants, int root,
+						  IntBuffer states, IntBuffer values, IntBuffer records) {
+		this.revision = revision;
+		this.lexiconFingerprint = lexiconFingerprint;
+		this.stemVariants = stemVariants;
+		this.root = root;
+		this.states = states;
+		this.values = values;
+		this.records = records;
+	}
+
+	/**
+	 * Compiles the automaton of a lexicon file.
+	 * Usage: FormAutomaton &lt;lexicon file&gt; [&lt;automaton file&gt;] [--core-only]
+	 */
+	public static void main(String[] args) throws Exception {
+		List<String> files = new ArrayList<>();
+		boolean useAuxiliaryLexicons = true;
+		for (String arg : args) {
+			if (arg.equals("--core-only")) useAuxiliaryLexicons = false;
+			else files.add(arg);
+		}
+		if (files.isEmpty() || files.size() > 2) {
+			System.err.println("Usage: FormAutomaton <lexicon file> [<automaton file>] [--core-only]");
+			System.exit(1);
+		}
+		File output = files.size() > 1 ? new File(files.get(1)) : defaultFile(files.get(0));
+		Analyzer analyzer = new Analyzer(files.get(0), useAuxiliaryLexicons);
+		FormAutomaton automaton = build(analyzer);
+		automaton.write(output);
+		System.err.printf("Automaton of %d forms of lexicon %s written to %s\n", automaton.size(), analyzer.getRevision(), output);
+	}
+
+	/**
+	 * The automaton file next to the lexicon file
+	 */
+	public static File defaultFile(String lexiconFileName) {
+		return new File(lexiconFileName + ".fst");
+	}
+
+	/**
+	 * Number of forms
+	 */
+	public int size() {
+		return values.limit();
+	}
+
+	public String getRevision() {
+		return revision;
+	}
+
+	/**
+	 * Fingerprint of the lexicon the automaton was compiled from, see fingerprint(Lexicon)
+	 */
+	public long getLexiconFingerprint() {
+		return lexiconFingerprint;
+	}
+
+	/**
+	 * Hash of the paradigms, endings and lexemes of the lexicon (IDs, stems, stem changes), in their order - the
+	 * automaton refers to them by position
+	 */
+	public static long fingerprint(Lexicon lexicon) {
+		long hash = 17;
+		for (Paradigm paradigm : lexicon.paradigms) {
+			hash = hash * 1000003 + paradigm.getID();
+			for (Ending ending : paradigm.endings) {
+				hash = hash * 1000003 + ending.getID();
+				hash = hash * 1000003 + ending.getMija();
+				hash = hash * 1000003 + ending.stemType.ordinal();
+				hash = hash * 1000003 + ending.getEnding().hashCode();
+			}
+			for (Lexeme lexeme : paradigm.lexemes) {
+				hash = hash * 1000003 + lexeme.getID();
+				for (StemType stemType : StemType.values()) {
+					if (!paradigm.getStems().contains(stemType)) continue;
+					String stem = lexeme.getStem(stemType);
+					hash = hash * 1000003 + (stem == null ? 0 : stem.hashCode());
+				}
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Compiles the automaton of all the forms of the lexemes of the analyzer's lexicon.
+	 */
+	public static FormAutomaton build(Analyzer analyzer) {
+		return build(analyzer, inflectedForms(analyzer));
+	}
+
+	/**
+	 * All the forms of all the lexemes, lowercase. A lexeme whose forms can't be generated is reported on stderr and
+	 * left out, and its forms are analyzed without the automaton.
+	 */
+	public static Set<String> inflectedForms(Analyzer analyzer) {
+		Set<String> forms = new HashSet<>();
+		for (Paradigm paradigm : analyzer.paradigms)
+			for (Lexeme lexeme : paradigm.lexemes) {
+				String lemma = lexeme.getValue(AttributeNames.i_Lemma);
+				if (lemma == null) continue;
+				forms.add(lemma.toLowerCase());
+				try {
+					for (Wordform wordform : analyzer.generateInflections(lexeme, lemma))
+						forms.add(wordform.getToken().toLowerCase());
+				} catch (RuntimeException e) {
+					System.err.printf("Forms of lexeme %d '%s' left out of the form automaton: %s\n", lexeme.getID(), lemma, e);
+				}
+			}
+		forms.remove("");
+		return forms;
+	}
+
+	/**
+	 * Compiles the automaton of these forms, e.g. only the frequent ones. The words must be lowercase, like the
+	 * analyzer looks them up.
+	 */
+	public static FormAutomaton build(Analyzer analyzer, Collection<String> words) {
+		TreeSet<String> forms = new TreeSet<>(words);
+		forms.remove("");
+
+		IdentityHashMap<Ending, int[]> endingPositions = new IdentityHashMap<>();
+		IdentityHashMap<Lexeme, Integer> lexemePositions = new IdentityHashMap<>();
+		for (int p = 0; p < analyzer.paradigms.size(); p++) {
+			Paradigm paradigm = analyzer.paradigms.get(p);
+			for (int e = 0; e < paradigm.endings.size(); e++)
+				endingPositions.put(paradigm.endings.get(e), new int[] {p, e});
+			for (int l = 0; l < paradigm.lexemes.size(); l++)
+				lexemePositions.put(paradigm.lexemes.get(l), l);
+		}
+
+		// with the derivations enabled, all the stem variants that a derivation could be guessed from are seen
+		AnalyzerOptions options = AnalyzerOptions.DEFAULT.enableDiminutive(true).enableDerivedNouns(true);
+		HashMap<List<String>, Integer> variantIndexes = new HashMap<>();
+		List<StemVariant> variants = new ArrayList<>();
+		IntList records = new IntList();
+		HashMap<IntList, Integer> recordIndexes = new HashMap<>();
+		IntList values = new IntList();
+		AutomatonBuilder automaton = new AutomatonBuilder();
+
+		for (String form : forms) {
+			IntList record = new IntList();
+			record.add(0);
+			int flags = 0;
+			IntList[] items = new IntList[2];
+			for (int properName = 0; properName < 2; properName++) {
+				IntList list = new IntList();
+				boolean[] derivable = new boolean[1];
+				analyzer.findLexemes(form, properName == 1, options, (ending, stemVariant, lexemes) -> {
+					derivable[0] |= Analyzer.mayBeDerived(ending, stemVariant);
+					if (lexemes.isEmpty()) return;
+					int[] position = endingPositions.get(ending);
+					list.add(position[0]);
+					list.add(position[1]);
+					List<String> attributes = new ArrayList<>(); // in their order, as it shows in the wordforms
+					for (Entry<String, String> attribute : stemVariant.entrySet()) {
+						attributes.add(attribute.getKey());
+						attributes.add(attribute.getValue());
+					}
+					Integer variant = variantIndexes.get(attributes);
+					if (variant == null) {
+						variant = variants.size();
+						variantIndexes.put(attributes, variant);
+						variants.add(new StemVariant("", stemVariant));
+					}
+					list.add(variant);
+					list.add(lexemes.size());
+					for (Lexeme lexeme : lexemes)
+						list.add(lexemePositions.get(lexeme));
+				});
+				items[properName] = list;
+				if (derivable[0]) flags |= properName == 1 ? DERIVABLE_PROPER_NAME : DERIVABLE;
+			}
+			boolean separate = !items[0].equals(items[1]);
+			if (separate) flags |= SEPARATE_PROPER_NAME;
+			record.set(0, flags);
+			record.addCounted(items[0]);
+			if (separate) record.addCounted(items[1]);
+
+			Integer offset = recordIndexes.get(record);
+			if (offset == null) {
+				offset = records.size();
+				records.addAll(record);
+				recordIndexes.put(record, offset);
+			}
+			values.add(offset);
+			automaton.add(form);
+		}
+
+		IntList states = new IntList();
+		int root = automaton.compile(states);
+		return new FormAutomaton(analyzer.getRevision(), fingerprint(analyzer), variants.toArray(new StemVariant[0]),
+				root, states.toBuffer(), values.toBuffer(), records.toBuffer());
+	}
+
+	/**
+	 * The record of a form, -1 if the form is not in the automaton
+	 */
+	int find(String word) {
+		int state = root;
+		int number = 0;
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			int low = 0, high = (states.get(state) >>> 1) - 1, transition = -1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				int label = states.get(state + 1 + 3 * middle);
+				if (label < c) low = middle + 1;
+				else if (label > c) high = middle - 1;
+				else {
+					transition = state + 1 + 3 * middle;
+					break;
+				}
+			}
+			if (transition < 0) return -1;
+			number += states.get(transition + 2);
+			state = states.get(transition + 1);
+		}
+		if ((states.get(state) & 1) == 0) return -1;
+		return values.get(number);
+	}
+
+	/**
+	 * Whether a derivation might be guessed from one of the stem variants of the form - then the form is analyzed
+	 * without the automaton, when the derivations are enabled
+	 */
+	boolean mayBeDerived(int record, boolean properName) {
+		return (records.get(record) & (properName ? DERIVABLE_PROPER_NAME : DERIVABLE)) != 0;
+	}
+
+	/**
+	 * Passes the stored lexeme matches of the form to the receiver, as Analyzer.findLexemes would - except the stem
+	 * variants without lexemes, which are left out
+	 */
+	void replay(int record, boolean properName, Lexicon lexicon, Analyzer.LexemeMatches matches) {
+		int position = record + 1;
+		if (properName && (records.get(record) & SEPARATE_PROPER_NAME) != 0)
+			position = skipItems(position);
+		int end = position + 1 + records.get(position);
+		position++;
+		while (position < end) {
+			Paradigm paradigm = lexicon.paradigms.get(records.get(position));
+			Ending ending = paradigm.endings.get(records.get(position + 1));
+			StemVariant stemVariant = stemVariants[records.get(position + 2)];
+			int count = records.get(position + 3);
+			position += 4;
+			List<Lexeme> lexemes;
+			if (count == 1) {
+				lexemes = Collections.singletonList(paradigm.lexemes.get(records.get(position)));
+			} else {
+				lexemes = new ArrayList<>(count);
+				for (int i = 0; i < count; i++)
+					lexemes.add(paradigm.lexemes.get(records.get(position + i)));
+			}
+			position += count;
+			matches.found(ending, stemVariant, lexemes);
+		}
+	}
+
+	private int skipItems(int position) {
+		return position + 1 + records.get(position);
+	}
+
+	/**
+	 * Memory-maps an automaton file, checking that it was compiled from this lexicon.
+	 * @throws LexiconSnapshot.StaleSnapshotException	if it was compiled from another lexicon or format version
+	 */
+	public static FormAutomaton load(File file, Lexicon lexicon) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if (buffer.getInt() != MAGIC)
+			throw new IOException("Not a form automaton file");
+		int version = buffer.getInt();
+		if (version != FORMAT_VERSION)
+			throw new LexiconSnapshot.StaleSnapshotException(String.format(
+					"Form automaton format version %d, but %d was expected", version, FORMAT_VERSION));
+		String revision = readUTF8(buffer);
+		long lexiconFingerprint = buffer.getLong();
+		if (lexiconFingerprint != fingerprint(lexicon))
+			throw new LexiconSnapshot.StaleSnapshotException(String.format(
+					"Form automaton %s is of lexicon revision %s, not of the lexicon %s %s",
+					file, revision, lexicon.getFilename(), lexicon.getRevision()));
+
+		StemVariant[] stemVariants = new StemVariant[buffer.getInt()];
+		for (int i = 0; i < stemVariants.length; i++) {
+			stemVariants[i] = new StemVariant("");
+			int count = buffer.getInt();
+			for (int a = 0; a < count; a++)
+				stemVariants[i].addAttribute(readUTF8(buffer), readUTF8(buffer));
+		}
+		buffer.position((buffer.position() + 3) & ~3);
+		IntBuffer ints = buffer.slice().asIntBuffer();
+		int root = ints.get();
+		IntBuffer states = slice(ints);
+		IntBuffer values = slice(ints);
+		IntBuffer records = slice(ints);
+		return new FormAutomaton(revision, lexiconFingerprint, stemVariants, root, states, values, records);
+	}
+
+	private static IntBuffer slice(IntBuffer ints) {
+		int length = ints.get();
+		IntBuffer result = ints.duplicate();
+		result.limit(ints.position() + length);
+		ints.position(ints.position() + length);
+		return result.slice();
+	}
+
+	/**
+	 * Stores the automaton in a file, which load can map.
+	 */
+	public void write(File file) throws IOException {
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+			output.writeInt(MAGIC);
+			output.writeInt(FORMAT_VERSION);
+			writeUTF8(output, revision);
+			output.writeLong(lexiconFingerprint);
+			output.writeInt(stemVariants.length);
+			for (StemVariant stemVariant : stemVariants) {
+				output.writeInt(stemVariant.size());
+				for (Entry<String, String> attribute : stemVariant.entrySet()) {
+					writeUTF8(output, attribute.getKey());
+					writeUTF8(output, attribute.getValue());
+				}
+			}
+			while (output.size() % 4 != 0) output.writeByte(0);
+			output.writeInt(root);
+			for (IntBuffer ints : new IntBuffer[] {states, values, records}) {
+				output.writeInt(ints.limit());
+				for (int i = 0; i < ints.limit(); i++)
+					output.writeInt(ints.get(i));
+			}
+		}
+	}
+
+	private static void writeUTF8(DataOutputStream output, String s) throws IOException {
+		byte[] bytes = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readUTF8(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Growable int array, comparable by content
+	 */
+	private static final class IntList {
+		private int[] data = new int[8];
+		private int size = 0;
+
+		void add(int value) {
+			if (size == data.length) data = Arrays.copyOf(data, size * 2);
+			data[size++] = value;
+		}
+
+		void set(int index, int value) {
+			data[index] = value;
+		}
+
+		void addAll(IntList other) {
+			for (int i = 0; i < other.size; i++) add(other.data[i]);
+		}
+
+		// the size (in ints) and then the contents
+		void addCounted(IntList other) {
+			add(other.size);
+			addAll(other);
+		}
+
+		int size() {
+			return size;
+		}
+
+		IntBuffer toBuffer() {
+			return IntBuffer.wrap(Arrays.copyOf(data, size));
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof IntList)) return false;
+			IntList other = (IntList) o;
+			if (size != other.size) return false;
+			for (int i = 0; i < size; i++)
+				if (data[i] != other.data[i]) return false;
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = 1;
+			for (int i = 0; i < size; i++) hash = hash * 31 + data[i];
+			return hash;
+		}
+	}
+
+	/**
+	 * Builds the minimal automaton of words added in sorted order, by the algorithm of Daciuk, Mihov, Watson and
+	 * Watson (2000): the states of the previous word that the next one doesn't share are final, and get replaced by
+	 * an equivalent state if one is already registered.
+	 */
+	private static final class AutomatonBuilder {
+		private static final class State {
+			boolean isFinal;
+			char[] labels = new char[2];
+			State[] targets = new State[2];
+			int count;
+			int words = -1; // number of words accepted from this state
+			int offset = -1;
+
+			void add(char label, State target) {
+				if (count == labels.length) {
+					labels = Arrays.copyOf(labels, count * 2);
+					targets = Arrays.copyOf(targets, count * 2);
+				}
+				labels[count] = label;
+				targets[count++] = target;
+			}
+
+			@Override
+			public boolean equals(Object o) {
+				State other = (State) o;
+				if (isFinal != other.isFinal || count != other.count) return false;
+				for (int i = 0; i < count; i++)
+					if (labels[i] != other.labels[i] || targets[i] != other.targets[i]) return false;
+				return true;
+			}
+
+			@Override
+			public int hashCode() {
+				int hash = isFinal ? 1 : 0;
+				for (int i = 0; i < count; i++)
+					hash = hash * 31 + labels[i] * 17 + System.identityHashCode(targets[i]);
+				return hash;
+			}
+		}
+
+		private final HashMap<State, State> register = new HashMap<>();
+		private final ArrayList<State> path = new ArrayList<>(); // the states of the previous word
+		private String previous = "";
+
+		AutomatonBuilder() {
+			path.add(new State());
+		}
+
+		void add(String word) {
+			int prefix = 0;
+			while (prefix < word.length() && prefix < previous.length() && word.charAt(prefix) == previous.charAt(prefix))
+				prefix++;
+			minimize(prefix);
+			State state = path.get(prefix);
+			for (int i = prefix; i < word.length(); i++) {
+				State next = new State();
+				state.add(word.charAt(i), next);
+				path.add(next);
+				state = next;
+			}
+			state.isFinal = true;
+			previous = word;
+		}
+
+		// registers or replaces the states of the previous word after the prefix
+		private void minimize(int prefix) {
+			for (int i = path.size() - 1; i > prefix; i--) {
+				State child = path.get(i);
+				State parent = path.get(i - 1);
+				State registered = register.putIfAbsent(child, child);
+				if (registered != null)
+					parent.targets[parent.count - 1] = registered;
+				path.remove(i);
+			}
+		}
+
+		/**
+		 * Writes the states to the list
+		 * @return the offset of the start state
+		 */
+		int compile(IntList output) {
+			minimize(0);
+			return write(path.get(0), output);
+		}
+
+		private static int words(State state) {
+			if (state.words < 0) {
+				int words = state.isFinal ? 1 : 0;
+				for (int i = 0; i < state.count; i++) words += words(state.targets[i]);
+				state.words = words;
+			}
+			return state.words;
+		}
+
+		private static int write(State state, IntList output) {
+			if (state.offset >= 0) return state.offset;
+			int[] targets = new int[state.count];
+			for (int i = 0; i < state.count; i++)
+				targets[i] = write(state.targets[i], output);
+			state.offset = output.size();
+			output.add(state.count << 1 | (state.isFinal ? 1 : 0));
+			int before = state.isFinal ? 1 : 0;
+			for (int i = 0; i < state.count; i++) {
+				output.add(state.labels[i]);
+				output.add(targets[i]);
+				output.add(before);
+				before += words(state.targets[i]);
+			}
+			return state.offset;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.analyzer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import lv.semti.morphology.attributes.AttributeNames;
+
+/**
+ * The lemmas and tags of the analyses of a token, without the rest of their attributes - see Analyzer.lemmaTags.
+ * Each distinct pair of a lemma and a tag is listed once, in the order of the wordforms that have it. The object is
+ * immutable, so that the analyzer can keep it in a cache and hand it out to any caller.
+ */
+public final class LemmaTags {
+	private final String[] lemmas;
+	private final String[] tags;
+	private final List<String> distinctLemmas;
+
+	LemmaTags(List<Wordform> wordforms) {
+		String[] lemmas = new String[wordforms.size()];
+		String[] tags = new String[wordforms.size()];
+		List<String> distinctLemmas = new ArrayList<>();
+		int size = 0;
+		for (Wordform wordform : wordforms) {
+			String lemma = wordform.getValue(AttributeNames.i_Lemma);
+			String tag = wordform.getTag();
+			if (indexOf(lemmas, tags, size, lemma, tag) >= 0) continue;
+			if (!distinctLemmas.contains(lemma)) distinctLemmas.add(lemma);
+			lemmas[size] = lemma;
+			tags[size] = tag;
+			size++;
+		}
+		this.lemmas = Arrays.copyOf(lemmas, size);
+		this.tags = Arrays.copyOf(tags, size);
+		this.distinctLemmas = Collections.unmodifiableList(distinctLemmas);
+	}
+
+	private static int indexOf(String[] lemmas, String[] tags, int size, String lemma, String tag) {
+		for (int i = 0; i < size; i++)
+			if (Objects.equals(lemmas[i], lemma) && Objects.equals(tags[i], tag)) return i;
+		return -1;
+	}
+
+	/**
+	 * The number of distinct lemma and tag pairs
+	 */
+	public int size() {
+		return lemmas.length;
+	}
+
+	public String lemma(int i) {
+		return lemmas[i];
+	}
+
+	public String tag(int i) {
+		return tags[i];
+	}
+
+	/**
+	 * Whether the token has an analysis with this lemma and tag
+	 */
+	public boolean contains(String lemma, String tag) {
+		return indexOf(lemmas, tags, lemmas.length, lemma, tag) >= 0;
+	}
+
+	/**
+	 * The distinct lemmas, in the order of the wordforms that have them
+	 */
+	public List<String> lemmas() {
+		return distinctLemmas;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < lemmas.length; i++) {
+			if (i > 0) result.append(", ");
+			result.append(lemmas[i]).append('/').append(tags[i]);
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,1193 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.analyzer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import lv.semti.morphology.attributes.AttributeNames;
+import lv.semti.morphology.attributes.AttributePool;
+import lv.semti.morphology.attributes.AttributeValues;
+
+/**
+ * The stem change (mija) rules of {@link Mijas}, Latvian and Latgalian, kept as data: for each stem change and
+ * direction a program of rules that look at the end (and sometimes the start) of the stem and say which stem
+ * variants to make of it - what to cut off at either end, what to add, and with which attributes.
+ *
+ * The rules of a program are evaluated in order over a char buffer of the stem. A rule made with when() or always()
+ * starts a new chain, and a rule made with orWhen() or otherwise() is tried only if no earlier rule of its chain
+ * matched - as an "else if". The only strings made are the stem variants themselves, and their attributes are
+ * shared immutable sets, one per distinct set in the rules.
+ *
+ * A stem variant that would end before it starts, as substring() would, throws StringIndexOutOfBoundsException
+ * after the variants made before it, and a rule on the third stem throws NullPointerException if there is none.
+ */
+final class MijaRules {
+	static final MijaRules FORM_TO_LEMMA = new MijaRules();
+	static final MijaRules LEMMA_TO_FORM = new MijaRules();
+
+	private static final int MAX_STEM_CHANGE = 167;
+	private static final char[] NONE = new char[0];
+	private static final AttributePool pool = new AttributePool(); // only used while the rules are built
+	private static final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+	private final Program[] programs = new Program[MAX_STEM_CHANGE + 1];
+
+	private MijaRules() {}
+
+	/**
+	 * Adds the stem variants of the stem with this stem change to stemVariants
+	 * @return false if there is no such stem change
+	 */
+	boolean apply(String stem, int stemChange, String thirdStem, boolean addSuperlative, boolean properName,
+				  List<StemVariant> stemVariants) {
+		Program program = stemChange >= 0 && stemChange < programs.length ? programs[stemChange] : null;
+		if (program == null) return false;
+		program.run(stem, thirdStem, addSuperlative, properName, stemVariants);
+		return true;
+	}
+
+	private static final class Scratch {
+		char[] stem = new char[64];
+		char[] out = new char[64];
+
+		char[] stem(int length) {
+			if (stem.length < length) stem = new char[Math.max(length, stem.length * 2)];
+			return stem;
+		}
+
+		char[] out(int length) {
+			if (out.length < length) out = new char[Math.max(length, out.length * 2)];
+			return out;
+		}
+	}
+
+	private static boolean endsWith(char[] stem, int start, int end, char[] suffix) {
+		if (end - start < suffix.length) return false;
+		for (int i = suffix.length - 1, j = end - 1; i >= 0; i--, j--)
+			if (stem[j] != suffix[i]) return false;
+		return true;
+	}
+
+	private static boolean startsWith(char[] stem, int start, int end, char[] prefix) {
+		if (end - start < prefix.length) return false;
+		for (int i = 0; i < prefix.length; i++)
+			if (stem[start + i] != prefix[i]) return false;
+		return true;
+	}
+
+	private static boolean endsWithAny(char[] stem, int start, int end, char[][] suffixes) {
+		for (char[] suffix : suffixes)
+			if (endsWith(stem, start, end, suffix)) return true;
+		return false;
+	}
+
+	private static boolean isVowel(char c) {
+		switch (c) {
+			case 'a': case 'ā': case 'e': case 'ē': case 'i': case 'ī': case 'o': case 'u': case 'ū':
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static int syllables(char[] stem, int start, int end) {
+		int counter = 0;
+		boolean inVowel = false;
+		for (int i = start; i < end; i++) {
+			boolean vowel = isVowel(stem[i]);
+			if (!inVowel && vowel) counter++;
+			inVowel = vowel;
+		}
+		return counter;
+	}
+
+	private static char[][] chars(String[] strings) {
+		char[][] result = new char[strings.length][];
+		for (int i = 0; i < strings.length; i++)
+			result[i] = strings[i].toCharArray();
+		return result;
+	}
+
+	/**
+	 * A program: what is done with the whole stem before the rules, and the rules. Of the branches, the first one
+	 * whose prefix the stem starts with is used, with the prefix removed.
+	 */
+	private static final class Program {
+		char[] requiredPrefix = null; // the stem must start with it and be at least minLength long, and it is removed
+		int minLength = 0;
+		char[] prepend = NONE;
+		boolean vowelMijaFormToLemma = false;
+		boolean vowelMijaLemmaToForm = false;
+		Branch[] branches;
+
+		Program(Branch... branches) {
+			this.branches = branches;
+		}
+
+		Program derived() {
+			Program program = new Program(branches);
+			program.prepend = prepend;
+			return program;
+		}
+
+		void run(String stem, String thirdStem, boolean addSuperlative, boolean properName,
+				 List<StemVariant> stemVariants) {
+			if (requiredPrefix != null) {
+				if (stem.length() < minLength || !stem.startsWith(new String(requiredPrefix))) return;
+				stem = stem.substring(requiredPrefix.length);
+			}
+			if (vowelMijaFormToLemma) stem = Mijas.ltgVowelMijaFormToLemma(stem);
+			if (vowelMijaLemmaToForm) stem = Mijas.ltgVowelMijaLemmaToForm(stem);
+
+			Scratch scratch = MijaRules.scratch.get();
+			int end = prepend.length + stem.length();
+			char[] buffer = scratch.stem(end);
+			System.arraycopy(prepend, 0, buffer, 0, prepend.length);
+			stem.getChars(0, stem.length(), buffer, prepend.length);
+
+			for (Branch branch : branches) {
+				if (startsWith(buffer, 0, end, branch.prefix)) {
+					Rule.run(branch.rules, buffer, branch.prefix.length, end, thirdStem, addSuperlative, properName,
+							scratch, stemVariants);
+					return;
+				}
+			}
+		}
+	}
+
+	private static final class Branch {
+		final char[] prefix;
+		final Rule[] rules;
+
+		Branch(String prefix, Rule[] rules) {
+			this.prefix = prefix.toCharArray();
+			this.rules = rules;
+		}
+	}
+
+	/**
+	 * Conditions on the stem, and the stem variants that are made if they hold
+	 */
+	private static final class Rule {
+		final boolean otherwise;
+		final char[][] suffixes; // any of them, or any stem if there are none
+		char[][] exceptions = {};
+		char[] prefix = NONE;
+		int minLength = 0;
+		int minSyllables = 0;
+		String[] thirdStemSuffixes = null;
+		boolean properName = false;
+		boolean superlative = false;
+		Output[] outputs = {};
+
+		Rule(boolean otherwise, String... suffixes) {
+			this.otherwise = otherwise;
+			this.suffixes = chars(suffixes);
+		}
+
+		/** but not if the stem ends with any of these */
+		Rule except(String... suffixes) {
+			exceptions = chars(suffixes);
+			return this;
+		}
+
+		Rule prefix(String prefix) {
+			this.prefix = prefix.toCharArray();
+			return this;
+		}
+
+		Rule minLength(int length) {
+			minLength = length;
+			return this;
+		}
+
+		Rule syllables(int count) {
+			minSyllables = count;
+			return this;
+		}
+
+		/** only if the third stem ends with any of these */
+		Rule thirdStem(String... suffixes) {
+			thirdStemSuffixes = suffixes;
+			return this;
+		}
+
+		Rule properName() {
+			properName = true;
+			return this;
+		}
+
+		/** only if superlative forms are made */
+		Rule superlative() {
+			superlative = true;
+			return this;
+		}
+
+		Rule then(Output... outputs) {
+			this.outputs = outputs;
+			return this;
+		}
+
+		boolean matches(char[] stem, int start, int end, String thirdStem, boolean addSuperlative,
+						boolean isProperName) {
+			if (properName && !isProperName) return false;
+			if (superlative && !addSuperlative) return false;
+			if (suffixes.length > 0 && !endsWithAny(stem, start, end, suffixes)) return false;
+			if (exceptions.length > 0 && endsWithAny(stem, start, end, exceptions)) return false;
+			if (!startsWith(stem, start, end, prefix)) return false;
+			if (end - start < minLength) return false;
+			if (minSyllables > 0 && MijaRules.syllables(stem, start, end) < minSyllables) return false;
+			if (thirdStemSuffixes != null) {
+				for (String suffix : thirdStemSuffixes)
+					if (thirdStem.endsWith(suffix)) return true;
+				return false;
+			}
+			return true;
+		}
+
+		static void run(Rule[] rules, char[] stem, int start, int end, String thirdStem, boolean addSuperlative,
+						boolean properName, Scratch scratch, List<StemVariant> stemVariants) {
+			boolean matched = false; // whether a rule of the current chain has matched
+			for (Rule rule : rules) {
+				if (!rule.otherwise) matched = false;
+				else if (matched) continue;
+				if (!rule.matches(stem, start, end, thirdStem, addSuperlative, properName)) continue;
+				matched = true;
+				for (Output output : rule.outputs) {
+					if (output.superlative && !addSuperlative) continue;
+					stemVariants.add(output.make(stem, start, end, thirdStem, scratch));
+				}
+			}
+		}
+	}
+
+	/**
+	 * A stem variant: the stem with dropStart and dropEnd characters cut off its ends, changed by the rewrite, with
+	 * prepend and append added, and the attributes. Or the third stem as is.
+	 */
+	private static final class Output implements Cloneable {
+		int dropStart = 0;
+		int dropEnd = 0;
+		char[] prepend = NONE;
+		char[] append = NONE;
+		Rewrite rewrite = null;
+		boolean thirdStem = false;
+		boolean superlative = false;
+		AttributeValues attributes = null;
+
+		private Output copy() {
+			try {
+				return (Output) clone();
+			} catch (CloneNotSupportedException e) {
+				throw new AssertionError(e);
+			}
+		}
+
+		Output append(String suffix) {
+			Output output = copy();
+			output.append = suffix.toCharArray();
+			return output;
+		}
+
+		Output prepend(String prefix) {
+			Output output = copy();
+			output.prepend = prefix.toCharArray();
+			return output;
+		}
+
+		/** cuts off the first characters */
+		Output skip(int count) {
+			Output output = copy();
+			output.dropStart = count;
+			return output;
+		}
+
+		Output rewrite(Rewrite rewrite) {
+			Output output = copy();
+			output.rewrite = rewrite;
+			return output;
+		}
+
+		/** only if superlative forms are made */
+		Output superlative() {
+			Output output = copy();
+			output.superlative = true;
+			return output;
+		}
+
+		Output with(AttributeValues attributes) {
+			Output output = copy();
+			output.attributes = attributes;
+			return output;
+		}
+
+		StemVariant make(char[] stem, int start, int end, String thirdStem, Scratch scratch) {
+			String result;
+			if (this.thirdStem) {
+				result = thirdStem;
+			} else {
+				int from = start + dropStart;
+				int to = end - dropEnd;
+				if (to < from) throw new StringIndexOutOfBoundsException("begin " + (from - start) + ", end " + (to - start));
+				char[] out = scratch.out(prepend.length + to - from + 2 + append.length);
+				int length = prepend.length;
+				System.arraycopy(prepend, 0, out, 0, length);
+				char[] replacement = NONE;
+				if (rewrite != null) {
+					for (int i = 0; i < rewrite.suffixes.length; i++) {
+						if (endsWith(stem, from, to, rewrite.suffixes[i])) {
+							to -= rewrite.suffixes[i].length;
+							replacement = rewrite.replacements[i];
+							break;
+						}
+					}
+				}
+				System.arraycopy(stem, from, out, length, to - from);
+				length += to - from;
+				System.arraycopy(replacement, 0, out, length, replacement.length);
+				length += replacement.length;
+				System.arraycopy(append, 0, out, length, append.length);
+				length += append.length;
+				result = new String(out, 0, length);
+			}
+			return attributes == null ? new StemVariant(result) : new StemVariant(result, attributes);
+		}
+	}
+
+	/**
+	 * Replaces the first of the suffixes that the stem ends with
+	 */
+	private static final class Rewrite {
+		final char[][] suffixes;
+		final char[][] replacements;
+
+		Rewrite(String... pairs) {
+			suffixes = new char[pairs.length / 2][];
+			replacements = new char[pairs.length / 2][];
+			for (int i = 0; i < pairs.length; i += 2) {
+				suffixes[i / 2] = pairs[i].toCharArray();
+				replacements[i / 2] = pairs[i + 1].toCharArray();
+			}
+		}
+	}
+
+	// ------ the rule language ------
+
+	private static Rule when(String... suffixes) {
+		return new Rule(false, suffixes);
+	}
+
+	private static Rule orWhen(String... suffixes) {
+		return new Rule(true, suffixes);
+	}
+
+	private static Rule always() {
+		return new Rule(false);
+	}
+
+	private static Rule otherwise() {
+		return new Rule(true);
+	}
+
+	/** the stem as is */
+	private static Output stem() {
+		return new Output();
+	}
+
+	/** the stem without the last characters */
+	private static Output drop(int count) {
+		Output output = new Output();
+		output.dropEnd = count;
+		return output;
+	}
+
+	/** the stem with the last characters replaced */
+	private static Output replace(int count, String suffix) {
+		return drop(count).append(suffix);
+	}
+
+	private static Output append(String suffix) {
+		return stem().append(suffix);
+	}
+
+	private static Output thirdStem() {
+		Output output = new Output();
+		output.thirdStem = true;
+		return output;
+	}
+
+	private static AttributeValues attributes(String attribute, String value) {
+		AttributeValues attributes = new AttributeValues();
+		attributes.addAttribute(attribute, value);
+		attributes.compact(pool);
+		return attributes;
+	}
+
+	private static AttributeValues mija(String description) {
+		return attributes("Mija", description);
+	}
+
+	private static AttributeValues degree(String degree) {
+		return attributes(AttributeNames.i_Degree, degree);
+	}
+
+	private static AttributeValues ltgDegree(String degree) {
+		AttributeValues attributes = new AttributeValues();
+		attributes.addAttributes(Mijas.ltgDegreeFlags(degree));
+		attributes.compact(pool);
+		return attributes;
+	}
+
+	private static final AttributeValues LONG = attributes("Garā", "ā");
+	private static final AttributeValues POSITIVE = degree(AttributeNames.v_Positive);
+	private static final AttributeValues COMPARATIVE = degree(AttributeNames.v_Comparative);
+	private static final AttributeValues SUPERLATIVE = degree(AttributeNames.v_Superlative);
+	private static final AttributeValues LTG_POSITIVE = ltgDegree(AttributeNames.v_Positive);
+	private static final AttributeValues LTG_COMPARATIVE = ltgDegree(AttributeNames.v_Comparative);
+	private static final AttributeValues LTG_SUPERLATIVE = ltgDegree(AttributeNames.v_Superlative);
+
+	/**
+	 * Latgalian 'letter change' ("burtu mija") from ļ, ņ, ķ, ģ to l, n, k, g - used in lemma to form transformation
+	 * when the form ending is -e, -i, -ī, -ē, -ie (bruoļs -> bruoli), and form to lemma for slapnis
+	 */
+	private static final Rewrite SOFT_TO_HARD = new Rewrite("ļļ", "ll", "ņņ", "nn", "ļ", "l", "ņ", "n", "ķ", "k", "ģ", "g");
+	/**
+	 * Inverted Latgalian 'letter change' from l, n, k, g to ļ, ņ, ķ, ģ - used in lemma to form transformation when
+	 * the lemma ending is -e, -i, -ī, -ē, -ie (slapnis), and form to lemma when the paradigm solves the ambiguity
+	 */
+	private static final Rewrite HARD_TO_SOFT = new Rewrite("ll", "ļļ", "nn", "ņņ", "l", "ļ", "n", "ņ", "k", "ķ", "g", "ģ");
+
+	/** the comparative form of the stem, and with vis- the superlative */
+	private static Output[] degrees(Output output) {
+		return new Output[] {
+				output.with(COMPARATIVE),
+				output.prepend("vis").superlative().with(SUPERLATIVE)};
+	}
+
+	/** the Latgalian comparative form of the stem, and with vys- and vysu- the superlative */
+	private static Output[] ltgDegrees(Output output) {
+		return new Output[] {
+				output.with(LTG_COMPARATIVE),
+				output.prepend("vys").superlative().with(LTG_SUPERLATIVE),
+				output.prepend("vysu").superlative().with(LTG_SUPERLATIVE)};
+	}
+
+	private static Rule[] rules(Rule... rules) {
+		return rules;
+	}
+
+	private void add(int stemChange, Rule... rules) {
+		add(stemChange, new Program(new Branch("", rules)));
+	}
+
+	private void add(int stemChange, Program program) {
+		if (programs[stemChange] != null) throw new IllegalStateException("Stem change " + stemChange + " is defined twice");
+		programs[stemChange] = program;
+	}
+
+	/**
+	 * Form to lemma for forms with the comparative or, with vis-, the superlative degree
+	 */
+	private void addDegrees(int stemChange, Function<AttributeValues, Rule[]> rules) {
+		add(stemChange, new Program(new Branch("vis", rules.apply(SUPERLATIVE)), new Branch("", rules.apply(COMPARATIVE))));
+	}
+
+	/**
+	 * Form to lemma for Latgalian forms with the comparative or, with vys- or vysu-, the superlative degree
+	 */
+	private void addLtgDegrees(int stemChange, Function<AttributeValues, Rule[]> rules) {
+		add(stemChange, new Program(
+				new Branch("vysu", rules.apply(LTG_SUPERLATIVE)),
+				new Branch("vys", rules.apply(LTG_SUPERLATIVE)),
+				new Branch("", rules.apply(LTG_COMPARATIVE))));
+	}
+
+	/**
+	 * Form to lemma: the stem must start with the prefix and be at least minLength long, and without the prefix
+	 * (and with the Latgalian vowel change, if vowelMija) it gets the stem change 'target'
+	 */
+	private void addPrefixed(int stemChange, String prefix, int minLength, boolean vowelMija, int target) {
+		Program program = programs[target].derived();
+		program.requiredPrefix = prefix == null ? null : prefix.toCharArray();
+		program.minLength = minLength;
+		program.vowelMijaFormToLemma = vowelMija;
+		add(stemChange, program);
+	}
+
+	/**
+	 * Lemma to form: the prefix (after the Latgalian vowel change, if vowelMija) is added, and the stem gets the
+	 * stem change 'target'
+	 */
+	private void addPrefixing(int stemChange, String prefix, boolean vowelMija, int target) {
+		Program program = programs[target].derived();
+		program.prepend = prefix == null ? NONE : prefix.toCharArray();
+		program.vowelMijaLemmaToForm = vowelMija;
+		add(stemChange, program);
+	}
+
+	static {
+		MijaRules rules = FORM_TO_LEMMA;
+
+		rules.add(0, always().then(stem()));  // nav mijas
+		rules.add(1, // lietvārdu līdzskaņu mija
+				// sākam ar izņēmumgadījumiem.
+				when("kš").then(replace(2, "kst").with(mija("kst -> kš"))),
+				when("nš").then(replace(2, "nst").with(mija("nst -> nš"))),
+				when("š").then(replace(1, "s").with(mija("s -> š")), replace(1, "t").with(mija("t -> š"))),
+				orWhen("ž").then(replace(1, "z").with(mija("z -> ž")), replace(1, "d").with(mija("d -> ž"))),
+				// ... dž <> dd ?????
+				orWhen("č").then(replace(1, "c").with(mija("c -> č"))),
+				orWhen("šļ").then(replace(2, "sl").with(mija("sl -> šļ"))),
+				orWhen("žļ").then(replace(2, "zl").with(mija("zl -> žļ"))),
+				orWhen("ļļ").then(replace(2, "ll").with(mija("ll -> ļļ"))),
+				orWhen("ļ").then(replace(1, "l").with(mija("l -> ļ"))),
+				orWhen("šņ").then(replace(2, "sn").with(mija("sn -> šņ"))),
+				orWhen("žņ").then(replace(2, "zn").with(mija("zn -> žņ"))),
+				orWhen("ļņ").then(replace(2, "ln").with(mija("ln -> ļņ"))),
+				orWhen("ņņ").then(replace(2, "nn").with(mija("nn -> ņņ"))),
+				orWhen("zņ", "sņ", "lņ"),
+				orWhen("ņ").then(replace(1, "n").with(mija("n -> ņ"))),
+				orWhen("pj", "bj", "mj", "vj", "fj").then(drop(1).with(mija("p->pj (u.c.)"))), //	 ... nj <> n ??
+				orWhen("j").then(stem()),
+				otherwise().except("p", "b", "m", "v", "t", "d", "c", "z", "s", "n", "l", "f").then(stem()));
+		rules.add(2, //  dv. 3. konjugācijas (bezmiju!) formas, kas noņem celma pēdējo burtu
+				always().then(append("ā"), append("ī"), append("ē")));
+		rules.add(3, // īpašības vārdiem -āk- un vis-
+				when("āk").minLength(4).prefix("vis").then(drop(2).skip(3).with(SUPERLATIVE)),
+				when("āk").minLength(4).then(drop(2).with(COMPARATIVE)),
+				always().then(stem().with(POSITIVE)));
+		rules.add(6, // 1. konjugācijas nākotne
+				when("dī", "tī", "sī").then(replace(2, "s")),
+				orWhen("šī").then(drop(1)), // lūzt, griezt
+				orWhen("zī").then(drop(1), stem()), // lūzt, griezt; atzīšos
+				otherwise().except("d", "t", "s", "z").then(stem()));
+		for (int stemChange : new int[] {7, 23}) // 1. konjugācijas 2. personas tagadne; 23 - ja pēc tam seko garā galotne kā -iet
+			rules.add(stemChange,
+					when("s").then(replace(1, "š"), stem()), //pievēršu -> pievērs; atnest -> atnes
+					stemChange == 7
+							? orWhen("odi", "ūdi", "opi", "ūpi", "oti", "ūti", "īti", "ieti", "sti").then(drop(1))
+							: orWhen("od", "ūd", "op", "ūp", "ot", "ūt", "īt", "st").then(stem()),
+					// tikai vārdiem 'mest' un 'cirst'. pārējiem visiem 2. personas tagadnei jābūt galā -i, piem. 'krīti', 'plūsti'
+					orWhen("met", "cērt").then(stem()),
+					orWhen("t").then(replace(1, "š")), // pūšu -> pūt, ciešu -> ciet
+					//tikai attiecīgajiem vārdiem, pārējiem visiem 2. personas tagadnei jābūt galā -i, piem. 'pazūdi', 'atrodi'
+					orWhen("dod", "ved").then(stem()),
+					orWhen("ēd").except("sēd").then(stem()),
+					orWhen("d").then(replace(1, "ž")), // kožu -> kod
+					orWhen("l").then(replace(1, "ļ")),
+					orWhen("m", "b").except("ņem").then(append("j")), //stumju -> stum
+					orWhen("p").then(stem(), append("j")), // cep -> cep; cepj -> cep
+					orWhen("c").then(replace(1, "k"), replace(1, "c")), // raku -> racis; veicu -> veicis
+					orWhen("z").except("dz").then(replace(1, "ž")),
+					//TODO - šī nākamā rinda ir jātestē vai tok visos gadījumos. pielikta, jo "rok" overģenerēja kā arī bez mijas.
+					otherwise().except("š", "ž", "ļ", "k", "g").then(stem()));
+		rules.add(8, // -ams -āms 3. konjugācijai bezmiju gadījumam, un arī mēs/jūs formas
+				when("inā", "sargā").then(stem()), // nav else, jo piemēram vārdam "mainās" arī ir beigās -inās, bet tam vajag -īties likumu;
+				when("ā").then(replace(1, "ī")),
+				when("a").then(replace(1, "ē")),
+				when("a").except("ina", "sarga").then(replace(1, "ā")));
+		rules.add(9, // 3. konjugācija 3. pers. tagadne bez mijas
+				when("ina", "sarga").then(replace(1, "ā")), // nav else, jo piemēram vārdam "jāmaina" arī ir beigās -ina, bet tam vajag -a nevis -ina likumu;
+				when("a").then(replace(1, "ī")),
+				otherwise().then(append("ē"), append("ā"), append("o"))); // plīvot -> plīv
+		rules.add(10, // īpašības vārds -āk- un vis-, -i apstākļa formai
+				when("i").then(drop(1).with(POSITIVE)),
+				when("āk").prefix("vis").then(drop(2).skip(3).with(SUPERLATIVE)),
+				orWhen("āk").then(drop(2).with(COMPARATIVE)));
+		rules.add(11, // -uša, arī mijas pie 1. konj noteiktās formas: veicu -> veikušais, beidzu->beigušais; raku -> rakušais; sarūgu -> sarūgušais;
+				always().except("c", "dz").then(stem()),
+				when("k").then(replace(1, "c")),
+				when("g").then(replace(1, "dz")));
+		rules.add(13, // īpašības vārdiem -āk- un vis-, ar š->s nominatīva formā (zaļš -> zaļāks) ?? Lexicon.xml izskatās tikai pēc apstākļvārdu atvasināšanas?? FIXME, nešķiet tīri
+				when("āk").prefix("vis").then(drop(2).skip(3).with(SUPERLATIVE)), // FIXME te arī jāskatās vai ir -āk
+				orWhen("āk").then(drop(2).with(COMPARATIVE)));
+		rules.add(14, // 1. konjugācijas "-is" forma
+				when("c").then(replace(1, "k"), replace(1, "c")), // raku -> racis; veicu -> veicis
+				orWhen("dz").then(replace(2, "g"), stem()), // sarūgu -> sarūdzis; lūdzu -> lūdzis
+				otherwise().then(stem()));
+		rules.add(15, // pūst->pūzdams nopūzdamies s -> z mija
+				always().then(stem()), // šis pievienos arī pūst -> pūsdams; taču to pēc tam atpakaļlocīšana (kam būs info par pagātnes celmu) nofiltrēs
+				when("z").then(replace(1, "s")));
+		rules.add(16, // 1. konjugācijas "-šana" atvasināšana
+				always().except("s", "z").then(stem(), append("s"), append("z"))); // nest -> nešana; mēzt -> mēšana
+		rules.add(17, // īsā sieviešu dzimtes vokatīva forma "kristīnīt!" "margriet!"
+				always().syllables(2).then(stem()),
+				orWhen("iņ", "īt").then(stem()));
+		// 2025-06-12 Baiba izskaidro, ka pēc mūsdienu latviešu valodas
+		// normām visiem 4. un 5. deklinācijas vārdiem pienākas viens
+		// vienskaitļa vokatīvs, kas sakrīt vienskaitļa nominatīvu - 18. mijas vairs nav
+		rules.add(20, //  dv. 3. konjugācijas tagadnes mija 1. personas tagadnei, -ot divdabim un vajadzībai - atšķiras no 26. mijas 'gulēt' un 'tecēt'
+				when("guļ", "gul").then(replace(1, "lē")), //gulēt -> guļošs un arī gulošs; FIXME - dēļ 'gulošs' pieļaujam formu 'es gulu' ????
+				when("k").then(replace(1, "cī"), replace(1, "cē")), //sacīt -> saku; mācēt -> māku
+				orWhen("g").then(replace(1, "dzī"), replace(1, "dzē")), //slodzīt -> slogu; vajadzēt -> vajag
+				orWhen("ž").then(replace(1, "dē")), //sēdēt -> sēžu
+				when("loc", "moc", "urc").then(append("ī"))); // alternatīvā forma
+		rules.addDegrees(21, degree -> rules( // -is -ušais pārākā un vispārākā pakāpe - visizkusušākais saldējums
+				always().then(stem().with(degree))));
+		rules.add(22, // jaundzimušais -> jaundzimusī
+				when("us").then(replace(2, "uš")));
+		rules.addDegrees(24, degree -> rules( //  analoģiski case 2, bet ar pārāko / vispārāko pakāpi - visizsakošākais
+				always().then(append("ā").with(degree), append("ī").with(degree), append("ē").with(degree))));
+		rules.addDegrees(25, degree -> rules( // analoģiski #8, bet ar pārākajām pakāpēm priekš -amāks formām
+				when("inā", "sargā").then(stem().with(degree)),
+				when("ā").then(replace(1, "ī").with(degree)),
+				orWhen("a").then(replace(1, "ē").with(degree)),
+				when("a").except("ina", "sarga").then(replace(1, "ā").with(degree))));
+		rules.add(26, //  dv. 3. konjugācijas miju gadījuma formas - otrās personas tagadne, pavēles izteiksme
+				when("gul").then(replace(1, "lē")), // guli -> gulēt
+				when("tec").then(append("ē")), // teci -> tecēt
+				orWhen("k").except("tek").then(replace(1, "cī"), replace(1, "cē")), // saki -> sacīt; māki -> mācēt
+				orWhen("g").then(replace(1, "dzī"), replace(1, "dzē")), //slogi -> slodzīt; vajag -> vajadzēt
+				orWhen("loc", "moc", "urc").then(append("ī")), // alternatīvā forma
+				otherwise().then(append("ē"))); // sēdies -> sēdēties
+		rules.add(27, // -ams -āms 3. konjugācijai miju gadījumam, un arī mēs/jūs formas
+				when("kā").then(replace(2, "cī")), //sacīt
+				orWhen("gā").then(replace(2, "dzī")), //slodzīt -> slogu
+				orWhen("ka").then(replace(2, "cē")), //mācēt -> mākam
+				orWhen("ža").then(replace(2, "dē")), //sēdēt -> sēžam
+				orWhen("ļa").then(replace(2, "lē")), //gulēt -> guļam
+				orWhen("ga").then(replace(2, "dzē"))); //vajadzēt -> vajag
+		rules.add(30, // 3. konjugācija 3. pers. tagadne ar miju
+				when("vajadz"), //izņēmums - lai korekti ir 'vajadzēt' -> 'vajag'
+				orWhen("ka").then(replace(2, "cī")), //sacīt
+				orWhen("ga").then(replace(2, "dzī")), //slodzīt -> sloga
+				orWhen("k").then(replace(1, "cē")), //mācēt -> māk
+				orWhen("ž").then(replace(1, "dē")), //sēdēt -> sēž
+				orWhen("ļ").then(replace(1, "lē")), // "guļ"->"gulēt"
+				orWhen("vajag").then(replace(1, "dzē"))); //vajadzēt -> vajag
+		rules.addDegrees(32, degree -> rules( //  analoģiski case 20, bet ar pārāko / vispārāko pakāpi - visizsakošākais
+				when("k").then(replace(1, "cī").with(degree), replace(1, "cē").with(degree)), //sacīt -> sakošākais; mācēt -> mākošākais
+				orWhen("g").then(replace(1, "dzī").with(degree), replace(1, "dzē").with(degree)), //slodzīt -> slogošākais; vajadzēt -> vajagošākais
+				orWhen("ž").then(replace(1, "dē").with(degree)), //sēdēt -> sēžu
+				orWhen("ļ").then(replace(1, "lē").with(degree)))); //gulēt -> guļošākais un arī gulošākais
+		rules.addDegrees(33, degree -> rules( // analoģiski #27, bet ar pārākajām pakāpēm priekš -amāks formām
+				when("kā").then(replace(2, "cī").with(degree)), //sacīt
+				orWhen("gā").then(replace(2, "dzī").with(degree)), //slodzīt -> slogu
+				orWhen("ka").then(replace(2, "cē").with(degree)), //mācēt -> mākam
+				orWhen("ga").then(replace(2, "dzē").with(degree)), //vajadzēt -> vajag
+				orWhen("ža").then(replace(2, "dē").with(degree)), //sēdēt -> sēžam
+				orWhen("guļa").then(replace(2, "lē").with(degree)))); //gulēt -> guļam
+		rules.add(34, // īpašības vārdiem -āk- un vis- izskaņām kā -ajam: liekam nevis zaļ-š->zaļ-ajam, bet zaļ-š->zaļ-a-jam, bet pēdēj-ais -> pēdē-jam/pēdēj-a-jam
+				when("āka").minLength(5).prefix("vis").then(drop(3).skip(3).with(SUPERLATIVE)),
+				when("āka").minLength(5).then(drop(3).with(COMPARATIVE)), // nav else, jo ir vārdi kas reāli sākas ar 'vis' kā vispārīgs utt
+				when("a").then(drop(1).with(POSITIVE)), // zaļa-jam -> zaļ; pēdēja-jam -> pēdēj
+				orWhen("ē").then(append("j").with(POSITIVE))); // pēdē-jam -> pēdēj
+		rules.add(35, // substantivizējušos "īpašības vārdu" izskaņas kā -ajam; bez pārākās/vispārākās pakāpes
+				when("a").then(drop(1).with(POSITIVE)), // zaļa-jam -> zaļ; pēdēja-jam -> pēdēj
+				orWhen("ē").then(append("j").with(POSITIVE))); // pēdē-jam -> pēdēj
+		rules.add(36, // 'iet' speciālgadījums - normāli 3. personas tagadnei atbilstošais resultStem būtu 'ej', bet ir 'iet'.
+				always().then(stem()),
+				when("iet").then(replace(3, "ej")));
+		rules.add(38, // Apstākļa vārdi ar gradāciju
+				when("āk").minLength(4).prefix("vis").then(
+						drop(2).skip(3).with(SUPERLATIVE),
+						replace(2, "i").skip(3).with(SUPERLATIVE),
+						replace(2, "u").skip(3).with(SUPERLATIVE)),
+				orWhen("āk").minLength(4).then(
+						drop(2).with(COMPARATIVE),
+						replace(2, "i").with(COMPARATIVE),
+						replace(2, "u").with(COMPARATIVE)),
+				otherwise().then(stem().with(POSITIVE)));
+
+		// ------ LATGALIAN from here -----
+		rules.add(99, // puse no latgaliešu 'burtu mijas' (case 100) - tikai paradigmām, kur ir garantēts, ka bezmijas celms beidzas mīkstu līdzskani
+				always().then(stem().rewrite(HARD_TO_SOFT).with(mija("ļņķģ -> lnkg"))));
+		rules.add(100, // latgaliešu 'burtu mija', kur pirms -e, -i, -ī, -ē, -ie ļ, ņ, ķ, ģ kļūst par l, n, k, g
+				when("l", "n", "k", "g").then(
+						stem().rewrite(HARD_TO_SOFT).with(mija("lnkg -> lļnņkķgģ")),
+						stem().with(mija("lnkg -> lļnņkķgģ"))),
+				otherwise().then(stem().with(mija("lnkg -> lļnņkķgģ"))));
+		rules.add(101, // latgaliešu līdzskaņu mija lietvārdiem, parastās galotnes (izņemot -i, -e, -ī, -ē, -ie, -ei)
+				// Mijas no Leikumas "Vasals!"
+				when("kš").then(replace(2, "kst").with(mija("kst -> kš"))),
+				orWhen("šļ").then(replace(2, "sl").with(mija("sl -> šļ"))),
+				orWhen("žļ").then(replace(2, "zl").with(mija("zl -> žļ"))),
+				orWhen("šm").then(replace(2, "sm").with(mija("sm -> šm"))),
+				orWhen("šņ").then(replace(2, "sn").with(mija("sn -> šņ"))),
+				orWhen("žņ").then(replace(2, "zn").with(mija("zn -> žņ"))),
+				orWhen("ļļ").then(replace(2, "ll").with(mija("ll -> ļļ"))),
+				orWhen("ņņ").then(replace(2, "nn").with(mija("nn -> ņņ"))),
+				orWhen("č").then(replace(1, "c").with(mija("c -> č"))),
+				orWhen("ž").then(replace(1, "d").with(mija("d -> ž")), replace(1, "z").with(mija("z -> ž"))),
+				orWhen("š").then(replace(1, "t").with(mija("t -> š")), replace(1, "s").with(mija("s -> š"))),
+				// Citas mijas
+				orWhen("ķ").then(replace(1, "k").with(mija("k -> ķ"))), // Andronovs?
+				orWhen("ļ").then(replace(1, "l").with(mija("l -> ļ"))),
+				orWhen("ņ").then(replace(1, "n").with(mija("n -> ņ"))),
+				otherwise().then(stem()));
+		rules.add(102, // latgaliešu līdzskaņu mīkstināšana lietvārdiem, e, i, ē, ī, ie galotnes
+				when("kš").then(replace(2, "kst").with(mija("kst -> kš"))),
+				// Burtu miju ietekmētās vairāksimbolu mijas
+				orWhen("šl").then(replace(2, "šļ").with(mija("šļ -> šl")), replace(2, "sl").with(mija("sl -> šl"))),
+				orWhen("žl").then(replace(2, "žļ").with(mija("žļ -> žl")), replace(2, "zl").with(mija("zl -> žl"))),
+				orWhen("šm").then(replace(2, "šm").with(mija("šm -> šm")), replace(2, "sm").with(mija("sn -> šn"))),
+				orWhen("šn").then(replace(2, "šņ").with(mija("šņ -> šn")), replace(2, "sn").with(mija("sn -> šn"))),
+				orWhen("žn").then(replace(2, "žņ").with(mija("žņ -> žn")), replace(2, "zn").with(mija("zn -> žn"))),
+				orWhen("ll").then(replace(2, "ļļ").with(mija("ļļ -> ll"))),
+				orWhen("nn").then(replace(2, "ņņ").with(mija("ņņ -> nn"))),
+				// Parastās, mijīgās, mijas
+				orWhen("č").then(replace(1, "c").with(mija("c -> č"))),
+				orWhen("š").then(replace(1, "t").with(mija("t -> š")), replace(1, "s").with(mija("s -> š"))),
+				orWhen("ž").then(replace(1, "d").with(mija("d -> ž")), replace(1, "z").with(mija("z -> ž"))),
+				// Burtu miju ietekmētās viensimbola mijas
+				orWhen("l").then(replace(1, "ļ").with(mija("ļ -> l"))),
+				orWhen("n").then(replace(1, "ņ").with(mija("ņ -> n"))),
+				orWhen("k").then(replace(1, "ķ").with(mija("ķ -> k"))),
+				orWhen("g").then(replace(1, "ģ").with(mija("ģ -> g"))),
+				otherwise().then(stem()));
+		rules.add(103, // līdzīgi `case 3` - īpašības vārdiem -uok- un vys- / vysu-
+				when("uok").minLength(4).prefix("vysu").then(drop(3).skip(4).with(LTG_SUPERLATIVE)),
+				orWhen("uok").minLength(4).prefix("vys").then(drop(3).skip(3).with(LTG_SUPERLATIVE)),
+				orWhen("uok").minLength(4).then(drop(3).with(LTG_COMPARATIVE)),
+				always().then(stem().with(LTG_POSITIVE)));
+		rules.add(104, //  īpašības vārdiem -uok- un vys- / vysu-, pamata pakāpei burtu mija
+				when("uok").minLength(4).prefix("vysu").then(drop(3).skip(4).with(LTG_SUPERLATIVE)),
+				orWhen("uok").minLength(4).prefix("vys").then(drop(3).skip(3).with(LTG_SUPERLATIVE)),
+				orWhen("uok").minLength(4).then(drop(3).with(LTG_COMPARATIVE)),
+				otherwise().then(stem().rewrite(HARD_TO_SOFT).with(LTG_POSITIVE)));
+		rules.add(105, // līdzīgi kā `case 34` - īpašības vārdiem -uok- un vys- / vysu- izskaņām kā -ajam: liekam nevis moz-s->moz-ajam, bet moz-s->moz-a-jam, bet senej-ais -> sene-jam/senej-a-jam
+				when("uoka").minLength(5).prefix("vysu").then(drop(4).skip(4).with(LTG_SUPERLATIVE)),
+				orWhen("uoka").minLength(5).prefix("vys").then(drop(4).skip(3).with(LTG_SUPERLATIVE)),
+				orWhen("uoka").minLength(5).then(drop(4).with(LTG_COMPARATIVE)),
+				when("a").then(drop(1).with(LTG_POSITIVE)), // moz-jam -> moz; seneja-jam -> senej
+				orWhen("ē", "e").then(append("j").with(LTG_POSITIVE))); // sene-jam -> senej
+		rules.add(106, // līdzīgi `case 13` - apstākļa vārdiem -uok- un vys- / vysu-
+				when("uok").minLength(4).prefix("vysu").then(drop(3).skip(4).with(LTG_SUPERLATIVE)),
+				orWhen("uok").minLength(4).prefix("vys").then(drop(3).skip(3).with(LTG_SUPERLATIVE)),
+				orWhen("uok").minLength(4).then(drop(3).with(LTG_COMPARATIVE)));
+		rules.add(107, // latgaliešu 'burtu mijas' inverss - kad pamatformas galotne ir -e, -i, -ī, -ē, -ie, un l, n, k, g kļūst par ļ, ņ, ķ, ģ pirms citām galotnēm (slapnis)
+				always().then(stem().rewrite(SOFT_TO_HARD)));
+		rules.add(108, // 107 + 106 priekš slapnis
+				when("uok").minLength(4).prefix("vysu").then(drop(3).skip(4).rewrite(SOFT_TO_HARD).with(LTG_SUPERLATIVE)),
+				orWhen("uok").minLength(4).prefix("vys").then(drop(3).skip(3).rewrite(SOFT_TO_HARD).with(LTG_SUPERLATIVE)),
+				orWhen("uok").minLength(4).then(drop(3).rewrite(SOFT_TO_HARD).with(LTG_COMPARATIVE)));
+		rules.add(109, // Apstākļa vārdi ar gradāciju, bet bez burtu mijas
+				when("uok").minLength(5).prefix("vysu").then(
+						drop(3).skip(4).with(LTG_SUPERLATIVE),
+						replace(3, "i").skip(4).with(LTG_SUPERLATIVE),
+						replace(3, "a").skip(4).with(LTG_SUPERLATIVE),
+						replace(3, "ai").skip(4).with(LTG_SUPERLATIVE)),
+				orWhen("uok").minLength(5).prefix("vys").then(
+						drop(3).skip(3).with(LTG_SUPERLATIVE),
+						replace(3, "i").skip(3).with(LTG_SUPERLATIVE),
+						replace(3, "a").skip(3).with(LTG_SUPERLATIVE),
+						replace(3, "ai").skip(3).with(LTG_SUPERLATIVE)),
+				orWhen("uok").minLength(5).then(
+						drop(3).with(LTG_COMPARATIVE),
+						replace(3, "i").with(LTG_COMPARATIVE),
+						replace(3, "a").with(LTG_COMPARATIVE),
+						replace(3, "ai").with(LTG_COMPARATIVE)),
+				otherwise().then(stem().with(LTG_POSITIVE)));
+		// Te sākas verbu mijas
+		rules.add(110, // 2. konjugācija, vienkāršās tagadnes mija
+				when("e").then(replace(1, "ei").with(mija("ei -> e")), replace(1, "ē").with(mija("ē -> e"))),
+				orWhen("o").then(replace(1, "uo").with(mija("uo -> o"))));
+		rules.add(111, // 2. konjugācija, vienkāršās pagātnes vsk. 1., 2. pers. mija
+				when("uoj").then(drop(1).with(mija("uo -> uoj"))),
+				orWhen("ov").then(replace(2, "uo").with(mija("uo -> ov"))),
+				orWhen("iej").then(replace(3, "ē").with(mija("ē -> iej"))),
+				orWhen("ej").then(replace(2, "ie").with(mija("ei -> ej"))));
+		rules.add(112, // 2. konjugācija, vienkāršās pagātnes dsk. un 3. pers. mija
+				when("uoj").then(drop(1).with(mija("uo -> uoj"))),
+				orWhen("ov").then(replace(2, "uo").with(mija("uo -> ov"))),
+				orWhen("ēj").then(drop(1).with(mija("ē -> ēj"))),
+				orWhen("ej").then(replace(2, "ie").with(mija("ei -> ej"))));
+		rules.add(113, // 2. konjugācija, vienkāršās nākotnes vsk. 1., 2. pers. mija
+				when("ie").then(replace(2, "ē").with(mija("ē -> ie"))),
+				orWhen("uo", "ei").then(stem()));
+		rules.add(114, // 2. konjugācija, vēlējuma izteiksme, supīns un ciešamās kārtas pagātnes (-ts) divdabis, dams divdabis
+				when("ā").then(replace(1, "ē").with(mija("ē -> ā"))),
+				orWhen("uo", "ei").then(stem()));
+		rules.addLtgDegrees(115, degree -> rules( // 2. konjugācija, divdabju formu vispārākā pakāpe (121.) + tagadnes mija (110.)
+				when("e").then(replace(1, "ei").with(degree), replace(1, "ē").with(degree)),
+				orWhen("o").then(replace(1, "uo").with(degree))));
+		rules.addLtgDegrees(116, degree -> rules( // 2. konjugācija, divdabju formu vispārākā pakāpe (121.) + vēlējuma/supīna mija (114.) (-ts divdabim)
+				when("ā").then(replace(1, "ē").with(degree)),
+				orWhen("uo", "ei").then(stem().with(degree))));
+		rules.add(117, // 2. konjugācija, pagātnes mija -s, -use divdabim (vienkāršota 111.)
+				when("uo").then(stem()),
+				orWhen("ie").then(replace(2, "ē").with(mija("ē -> ie"))),
+				orWhen("e").then(replace(1, "ie").with(mija("ei -> e"))));
+		rules.addLtgDegrees(118, degree -> rules( // 2. konjugācija, divdabju formu vispārākā pakāpe (121.) + pag. mija -s, -use divdabim (117.)
+				when("ie").then(replace(2, "ē").with(degree)),
+				orWhen("e").then(replace(1, "ie").with(degree)),
+				orWhen("uo").then(stem().with(degree))));
+		rules.add(119, // 3. konjugācija, standarta -eit, tagadne un pagātne (līdzskaņu mijas nekad nav)
+				always().then(append("ei").with(mija("ei -> "))));
+		rules.addLtgDegrees(120, degree -> rules( // 3. konjugācija, standarta -eit bez līdskaņu mijas, divdabju formu vispārākā pakāpe + tagadnes un pagātnes mija (119.)
+				always().then(append("ei").with(degree))));
+		rules.addLtgDegrees(121, degree -> rules( // 3. konjugācija, divdabju formu vispārākā pakāpe bez mijas
+				always().then(stem().with(degree))));
+		rules.add(122, // 3. konjugācija, standarta -eit, tagadne ar līdzskaņu miju
+				when("ld").then(replace(2, "ļdei").with(mija("ļdei -> ld"))),
+				orWhen("nd").then(replace(2, "ņdei").with(mija("ņdei -> nd"))),
+				orWhen("g").then(replace(1, "dzei").with(mija("dzei -> g"))),
+				orWhen("k").then(replace(1, "cei").with(mija("cei -> k"))),
+				orWhen("ļ").then(replace(1, "lei").with(mija("lei -> ļ"))),
+				orWhen("ņ").then(replace(1, "nei").with(mija("nei -> ņ"))));
+		rules.addLtgDegrees(123, degree -> rules( // 3. konjugācija, standarta -eit ar līdskaņu miju, divdabju formu vispārākā pakāpe + tagadnes mija (122.)
+				when("ld").then(replace(2, "ļdei").with(degree)),
+				orWhen("nd").then(replace(2, "ņdei").with(degree)),
+				orWhen("g").then(replace(1, "dzei").with(degree)),
+				orWhen("k").then(replace(1, "cei").with(degree)),
+				orWhen("ļ").then(replace(1, "lei").with(degree)),
+				orWhen("ņ").then(replace(1, "nei").with(degree))));
+		rules.add(124, // 3. konjugācija, standarta -ēt, tagadne un pagātne bez līdskaņu un burtu mijas
+				always().then(append("ē").with(mija("ē -> "))));
+		rules.add(125, // 3. konjugācija, standarta -ēt, tagadne bez līdskaņu mijas ar burtu miju
+				always().then(stem().rewrite(SOFT_TO_HARD).append("ē").with(mija("ē -> "))));
+		rules.addLtgDegrees(126, degree -> rules( // 3. konjugācija, standarta -ēt bez līdskaņu un burtu mijas, divdabju formu vispārākā pakāpe + tagadnes un pagātnes mija (119.)
+				always().then(append("ē").with(degree))));
+		rules.addLtgDegrees(127, degree -> rules( // 3. konjugācija, standarta -ēt bez līdskaņu mijas ar inverso burtu miju, divdabju formu vispārākā pakāpe + tagadnes un pagātnes mija (119.)
+				always().then(stem().rewrite(SOFT_TO_HARD).append("ē").with(degree))));
+
+		// vajadzības izteiksmes jā- un citas mijas, kas pirms tam maina visu celmu
+		rules.addPrefixed(4, "jā", 4, false, 0); // vajadzības izteiksmes jā-
+		rules.addPrefixed(5, "jā", 4, false, 9); // vajadzības izteiksme 3. konjugācijai bez mijas
+		rules.addPrefixed(12, "jā", 4, false, 8); // vajadzības izteiksme 3. konjugācijai atgriezeniskai bez mijas
+		rules.addPrefixed(19, "jā", 4, false, 2); // vajadzības_vēlējuma izteiksme 3. konjugācijai bez mijas (jāmācot)
+		rules.addPrefixed(28, "jā", 4, false, 20); // vajadzības_vēlējuma izteiksme 3. konjugācijai ar miju (jāmākot)
+		rules.addPrefixed(29, "jā", 4, false, 27); // vajadzības izteiksme 3. konjugācijai atgriezeniskai ar miju
+		rules.addPrefixed(31, "jā", 4, false, 30); // vajadzības izteiksme 3. konjugācijai ar miju
+		rules.addPrefixed(37, "jā", 4, false, 36); // vajadzības izteiksme 1. konjugācijai ar miju (jāiet)
+		// latgalieši
+		rules.addPrefixed(150, "juo", 5, false, 110); // vajadzības izteiksme 2. konjugācijai
+		rules.addPrefixed(151, "juo", 5, true, 119); // vajadzības izteiksme 3. konjugācijai -eit ar patskaņu miju bez līdzskaņu mijas
+		rules.addPrefixed(152, "juo", 5, true, 122); // vajadzības izteiksme 3. konjugācijai -eit ar patskaņu miju ar līdzskaņu miju
+		rules.addPrefixed(153, "juo", 5, false, 125); // vajadzības izteiksme 3. konjugācijai -ēt ar burtu miju bez līdzskaņu un patskaņu mijas
+		rules.addPrefixed(160, null, 0, true, 114); // patskaņu mija 2. konjugācijas supīnam, vēlējuma izteiksmei un pagātnes divdabim
+		rules.addPrefixed(161, null, 0, true, 116); // patskaņu mija 2. konjugācijas pagātnes divdabja pārākajai un vispārākajai pakāpei
+		rules.addPrefixed(162, null, 0, true, 119); // patskaņu mija 3. konjugācijas standarta -eit tagadnei bez līdzskaņu mijas
+		rules.addPrefixed(163, null, 0, true, 120); // patskaņu mija 3. konjugācijas standarta -eit bez līdzskaņu mijas tagadnes divdabja pārākajai un vispārākajai pakāpei
+		rules.addPrefixed(164, null, 0, true, 122); // patskaņu mija 3. konjugācijas standarta -eit tagadnei ar līdzskaņu miju
+		rules.addPrefixed(165, null, 0, true, 123); // patskaņu mija 3. konjugācijas standarta -eit līdzskaņu mijas tagadnes divdabja pārākajai un vispārākajai pakāpei
+		rules.addPrefixed(166, null, 0, true, 124); // patskaņu mija 3. konjugācijas standarta -ēt 1. pers. tagadnei bez līdzskaņu un burtu mijas
+		rules.addPrefixed(167, null, 0, true, 126); // patskaņu mija 3. konjugācijas standarta -ēt bez līdzskaņu un burtu mijas tagadnes divdabja pārākajai un vispārākajai pakāpei
+
+		rules = LEMMA_TO_FORM;
+
+		rules.add(0, always().then(stem()));  // nav mijas
+		rules.add(1, // lietvārdu līdzskaņu mija
+				// Personvārdu mijas - Valdis-Valda; Gatis-Gata. Eglīts - Eglīša.  Vēl ir literatūrā minēts izņēmums -skis -ckis (Čaikovskis, Visockis), taču tiem tāpat viss šķiet ok.
+				// 2025-06-02: Gatis un Valdis jau sen iet paradigmā pie tēta un viesa,
+				//             Eglīts un Ķezbers iet paradigmā pie suņa.
+				when("t").properName().then(replace(1, "š").with(mija("t -> š"))),
+				orWhen("d").properName().then(replace(1, "ž").with(mija("d -> ž"))),
+				orWhen("kst").then(replace(3, "kš").with(mija("kst -> kš"))),
+				orWhen("nst").then(replace(3, "nš").with(mija("nst -> nš"))), // skansts -> skanšu
+				orWhen("s").then(replace(1, "š").with(mija("s -> š"))),
+				orWhen("t").then(replace(1, "š").with(mija("t -> š"))),
+				orWhen("z").then(replace(1, "ž").with(mija("z -> ž"))),
+				orWhen("d").then(replace(1, "ž").with(mija("d -> ž"))),
+				orWhen("c").then(replace(1, "č").with(mija("c -> č"))),
+				orWhen("sl").then(replace(2, "šļ").with(mija("sl -> šļ"))),
+				orWhen("zl").then(replace(2, "žļ").with(mija("zl -> žļ"))),
+				orWhen("ll").then(replace(2, "ļļ").with(mija("ll -> ļļ"))),
+				orWhen("l").then(replace(1, "ļ").with(mija("l -> ļ"))),
+				orWhen("sn").then(replace(2, "šņ").with(mija("sn -> šņ"))),
+				orWhen("zn").then(replace(2, "žņ").with(mija("zn -> žņ"))),
+				orWhen("ln").then(replace(2, "ļņ").with(mija("ln -> ļņ"))),
+				orWhen("nn").then(replace(2, "ņņ").with(mija("nn -> ņņ"))),
+				orWhen("n").then(replace(1, "ņ").with(mija("n -> ņ"))),
+				orWhen("p", "b", "m", "v", "f").then(append("j").with(mija("p->pj (u.c.)"))),
+				// Tēzaurā valodnieki liek 2 leksēmas no laika gala - žirafu, žirafju
+				otherwise().except("p", "b", "m", "v", "t", "d", "c", "z", "s", "n", "l", "f").then(stem()));
+		rules.add(2, //  dv. 3. konjugācijas tagadne, kas noņem celma pēdējo burtu
+				when("ī", "inā", "sargā").then(drop(1).with(LONG)),
+				otherwise().then(drop(1)));
+		rules.add(3, // īpašības vārdiem pieliekam -āk- un vis-
+				always().then(stem().with(POSITIVE)),
+				always().except("āk").then(degrees(append("āk"))));
+		rules.add(6, // 1. konjugācijas nākotne
+				when("s").thirdStem("d").then(replace(1, "dī")),
+				orWhen("s").thirdStem("t").then(replace(1, "tī")),
+				orWhen("s").thirdStem("s").then(replace(1, "sī")),
+				orWhen("s").then(stem()),
+				orWhen("z", "š").then(append("ī")),
+				otherwise().then(stem()));
+		for (int stemChange : new int[] {7, 23}) // 1. konjugācijas 2. personas tagadne; 23 - ja pēc tam seko garā galotne kā -iet
+			rules.add(stemChange,
+					when("š").thirdStem("s").then(replace(1, "s")),
+					orWhen("š").thirdStem("t").then(replace(1, "t")),
+					orWhen("od").except("dod").then(stemChange == 7 ? append("i") : stem()),
+					orWhen("ūd", "op", "ūp", "ot", "ūt", "īt", "iet", "st").then(stemChange == 7 ? append("i") : stem()),
+					orWhen("ļ").then(replace(1, "l")),
+					orWhen("mj", "bj", "pj").then(drop(1)),
+					orWhen("k").then(replace(1, "c")),
+					orWhen("g").then(replace(1, "dz")),
+					orWhen("ž").then(thirdStem()), // skaužu -> skaud, laužu -> lauz; sanāk atbilstoši pagātnes celmam
+					otherwise().then(stem()));
+		rules.add(8, // -ams -āms 3. konjugācijai bezmiju gadījums
+				when("inā", "sargā").then(stem().with(LONG)),
+				orWhen("ī").then(replace(1, "ā").with(LONG)),
+				orWhen("ē").then(replace(1, "a")),
+				orWhen("ā").then(replace(1, "a")),
+				otherwise().then(stem()));
+		rules.add(9, // 3. konjugācija 3. pers. tagadne bez mijas
+				when("dā").then(drop(1)), // dzied, raud
+				orWhen("ā", "ī").then(replace(1, "a")),
+				otherwise().then(drop(1)));
+		rules.add(10, // īpašības vārds -āk- un vis-, -i apstākļa formai
+				always().then(stem().with(POSITIVE)),
+				always().then(degrees(append("āk"))));
+		rules.add(11, // -uša formas
+				when("c").then(replace(1, "k")),
+				orWhen("dz").then(replace(2, "g")),
+				otherwise().then(stem()));
+		rules.add(13, // īpašības vārdiem -āk-, ar š->s nominatīva formā (zaļš -> zaļāks
+				always().then(degrees(append("āk"))));
+		rules.add(14, // 1. konjugācijas "-is" forma
+				when("k").then(replace(1, "c")),
+				orWhen("g").then(replace(1, "dz")),
+				otherwise().then(stem()));
+		rules.add(15, // pūst -> pūzdams nopūzdamies s -> z mija tad, ja 3. sakne (pagātnes sakne) beidzas ar t/d
+				when("s").thirdStem("t", "d").then(replace(1, "z")),
+				otherwise().then(stem()));
+		rules.add(16, // 1. konjugācijas "-šana" atvasināšana
+				when("s", "z").then(drop(1)), // nest -> nešana
+				otherwise().then(stem()));
+		rules.add(17, // īsā sieviešu dzimtes vokatīva forma "kristīnīt!" "margriet!"
+				always().syllables(2).except("kāj", "māj").then(stem()));
+		rules.add(20, //  dv. 3. konjugācijas tagadnes mija 1. personas tagadnei, -ot divdabim un vajadzībai - atšķiras no 26. mijas 'gulēt' un 'tecēt'
+				when("gulē").then(replace(2, "ļ")), //gulēt -> guļu; variantu ar -l (gulošs) atpazīstam bet neģenerējam
+				orWhen("cī").then(replace(2, "k").with(LONG)), //sacīt
+				orWhen("cē").then(replace(2, "k")), //mācēt -> māku
+				orWhen("dē").then(replace(2, "ž")), //sēdēt -> sēžu
+				orWhen("dzē", "dzī").then(replace(3, "g"))); //vajadzēt -> vajag, slodzīt -> slogu
+		rules.add(21, // divdabju formas ar pārāko/vispārāko pakāpi
+				always().then(degrees(stem())));
+		rules.add(22, // jaundzimušais -> jaundzimusī
+				when("uš").then(replace(2, "us")));
+		rules.add(24, //  analoģiski 2, bet ar pārākajām / vispārākajām pakāpēm
+				always().then(degrees(drop(1))));
+		rules.add(25, //  analoģiski 8, bet ar pārākajām / vispārākajām pakāpēm
+				when("inā", "sargā").then(degrees(stem())),
+				orWhen("ī").then(degrees(replace(1, "ā"))),
+				orWhen("ē").then(degrees(replace(1, "a"))),
+				orWhen("ā").then(degrees(replace(1, "a"))),
+				otherwise().then(degrees(stem())));
+		rules.add(26, //  dv. 3. konjugācijas miju gadījuma formas - otrās personas tagadne, pavēles izteiksme
+				when("lē").then(drop(1)), //gulēt -> guli
+				orWhen("cī").then(replace(2, "k").with(LONG)), //sacīt->saki
+				orWhen("tecē").then(replace(2, "c")), //tecēt -> teci
+				orWhen("cē").then(replace(2, "k")), //mācēt -> māki
+				orWhen("dzē", "dzī").then(replace(3, "g")), //vajadzēt -> vajag, slodzīt -> slogi
+				otherwise().then(drop(1))); // sēdē-ties -> sēd-ies
+		rules.add(27, // -ams -āms 3. konjugācijai miju gadījums
+				when("cī").then(replace(2, "kā").with(LONG)), //sacīt->sakām
+				orWhen("dzī").then(replace(3, "gā")), //slodzīt -> slogām
+				orWhen("cē").then(replace(2, "ka")), //mācēt -> mākam
+				orWhen("gulē").then(replace(2, "ļa")), //gulēt -> guļam
+				orWhen("dē").then(replace(2, "ža")), //sēdēt -> sēžam
+				orWhen("dzē").then(replace(3, "ga"))); //vajadzēt -> vajagam
+		rules.add(30, // 3. konjugācija 3. pers. tagadne ar miju
+				when("cī").then(replace(2, "ka")), // "saka"
+				orWhen("dzī").then(replace(3, "ga")), //slodzīt -> sloga
+				orWhen("cē").then(replace(2, "k")), //mācēt -> māk
+				orWhen("dē").then(replace(2, "ž")), //sēdēt -> sēž
+				orWhen("dzē").then(replace(3, "g")), //vajadzēt -> vajag
+				orWhen("lē").then(replace(2, "ļ"))); //gulēt -> guļ
+		rules.add(32, //  analoģiski 20, bet ar pārākajām / vispārākajām pakāpēm
+				when("cī", "cē").then(replace(2, "k").with(COMPARATIVE)), //sacīt
+				orWhen("dzī", "dzē").then(replace(3, "g").with(COMPARATIVE)), //slodzīt -> slogu
+				orWhen("dē").then(replace(2, "ž").with(COMPARATIVE)), //sēdēt -> sēž
+				orWhen("lē").then(replace(2, "ļ").with(COMPARATIVE)), //gulēt -> guļu
+				otherwise().then(drop(1).with(COMPARATIVE)),
+				// TODO :( :( DRY
+				when("cī", "cē").superlative().then(replace(2, "k").prepend("vis").with(SUPERLATIVE)), //sacīt
+				orWhen("vajadzē").superlative().then(replace(3, "g").prepend("vis").with(SUPERLATIVE)), //vajadzēt -> vajag
+				orWhen("dzī", "dzē").superlative().then(replace(3, "g").prepend("vis").with(SUPERLATIVE)), //slodzīt -> slogu
+				orWhen("dē").superlative().then(replace(2, "ž").prepend("vis").with(SUPERLATIVE)), //sēdēt -> sēž
+				orWhen("gulē").superlative().then(replace(2, "ļ").prepend("vis")), //gulēt -> guļu
+				otherwise().superlative().then(drop(1).prepend("vis").with(SUPERLATIVE)));
+		rules.add(33, //  analoģiski 27, bet ar pārākajām / vispārākajām pakāpēm
+				when("cī").then(degrees(replace(2, "kā"))), //sacīt
+				orWhen("dzī").then(degrees(replace(3, "gā"))), //slodzīt -> slogu
+				orWhen("cē").then(degrees(replace(2, "ka"))), //mācēt -> māk
+				orWhen("lē").then(degrees(replace(2, "ļa"))), //gulēt -> guļam
+				orWhen("dē").then(degrees(replace(2, "ža"))), //sēdēt -> sēž
+				orWhen("dzē").then(degrees(replace(3, "ga")))); //vajadzēt -> vajag
+		rules.add(34, // īpašības vārdiem -āk- un vis- izskaņām kā -ajam: liekam nevis zaļ-š->zaļ-ajam, bet zaļ-š->zaļ-a-jam, bet pēdēj-ais -> pēdē-jam/pēdēj-a-jam
+				when("ēj").then(drop(1).with(POSITIVE)), // pēdēj-ais -> pēdē-jam
+				otherwise().then(append("a").with(POSITIVE)), // zaļ-š -> zaļa-jam
+				always().then(degrees(append("āka"))));
+		rules.add(35, // Substantivizējušamies "īpašības vārdiem" izskaņām kā -ajam; bez pārākās/vispārākās pakāpes
+				when("ēj").then(drop(1).with(POSITIVE)), // pēdēj-ais -> pēdē-jam
+				otherwise().then(append("a").with(POSITIVE))); // zaļ-š -> zaļa-jam
+		rules.add(36, // 'iet' speciālgadījums - normāli 3. personas tagadnei atbilstošais celms būtu 'ej', bet ir 'iet'.
+				when("ej").thirdStem("gāj").then(replace(2, "iet")),
+				otherwise().then(stem()));
+		rules.add(38, // apstākļa vārdi ar gradāciju
+				always().then(stem().with(POSITIVE)),
+				when("i", "u").then(degrees(replace(1, "āk"))),
+				otherwise().then(degrees(append("āk"))));
+
+		// ------ LATGALIAN from here -----
+		rules.add(99, // puse no latgaliešu 'burtu mijas' (case 100) - tikai paradigmām, kur ir garantēts, ka bezmijas celms beidzas mīkstu līdzskani
+				always().then(stem().rewrite(SOFT_TO_HARD)));
+		rules.add(100, // latgaliešu 'burtu mija', kur pirms -e, -i, -ī, -ē, -ie ļ, ņ, ķ, ģ kļūst par l, n, k, g (bruoļs -> bruoli)
+				always().then(stem().rewrite(SOFT_TO_HARD)));
+		rules.add(101, // latgaliešu līdzskaņu mija lietvārdiem, parastās galotnes (izņemot -i, -e, -ī, -ē, -ie, -ei)
+				// Mijas no Leikumas "Vasals!"
+				when("kst").then(replace(3, "kš")),
+				orWhen("sl").then(replace(2, "šļ")),
+				orWhen("zl").then(replace(2, "žļ")),
+				orWhen("sm").then(replace(2, "šm")),
+				orWhen("sn").then(replace(2, "šņ")),
+				orWhen("zn").then(replace(2, "žņ")),
+				orWhen("ll").then(replace(2, "ļļ")),
+				orWhen("nn").then(replace(2, "ņņ")),
+				orWhen("c").then(replace(1, "č")),
+				orWhen("d").then(replace(1, "ž")),
+				orWhen("s").then(replace(1, "š")),
+				orWhen("t").then(replace(1, "š")),
+				orWhen("z").then(replace(1, "ž")),
+				// Citas mijas
+				orWhen("k").then(replace(1, "ķ")), // Andronovs?
+				orWhen("l").then(replace(1, "ļ")),
+				orWhen("n").then(replace(1, "ņ")),
+				otherwise().then(stem()));
+		rules.add(102, // latgaliešu līdzskaņu mīkstināšana lietvārdiem, e, i, ē, ī, ie galotnes
+				when("kst").then(replace(3, "kš")),
+				// Burtu miju ietekmētās vairāksimbolu mijas
+				orWhen("šļ", "sl").then(replace(2, "šl")),
+				orWhen("žļ", "zl").then(replace(2, "žl")),
+				orWhen("šm", "sm").then(replace(2, "šm")),
+				orWhen("šņ", "sn").then(replace(2, "šn")),
+				orWhen("žņ", "zn").then(replace(2, "žn")),
+				orWhen("ļļ").then(replace(2, "ll")),
+				orWhen("ņņ").then(replace(2, "nn")),
+				orWhen("c").then(replace(1, "č")),
+				orWhen("s").then(replace(1, "š")),
+				orWhen("t").then(replace(1, "š")),
+				orWhen("z").then(replace(1, "ž")),
+				orWhen("d").then(replace(1, "ž")),
+				orWhen("ļ").then(replace(1, "l")),
+				orWhen("ņ").then(replace(1, "n")),
+				orWhen("ķ").then(replace(1, "k")),
+				orWhen("ģ").then(replace(1, "g")),
+				otherwise().then(stem()));
+		rules.add(103, // līdzīgi 'case 3' - īpašības vārdiem pieliekam -uok- un vys- / vysu-
+				always().then(stem().with(LTG_POSITIVE)),
+				always().except("uok").then(ltgDegrees(append("uok"))));
+		rules.add(104, // īpašības vārdiem pieliekam -uok- un vys- / vysu- + burtu mija
+				always().then(stem().rewrite(SOFT_TO_HARD).with(LTG_POSITIVE)),
+				always().except("uok").then(ltgDegrees(append("uok"))));
+		rules.add(105, // līdzīgi kā case 34 -  īpašības vārdiem -uok- un vys- / vysu- izskaņām kā -ajam
+				when("ēj", "ej").then(drop(1).with(LTG_POSITIVE)), // senej-ais -> sene-jam
+				otherwise().then(append("a").with(LTG_POSITIVE)), // moz-s -> moza-jam
+				always().then(ltgDegrees(append("uoka"))));
+		rules.add(106, // līdzīgi 'case 13' - apstākļa vārdiem pieliekam -uok- un vys- / vysu- - būtībā 103, bet bez pamatformas
+				always().except("uok").then(ltgDegrees(append("uok"))));
+		rules.add(107, // latgaliešu 'burtu mijas' inverss - kad pamatformas galotne ir -e, -i, -ī, -ē, -ie, un l, n, k, g kļūst par ļ, ņ, ķ, ģ pirms citām galotnēm (slapnis)
+				always().then(stem().rewrite(HARD_TO_SOFT)));
+		rules.add(108, // 107 + 106 priekš slapnis
+				always().except("uok").then(ltgDegrees(stem().rewrite(HARD_TO_SOFT).append("uok"))));
+		rules.add(109, // apstākļa vārdi ar gradāciju, bet bez burtu mijas
+				always().then(stem().with(LTG_POSITIVE)),
+				when("ai").then(ltgDegrees(replace(2, "uok"))),
+				orWhen("i", "a").then(ltgDegrees(replace(1, "uok"))),
+				otherwise().then(ltgDegrees(append("uok"))));
+		rules.add(110, // 2. konjugācija, vienkāršās tagadnes mija
+				when("uo").then(replace(2, "o")),
+				orWhen("ei").then(replace(2, "e")),
+				orWhen("ē").then(replace(1, "e")));
+		rules.add(111, // 2. konjugācija, vienkāršās pagātnes vsk. 1., 2. pers. mija
+				when("uo").then(append("j"), replace(2, "ov")),
+				orWhen("ei").then(replace(2, "ej")),
+				orWhen("ē").then(replace(1, "iej")));
+		rules.add(112, // 2. konjugācija, vienkāršās pagātnes dsk. un 3. pers. mija
+				when("uo").then(append("j"), replace(2, "ov")),
+				orWhen("ei").then(replace(2, "ej")),
+				orWhen("ē").then(append("j")));
+		rules.add(113, // 2. konjugācija, vienkāršās nākotnes vsk. 1., 2. pers. mija
+				when("ē").then(replace(1, "ie")),
+				orWhen("ei", "uo").then(stem()));
+		rules.add(114, // 2. konjugācija, vēlējuma izteiksme, supīns un ciešamās kārtas pagātnes (-ts) divdabis, -dams divdabis
+				when("ē").then(replace(1, "ā")),
+				orWhen("ei", "uo").then(stem()));
+		rules.add(115, // 2. konjugācija, divdabju formu vispārākā pakāpe (121.) + tagadnes mija (110.)
+				when("uo").then(ltgDegrees(replace(2, "o"))),
+				orWhen("ei").then(ltgDegrees(replace(2, "e"))),
+				orWhen("ē").then(ltgDegrees(replace(1, "e"))));
+		rules.add(116, // 2. konjugācija, divdabju formu vispārākā pakāpe (121.) + vēlējuma/supīna mija (114.) (-ts divdabim)
+				when("ē").then(ltgDegrees(replace(1, "ā"))),
+				orWhen("ei", "uo").then(ltgDegrees(stem())));
+		rules.add(117, // 2. konjugācija, pagātnes mija -s, -use divdabim (vienkāršota 111.)
+				when("uo").then(stem()),
+				orWhen("ei").then(replace(2, "e")),
+				orWhen("ē").then(replace(1, "ie")));
+		rules.add(118, // 2. konjugācija, divdabju formu vispārākā pakāpe (121.) + pag. mija -s, -use divdabim (117.)
+				when("ei").then(ltgDegrees(replace(2, "e"))),
+				orWhen("ē").then(ltgDegrees(replace(1, "ie"))),
+				orWhen("uo").then(ltgDegrees(stem())));
+		rules.add(119, // 3. konjugācija, standarta -eit, tagadne un pagātne (līdzskaņu mijas nekad nav)
+				when("ei").then(drop(2)));
+		rules.add(120, // 3. konjugācija, standarta -eit bez līdskaņu mijas, divdabju formu vispārākā pakāpe + tagadnes un pagātnes mija (119.)
+				when("ei").then(ltgDegrees(drop(2))));
+		rules.add(121, // 3. konjugācija, divdabju formu vispārākā pakāpe bez mijas
+				always().then(ltgDegrees(stem())));
+		rules.add(122, // 3. konjugācija, standarta -eit, tagadne ar līdzskaņu miju
+				when("ļdei").then(replace(4, "ld")),
+				orWhen("ņdei").then(replace(4, "nd")),
+				orWhen("dzei").then(replace(4, "g")),
+				orWhen("cei").then(replace(3, "k")),
+				orWhen("lei").then(replace(3, "ļ")),
+				orWhen("nei").then(replace(3, "ņ")));
+		rules.add(123, // 3. konjugācija, standarta -eit ar līdskaņu miju, divdabju formu vispārākā pakāpe + tagadnes mija (122.)
+				when("ļdei").then(ltgDegrees(replace(4, "ld"))),
+				orWhen("ņdei").then(ltgDegrees(replace(4, "nd"))),
+				orWhen("dzei").then(ltgDegrees(replace(4, "g"))),
+				orWhen("cei").then(ltgDegrees(replace(3, "k"))),
+				orWhen("lei").then(ltgDegrees(replace(3, "ļ"))),
+				orWhen("nei").then(ltgDegrees(replace(3, "ņ"))));
+		rules.add(124, // 3. konjugācija, standarta -ēt, tagadne un pagātne bez līdzskaņu un burtu mijas
+				when("ē").then(drop(1)));
+		rules.add(125, // 3. konjugācija, standarta -ēt, tagadne bez līdzskaņu mijas ar inverso burtu miju
+				when("ē").then(drop(1).rewrite(HARD_TO_SOFT)));
+		rules.add(126, // 3. konjugācija, standarta -ēt bez līdskaņu un burtu mijas, divdabju formu vispārākā pakāpe + tagadnes un pagātnes mija (119.)
+				when("ē").then(ltgDegrees(drop(1))));
+		rules.add(127, // 3. konjugācija, standarta -ēt bez līdskaņu mijas ar inverso burtu miju, divdabju formu vispārākā pakāpe + tagadnes un pagātnes mija (119.)
+				when("ē").then(ltgDegrees(drop(1).rewrite(HARD_TO_SOFT))));
+
+		rules.addPrefixing(4, "jā", false, 0); // vajadzības izteiksmes jā-
+		rules.addPrefixing(5, "jā", false, 9); // vajadzības izteiksme 3. konjugācijai bez mijas
+		rules.addPrefixing(12, "jā", false, 8); // vajadzības izteiksme 3. konjugācijai atgriezeniskai bez mijas
+		rules.addPrefixing(19, "jā", false, 2); // vajadzības_vēlējuma izteiksme 3. konjugācijai bez mijas (jāmācot)
+		rules.addPrefixing(28, "jā", false, 20); // vajadzības_vēlējuma izteiksme 3. konjugācijai ar miju (jāmākot)
+		rules.addPrefixing(29, "jā", false, 27); // vajadzības izteiksme 3. konjugācijai atgriezeniskai ar miju
+		rules.addPrefixing(31, "jā", false, 30); // vajadzības izteiksme 3. konjugācijai ar miju
+		rules.addPrefixing(37, "jā", false, 36); // vajadzības izteiksme 1. konjugācijai ar miju
+		// latgalieši
+		rules.addPrefixing(150, "juo", false, 110); // vajadzības izteiksme 2. konjugācijai
+		rules.addPrefixing(151, "juo", true, 119); // vajadzības izteiksme 3. konjugācijai -eit ar patskaņu miju bez līdzskaņu mijas
+		rules.addPrefixing(152, "juo", true, 122); // vajadzības izteiksme 3. konjugācijai -eit ar patskaņu miju ar līdzskaņu miju
+		rules.addPrefixing(153, "juo", false, 125); // vajadzības izteiksme 3. konjugācijai -ēt ar burtu miju bez līdzskaņu un patskaņu mijas
+		// patskaņu mijas verbiem
+		rules.addPrefixing(160, null, true, 114); // patskaņu mija 2. konjugācijas supīnam, vēlējuma izteiksmei un pagātnes divdabim
+		rules.addPrefixing(161, null, true, 116); // patskaņu mija 2. konjugācijas divdabja pārākajai un vispārākajai pakāpei
+		rules.addPrefixing(162, null, true, 119); // patskaņu mija 3. konjugācijas standarta -eit tagadnei bez līdzskaņu mijas
+		rules.addPrefixing(163, null, true, 120); // patskaņu mija 3. konjugācijas standarta -eit bez līdzskaņu mijas grupas tagadnes divdabja pārākajai un vispārākajai pakāpei
+		rules.addPrefixing(164, null, true, 122); // patskaņu mija 3. konjugācijas standarta -eit grupas tagadnei ar līdzskaņu miju
+		rules.addPrefixing(165, null, true, 123); // patskaņu mija 3. konjugācijas standarta -eit līdzskaņu mijas grupas tagadnes divdabja pārākajai un vispārākajai pakāpei
+		rules.addPrefixing(166, null, true, 124); // patskaņu mija 3. konjugācijas standarta -ēt 1. pers. tagadnei bez līdzskaņu un burtu mijas
+		rules.addPrefixing(167, null, true, 126); // patskaņu mija 3. konjugācijas standarta -ēt bez līdzskaņu un burtu mijas tagadnes divdabja pārākajai un vispārākajai pakāpei
+	}
+}
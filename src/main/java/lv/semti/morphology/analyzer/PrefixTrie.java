@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.analyzer;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The verb prefixes of a lexicon (with the negation prefix among them) in a trie, for finding all the prefixes that
+ * a word starts with in one pass over its first characters, instead of trying each prefix. The prefixes are known
+ * by their position in the list, so that they can be taken in the order of the list, and a prefix that is listed
+ * twice is found twice.
+ */
+final class PrefixTrie {
+	private static final int[] NO_POSITIONS = {};
+
+	private final List<String> prefixes;
+	private final int size;
+	private final Node root = new Node();
+
+	private static final class Node {
+		char[] labels = {};
+		Node[] children = {};
+		int[] positions = NO_POSITIONS; // in the list, of the prefixes that end here
+
+		Node child(char c) {
+			for (int i = 0; i < labels.length; i++)
+				if (labels[i] == c) return children[i];
+			return null;
+		}
+	}
+
+	PrefixTrie(List<String> prefixes) {
+		this.prefixes = prefixes;
+		this.size = prefixes.size();
+		for (int position = 0; position < size; position++) {
+			String prefix = prefixes.get(position);
+			Node node = root;
+			for (int i = 0; i < prefix.length(); i++) {
+				Node next = node.child(prefix.charAt(i));
+				if (next == null) {
+					next = new Node();
+					node.labels = Arrays.copyOf(node.labels, node.labels.length + 1);
+					node.labels[node.labels.length - 1] = prefix.charAt(i);
+					node.children = Arrays.copyOf(node.children, node.children.length + 1);
+					node.children[node.children.length - 1] = next;
+				}
+				node = next;
+			}
+			node.positions = Arrays.copyOf(node.positions, node.positions.length + 1);
+			node.positions[node.positions.length - 1] = position;
+		}
+	}
+
+	/**
+	 * Whether the trie has the prefixes of this list as they are now
+	 */
+	boolean isFor(List<String> prefixes) {
+		return this.prefixes == prefixes && size == prefixes.size();
+	}
+
+	/**
+	 * Marks in 'found' the positions of the prefixes that word[from, ) starts with
+	 */
+	void match(String word, int from, BitSet found) {
+		Node node = root;
+		for (int i = from; ; i++) {
+			for (int position : node.positions)
+				found.set(position);
+			if (i >= word.length()) return;
+			node = node.child(word.charAt(i));
+			if (node == null) return;
+		}
+	}
+}
@@ -17,16 +17,27 @@
  *******************************************************************************/
 package lv.semti.morphology.analyzer;
 
+/**
+ * One analyzer with the default lexicon for the whole JVM. It is created on the first call; concurrent first calls
+ * wait for it instead of loading the lexicon again.
+ */
 public class SingletonAnalyzer {
-	private static Analyzer analyzer = null;
+	private static volatile Analyzer analyzer = null;
 	public static Analyzer getAnalyzer() {
-		if (analyzer == null)
-			try {
-				analyzer = new Analyzer();
-			} catch (Exception e) {
-				System.err.println("SingletonAnalyzer: couldn't create analyzer");
-				e.printStackTrace();
+		Analyzer result = analyzer;
+		if (result == null) {
+			synchronized (SingletonAnalyzer.class) {
+				result = analyzer;
+				if (result == null)
+					try {
+						result = new Analyzer();
+						analyzer = result;
+					} catch (Exception e) {
+						System.err.println("SingletonAnalyzer: couldn't create analyzer");
+						e.printStackTrace();
+					}
 			}
-		return analyzer;
+		}
+		return result;
 	}
 }
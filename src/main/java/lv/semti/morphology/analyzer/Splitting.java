@@ -17,21 +17,18 @@
  *******************************************************************************/
 package lv.semti.morphology.analyzer;
 
+import java.io.Reader;
+import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
 
 import lv.semti.morphology.attributes.AttributeNames;
-import org.apache.commons.lang3.StringUtils;
 
 /**
  * Tools for detecting chunk and token bounds.
  * When you edit this, please, update tokenize.pl in Chunker, too!
  */
 public class Splitting {
-	// Vārdā, atdalītājā, atstarpē
-	private enum Status {IN_WORD, IN_SPACE}; // , IN_DELIMITER, IN_EXCEPTION - tagad šo funkcionalitāti dara Trie morphoAnalyzer.automats
-	
 	public static int DEFAULT_SENTENCE_LENGTH_CAP = 250;
 	
 	/**
@@ -55,131 +52,45 @@ public class Splitting {
 	    return Character.isWhitespace(c) || Character.isISOControl(c) || c == '\u00A0' || c == '\uFEFF' || c == '\u2029' || c == '\u200B';
 	}
 
-	private static Word formToken(Analyzer morphoAnalyzer, String str, int start, int end, StringBuilder accumulatedWhitespace) {
-	    String word = str.substring(start, end);
-	    word = word.replace("\u00AD", ""); // Soft hyphen gets removed from word before analysis
-        Word token = (morphoAnalyzer == null) ? new Word(word) : morphoAnalyzer.analyze(word);
-
-        String whitespace = accumulatedWhitespace.toString().replace("\u200B", ""); // zero-width spaces are used as temporary separators
-        int offset = start - StringUtils.countMatches(str.substring(0,start), '\u200B');
-        for (Wordform wf : token.wordforms) {
-            wf.addAttribute(AttributeNames.i_WhitespaceBefore, whitespace);
-            wf.addAttribute(AttributeNames.i_Offset, Integer.toString(offset));
-        }
-        return token;
-    }
-
 	/*
 	 * Tokenizes the string (sentence?) and runs morphoanalysis on each word.
 	 */
 	public static LinkedList<Word> tokenize(Analyzer morphoAnalyzer, String chunk) {
 		LinkedList<Word> tokens = new LinkedList<Word>();
 		if (chunk == null) return tokens;
-		
-		Trie automats = new Trie(morphoAnalyzer.automats);
-
-	    //bug fix - pievienota beigās whitespace
-		String str = chunk+" ";
-		//workaround dubultapostrofu izvirtībai
-        str = str.replaceAll("''", "\u200B''"); // FIXME mēs te mazliet izčakarējam accumulatedWhitespace on Offsetus
-        //workaround teikuma beigu saīsinājumiem utt
-        str = str.replaceAll("([\\p{L}\\d])\\.(\\p{Z})*$", "$1\u200B.$2"); // FIXME mēs te mazliet izčakarējam accumulatedWhitespace un offsetus
-//        str = str.replaceAll("([\\d])\\.(\\p{Z})*$", "$1\u200B.$2"); // FIXME mēs te mazliet izčakarējam accumulatedWhitespace un offsetus
+		new TokenStream.Words(morphoAnalyzer, null, chunk).forEachRemaining(tokens::add);
+		return tokens;
+	}
 
-        // te tiek ciklā doti visi tekstā esošie vārdi uz morfoanalīzi.
-        int progress = 0;
-		boolean inApostrophes=false;
-		Status statuss = Status.IN_SPACE;
-		StringBuilder accumulatedWhitespace = new StringBuilder();
-		int lastGoodEnd=0;
-		boolean canEndInNextStep=false;
-		
-		for (int i = 0; i < str.length(); i++) {
-			switch (statuss) {
-			case IN_SPACE:
-				if (!Splitting.isSpace(str.charAt(i))) {
-					if (str.charAt(i)=='\'') inApostrophes=true;
+	/**
+	 * Tokenizes a text of any length as it is read, and runs morphoanalysis on each word - the tokens are the same
+	 * as tokenize gives for the whole text, but each is given out as soon as it is found, and only the current token
+	 * is kept in memory. An IOException of the reader is thrown as UncheckedIOException.
+	 */
+	public static Iterator<Word> tokenStream(Analyzer morphoAnalyzer, Reader text) {
+		return new TokenStream.Words(morphoAnalyzer, text, null);
+	}
 
-					automats.reset(); //atjauno automāta stāvokli
-					automats.findNextBranch(str.charAt(i)); //atrod pirmo derīgo zaru
-					
-					if(automats.status()>0) { //pārbauda vai automātā atrada meklēto simbolu
-						//ja atrada
-						statuss=Status.IN_WORD;
-						progress=i;
-						//pārbauda vai ar to var arī virkne beigties
-						canEndInNextStep = (automats.status()==2);
-					} else {
-						//ja neatrada, pievieno vienu simbolu un mēģina vēl
-                        tokens.add( formToken(morphoAnalyzer, str, i, i+1, accumulatedWhitespace));
-						accumulatedWhitespace = new StringBuilder();
-					}
-				} else {
-				   accumulatedWhitespace.append(str.charAt(i));
-                }
-				break;
-			case IN_WORD:
-				//pārbauda vai ir atrastas potenciālās beigas
-		        if (canEndInNextStep==true &&
-			            (Splitting.isSeparator(str.charAt(i)) || !Character.isLetter((i>0 ? str.charAt(i-1) : 0) ) ) )
-				{
-					lastGoodEnd=i;
-					if(str.charAt(i)=='\'' && inApostrophes) {
-						tokens.add( formToken(morphoAnalyzer, str, progress, i, accumulatedWhitespace));
-                        accumulatedWhitespace = new StringBuilder();
-                        tokens.add( formToken(morphoAnalyzer, str, i, i+1, accumulatedWhitespace));
-						inApostrophes=false;
-						statuss=Status.IN_SPACE;
-						break;
-					}
-				}
-				canEndInNextStep=false;
-				
-				//mēģina atrast nākamo simbolu automātā
-				if (automats.findNext(str.charAt(i))>0) { //ja atrada 
-					//pārbauda vai ar to var arī virkne beigties
-					if (automats.status()==2)
-						canEndInNextStep=true;
-				} else {
-					//ja neatrada, pārbauda vai automāta darbības laikā tika atrasta potenciālā beigu pozīcija
-					if (lastGoodEnd>progress) {
-                        tokens.add( formToken(morphoAnalyzer, str, progress, lastGoodEnd, accumulatedWhitespace));
-						i=lastGoodEnd-1;
-						statuss = Status.IN_SPACE;
-                        accumulatedWhitespace = new StringBuilder();
-					} else {
-						i=progress;
-						//mēgina atrast nākamo derīgo zaru
-						automats.nextBranch();
-						automats.findNextBranch(str.charAt(i));
-						if(automats.status()>0) { //pārbauda vai atrada meklēto simbolu
-							//pārbauda vai ar to var arī virkne beigties
-							if(automats.status()==2)
-								canEndInNextStep=true;
-						} else {
-							//ja neatrada, pievieno simbolu rezultātam un pēc tam dosies meklēt jauno sākumu
-                            //vispār šis ir fishy. FIXME
-                            tokens.add( formToken(morphoAnalyzer, str, i,i+1, accumulatedWhitespace));
-							statuss = Status.IN_SPACE;
-                            accumulatedWhitespace = new StringBuilder();
-						}
-					}
-				}				
-				break;
-			}
-		} // for i..
-		
-		
-		if (statuss == Status.IN_WORD) {
-			tokens.add( formToken(morphoAnalyzer, str, progress, str.length(), accumulatedWhitespace));
-		}
+	/**
+	 * Same as tokenStream(morphoAnalyzer, reader), for a text that is already in memory
+	 */
+	public static Iterator<Word> tokenStream(Analyzer morphoAnalyzer, CharSequence text) {
+		return new TokenStream.Words(morphoAnalyzer, null, text);
+	}
 
-		tokens = new LinkedList<>(tokens.stream().filter(s -> s.getToken().length() > 0).collect(Collectors.toList()));
+	/**
+	 * Finds the tokens that tokenize would give, but only as their spans in the text - no substrings are made and
+	 * nothing is analyzed, so that a caller who needs only some of the tokens (or none as strings) doesn't pay for
+	 * the rest. The analyzer is used for its automaton of known tokens.
+	 */
+	public static Iterator<TokenSpan> tokenSpans(Analyzer morphoAnalyzer, CharSequence text) {
+		return new TokenStream.Spans(morphoAnalyzer, null, text);
+	}
 
-		return tokens;
+	public static Iterator<TokenSpan> tokenSpans(Analyzer morphoAnalyzer, Reader text) {
+		return new TokenStream.Spans(morphoAnalyzer, text, null);
 	}
-	
-	
+
 	/***
 	 * Tokenizes some text (usually a sentence)
 	 * @param morphoAnalyzer
@@ -221,37 +132,87 @@ public class Splitting {
 	public static LinkedList<LinkedList<Word>> tokenizeSentences(
 		 	Analyzer morphoAnalyzer, String paragraph, int lengthCap) {
 		LinkedList<LinkedList<Word>> result = new LinkedList<LinkedList<Word>>();
-		
-		List<Word> tokens = Splitting.tokenize(morphoAnalyzer, paragraph);
-		LinkedList<Word> sentence = new LinkedList<Word>();
-		for (Word word : tokens) {
-		    // Teikumu beigas iekšā tiešajā runā - pievelkam pēdiņu klāt
-            if (sentence.size() == 0) {
-                if ((word.isRecognized() && word.getBestWordform().getTag().equalsIgnoreCase("zq")) || word.getToken().equals(")")) {
-                    // Pārbaudam vai iepriekšējā teikuma beigās ir punkts
-                    if (!result.isEmpty() && !result.getLast().isEmpty()) {
-                        String prevtoken = result.getLast().getLast().getToken();
-                        if (prevtoken.equals(".") || prevtoken.equals("!") || prevtoken.equals("?") || prevtoken.equals("\"")) {
-                            result.getLast().add(word);
-                            continue;
-                        }
-                    }
-                }
-            }
-
-			sentence.add(word);
-			if ( Splitting.isChunkCloser(word) || // does this token look like end of sentence
-				(sentence.size() >= lengthCap-5 && (word.hasAttribute(AttributeNames.i_PartOfSpeech, AttributeNames.v_Punctuation) || word.getToken().startsWith("<")) )
-				|| sentence.size() > lengthCap) { 		// hard limit		
-				result.add(sentence);
-				sentence = new LinkedList<Word>();
-			}
-		}
-		
-		if (!sentence.isEmpty()) 
-			result.add(sentence);
+		if (paragraph == null) return result;
+		new Sentences(new TokenStream.Words(morphoAnalyzer, null, paragraph), lengthCap).forEachRemaining(result::add);
 		return result;
 	}
 
+	/**
+	 * Tokenizes a text of any length as it is read, and splits it into sentences as tokenizeSentences does - each
+	 * sentence is given out once the next one has begun, as a quote or bracket after the end of a sentence still
+	 * belongs to it.
+	 */
+	public static Iterator<LinkedList<Word>> sentenceStream(Analyzer morphoAnalyzer, Reader text) {
+		return sentenceStream(morphoAnalyzer, text, DEFAULT_SENTENCE_LENGTH_CAP);
+	}
+
+	public static Iterator<LinkedList<Word>> sentenceStream(Analyzer morphoAnalyzer, Reader text, int lengthCap) {
+		return new Sentences(new TokenStream.Words(morphoAnalyzer, text, null), lengthCap);
+	}
+
+	/**
+	 * Groups the tokens into sentences
+	 */
+	private static final class Sentences implements Iterator<LinkedList<Word>> {
+		private final Iterator<Word> tokens;
+		private final int lengthCap;
+		private LinkedList<Word> finished = null; // the last sentence that ended, which may still get a closing quote
+		private LinkedList<Word> sentence = new LinkedList<Word>();
+		private LinkedList<Word> next = null;
+
+		Sentences(Iterator<Word> tokens, int lengthCap) {
+			this.tokens = tokens;
+			this.lengthCap = lengthCap;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null && tokens.hasNext()) {
+				Word word = tokens.next();
+				// Teikumu beigas iekšā tiešajā runā - pievelkam pēdiņu klāt
+				if (sentence.size() == 0) {
+					if ((word.isRecognized() && word.getBestWordform().getTag().equalsIgnoreCase("zq")) || word.getToken().equals(")")) {
+						// Pārbaudam vai iepriekšējā teikuma beigās ir punkts
+						if (finished != null && !finished.isEmpty()) {
+							String prevtoken = finished.getLast().getToken();
+							if (prevtoken.equals(".") || prevtoken.equals("!") || prevtoken.equals("?") || prevtoken.equals("\"")) {
+								finished.add(word);
+								continue;
+							}
+						}
+					}
+				}
+
+				sentence.add(word);
+				if (sentence.size() == 1 && finished != null) {
+					next = finished; // nothing more can be added to it
+					finished = null;
+				}
+				if ( Splitting.isChunkCloser(word) || // does this token look like end of sentence
+					(sentence.size() >= lengthCap-5 && (word.hasAttribute(AttributeNames.i_PartOfSpeech, AttributeNames.v_Punctuation) || word.getToken().startsWith("<")) )
+					|| sentence.size() > lengthCap) { 		// hard limit
+					finished = sentence;
+					sentence = new LinkedList<Word>();
+				}
+			}
+			if (next == null && !tokens.hasNext()) { // the end of the text
+				if (finished != null) {
+					next = finished;
+					finished = null;
+				} else if (!sentence.isEmpty()) {
+					next = sentence;
+					sentence = new LinkedList<Word>();
+				}
+			}
+			return next != null;
+		}
 
+		@Override
+		public LinkedList<Word> next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			LinkedList<Word> result = next;
+			next = null;
+			return result;
+		}
+	}
 }
@@ -21,7 +21,7 @@ import lv.semti.morphology.attributes.AttributeValues;
 
 public class StemVariant extends AttributeValues{
 	// variants meklēšanai ar mijām
-	public String stem;
+	public final String stem;
 
 	protected StemVariant(String stem) {
 		this.stem = stem;
@@ -32,8 +32,11 @@ public class StemVariant extends AttributeValues{
 		addAttribute(attribute, value );
 	}
 
-	protected StemVariant(String stem, AttributeValues attributes) {
+	/**
+	 * A stem variant with the attributes of another one - shared if they are compacted, see AttributeValues.compact
+	 */
+	public StemVariant(String stem, AttributeValues attributes) {
 		this.stem = stem;
-		addAttributes(attributes);
+		shareAttributes(attributes);
 	}
 }	
\ No newline at end of file
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.analyzer;
+
+import lv.semti.morphology.attributes.AttributeNames;
+
+/**
+ * The shape of a token: its letter case, and whether it looks like a number, an abbreviation, a URL and the like.
+ * It is found with one scan of the token and one of its lowercase form, instead of a regular expression for each
+ * feature, and the analysis of the token computes it once and passes it along.
+ *
+ * Each feature is what the pattern in its comment matches - as in java.util.regex, \d and \w are ASCII only.
+ * The case features are of the token as written, the others of its lowercase form.
+ */
+public final class TokenShape {
+	private static final String NUMBER_END = "0123456789+⁰¹²³⁴⁵⁶⁷⁸⁹₀₁₂₃₄₅₆₇₈₉";
+	private static final String DASHES = "-‐‑‒–—―";
+	private static final String[] DOMAINS = {".lv", ".com", ".org", ".gov"};
+	private static final String[] SCHEMES = {"http://", "https://", "ftp://", "ftps://"};
+
+	public final boolean firstUpper; // \p{Lu}.*
+	public final boolean allUpper; // (\p{Lu})*
+	public final boolean abbreviationCaps; // \p{Lu}+\.
+	public final boolean acronym; // (\p{Lu}){2,5}
+	public final boolean doubleSurname; // \p{Lu}.+-\p{Lu}.+
+	public final boolean number; // [\d., ]*[\d+⁰¹²³⁴⁵⁶⁷⁸⁹₀₁₂₃₄₅₆₇₈₉]([.,][-‐‑‒–—―])?
+	public final boolean fractional; // \d+[\\/]\d+
+	public final boolean ordinal; // \d+\.
+	public final boolean abbreviation; // \w+\.
+	public final boolean letter; // \p{L}
+	public final boolean url; // ((ht|f)tps?://)?[.\w-]+\.(lv|com|org|gov)(/[\w\d-@:?=&%.]*)?
+
+	/**
+	 * @param token - the token as written
+	 * @param word - its lowercase form
+	 */
+	public TokenShape(String token, String word) {
+		int codePoints = 0, upper = 0;
+		boolean lineBreak = false;
+		for (int i = 0; i < token.length(); ) {
+			int c = token.codePointAt(i);
+			if (Character.getType(c) == Character.UPPERCASE_LETTER) upper++;
+			else if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') lineBreak = true;
+			codePoints++;
+			i += Character.charCount(c);
+		}
+		firstUpper = codePoints > 0 && Character.getType(token.codePointAt(0)) == Character.UPPERCASE_LETTER && !lineBreak;
+		allUpper = upper == codePoints;
+		abbreviationCaps = codePoints >= 2 && upper == codePoints - 1 && token.charAt(token.length() - 1) == '.';
+		acronym = allUpper && codePoints >= 2 && codePoints <= 5;
+		doubleSurname = firstUpper && isDoubleSurname(token);
+
+		int length = word.length();
+		int firstNonDigit = -1, lastNonDigit = -1, firstNonNumber = -1, firstNonWord = -1;
+		for (int i = 0; i < length; i++) {
+			char c = word.charAt(i);
+			if (!isDigit(c)) {
+				if (firstNonDigit < 0) firstNonDigit = i;
+				lastNonDigit = i;
+				if (firstNonNumber < 0 && c != '.' && c != ',' && c != ' ') firstNonNumber = i;
+				if (firstNonWord < 0 && !isWordCharacter(c)) firstNonWord = i;
+			}
+		}
+		if (firstNonNumber < 0) firstNonNumber = length;
+		char last = length > 0 ? word.charAt(length - 1) : 0;
+
+		number = numberUntil(word, length, firstNonNumber) ||
+				(length >= 3 && DASHES.indexOf(last) >= 0 && (word.charAt(length - 2) == '.' || word.charAt(length - 2) == ',')
+						&& numberUntil(word, length - 2, firstNonNumber));
+		fractional = firstNonDigit > 0 && firstNonDigit == lastNonDigit && firstNonDigit < length - 1
+				&& (word.charAt(firstNonDigit) == '/' || word.charAt(firstNonDigit) == '\\');
+		ordinal = length >= 2 && firstNonDigit == length - 1 && last == '.';
+		abbreviation = length >= 2 && firstNonWord == length - 1 && last == '.';
+		letter = word.codePointCount(0, length) == 1 && Character.isLetter(word.codePointAt(0));
+		url = isURL(word);
+	}
+
+	/**
+	 * Whether word[0, end) is a number: one of NUMBER_END after any digits, periods, commas and spaces
+	 */
+	private static boolean numberUntil(String word, int end, int firstNonNumber) {
+		return end >= 1 && NUMBER_END.indexOf(word.charAt(end - 1)) >= 0 && firstNonNumber >= end - 1;
+	}
+
+	/**
+	 * Whether, after the first letter, there is a hyphen that is followed by an uppercase letter and something more
+	 */
+	private static boolean isDoubleSurname(String token) {
+		int first = Character.charCount(token.codePointAt(0));
+		for (int dash = token.indexOf('-', first + 1); dash >= 0; dash = token.indexOf('-', dash + 1)) {
+			int next = dash + 1;
+			if (next < token.length() && Character.getType(token.codePointAt(next)) == Character.UPPERCASE_LETTER
+					&& next + Character.charCount(token.codePointAt(next)) < token.length())
+				return true;
+		}
+		return false;
+	}
+
+	private static boolean isURL(String word) {
+		if (word.indexOf('.') < 0) return false;
+		if (isAddress(word, 0)) return true;
+		for (String scheme : SCHEMES)
+			if (word.startsWith(scheme)) return isAddress(word, scheme.length());
+		return false;
+	}
+
+	/**
+	 * Whether word[from, ) is a domain name with one of DOMAINS, optionally followed by a path. The path starts at
+	 * the first slash, as the domain name can't have one.
+	 */
+	private static boolean isAddress(String word, int from) {
+		int slash = word.indexOf('/', from);
+		if (slash < 0) slash = word.length();
+		for (int i = slash + 1; i < word.length(); i++)
+			if (!isPathCharacter(word.charAt(i))) return false;
+		for (String domain : DOMAINS) {
+			int name = slash - domain.length();
+			if (name > from && word.startsWith(domain, name)) {
+				for (int i = from; i < name; i++) {
+					char c = word.charAt(i);
+					if (!isWordCharacter(c) && c != '.' && c != '-') return false;
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isWordCharacter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_';
+	}
+
+	private static boolean isPathCharacter(char c) {
+		return isWordCharacter(c) || "-@:?=&%.".indexOf(c) >= 0;
+	}
+
+	/**
+	 * Whether the token is a number or a URL, which the analysis recognizes by the shape alone when it is not in the
+	 * lexicon
+	 */
+	public boolean residual() {
+		return number || fractional || ordinal || url;
+	}
+
+	/**
+	 * The value of AttributeNames.i_CapitalLetters for the token
+	 */
+	public String lettercase() {
+		if (allUpper) return AttributeNames.v_AllUpper;
+		if (firstUpper) return AttributeNames.v_FirstUpper;
+		return AttributeNames.v_Lowercase;
+	}
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.analyzer;
+
+/**
+ * Where a token is in the text that was tokenized - see Splitting.tokenSpans. The positions are those of the text
+ * as it was given, with any zero-width spaces and soft hyphens in it; so the token is text[start, end), and the
+ * whitespace before it - from the end of the previous token - is text[whitespaceStart, start). The strings are made
+ * only when asked for.
+ */
+public final class TokenSpan {
+	public final int whitespaceStart;
+	public final int start;
+	public final int end;
+
+	TokenSpan(int whitespaceStart, int start, int end) {
+		this.whitespaceStart = whitespaceStart;
+		this.start = start;
+		this.end = end;
+	}
+
+	public int length() {
+		return end - start;
+	}
+
+	/**
+	 * The token as tokenize would give it to the analyzer, without soft hyphens
+	 */
+	public String token(CharSequence text) {
+		StringBuilder result = new StringBuilder(end - start);
+		for (int i = start; i < end; i++)
+			if (text.charAt(i) != '\u00AD') result.append(text.charAt(i));
+		return result.toString();
+	}
+
+	/**
+	 * The whitespace before the token, without zero-width spaces, as in the WhitespaceBefore attribute
+	 */
+	public String whitespaceBefore(CharSequence text) {
+		StringBuilder result = new StringBuilder(start - whitespaceStart);
+		for (int i = whitespaceStart; i < start; i++)
+			if (text.charAt(i) != '\u200B') result.append(text.charAt(i));
+		return result.toString();
+	}
+
+	@Override
+	public String toString() {
+		return "[" + start + ", " + end + ")";
+	}
+}
@@ -0,0 +1,452 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.analyzer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import lv.semti.morphology.attributes.AttributeNames;
+
+/**
+ * The tokenizer of Splitting.tokenize, reading the text as it goes and giving out each token as soon as it is
+ * found. Only the text from the end of the last token is kept, so a document of any size is tokenized in memory
+ * proportional to its longest token (or whitespace run), and the tokens are the same as tokenize gives for the
+ * whole text as one string.
+ *
+ * The workarounds of tokenize are done on the way in: a zero-width space is put before each pair of apostrophes,
+ * and before the final period of the text if it follows a letter or digit - for which the text after a period is
+ * read ahead as far as it is whitespace. The offsets don't count these zero-width spaces, as in tokenize.
+ *
+ * A token is found as its span in the text, and the whitespace before it is the span from the end of the last
+ * token; what is made of them - analyzed words (Words) or just the spans (Spans) - is up to the subclass.
+ */
+abstract class TokenStream<T> implements Iterator<T> {
+	// Vārdā, atdalītājā, atstarpē
+	private enum Status {IN_WORD, IN_SPACE}; // , IN_DELIMITER, IN_EXCEPTION - tagad šo funkcionalitāti dara Trie morphoAnalyzer.automats
+
+	private final Trie automats;
+	private final Text str;
+	private final ArrayDeque<T> found = new ArrayDeque<>(); // one step can form two tokens
+	private boolean finished = false;
+	private int lastEnd = 0; // the end of the last token, where the whitespace before the next one starts
+
+	// the state of the loop in tokenize, kept between the steps
+	private int i = 0;
+	private int progress = 0;
+	private boolean inApostrophes = false;
+	private Status statuss = Status.IN_SPACE;
+	private int lastGoodEnd = 0;
+	private boolean canEndInNextStep = false;
+
+	/**
+	 * @param automats - the automaton of the lexicon that knows the tokens
+	 * @param reader - the text, if it is read from a reader
+	 * @param sequence - or the text, if it is in memory
+	 */
+	TokenStream(Trie automats, Reader reader, CharSequence sequence) {
+		this.automats = new Trie(automats);
+		this.str = new Text(reader, sequence);
+	}
+
+	/**
+	 * Makes the token of text[start, end), with the whitespace text[whitespaceStart, start) before it
+	 * @return the token, or null if it is to be left out
+	 */
+	abstract T token(Text text, int whitespaceStart, int start, int end);
+
+	@Override
+	public boolean hasNext() {
+		while (found.isEmpty() && !finished) {
+			if (str.has(i)) {
+				step();
+				i++;
+				str.discardBefore(lastEnd); // the tokenizer may come back to a later position, not an earlier one
+			} else {
+				if (statuss == Status.IN_WORD)
+					addToken(progress, i);
+				finished = true;
+			}
+		}
+		return !found.isEmpty();
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) throw new NoSuchElementException();
+		return found.poll();
+	}
+
+	/**
+	 * One pass of the loop in tokenize, for the character at i
+	 */
+	private void step() {
+		switch (statuss) {
+		case IN_SPACE:
+			if (!Splitting.isSpace(str.charAt(i))) {
+				if (str.charAt(i)=='\'') inApostrophes=true;
+
+				automats.reset(); //atjauno automāta stāvokli
+				automats.findNextBranch(str.charAt(i)); //atrod pirmo derīgo zaru
+
+				if(automats.status()>0) { //pārbauda vai automātā atrada meklēto simbolu
+					statuss=Status.IN_WORD;
+					progress=i;
+					//pārbauda vai ar to var arī virkne beigties
+					canEndInNextStep = (automats.status()==2);
+				} else {
+					//ja neatrada, pievieno vienu simbolu un mēģina vēl
+					addToken(i, i+1);
+				}
+			} // whitespace is taken as the span before the token
+			break;
+		case IN_WORD:
+			//pārbauda vai ir atrastas potenciālās beigas
+			if (canEndInNextStep==true &&
+					(Splitting.isSeparator(str.charAt(i)) || !Character.isLetter((i>0 ? str.charAt(i-1) : 0) ) ) )
+			{
+				lastGoodEnd=i;
+				if(str.charAt(i)=='\'' && inApostrophes) {
+					addToken(progress, i);
+					addToken(i, i+1);
+					inApostrophes=false;
+					statuss=Status.IN_SPACE;
+					break;
+				}
+			}
+			canEndInNextStep=false;
+
+			//mēģina atrast nākamo simbolu automātā
+			if (automats.findNext(str.charAt(i))>0) {
+				//pārbauda vai ar to var arī virkne beigties
+				if (automats.status()==2)
+					canEndInNextStep=true;
+			} else {
+				//ja neatrada, pārbauda vai automāta darbības laikā tika atrasta potenciālā beigu pozīcija
+				if (lastGoodEnd>progress) {
+					addToken(progress, lastGoodEnd);
+					i=lastGoodEnd-1;
+					statuss = Status.IN_SPACE;
+				} else {
+					i=progress;
+					//mēgina atrast nākamo derīgo zaru
+					automats.nextBranch();
+					automats.findNextBranch(str.charAt(i));
+					if(automats.status()>0) { //pārbauda vai atrada meklēto simbolu
+						//pārbauda vai ar to var arī virkne beigties
+						if(automats.status()==2)
+							canEndInNextStep=true;
+					} else {
+						//ja neatrada, pievieno simbolu rezultātam un pēc tam dosies meklēt jauno sākumu
+						addToken(i, i+1);
+						statuss = Status.IN_SPACE;
+					}
+				}
+			}
+			break;
+		}
+	}
+
+	private void addToken(int start, int end) {
+		T token = token(str, lastEnd, start, end);
+		lastEnd = end;
+		if (token != null) found.add(token);
+	}
+
+	/**
+	 * The tokens analyzed as words, with their offsets and whitespace in the attributes, as tokenize gives them
+	 */
+	static final class Words extends TokenStream<Word> {
+		private final Analyzer morphoAnalyzer;
+
+		Words(Analyzer morphoAnalyzer, Reader reader, CharSequence sequence) {
+			super(morphoAnalyzer.automats, reader, sequence);
+			this.morphoAnalyzer = morphoAnalyzer;
+		}
+
+		@Override
+		Word token(Text text, int whitespaceStart, int start, int end) {
+			String word = text.word(start, end); // Soft hyphen gets removed from word before analysis
+			Word token = (morphoAnalyzer == null) ? new Word(word) : morphoAnalyzer.analyze(word);
+			if (token.getToken().length() == 0) return null;
+
+			String whitespace = text.whitespace(whitespaceStart, start);
+			String offset = Integer.toString(start - text.zeroWidthSpacesBefore(start));
+			for (Wordform wf : token.wordforms) {
+				wf.addAttribute(AttributeNames.i_WhitespaceBefore, whitespace);
+				wf.addAttribute(AttributeNames.i_Offset, offset);
+			}
+			return token;
+		}
+	}
+
+	/**
+	 * Only the spans of the tokens in the text as given, with no strings made and nothing analyzed
+	 */
+	static final class Spans extends TokenStream<TokenSpan> {
+		Spans(Analyzer morphoAnalyzer, Reader reader, CharSequence sequence) {
+			super(morphoAnalyzer.automats, reader, sequence);
+		}
+
+		@Override
+		TokenSpan token(Text text, int whitespaceStart, int start, int end) {
+			if (text.blank(start, end)) return null; // as Words leaves out the empty words
+			return new TokenSpan(text.sourcePosition(whitespaceStart), text.sourcePosition(start), text.sourcePosition(end));
+		}
+	}
+
+	/**
+	 * The text as tokenize sees it - with a space at the end and the zero-width spaces put in - read as far as
+	 * needed and kept from the position that the tokenizer may come back to
+	 */
+	static final class Text {
+		private static final char ZERO_WIDTH_SPACE = '\u200B';
+		private static final char SOFT_HYPHEN = '\u00AD';
+
+		private final Reader reader;
+		private final CharSequence sequence;
+		private final char[] rawBuffer;
+		private int rawPosition = 0;
+		private int rawLength = 0;
+		private boolean rawEnded = false;
+		private int sourceLength = 0; // the characters of the text as given, read so far
+
+		private final ArrayDeque<Character> apostrophes = new ArrayDeque<>(); // what a pair of apostrophes becomes
+		private boolean spaceBeforeApostrophes = false; // if the last character given is the zero-width space put there
+		private int previous = -1;       // the last character with the apostrophes done, before the one at hand
+		private int beforePrevious = -1; // and the one before it, for a letter of two chars
+
+		private char[] buffer = new char[64];
+		private boolean[] inserted = new boolean[64]; // the zero-width spaces that were not in the text as given
+		private int start = 0;  // the position of buffer[0] in the text
+		private int end = 0;    // the position after the last character read
+		private int zeroWidthSpacesBeforeStart = 0;
+		private int insertedBeforeStart = 0;
+		private boolean ended = false;
+
+		Text(Reader reader, CharSequence sequence) {
+			this.reader = reader;
+			this.sequence = sequence;
+			this.rawBuffer = reader == null ? null : new char[4096];
+		}
+
+		boolean has(int position) {
+			while (position >= end && !ended)
+				read();
+			return position < end;
+		}
+
+		char charAt(int position) {
+			return buffer[position - start];
+		}
+
+		/**
+		 * The text[from, to) without soft hyphens, copied only if it has any
+		 */
+		String word(int from, int to) {
+			for (int j = from; j < to; j++)
+				if (buffer[j - start] == SOFT_HYPHEN) return without(from, to, SOFT_HYPHEN);
+			return new String(buffer, from - start, to - from);
+		}
+
+		/**
+		 * Whether text[from, to) has nothing but soft hyphens and what String.trim removes, so that the word is empty
+		 */
+		boolean blank(int from, int to) {
+			for (int j = from; j < to; j++)
+				if (buffer[j - start] != SOFT_HYPHEN && buffer[j - start] > ' ') return false;
+			return true;
+		}
+
+		/**
+		 * The whitespace text[from, to) without zero-width spaces - no new string for none or one space
+		 */
+		String whitespace(int from, int to) {
+			if (from == to) return "";
+			if (to - from == 1 && buffer[from - start] == ' ') return " ";
+			return without(from, to, ZERO_WIDTH_SPACE);
+		}
+
+		private String without(int from, int to, char c) {
+			StringBuilder result = new StringBuilder(to - from);
+			for (int j = from; j < to; j++)
+				if (buffer[j - start] != c) result.append(buffer[j - start]);
+			return result.toString();
+		}
+
+		/**
+		 * The zero-width spaces before the position, with those in the text as given - which tokenize doesn't
+		 * count in the offsets either
+		 */
+		int zeroWidthSpacesBefore(int position) {
+			int result = zeroWidthSpacesBeforeStart;
+			for (int j = start; j < position; j++)
+				if (buffer[j - start] == ZERO_WIDTH_SPACE) result++;
+			return result;
+		}
+
+		/**
+		 * The position in the text as given
+		 */
+		int sourcePosition(int position) {
+			int result = position - insertedBeforeStart;
+			for (int j = start; j < position; j++)
+				if (inserted[j - start]) result--;
+			return ended ? Math.min(result, sourceLength) : result; // not the space at the end
+		}
+
+		/**
+		 * Forgets the text before the position
+		 */
+		void discardBefore(int position) {
+			if (position <= start) return;
+			position = Math.min(position, end);
+			for (int j = start; j < position; j++) {
+				if (buffer[j - start] == ZERO_WIDTH_SPACE) zeroWidthSpacesBeforeStart++;
+				if (inserted[j - start]) insertedBeforeStart++;
+			}
+			System.arraycopy(buffer, position - start, buffer, 0, end - position);
+			System.arraycopy(inserted, position - start, inserted, 0, end - position);
+			start = position;
+		}
+
+		private void append(int c) {
+			append(c, false);
+		}
+
+		private void append(int c, boolean insertedHere) {
+			if (end - start == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				inserted = Arrays.copyOf(inserted, inserted.length * 2);
+			}
+			buffer[end - start] = (char) c;
+			inserted[end - start] = insertedHere;
+			end++;
+		}
+
+		/**
+		 * Reads on by a character, or by a period with the whitespace after it
+		 */
+		private void read() {
+			int c = withApostrophes();
+			if (c < 0) {
+				ended = true;
+				return;
+			}
+			if (c == '.' && letterOrDigit(beforePrevious, previous)) {
+				// ([\p{L}\d])\.(\p{Z})*$ becomes $1\u200B.$2 - if nothing but whitespace follows
+				StringBuilder whitespace = new StringBuilder();
+				int next = withApostrophes();
+				while (next >= 0 && isZ(next)) {
+					whitespace.append((char) next);
+					next = withApostrophes();
+				}
+				if (next < 0) {
+					append(ZERO_WIDTH_SPACE, true);
+					append('.');
+					if (whitespace.length() > 0) append(whitespace.charAt(whitespace.length() - 1));
+					ended = true;
+					return;
+				}
+				append('.');
+				for (int j = 0; j < whitespace.length(); j++)
+					append(whitespace.charAt(j));
+				append(next, spaceBeforeApostrophes);
+				remember(whitespace.length() > 0 ? whitespace.charAt(whitespace.length() - 1) : '.', next);
+				return;
+			}
+			append(c, spaceBeforeApostrophes);
+			remember(previous, c);
+		}
+
+		private void remember(int beforePrevious, int previous) {
+			this.beforePrevious = beforePrevious;
+			this.previous = previous;
+		}
+
+		private static boolean letterOrDigit(int beforePrevious, int previous) {
+			if (previous < 0) return false;
+			int codePoint = previous;
+			if (Character.isLowSurrogate((char) previous) && beforePrevious >= 0 && Character.isHighSurrogate((char) beforePrevious))
+				codePoint = Character.toCodePoint((char) beforePrevious, (char) previous);
+			return Character.isLetter(codePoint) || (codePoint >= '0' && codePoint <= '9');
+		}
+
+		private static boolean isZ(int c) {
+			int type = Character.getType(c);
+			return type == Character.SPACE_SEPARATOR || type == Character.LINE_SEPARATOR || type == Character.PARAGRAPH_SEPARATOR;
+		}
+
+		/**
+		 * The next character with '' replaced by \u200B'', or -1 at the end
+		 */
+		private int withApostrophes() {
+			spaceBeforeApostrophes = false;
+			if (!apostrophes.isEmpty()) return apostrophes.poll();
+			int c = raw();
+			if (c == '\'' && peekRaw() == '\'') {
+				raw();
+				apostrophes.add('\'');
+				apostrophes.add('\'');
+				spaceBeforeApostrophes = true;
+				return ZERO_WIDTH_SPACE;
+			}
+			return c;
+		}
+
+		/**
+		 * The next character of the text with a space after it, or -1 at the end
+		 */
+		private int raw() {
+			int c = peekRaw();
+			if (c >= 0) {
+				if (sequence != null ? rawPosition < sequence.length() : !rawEnded) sourceLength++; // not the space after it
+				rawPosition++;
+			}
+			return c;
+		}
+
+		private int peekRaw() {
+			if (sequence != null) {
+				if (rawPosition < sequence.length()) return sequence.charAt(rawPosition);
+				return rawPosition == sequence.length() ? ' ' : -1;
+			}
+			if (rawPosition == rawLength && !rawEnded) {
+				try {
+					int read;
+					do {
+						read = reader.read(rawBuffer);
+					} while (read == 0);
+					if (read < 0) {
+						rawEnded = true;
+						rawBuffer[0] = ' ';
+						rawLength = 1;
+					} else rawLength = read;
+					rawPosition = 0;
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			return rawPosition < rawLength ? rawBuffer[rawPosition] : -1;
+		}
+	}
+}
@@ -22,8 +22,13 @@ import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.Observable;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import lv.semti.morphology.attributes.TagSet;
 import org.json.simple.JSONValue;
@@ -37,14 +42,18 @@ import lv.semti.morphology.corpus.Statistics;
 /**
  * Morphologically analyzed token with potentially multiple variants of
  * analysis.
+ *
+ * The analyzer keeps frozen (immutable) Words in its cache and can hand them out directly, see
+ * Analyzer.analyzeShared; to edit such a Word, take its mutableCopy().
  * 
  * @author Pēteris Paikens
  */
-public class Word extends Observable implements Cloneable{
+public class Word implements Cloneable{
 
 	private String token;
 	public ArrayList<Wordform> wordforms = new ArrayList<Wordform>();
 	private Wordform correctWordform = null;
+	private boolean frozen = false;
 
 	public Word (String token) {
 		this.token = token.trim();
@@ -82,6 +91,7 @@ public class Word extends Observable implements Cloneable{
 	public Object clone() {
 		try {
 			Word kopija = (Word)super.clone();
+			kopija.frozen = false;
 			kopija.token = this.token;
 			kopija.wordforms = new ArrayList<Wordform>();
 			for (Wordform vārdforma : wordforms) {
@@ -127,7 +137,35 @@ public class Word extends Observable implements Cloneable{
 		return signature.hashCode();
 	}
 	
+	/**
+	 * Makes this Word and its wordforms immutable, so that it can be shared by any number of callers and threads
+	 * without copying. Any edit then throws UnsupportedOperationException.
+	 */
+	public void freeze() {
+		if (frozen) return;
+		for (Wordform wordform : wordforms)
+			wordform.freeze();
+		wordforms = new FrozenWordforms(wordforms);
+		frozen = true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * An editable copy of this Word, with copies of its wordforms - for editing results that are frozen
+	 */
+	public Word mutableCopy() {
+		return (Word) clone();
+	}
+
+	private void checkEditable() {
+		if (frozen) throw new UnsupportedOperationException(String.format("Vārds '%s' ir koplietots analīzes rezultāts - jālabo tā mutableCopy()", token));
+	}
+
 	public void addWordform (Wordform wordform){
+		checkEditable();
 		wordform.setToken(this.token);
 		wordforms.add(wordform);
 	}
@@ -166,6 +204,7 @@ public class Word extends Observable implements Cloneable{
 	}
 
 	public void addAttribute(String attribute, String value) {
+		checkEditable();
 		for (Wordform variants : wordforms)
 			variants.addAttribute(attribute, value);
 	}
@@ -175,6 +214,7 @@ public class Word extends Observable implements Cloneable{
 	 * @param attributes
 	 */
 	public void filterByAttributes(AttributeValues attributes) {
+		checkEditable();
 		ArrayList<Wordform> derīgās = new ArrayList<Wordform>();
 
 		for (Wordform vārdforma : wordforms) {
@@ -194,6 +234,7 @@ public class Word extends Observable implements Cloneable{
 	}
 
 	public void setCorrectWordform(Wordform wordform) {
+		checkEditable();
 		if (wordforms.indexOf(wordform) == -1)
 			throw new Error(String.format("Vārdam %s mēģina uzlikt par pareizo svešu vārdformu %s.", token, wordform.getToken()));
 
@@ -241,9 +282,10 @@ public class Word extends Observable implements Cloneable{
 		if (wordforms.isEmpty()) return null;
 		Wordform maxwf = wordforms.get(0);
 		double maxticamība = -1;
+		Statistics statistics = Statistics.getStatistics();
 		for (Wordform wf : wordforms) {  // Paskatamies visus atrastos variantus un ņemam statistiski ticamāko
 			//tag += String.format("%s\t%d\n", wf.getDescription(), MorphoServer.statistics.getTicamība(wf));
-			double estimate = Statistics.getStatistics().getEstimate(wf);
+			double estimate = wf.getEstimate(statistics);
 			if (estimate > maxticamība) {
 				maxticamība = estimate;
 				maxwf = wf;
@@ -351,4 +393,36 @@ public class Word extends Observable implements Cloneable{
 		this.describe(new PrintWriter(out));
 	}
 
+	/**
+	 * The wordform list of a frozen Word - still an ArrayList, as the public field has always been one, but not editable
+	 */
+	private static final class FrozenWordforms extends ArrayList<Wordform> {
+		private static final long serialVersionUID = 1L;
+
+		FrozenWordforms(Collection<Wordform> wordforms) {
+			super(wordforms);
+		}
+
+		private static UnsupportedOperationException frozen() {
+			return new UnsupportedOperationException("Frozen Word can't be edited - edit its mutableCopy() instead");
+		}
+
+		@Override public boolean add(Wordform wordform) { throw frozen(); }
+		@Override public void add(int index, Wordform wordform) { throw frozen(); }
+		@Override public boolean addAll(Collection<? extends Wordform> c) { throw frozen(); }
+		@Override public boolean addAll(int index, Collection<? extends Wordform> c) { throw frozen(); }
+		@Override public Wordform set(int index, Wordform wordform) { throw frozen(); }
+		@Override public Wordform remove(int index) { throw frozen(); }
+		@Override public boolean remove(Object o) { throw frozen(); }
+		@Override public boolean removeAll(Collection<?> c) { throw frozen(); }
+		@Override public boolean retainAll(Collection<?> c) { throw frozen(); }
+		@Override public boolean removeIf(Predicate<? super Wordform> filter) { throw frozen(); }
+		@Override public void replaceAll(UnaryOperator<Wordform> operator) { throw frozen(); }
+		@Override public void sort(Comparator<? super Wordform> c) { throw frozen(); }
+		@Override public void clear() { throw frozen(); }
+		@Override protected void removeRange(int fromIndex, int toIndex) { throw frozen(); }
+		@Override public List<Wordform> subList(int fromIndex, int toIndex) {
+			return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+		}
+	}
 }
@@ -22,12 +22,14 @@ import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.Serializable;
 import java.io.Writer;
-import java.util.ArrayList;
+import java.util.Map;
 
 import org.w3c.dom.Node;
 
 import lv.semti.morphology.attributes.AttributeNames;
 import lv.semti.morphology.attributes.AttributeValues;
+import lv.semti.morphology.attributes.FeatureMap;
+import lv.semti.morphology.corpus.Statistics;
 import lv.semti.morphology.lexicon.*;
 
 /**
@@ -41,76 +43,31 @@ public class Wordform extends AttributeValues implements Serializable{
 	private String token;
 	private transient Ending ending;
 	public transient Lexeme lexeme;
+	private transient volatile long statisticsIds = NO_IDS; // ending and lexeme IDs, parsed once the wordform is frozen
+	private static final long NO_IDS = Long.MIN_VALUE;
+
+	/**
+	 * Wordforms are created for every analysis option, so their attributes are kept in arrays instead of a HashMap
+	 */
+	@Override
+	protected Map<String, String> createAttributeMap() {
+		return new FeatureMap();
+	}
 		
 	public Wordform (String token, Lexeme lexeme, Ending ending) {
 	    this(token, lexeme, ending, null);
 	}
 
+	/**
+	 * The attributes from the lexeme, ending and paradigm are not copied - they are looked up through a
+	 * {@link WordformLayer} as long as the wordform is only queried and edited, and copied only when all of them
+	 * are needed (iteration, toJSON, describe...).
+	 */
 	public Wordform(String token, Lexeme lexeme, Ending ending, String originalWord) {
 		this.token = token;
 		this.lexeme = lexeme;
 		this.ending = ending;
-		Paradigm paradigm = ending.getParadigm();
-		
-		addAttribute(AttributeNames.i_Word, token);
-		addAttribute(AttributeNames.i_Mija, Integer.toString(ending.getMija()));
-		addAttributes(paradigm);
-		addAttributes(ending);
-		addAttribute(AttributeNames.i_EndingID, Integer.toString(ending.getID()));
-		addAttribute(AttributeNames.i_ParadigmID, Integer.toString(paradigm.getID()));
-		removeAttribute(AttributeNames.i_ParadigmProperties);
-		removeAttribute(AttributeNames.i_ParadigmSupportedDerivations);
-		
-		boolean fixed_stem;
-		if (lexeme != null) {
-			addAttributes(lexeme);
-			addAttribute(AttributeNames.i_LexemeID, Integer.toString(lexeme.getID()));
-			fixed_stem = isMatchingStrong(AttributeNames.i_NumberSpecial, AttributeNames.v_PlurareTantum)  ||
-					isMatchingStrong(AttributeNames.i_NumberSpecial, AttributeNames.v_SingulareTantum) ||
-					isMatchingStrong(AttributeNames.i_EntryProperties, AttributeNames.v_Plural) ||
-					isMatchingStrong(AttributeNames.i_Declension, AttributeNames.v_InflexibleGenitive);
-			// || leksēma.isMatchingStrong(AttributeNames.i_Deminutive, "-iņ-")
-		} else fixed_stem = true;
-
-		if (isMatchingStrong(AttributeNames.i_EntryProperties, AttributeNames.v_Plural) &&
-				isMatchingStrong(AttributeNames.i_Number, AttributeNames.v_Plural)) {
-			addAttribute(AttributeNames.i_NumberSpecial, AttributeNames.v_PlurareTantum);
-		}
-		
-		Ending lemmaEnding = ending.getLemmaEnding();
-		// FIXME šis 'if' būtu jāsaprot un jāsakārto - lai ir sakarīgi, bet nesalauž specgadījumus ('vairāk' -> pamatforma 'daudz' utml)
-		// TODO - varbūt vienkārši dažām paradigmām vai galotnēm vajag karodziņu par to, ka jāģenerē pamatforma no jauna?
-		if (lemmaEnding != null && !(paradigm.isMatchingStrong(AttributeNames.i_ParadigmProperties, AttributeNames.v_HardcodedWordforms) ||
-				// paradigm.getName().equalsIgnoreCase("adverb") ||    // 2024.03.01 aizkomentējām jo šķita ka lieks
-				paradigm.getName().equalsIgnoreCase("punct"))
-				&& !fixed_stem) {
-			String thirdStem = null;
-			//if (paradigm.getStems() == 3) thirdStem = lexeme.getStem(2);
-			if (paradigm.getStems().contains(StemType.STEM3))
-				thirdStem = lexeme.getStem(StemType.STEM3);
-			String stem = lexeme.getStem(lemmaEnding.stemType);
-			ArrayList<StemVariant> stemsWithChanges = Mijas.applyLemmaToFormMija(
-					stem, lemmaEnding.getMija(), thirdStem, false,
-					this.isMatchingStrong(AttributeNames.i_NounType, AttributeNames.v_ProperNoun));
-			
-			if (!stemsWithChanges.isEmpty()) stem = stemsWithChanges.get(0).stem; // FIXME - nav objektīva pamata ņemt tieši pirmo, netīri
-			
-			String lemma = stem + lemmaEnding.getEnding();
-			if (lexeme.isMatchingStrong(AttributeNames.i_NounType, AttributeNames.v_ProperNoun)) {
-				lemma = Character.toUpperCase(lemma.charAt(0)) + lemma.substring(1);
-			}
-			String originalLemma = lexeme.getValue(AttributeNames.i_Lemma);
-            lemma = Lexicon.recapitalize(lemma, originalLemma);
-            if (!lemma.equals(originalLemma)) {
-            	if (getValue(AttributeNames.i_LemmaOverride) == null) {
-					addAttribute(AttributeNames.i_SourceLemma, originalLemma);
-					addAttribute(AttributeNames.i_Lemma, lemma);
-					// jo var pamatforma atšķirties no leksēmas pamatformas, piem. "otrās" pamatforma ir "otrā" nevis "otrais".
-				} else {
-					addAttribute(AttributeNames.i_LemmaParadigm, lemma);
-				}
-			}
-		}
+		this.attributes = new FeatureMap(new WordformLayer(token, lexeme, ending));
 	}
 	
 	public Wordform (String token) {
@@ -157,6 +114,7 @@ public class Wordform extends AttributeValues implements Serializable{
 			clone.token = this.token;
 			clone.lexeme = this.lexeme;
 			clone.ending = this.ending;
+			clone.statisticsIds = NO_IDS; // the copy can be edited
 			return clone;
 		} catch (CloneNotSupportedException e) {
 			e.printStackTrace();
@@ -172,11 +130,29 @@ public class Wordform extends AttributeValues implements Serializable{
 		output.write("</Vārdforma>\n");
 	}
 
+	/**
+	 * The frequency estimate of this wordform - see Statistics.getEstimate. A frozen wordform can't change, so its
+	 * ending and lexeme IDs are parsed only the first time.
+	 */
+	public double getEstimate(Statistics statistics) {
+		if (!isFrozen()) return statistics.getEstimate(this);
+		long ids = statisticsIds;
+		if (ids == NO_IDS) {
+			String endingId = getValue(AttributeNames.i_EndingID);
+			String lexemeId = getValue(AttributeNames.i_LexemeID);
+			ids = ((long) (endingId == null ? -1 : Integer.parseInt(endingId)) << 32)
+					| ((lexemeId == null ? -1 : Integer.parseInt(lexemeId)) & 0xFFFFFFFFL);
+			statisticsIds = ids;
+		}
+		return statistics.getEstimate((int) (ids >> 32), (int) ids);
+	}
+
 	public Ending getEnding() {
 		return ending;
 	}
 
 	public void setEnding(Ending ending) {
+		if (isFrozen()) throw new UnsupportedOperationException("Frozen wordform can't be edited - edit a clone() instead");
 		this.ending = ending;
 	}
 
@@ -185,8 +161,8 @@ public class Wordform extends AttributeValues implements Serializable{
 	}
 	
 	protected void setToken(String newtoken) {
-		token = newtoken;
 		addAttribute(AttributeNames.i_Word, newtoken);
+		token = newtoken;
 	}
 
     @Override
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.analyzer;
+
+import java.util.List;
+import java.util.Map;
+
+import lv.semti.morphology.attributes.AttributeLayer;
+import lv.semti.morphology.attributes.AttributeNames;
+import lv.semti.morphology.attributes.Feature;
+import lv.semti.morphology.lexicon.*;
+
+/**
+ * The attributes that a wordform gets from its lexeme, ending and paradigm, looked up in them when asked for
+ * instead of being copied into every analysis option - most options are checked for a few attributes and then
+ * rejected. Gives the same values as copying them in this order: the token, Mija, paradigm, ending, the ending
+ * and paradigm IDs, lexeme, lexeme ID, and then the plurare tantum and lemma rules. The lemma of the form needs
+ * Mijas and is worked out only when it is first asked for.
+ */
+final class WordformLayer implements AttributeLayer {
+	private static final Feature PLURARE_TANTUM = new Feature(AttributeNames.i_NumberSpecial, AttributeNames.v_PlurareTantum);
+	private static final Feature SINGULARE_TANTUM = new Feature(AttributeNames.i_NumberSpecial, AttributeNames.v_SingulareTantum);
+	private static final Feature ENTRY_PLURAL = new Feature(AttributeNames.i_EntryProperties, AttributeNames.v_Plural);
+	private static final Feature INFLEXIBLE_GENITIVE = new Feature(AttributeNames.i_Declension, AttributeNames.v_InflexibleGenitive);
+	private static final Feature NUMBER_PLURAL = new Feature(AttributeNames.i_Number, AttributeNames.v_Plural);
+	private static final Feature PROPER_NOUN = new Feature(AttributeNames.i_NounType, AttributeNames.v_ProperNoun);
+
+	private final String token;
+	private final Lexeme lexeme;
+	private final Ending ending;
+	private final Paradigm paradigm;
+	private volatile LemmaForm lemmaForm = null; // null - not worked out yet
+
+	/**
+	 * Lemma of the form, when it differs from the lemma of the lexeme
+	 */
+	private static final class LemmaForm {
+		static final LemmaForm NONE = new LemmaForm(null, null, false);
+
+		final String lemma;
+		final String sourceLemma;
+		final boolean paradigmOnly; // the lexeme has a LemmaOverride, so the lemma goes in LemmaParadigm
+
+		LemmaForm(String lemma, String sourceLemma, boolean paradigmOnly) {
+			this.lemma = lemma;
+			this.sourceLemma = sourceLemma;
+			this.paradigmOnly = paradigmOnly;
+		}
+	}
+
+	WordformLayer(String token, Lexeme lexeme, Ending ending) {
+		this.token = token;
+		this.lexeme = lexeme;
+		this.ending = ending;
+		this.paradigm = ending.getParadigm();
+	}
+
+	@Override
+	public String getValue(String attribute) {
+		if (attribute == AttributeNames.i_Lemma || attribute == AttributeNames.i_SourceLemma || attribute == AttributeNames.i_LemmaParadigm) {
+			LemmaForm form = lemmaForm();
+			if (form != LemmaForm.NONE) {
+				if (attribute == AttributeNames.i_LemmaParadigm) return form.paradigmOnly ? form.lemma : null;
+				if (!form.paradigmOnly) return attribute == AttributeNames.i_Lemma ? form.lemma : form.sourceLemma;
+			}
+		} else if (attribute == AttributeNames.i_NumberSpecial && isPlurareTantum())
+			return AttributeNames.v_PlurareTantum;
+		return lexicalValue(attribute);
+	}
+
+	/**
+	 * The value as it is after the lexeme ID is added, before the plurare tantum and lemma rules
+	 */
+	private String lexicalValue(String attribute) {
+		if (lexeme != null) {
+			if (attribute == AttributeNames.i_LexemeID) return Integer.toString(lexeme.getID());
+			String value = lexeme.getValue(attribute);
+			if (value != null) return value;
+		}
+		if (attribute == AttributeNames.i_EndingID) return Integer.toString(ending.getID());
+		if (attribute == AttributeNames.i_ParadigmID) return Integer.toString(paradigm.getID());
+		if (attribute == AttributeNames.i_ParadigmProperties || attribute == AttributeNames.i_ParadigmSupportedDerivations)
+			return null;
+		String value = ending.getValue(attribute);
+		if (value != null) return value;
+		value = paradigm.getValue(attribute);
+		if (value != null) return value;
+		if (attribute == AttributeNames.i_Mija) return Integer.toString(ending.getMija());
+		if (attribute == AttributeNames.i_Word) return token;
+		return null;
+	}
+
+	private boolean isPlurareTantum() {
+		return ENTRY_PLURAL.matches(lexicalValue(AttributeNames.i_EntryProperties)) &&
+				NUMBER_PLURAL.matches(lexicalValue(AttributeNames.i_Number));
+	}
+
+	private LemmaForm lemmaForm() {
+		LemmaForm form = lemmaForm;
+		if (form == null) lemmaForm = form = makeLemmaForm(); // a race just computes the same form twice
+		return form;
+	}
+
+	private LemmaForm makeLemmaForm() {
+		if (lexeme == null) return LemmaForm.NONE; // fixed stem
+		boolean fixed_stem = PLURARE_TANTUM.matches(lexicalValue(AttributeNames.i_NumberSpecial)) ||
+				SINGULARE_TANTUM.matches(lexicalValue(AttributeNames.i_NumberSpecial)) ||
+				ENTRY_PLURAL.matches(lexicalValue(AttributeNames.i_EntryProperties)) ||
+				INFLEXIBLE_GENITIVE.matches(lexicalValue(AttributeNames.i_Declension));
+		// || leksēma.isMatchingStrong(AttributeNames.i_Deminutive, "-iņ-")
+
+		Ending lemmaEnding = ending.getLemmaEnding();
+		// FIXME šis 'if' būtu jāsaprot un jāsakārto - lai ir sakarīgi, bet nesalauž specgadījumus ('vairāk' -> pamatforma 'daudz' utml)
+		// TODO - varbūt vienkārši dažām paradigmām vai galotnēm vajag karodziņu par to, ka jāģenerē pamatforma no jauna?
+		if (lemmaEnding == null || paradigm.isMatchingStrong(AttributeNames.i_ParadigmProperties, AttributeNames.v_HardcodedWordforms) ||
+				// paradigm.getName().equalsIgnoreCase("adverb") ||    // 2024.03.01 aizkomentējām jo šķita ka lieks
+				paradigm.getName().equalsIgnoreCase("punct") || fixed_stem)
+			return LemmaForm.NONE;
+
+		String thirdStem = null;
+		if (paradigm.getStems().contains(StemType.STEM3))
+			thirdStem = lexeme.getStem(StemType.STEM3);
+		String stem = lexeme.getStem(lemmaEnding.stemType);
+		List<StemVariant> stemsWithChanges = Mijas.applyLemmaToFormMija(
+				stem, lemmaEnding.getMija(), thirdStem, false,
+				PROPER_NOUN.matches(getValue(AttributeNames.i_NounType)));
+
+		if (!stemsWithChanges.isEmpty()) stem = stemsWithChanges.get(0).stem; // FIXME - nav objektīva pamata ņemt tieši pirmo, netīri
+
+		String lemma = stem + lemmaEnding.getEnding();
+		if (lexeme.isMatchingStrong(AttributeNames.i_NounType, AttributeNames.v_ProperNoun)) {
+			lemma = Character.toUpperCase(lemma.charAt(0)) + lemma.substring(1);
+		}
+		String originalLemma = lexeme.getValue(AttributeNames.i_Lemma);
+		lemma = Lexicon.recapitalize(lemma, originalLemma);
+		if (lemma.equals(originalLemma)) return LemmaForm.NONE;
+		// jo var pamatforma atšķirties no leksēmas pamatformas, piem. "otrās" pamatforma ir "otrā" nevis "otrais".
+		return new LemmaForm(lemma, originalLemma, lexicalValue(AttributeNames.i_LemmaOverride) != null);
+	}
+
+	@Override
+	public void copyTo(Map<String, String> target) {
+		target.put(AttributeNames.i_Word, token);
+		target.put(AttributeNames.i_Mija, Integer.toString(ending.getMija()));
+		paradigm.copyTo(target);
+		ending.copyTo(target);
+		target.put(AttributeNames.i_EndingID, Integer.toString(ending.getID()));
+		target.put(AttributeNames.i_ParadigmID, Integer.toString(paradigm.getID()));
+		target.remove(AttributeNames.i_ParadigmProperties);
+		target.remove(AttributeNames.i_ParadigmSupportedDerivations);
+		if (lexeme != null) {
+			lexeme.copyTo(target);
+			target.put(AttributeNames.i_LexemeID, Integer.toString(lexeme.getID()));
+		}
+		if (isPlurareTantum())
+			target.put(AttributeNames.i_NumberSpecial, AttributeNames.v_PlurareTantum);
+
+		LemmaForm form = lemmaForm();
+		if (form == LemmaForm.NONE) return;
+		if (form.paradigmOnly) {
+			target.put(AttributeNames.i_LemmaParadigm, form.lemma);
+		} else {
+			target.put(AttributeNames.i_SourceLemma, form.sourceLemma);
+			target.put(AttributeNames.i_Lemma, form.lemma);
+		}
+	}
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.attributes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-wide numbering of attribute names and of the values of closed attributes - those that TagSet.xml defines
+ * with a fixed list of values (part of speech, case, number...). Every attribute gets a slot number, separately
+ * for closed and for free-form attributes, and every value of a closed attribute gets an ordinal, so a
+ * {@link FeatureMap} can keep a feature structure in two small arrays and match values by comparing numbers.
+ *
+ * Attributes and values that are not in the tagset are numbered as they are first seen. Only values that end up
+ * stored in a FeatureMap or used in a {@link Feature} constant are numbered - values that are just looked up are
+ * not, so arbitrary queries don't make the index grow.
+ */
+public final class AttributeIndex {
+	private static final ConcurrentHashMap<String, Attribute> byName = new ConcurrentHashMap<>();
+	private static volatile Attribute[] closed = new Attribute[0];
+	private static volatile Attribute[] open = new Attribute[0];
+
+	private AttributeIndex() {
+	}
+
+	/**
+	 * The names of the closed attributes, read from TagSet.xml when the first attribute is numbered
+	 */
+	private static final class FixedAttributes {
+		static final Set<String> names = TagSet.defaultFixedAttributeNames();
+	}
+
+	/**
+	 * An attribute with its slot number and, for closed attributes, the numbering of its values
+	 */
+	static final class Attribute {
+		final String name;
+		final boolean isClosed;
+		final int slot;
+
+		private final ConcurrentHashMap<String, Integer> ordinals = new ConcurrentHashMap<>();
+		private final HashMap<String, Integer> foldedOrdinals = new HashMap<>(); // guarded by this
+		private volatile String[] values = new String[0];
+		private volatile int[][] parts = new int[0][];  // for multi-values 'a|b' - the ordinals of 'a' and 'b', otherwise null
+		private volatile int[] folded = new int[0];    // ordinal of the first value that is equal ignoring case
+
+		private Attribute(String name, boolean isClosed, int slot) {
+			this.name = name;
+			this.isClosed = isClosed;
+			this.slot = slot;
+		}
+
+		/**
+		 * Ordinal of the value, numbering it if it is new
+		 */
+		int ordinal(String value) {
+			Integer ordinal = ordinals.get(value);
+			return ordinal != null ? ordinal : register(value);
+		}
+
+		/**
+		 * Ordinal of the value, or -1 if it has not been numbered
+		 */
+		int find(String value) {
+			Integer ordinal = ordinals.get(value);
+			return ordinal != null ? ordinal : -1;
+		}
+
+		String value(int ordinal) {
+			return values[ordinal];
+		}
+
+		/**
+		 * Same as {@link AttributeValues#valueMatches} for two numbered values
+		 */
+		boolean matches(int stored, int query) {
+			int[] storedParts = parts[stored];
+			if (storedParts == null) return folded[stored] == folded[query];
+			for (int part : storedParts)
+				if (part == query) return true;
+			return false;
+		}
+
+		private synchronized int register(String value) {
+			Integer existing = ordinals.get(value);
+			if (existing != null) return existing;
+
+			int[] valueParts = null;
+			if (value.contains("|")) {
+				String[] split = value.split("\\|");
+				valueParts = new int[split.length];
+				for (int i = 0; i < split.length; i++)
+					valueParts[i] = ordinal(split[i]);
+			}
+
+			int ordinal = values.length;
+			String key = fold(value);
+			Integer first = foldedOrdinals.get(key);
+			if (first == null) foldedOrdinals.put(key, first = ordinal);
+
+			// the arrays are published before the ordinal, so any thread that sees the ordinal can look it up
+			String[] newValues = Arrays.copyOf(values, ordinal + 1);
+			newValues[ordinal] = value.intern();
+			int[][] newParts = Arrays.copyOf(parts, ordinal + 1);
+			newParts[ordinal] = valueParts;
+			int[] newFolded = Arrays.copyOf(folded, ordinal + 1);
+			newFolded[ordinal] = first;
+			parts = newParts;
+			folded = newFolded;
+			values = newValues;
+			ordinals.put(newValues[ordinal], ordinal);
+			return ordinal;
+		}
+
+		/**
+		 * Key under which two strings are equal exactly when String.equalsIgnoreCase says so
+		 */
+		private static String fold(String value) {
+			char[] chars = value.toCharArray();
+			for (int i = 0; i < chars.length; i++)
+				chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+			return new String(chars);
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	/**
+	 * The attribute with this name, numbering it if it is new
+	 */
+	static Attribute attribute(String name) {
+		Attribute attribute = byName.get(name);
+		return attribute != null ? attribute : register(name);
+	}
+
+	/**
+	 * The attribute with this name, or null if it has not been numbered
+	 */
+	static Attribute find(String name) {
+		return byName.get(name);
+	}
+
+	static Attribute closedAttribute(int slot) {
+		return closed[slot];
+	}
+
+	static Attribute openAttribute(int slot) {
+		return open[slot];
+	}
+
+	static int closedCount() {
+		return closed.length;
+	}
+
+	static int openCount() {
+		return open.length;
+	}
+
+	private static synchronized Attribute register(String name) {
+		Attribute attribute = byName.get(name);
+		if (attribute != null) return attribute;
+
+		name = name.intern(); // so that the keys of all feature structures are the same instances as AttributeNames constants
+		if (FixedAttributes.names.contains(name)) {
+			attribute = new Attribute(name, true, closed.length);
+			Attribute[] newClosed = Arrays.copyOf(closed, closed.length + 1);
+			newClosed[attribute.slot] = attribute;
+			closed = newClosed;
+		} else {
+			attribute = new Attribute(name, false, open.length);
+			Attribute[] newOpen = Arrays.copyOf(open, open.length + 1);
+			newOpen[attribute.slot] = attribute;
+			open = newOpen;
+		}
+		byName.put(name, attribute);
+		return attribute;
+	}
+
+	/**
+	 * Canonical instance of an attribute name
+	 */
+	public static String intern(String name) {
+		return attribute(name).name;
+	}
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.attributes;
+
+import java.util.Map;
+
+/**
+ * Read-only attributes that a {@link FeatureMap} looks up on demand instead of holding copies of them - for
+ * example, the attributes that a wordform gets from its lexeme, ending and paradigm. Must not change once the map
+ * uses it.
+ */
+public interface AttributeLayer {
+	/**
+	 * @param attribute	canonical instance of the attribute name, see {@link AttributeIndex#intern}
+	 * @return	the value of the attribute, or null if the layer does not have it
+	 */
+	String getValue(String attribute);
+
+	/**
+	 * Puts all attributes of the layer into the target, the same way as if they were added one by one
+	 */
+	void copyTo(Map<String, String> target);
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.attributes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Canonicalizes attribute names, values and whole attribute sets while a lexicon is being loaded, so that the
+ * tens of thousands of lexicon entries with the same few attribute names and values keep a single copy of each
+ * string and of each distinct attribute set.
+ *
+ * The pool itself is needed only during compaction and can be dropped afterwards - the shared sets stay referenced
+ * by their entries. Not thread-safe.
+ */
+public class AttributePool {
+	private final HashMap<String, String> strings = new HashMap<>();
+	private final HashMap<FrozenAttributes, FrozenAttributes> sets = new HashMap<>();
+
+	public String intern(String s) {
+		if (s == null) return null;
+		String existing = strings.putIfAbsent(s, s);
+		return existing != null ? existing : s;
+	}
+
+	/**
+	 * Returns the shared immutable copy of the given attributes, with interned names and values
+	 */
+	Map<String, String> canonical(Map<String, String> attributes) {
+		String[] pairs = FrozenAttributes.pairsOf(attributes);
+		for (int i = 0; i < pairs.length; i += 2) {
+			pairs[i] = AttributeIndex.intern(pairs[i]); // same instances as the AttributeNames constants
+			pairs[i + 1] = intern(pairs[i + 1]);
+		}
+		FrozenAttributes frozen = new FrozenAttributes(pairs);
+		FrozenAttributes existing = sets.putIfAbsent(frozen, frozen);
+		return existing != null ? existing : frozen;
+	}
+
+	/**
+	 * Number of distinct attribute sets in the pool
+	 */
+	public int size() {
+		return sets.size();
+	}
+}
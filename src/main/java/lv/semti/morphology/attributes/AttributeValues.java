@@ -24,17 +24,103 @@ import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.Map.Entry;
 
+import javax.xml.stream.XMLStreamReader;
+
 import org.json.simple.JSONValue;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 //TODO - būtu vienkārši jāinherito HashMap<String, String>
 public class AttributeValues implements FeatureStructure, Cloneable {
-	protected HashMap<String, String> attributes = new HashMap<String, String>();
+	protected Map<String, String> attributes = createAttributeMap();
+	private boolean shared = false; // attributes is an immutable set from an AttributePool, copied on first edit
+	private boolean frozen = false; // see freeze()
+
+	/**
+	 * The map in which attributes are stored - a HashMap by default, subclasses may use a {@link FeatureMap}.
+	 * Called before the subclass constructor, so it must not depend on the subclass fields.
+	 */
+	protected Map<String, String> createAttributeMap() {
+		return new HashMap<String, String>();
+	}
+
+	/**
+	 * Replaces the attributes with the shared immutable copy from the pool. Any later edit makes a private copy first.
+	 */
+	public void compact(AttributePool pool) {
+		attributes = pool.canonical(attributes);
+		shared = true;
+	}
+
+	/**
+	 * A compacted set of the given names and values in alternating order, the same as compact() would make - for
+	 * restoring sets that are distinct already and have their strings deduplicated, as the lexicon snapshot does,
+	 * without going through an AttributePool.
+	 */
+	public static AttributeValues compacted(String[] pairs) {
+		for (int i = 0; i < pairs.length; i += 2)
+			pairs[i] = AttributeIndex.intern(pairs[i]);
+		AttributeValues result = new AttributeValues();
+		result.attributes = new FrozenAttributes(pairs);
+		result.shared = true;
+		return result;
+	}
+
+	/**
+	 * Shares the attributes of an entry that is compacted already, instead of replacing these with their own copy
+	 * from the pool - for restoring many entries with the same attributes, as the lexicon snapshot does.
+	 * @throws IllegalArgumentException	if the attributes of the other entry are not a shared set
+	 */
+	public void compact(AttributeValues compacted) {
+		if (!compacted.shared) throw new IllegalArgumentException("The attributes are not compacted");
+		attributes = compacted.attributes;
+		shared = true;
+	}
+
+	/**
+	 * Takes the attributes of the source - if they are a shared set from an AttributePool and this set is empty,
+	 * the same set is shared instead of copied.
+	 */
+	protected void shareAttributes(AttributeValues source) {
+		if (source.shared && attributes.isEmpty() && !frozen) {
+			attributes = source.attributes;
+			shared = true;
+		} else addAttributes(source);
+	}
+
+	/**
+	 * Makes this set immutable, so that it can be handed out to any number of callers and threads - edits then
+	 * throw UnsupportedOperationException, and clone() gives an editable copy.
+	 */
+	public void freeze() {
+		if (attributes instanceof FeatureMap) ((FeatureMap) attributes).materialize(); // so that reads don't change it
+		frozen = true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	private void checkEditable() {
+		if (frozen) throw new UnsupportedOperationException("Frozen attributes can't be edited - edit a clone() instead");
+	}
+
+	/**
+	 * Makes the attributes editable, copying them if they are shared
+	 */
+	private void unshare() {
+		checkEditable();
+		if (shared) {
+			attributes = new HashMap<>(attributes);
+			shared = false;
+		}
+	}
 
 	@Override
 	public String toString() {
@@ -70,19 +156,26 @@ public class AttributeValues implements FeatureStructure, Cloneable {
 
 	public void addAttribute(String attribute, String value) {
 		//FIXME - vajag nodalīt īpašību pielikšanu no īpašību aizvietošanas
-		attributes.put(attribute, value);
+		unshare();
+		if (attributes instanceof FeatureMap) ((FeatureMap) attributes).setValue(attribute, value);
+		else attributes.put(attribute, value);
 	}
 
 	public void removeAttribute(String attribute) {
-		attributes.remove(attribute);
+		if (shared && !attributes.containsKey(attribute)) return;
+		unshare();
+		if (attributes instanceof FeatureMap) ((FeatureMap) attributes).removeValue(attribute);
+		else attributes.remove(attribute);
 	}
 
 	public void addAttributes(HashMap<String,String> newAttributes) {
+		unshare();
 		this.attributes.putAll(newAttributes);
 		//FIXME - a ko tad, ja kautkas konfliktē??
 	}
 
 	public void addAttributes(AttributeValues newAttributes) {
+		unshare();
 		this.attributes.putAll(newAttributes.attributes);
 		//FIXME - a ko tad, ja kautkas konfliktē??
 	}
@@ -91,6 +184,7 @@ public class AttributeValues implements FeatureStructure, Cloneable {
 	 * Remove all attributes except those listed.
 	 */
 	public void filterAttributes(Collection<String> leaveAttributes) {
+		unshare();
 		attributes.keySet().retainAll(leaveAttributes);
 	}
 
@@ -101,14 +195,38 @@ public class AttributeValues implements FeatureStructure, Cloneable {
 		return attributes.get(attribute);
 	}
 
+	/**
+	 * Puts all attributes into the given map
+	 */
+	public void copyTo(Map<String,String> target) {
+		target.putAll(attributes);
+	}
+
 	/**
 	 * Returns true either if the attribute exists and matches the provided
 	 * value or if attribute doesn't exist and provided value is null.  
 	 */
 	public boolean isMatchingStrong (String attribute, String value) {
+		if (attributes instanceof FeatureMap) return ((FeatureMap) attributes).isMatchingStrong(attribute, value);
 		String result = attributes.get(attribute);
 		if (result == null && value == null) return true;
 		if (result == null) return false;
+		return valueMatches(result, value);
+	}
+
+	/**
+	 * Same as isMatchingStrong(feature.getAttribute(), feature.getValue()), without string lookups if the
+	 * attributes are stored in a {@link FeatureMap}.
+	 */
+	public boolean isMatchingStrong(Feature feature) {
+		if (attributes instanceof FeatureMap) return ((FeatureMap) attributes).isMatchingStrong(feature);
+		return isMatchingStrong(feature.getAttribute(), feature.getValue());
+	}
+
+	/**
+	 * Whether an existing attribute value matches the provided one
+	 */
+	static boolean valueMatches(String result, String value) {
 		if (result.contains("|")) {  // Multivalue support
 			for (String v : result.split("\\|"))
 				if (v.equals(value)) return true;
@@ -152,16 +270,22 @@ public class AttributeValues implements FeatureStructure, Cloneable {
 	 * value or if attribute doesn't exist.
 	 */
 	public boolean isMatchingWeak (String attribute, String value) {
+		if (attributes instanceof FeatureMap) return ((FeatureMap) attributes).isMatchingWeak(attribute, value);
 		String result = attributes.get(attribute);
 		if (result == null) return true;
-		if (result.contains("|")) {  // Multivalue support
-			for (String v : result.split("\\|"))
-				if (v.equals(value)) return true;
-			return false;
-		} else return result.equalsIgnoreCase(value);
+		return valueMatches(result, value);
 	}	// Atshkjiriiba no checkAttribute - ja atribuuta nav, bet padotaa veertiiba nav null.
 		// Shii metode dod true, check attribute - false.
 
+	/**
+	 * Same as isMatchingWeak(feature.getAttribute(), feature.getValue()), without string lookups if the
+	 * attributes are stored in a {@link FeatureMap}.
+	 */
+	public boolean isMatchingWeak(Feature feature) {
+		if (attributes instanceof FeatureMap) return ((FeatureMap) attributes).isMatchingWeak(feature);
+		return isMatchingWeak(feature.getAttribute(), feature.getValue());
+	}
+
 	/**
 	 * Returns true if all attributes provided in test set weakly matches on
 	 * this.
@@ -195,10 +319,10 @@ public class AttributeValues implements FeatureStructure, Cloneable {
 	public Entry<String,String> get(int nr) {
 	//FIXME - atgriež rediģējamu pāri... netīri kautkā, tas ir kā getteris domāts, nevis rakstīšanai..
 	//jāmaina pieeja tur kur to sauc.
-
+		if (!frozen) unshare();
 		Entry<String,String> rezults = null;
 		int i=0;
-		for (Entry<String,String> īpašība : attributes.entrySet()) {
+		for (Entry<String,String> īpašība : entrySet()) {
 			if (i==nr) rezults = īpašība;
 			i++;
 		}
@@ -214,7 +338,11 @@ public class AttributeValues implements FeatureStructure, Cloneable {
 	public Object clone() throws CloneNotSupportedException {
 		try {
 			AttributeValues kopija = (AttributeValues)super.clone();
-			kopija.attributes = (HashMap<String,String>)attributes.clone();
+			kopija.frozen = false;
+			if (attributes instanceof FeatureMap)
+				kopija.attributes = ((FeatureMap) attributes).clone();
+			else if (!shared) // a shared set stays shared by the copy until one of them is edited
+				kopija.attributes = (HashMap<String,String>) ((HashMap<String,String>) attributes).clone();
 			return kopija;
         } catch (CloneNotSupportedException e) {
             throw new Error("Gļuks - nu vajag varēt klasi AttributeValues noklonēt.");
@@ -237,7 +365,8 @@ public class AttributeValues implements FeatureStructure, Cloneable {
 
 	public Set<Entry<String,String>> entrySet() {
 	//FIXME - jākopē, lai nav editējams - vai jāmaina pieeja tur kur šo sauc.
-		return attributes.entrySet();
+		if (frozen) return Collections.unmodifiableSet(attributes.entrySet());
+		return attributes.entrySet(); // not editable for shared sets
 	}
 
 	public AttributeValues(Node node) {
@@ -252,6 +381,15 @@ public class AttributeValues implements FeatureStructure, Cloneable {
 		}
 	}
 
+	/**
+	 * Adds the attributes of an 'Attributes' element, at whose start tag the XML stream reader is positioned.
+	 * Underscores in attribute names stand for spaces, as in AttributeValues(Node).
+	 */
+	protected void addAttributes(XMLStreamReader reader) {
+		for (int i = 0; i < reader.getAttributeCount(); i++)
+			addAttribute(reader.getAttributeLocalName(i).replace('_', ' '), reader.getAttributeValue(i));
+	}
+
 	public AttributeValues() {
 		//irok
 	}
@@ -265,7 +403,11 @@ public class AttributeValues implements FeatureStructure, Cloneable {
 	}
 
 	public void clear() {
-		attributes.clear();
+		checkEditable();
+		if (shared) {
+			attributes = new HashMap<String, String>();
+			shared = false;
+		} else attributes.clear();
 	}
 	
 	/**
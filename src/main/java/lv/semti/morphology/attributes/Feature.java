@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.attributes;
+
+/**
+ * An attribute-value pair resolved against the {@link AttributeIndex} once, for use as a constant in frequent
+ * checks such as isMatchingStrong(new Feature(AttributeNames.i_Case, AttributeNames.v_Vocative)) - on a
+ * {@link FeatureMap} they compare array slots instead of hashing and splitting strings.
+ */
+public final class Feature {
+	final AttributeIndex.Attribute attribute;
+	final String value;
+	final int ordinal; // -1 for values of free-form attributes and for null
+
+	public Feature(String attribute, String value) {
+		this.attribute = AttributeIndex.attribute(attribute);
+		this.value = value;
+		this.ordinal = (value != null && this.attribute.isClosed) ? this.attribute.ordinal(value) : -1;
+	}
+
+	public String getAttribute() {
+		return attribute.name;
+	}
+
+	public String getValue() {
+		return value;
+	}
+
+	/**
+	 * Whether an attribute with the given value matches this feature as in isMatchingStrong
+	 * @param stored	the value of the attribute, or null if it is missing
+	 */
+	public boolean matches(String stored) {
+		if (stored == null) return value == null;
+		if (value == null) return false;
+		if (ordinal >= 0) {
+			int storedOrdinal = attribute.find(stored);
+			if (storedOrdinal >= 0) return attribute.matches(storedOrdinal, ordinal);
+		}
+		return AttributeValues.valueMatches(stored, value);
+	}
+
+	@Override
+	public String toString() {
+		return attribute.name + " = " + value;
+	}
+}
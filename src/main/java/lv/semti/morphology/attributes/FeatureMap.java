@@ -0,0 +1,412 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.attributes;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Feature structure stored in two arrays indexed by {@link AttributeIndex} slots - value ordinals for the closed
+ * (tagset) attributes, and strings for the free-form ones such as lemma or word. Multi-values like 'a|b' are split
+ * once when they are numbered. There is no per-entry object, and copying a structure is copying two arrays.
+ *
+ * Behaves as a Map from attribute names to values, so the string-keyed AttributeValues API works unchanged; the
+ * iteration order is the order of slots.
+ *
+ * A map may have a base {@link AttributeLayer} - attributes that are looked up there when they are not set (or
+ * removed) in the map itself. The layer is copied into the map only when the whole map is needed: on iteration,
+ * size(), equals() and the like. Values found in the layer are remembered in the slots, so with a base layer even
+ * reading changes the map and it must not be read by several threads at once.
+ */
+public class FeatureMap extends AbstractMap<String, String> implements Cloneable {
+	private static final int NULL_ORDINAL = -1; // attribute is set, but to null
+	private static final String NULL_STRING = new String("null");
+	private static final int REMOVED_ORDINAL = Integer.MIN_VALUE;     // removed from the base layer
+	private static final String REMOVED_STRING = new String("removed");
+	private static final int MISSING_ORDINAL = Integer.MIN_VALUE + 1; // not in the base layer either
+	private static final String MISSING_STRING = new String("missing");
+
+	private int[] closed;    // 0 - not set, NULL_ORDINAL, REMOVED_ORDINAL, MISSING_ORDINAL or value ordinal + 1
+	private String[] open;   // null - not set, NULL_STRING, REMOVED_STRING, MISSING_STRING or the value
+	private int size = 0;    // valid only without a base layer
+	private AttributeLayer base = null;
+
+	private static final int[] NO_CLOSED = new int[0];
+	private static final String[] NO_OPEN = new String[0];
+
+	public FeatureMap() {
+		closed = NO_CLOSED; // allocated on the first put
+		open = NO_OPEN;
+	}
+
+	public FeatureMap(AttributeLayer base) {
+		this();
+		this.base = base;
+	}
+
+	public FeatureMap(Map<String, String> source) {
+		this();
+		putAll(source);
+	}
+
+	private int closedSlot(int slot) {
+		return slot < closed.length ? closed[slot] : 0;
+	}
+
+	private String openSlot(int slot) {
+		return slot < open.length ? open[slot] : null;
+	}
+
+	private static String decode(AttributeIndex.Attribute attribute, int stored) {
+		return stored == NULL_ORDINAL ? null : attribute.value(stored - 1);
+	}
+
+	private static String decode(String stored) {
+		return stored == NULL_STRING ? null : stored;
+	}
+
+	/**
+	 * Looks the attribute up in the base layer and remembers the result in the slot, so that the layer is asked
+	 * only once - a wordform that is not rejected right away is usually checked for the same attributes again
+	 */
+	private String baseValue(AttributeIndex.Attribute attribute) {
+		if (base == null) return null;
+		String value = base.getValue(attribute.name);
+		if (attribute.isClosed) setClosed(attribute, value == null ? MISSING_ORDINAL : attribute.ordinal(value) + 1);
+		else setOpen(attribute, value == null ? MISSING_STRING : value);
+		return value;
+	}
+
+	/**
+	 * The value of the attribute, looking in the base layer if needed; null if it is not set or is set to null
+	 */
+	private String value(AttributeIndex.Attribute attribute) {
+		if (attribute.isClosed) {
+			int stored = closedSlot(attribute.slot);
+			if (stored == 0) return baseValue(attribute);
+			return stored == REMOVED_ORDINAL || stored == MISSING_ORDINAL ? null : decode(attribute, stored);
+		}
+		String stored = openSlot(attribute.slot);
+		if (stored == null) return baseValue(attribute);
+		return stored == REMOVED_STRING || stored == MISSING_STRING ? null : decode(stored);
+	}
+
+	/**
+	 * Copies the base layer into the map itself, keeping the attributes that are set or removed on top of it.
+	 * Afterwards reading doesn't change the map.
+	 */
+	public void materialize() {
+		if (base == null) return;
+		FeatureMap full = new FeatureMap();
+		base.copyTo(full);
+		for (int slot = 0; slot < closed.length; slot++) {
+			if (closed[slot] == REMOVED_ORDINAL) full.delete(AttributeIndex.closedAttribute(slot));
+			else if (closed[slot] != 0 && closed[slot] != MISSING_ORDINAL) full.setClosed(AttributeIndex.closedAttribute(slot), closed[slot]);
+		}
+		for (int slot = 0; slot < open.length; slot++) {
+			if (open[slot] == REMOVED_STRING) full.delete(AttributeIndex.openAttribute(slot));
+			else if (open[slot] != null && open[slot] != MISSING_STRING) full.setOpen(AttributeIndex.openAttribute(slot), open[slot]);
+		}
+		closed = full.closed;
+		open = full.open;
+		size = full.size;
+		base = null;
+	}
+
+	@Override
+	public int size() {
+		materialize();
+		return size;
+	}
+
+	@Override
+	public String get(Object key) {
+		if (!(key instanceof String)) return null;
+		AttributeIndex.Attribute attribute = AttributeIndex.find((String) key);
+		if (attribute == null) return null;
+		return value(attribute);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if (!(key instanceof String)) return false;
+		AttributeIndex.Attribute attribute = AttributeIndex.find((String) key);
+		if (attribute == null) return false;
+		if (attribute.isClosed) {
+			int stored = closedSlot(attribute.slot);
+			if (stored == 0) return baseValue(attribute) != null;
+			return stored != REMOVED_ORDINAL && stored != MISSING_ORDINAL;
+		}
+		String stored = openSlot(attribute.slot);
+		if (stored == null) return baseValue(attribute) != null;
+		return stored != REMOVED_STRING && stored != MISSING_STRING;
+	}
+
+	@Override
+	public String put(String key, String value) {
+		AttributeIndex.Attribute attribute = AttributeIndex.attribute(key);
+		String previous = value(attribute);
+		set(attribute, value);
+		return previous;
+	}
+
+	/**
+	 * Same as put, but does not return the previous value, so it is not looked up in the base layer - for a
+	 * wordform that could mean working out its lemma just to overwrite it.
+	 */
+	public void setValue(String attribute, String value) {
+		set(AttributeIndex.attribute(attribute), value);
+	}
+
+	private void set(AttributeIndex.Attribute attribute, String value) {
+		if (attribute.isClosed) setClosed(attribute, value == null ? NULL_ORDINAL : attribute.ordinal(value) + 1);
+		else setOpen(attribute, value == null ? NULL_STRING : value);
+	}
+
+	private void setClosed(AttributeIndex.Attribute attribute, int stored) {
+		if (attribute.slot >= closed.length) closed = Arrays.copyOf(closed, AttributeIndex.closedCount());
+		int previous = closed[attribute.slot];
+		closed[attribute.slot] = stored;
+		if (previous == 0 || previous == REMOVED_ORDINAL || previous == MISSING_ORDINAL) size++;
+	}
+
+	private void setOpen(AttributeIndex.Attribute attribute, String stored) {
+		if (attribute.slot >= open.length) open = Arrays.copyOf(open, AttributeIndex.openCount());
+		String previous = open[attribute.slot];
+		open[attribute.slot] = stored;
+		if (previous == null || previous == REMOVED_STRING || previous == MISSING_STRING) size++;
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends String> source) {
+		if (source instanceof FeatureMap) {
+			FeatureMap other = (FeatureMap) source;
+			other.materialize();
+			for (int slot = 0; slot < other.closed.length; slot++)
+				if (other.closed[slot] != 0) setClosed(AttributeIndex.closedAttribute(slot), other.closed[slot]);
+			for (int slot = 0; slot < other.open.length; slot++)
+				if (other.open[slot] != null) setOpen(AttributeIndex.openAttribute(slot), other.open[slot]);
+		} else if (source instanceof FrozenAttributes) {
+			((FrozenAttributes) source).copyTo(this);
+		} else super.putAll(source);
+	}
+
+	/**
+	 * Sets an attribute from already resolved slot contents, see {@link FrozenAttributes#copyTo}
+	 */
+	void setResolved(AttributeIndex.Attribute attribute, int closedValue, String openValue) {
+		if (attribute.isClosed) setClosed(attribute, closedValue);
+		else setOpen(attribute, openValue);
+	}
+
+	/**
+	 * Slot contents of a value as stored by this class, for {@link FrozenAttributes} to cache
+	 */
+	static int closedValue(AttributeIndex.Attribute attribute, String value) {
+		return value == null ? NULL_ORDINAL : attribute.ordinal(value) + 1;
+	}
+
+	static String openValue(String value) {
+		return value == null ? NULL_STRING : value;
+	}
+
+	@Override
+	public String remove(Object key) {
+		if (!(key instanceof String)) return null;
+		AttributeIndex.Attribute attribute = AttributeIndex.find((String) key);
+		if (attribute == null) return null;
+		String previous = value(attribute);
+		delete(attribute);
+		return previous;
+	}
+
+	/**
+	 * Same as remove, but does not return the removed value, so it is not looked up in the base layer
+	 */
+	public void removeValue(String attribute) {
+		AttributeIndex.Attribute found = AttributeIndex.find(attribute);
+		if (found != null) delete(found);
+	}
+
+	private void delete(AttributeIndex.Attribute attribute) {
+		if (base != null) { // hide the attribute of the base layer
+			if (attribute.isClosed) setClosed(attribute, REMOVED_ORDINAL);
+			else setOpen(attribute, REMOVED_STRING);
+		} else if (attribute.isClosed) {
+			if (closedSlot(attribute.slot) == 0) return;
+			closed[attribute.slot] = 0;
+			size--;
+		} else {
+			if (openSlot(attribute.slot) == null) return;
+			open[attribute.slot] = null;
+			size--;
+		}
+	}
+
+	@Override
+	public void clear() {
+		base = null;
+		Arrays.fill(closed, 0);
+		Arrays.fill(open, null);
+		size = 0;
+	}
+
+	/**
+	 * Same as AttributeValues.isMatchingStrong(attribute, value) on the contents of this map
+	 */
+	public boolean isMatchingStrong(Feature feature) {
+		return matches(feature.attribute, feature.value, feature.ordinal, false);
+	}
+
+	/**
+	 * Same as AttributeValues.isMatchingWeak(attribute, value) on the contents of this map
+	 */
+	public boolean isMatchingWeak(Feature feature) {
+		return matches(feature.attribute, feature.value, feature.ordinal, true);
+	}
+
+	public boolean isMatchingStrong(String attribute, String value) {
+		return matches(attribute, value, false);
+	}
+
+	public boolean isMatchingWeak(String attribute, String value) {
+		return matches(attribute, value, true);
+	}
+
+	private boolean matches(String attributeName, String value, boolean weak) {
+		AttributeIndex.Attribute attribute = AttributeIndex.find(attributeName);
+		if (attribute == null) return weak || value == null; // never set anywhere
+		int ordinal = (attribute.isClosed && value != null) ? attribute.find(value) : -1;
+		return matches(attribute, value, ordinal, weak);
+	}
+
+	/**
+	 * @param ordinal	the ordinal of the value, or -1 if it is not numbered
+	 * @param weak	whether a missing attribute matches any value, or only null
+	 */
+	private boolean matches(AttributeIndex.Attribute attribute, String value, int ordinal, boolean weak) {
+		if (attribute.isClosed) {
+			int stored = closedSlot(attribute.slot);
+			if (stored == 0 && base != null) {
+				baseValue(attribute);
+				stored = closedSlot(attribute.slot);
+			}
+			if (stored == 0 || stored == NULL_ORDINAL || stored == REMOVED_ORDINAL || stored == MISSING_ORDINAL) return weak || value == null;
+			if (ordinal >= 0) return attribute.matches(stored - 1, ordinal);
+			return AttributeValues.valueMatches(attribute.value(stored - 1), value);
+		}
+		String stored = value(attribute);
+		if (stored == null) return weak || value == null;
+		return AttributeValues.valueMatches(stored, value);
+	}
+
+	@Override
+	public FeatureMap clone() {
+		try {
+			FeatureMap copy = (FeatureMap) super.clone();
+			copy.closed = closed.clone();
+			copy.open = open.clone();
+			return copy;
+		} catch (CloneNotSupportedException e) {
+			throw new Error(e);
+		}
+	}
+
+	@Override
+	public Set<Entry<String, String>> entrySet() {
+		materialize();
+		return new AbstractSet<Entry<String, String>>() {
+			@Override
+			public Iterator<Entry<String, String>> iterator() {
+				return new SlotIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * Entry that writes its value back to the map
+	 */
+	private class SlotEntry extends SimpleEntry<String, String> {
+		private static final long serialVersionUID = 1L;
+
+		SlotEntry(String key, String value) {
+			super(key, value);
+		}
+
+		@Override
+		public String setValue(String value) {
+			put(getKey(), value);
+			return super.setValue(value);
+		}
+	}
+
+	/**
+	 * Goes through the closed slots, then the open ones
+	 */
+	private class SlotIterator implements Iterator<Entry<String, String>> {
+		private int next = -1;    // closed slots are 0..closed.length-1, open ones follow
+		private int current = -1;
+
+		SlotIterator() {
+			advance();
+		}
+
+		private void advance() {
+			next++;
+			while (next < closed.length && closed[next] == 0) next++;
+			if (next < closed.length) return;
+			while (next - closed.length < open.length && open[next - closed.length] == null) next++;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < closed.length + open.length;
+		}
+
+		@Override
+		public Entry<String, String> next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			current = next;
+			advance();
+			if (current < closed.length) {
+				AttributeIndex.Attribute attribute = AttributeIndex.closedAttribute(current);
+				return new SlotEntry(attribute.name, decode(attribute, closed[current]));
+			}
+			int slot = current - closed.length;
+			return new SlotEntry(AttributeIndex.openAttribute(slot).name, decode(open[slot]));
+		}
+
+		@Override
+		public void remove() {
+			if (current < 0) throw new IllegalStateException();
+			if (current < closed.length) delete(AttributeIndex.closedAttribute(current));
+			else delete(AttributeIndex.openAttribute(current - closed.length));
+			current = -1;
+		}
+	}
+}
@@ -25,6 +25,19 @@ public interface FeatureStructure {
 	public void addAttributes(HashMap<String,String> attributes);
 	public String getValue(String attribute);
 	public boolean isMatchingStrong (String attribute, String value);
+	/**
+	 * Whether the attribute of the feature is there with a value that matches, as in isMatchingStrong(String, String)
+	 */
+	default boolean isMatchingStrong (Feature feature) {
+		return feature.matches(getValue(feature.getAttribute()));
+	}
+	/**
+	 * Whether the attribute of the feature is missing or has a value that matches
+	 */
+	default boolean isMatchingWeak (Feature feature) {
+		String value = getValue(feature.getAttribute());
+		return value == null || feature.matches(value);
+	}
 	public Entry<String,String> get(int nr);
 	public int size();
 }
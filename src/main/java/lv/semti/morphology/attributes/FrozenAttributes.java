@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.attributes;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable attribute map stored as a flat array of alternating names and values, in the iteration order of the
+ * map it was made from. Lexicon entries have only a handful of attributes, so a linear scan is as fast as hashing,
+ * and the array takes a fraction of the memory of a HashMap with its table and entry objects.
+ *
+ * Instances are shared between all entries with identical attributes, see {@link AttributePool}.
+ */
+final class FrozenAttributes extends AbstractMap<String, String> {
+	private final String[] pairs;
+	private final int hash;
+	private volatile Resolved resolved = null;
+
+	/**
+	 * The attributes and values as FeatureMap slot contents, so copying them into a FeatureMap needs no lookups
+	 */
+	private static final class Resolved {
+		final AttributeIndex.Attribute[] attributes;
+		final int[] closedValues;
+		final String[] openValues;
+
+		Resolved(String[] pairs) {
+			int n = pairs.length / 2;
+			attributes = new AttributeIndex.Attribute[n];
+			closedValues = new int[n];
+			openValues = new String[n];
+			for (int i = 0; i < n; i++) {
+				attributes[i] = AttributeIndex.attribute(pairs[2 * i]);
+				if (attributes[i].isClosed)
+					closedValues[i] = FeatureMap.closedValue(attributes[i], pairs[2 * i + 1]);
+				else
+					openValues[i] = FeatureMap.openValue(pairs[2 * i + 1]);
+			}
+		}
+	}
+
+	FrozenAttributes(String[] pairs) {
+		this.pairs = pairs;
+		int h = 0;
+		for (int i = 0; i < pairs.length; i += 2)
+			h += Objects.hashCode(pairs[i]) ^ Objects.hashCode(pairs[i + 1]); // same as AbstractMap.hashCode, so equal to a HashMap with these entries
+		this.hash = h;
+	}
+
+	private int indexOf(Object key) {
+		for (int i = 0; i < pairs.length; i += 2)
+			if (pairs[i] == key) return i;
+		for (int i = 0; i < pairs.length; i += 2)
+			if (Objects.equals(pairs[i], key)) return i;
+		return -1;
+	}
+
+	@Override
+	public String get(Object key) {
+		int i = indexOf(key);
+		return i < 0 ? null : pairs[i + 1];
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public int size() {
+		return pairs.length / 2;
+	}
+
+	@Override
+	public Set<Entry<String, String>> entrySet() {
+		return new AbstractSet<Entry<String, String>>() {
+			@Override
+			public Iterator<Entry<String, String>> iterator() {
+				return new Iterator<Entry<String, String>>() {
+					private int i = 0;
+
+					@Override
+					public boolean hasNext() {
+						return i < pairs.length;
+					}
+
+					@Override
+					public Entry<String, String> next() {
+						if (i >= pairs.length) throw new NoSuchElementException();
+						Entry<String, String> entry = new SimpleImmutableEntry<>(pairs[i], pairs[i + 1]);
+						i += 2;
+						return entry;
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return pairs.length / 2;
+			}
+		};
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) return true;
+		if (o instanceof FrozenAttributes && ((FrozenAttributes) o).hash != hash) return false;
+		return super.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * Same as target.putAll(this)
+	 */
+	void copyTo(FeatureMap target) {
+		Resolved r = resolved;
+		if (r == null) resolved = r = new Resolved(pairs); // racing threads just resolve it twice
+		for (int i = 0; i < r.attributes.length; i++)
+			target.setResolved(r.attributes[i], r.closedValues[i], r.openValues[i]);
+	}
+
+	/**
+	 * Copies the attributes of a map, keeping its iteration order
+	 */
+	static String[] pairsOf(Map<String, String> attributes) {
+		String[] pairs = new String[attributes.size() * 2];
+		int i = 0;
+		for (Entry<String, String> entry : attributes.entrySet()) {
+			pairs[i++] = entry.getKey();
+			pairs[i++] = entry.getValue();
+		}
+		return pairs;
+	}
+}
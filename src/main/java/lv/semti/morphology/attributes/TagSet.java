@@ -18,17 +18,24 @@
 package lv.semti.morphology.attributes;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.Writer;
 import java.io.InputStream;
 import java.util.AbstractCollection;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.Map.Entry;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
@@ -135,6 +142,61 @@ public class TagSet {
 		return result;
 	}
 
+	/**
+	 * Latvian names of the attributes that have a fixed list of values and are never free-form.
+	 */
+	Set<String> fixedAttributeNames() {
+		Set<String> result = new HashSet<>();
+		for (Attribute attribute : attributes)
+			if (attribute instanceof FixedAttribute) result.add(attribute.attributeLV);
+		for (Attribute attribute : attributes)
+			if (!(attribute instanceof FixedAttribute)) result.remove(attribute.attributeLV);
+		return result;
+	}
+
+	/**
+	 * Same as getTagSet().fixedAttributeNames(), but if the tagset is not loaded yet, only the attribute names are
+	 * read from the default tagset file instead of loading all of it. Without the file, no attribute is fixed.
+	 */
+	static synchronized Set<String> defaultFixedAttributeNames() {
+		if (ref != null) return ref.fixedAttributeNames();
+		Set<String> fixed = new HashSet<>();
+		Set<String> free = new HashSet<>();
+		try {
+			InputStream stream = TagSet.class.getClassLoader().getResourceAsStream(DEFAULT_TAGSET_FILE);
+			if (stream == null) {
+				File file = new File(DEFAULT_TAGSET_FILE);
+				if (!file.exists()) return fixed;
+				stream = new FileInputStream(file);
+			}
+			try {
+				XMLInputFactory factory = XMLInputFactory.newInstance();
+				factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+				XMLStreamReader reader = factory.createXMLStreamReader(stream);
+				int depth = 0;
+				while (reader.hasNext()) {
+					int event = reader.next();
+					if (event == XMLStreamConstants.START_ELEMENT) {
+						if (++depth == 2 && reader.getLocalName().equals("Attribute"))
+							fixed.add(reader.getAttributeValue(null, "LV"));
+						else if (depth == 2 && reader.getLocalName().equals("FreeAttribute"))
+							free.add(reader.getAttributeValue(null, "LV"));
+					} else if (event == XMLStreamConstants.END_ELEMENT) {
+						depth--;
+					}
+				}
+				reader.close();
+			} finally {
+				stream.close();
+			}
+		} catch (IOException | XMLStreamException e) {
+			System.err.println("Unable to read the attributes of TagSet.xml: " + e.getMessage());
+			return new HashSet<>();
+		}
+		fixed.removeAll(free);
+		return fixed;
+	}
+
 	public String validate(AttributeValues attributesToBeChecked, String language) {
 		for (Entry<String,String> pāris : attributesToBeChecked.entrySet()) {
 			LinkedList<Attribute> attrs = getAttribute(pāris.getKey(), language);
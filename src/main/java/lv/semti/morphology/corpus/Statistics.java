@@ -186,15 +186,25 @@ public class Statistics {
 	 * @return			lexeme frequency + ending frequency.
 	 */
 	public double getEstimate(AttributeValues wordform) {
-		double estimate = 0.1;
 		String endingIdStr = wordform.getValue(AttributeNames.i_EndingID);
 		int endingId = (endingIdStr == null) ? -1 : Integer.parseInt(endingIdStr);
-		if (endingFrequency.get(endingId) != null) estimate += endingFrequency.get(endingId);
-
 		String lexemeIdStr = wordform.getValue(AttributeNames.i_LexemeID);
 		int lexemeId = (lexemeIdStr == null) ? -1 : Integer.parseInt(lexemeIdStr);
-		if (lexemeFrequency.get(lexemeId) != null) estimate += lexemeFrequency.get(lexemeId) * lexemeWeight;
+		return getEstimate(endingId, lexemeId);
+	}
 
+	/**
+	 * Cumulative frequency estimate for a wordform with these IDs.
+	 * @param endingId	ending identifier, or -1 if there is none.
+	 * @param lexemeId	lexeme identifier, or -1 if there is none.
+	 * @return			lexeme frequency + ending frequency.
+	 */
+	public double getEstimate(int endingId, int lexemeId) {
+		double estimate = 0.1;
+		Integer endingCount = endingFrequency.get(endingId);
+		if (endingCount != null) estimate += endingCount;
+		Integer lexemeCount = lexemeFrequency.get(lexemeId);
+		if (lexemeCount != null) estimate += lexemeCount * lexemeWeight;
 		return estimate;
 	}
 
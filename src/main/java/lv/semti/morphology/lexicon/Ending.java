@@ -19,10 +19,10 @@ package lv.semti.morphology.lexicon;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.ArrayList;
+import java.util.List;
 
-import org.w3c.dom.DOMException;
-import org.w3c.dom.Node;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import lv.semti.morphology.attributes.*;
 
@@ -46,40 +46,45 @@ public class Ending extends AttributeValues {
 		//irok
 	}
 
-	public Ending(Paradigm paradigm, Node node) {
-		super(node);
+	/**
+	 * Reads an ending from the XML stream, starting at its start tag and ending at its end tag.
+	 */
+	public Ending(Paradigm paradigm, XMLStreamReader reader) throws XMLStreamException {
 		this.paradigm = paradigm;
 
-		if (!node.getNodeName().equalsIgnoreCase("Ending"))
-			throw new Error("Node '" + node.getNodeName() + "' but Ending expected.");
+		if (!reader.getLocalName().equalsIgnoreCase("Ending"))
+			throw new Error("Node '" + reader.getLocalName() + "' but Ending expected.");
 
-		Node n = node.getAttributes().getNamedItem("ID");
+		String n = reader.getAttributeValue(null, "ID");
 		if (n != null)
-			this.setID(Integer.parseInt(n.getTextContent()));
+			this.setID(Integer.parseInt(n));
 
-		n = node.getAttributes().getNamedItem("StemChange");
+		n = reader.getAttributeValue(null, "StemChange");
 		if (n != null)
-			this.setMija(Integer.parseInt(n.getTextContent()));
+			this.setMija(Integer.parseInt(n));
 
-		n = node.getAttributes().getNamedItem("Ending");
+		n = reader.getAttributeValue(null, "Ending");
 		if (n != null)
-			this.setEnding(n.getTextContent());
+			this.setEnding(n);
 
-		n = node.getAttributes().getNamedItem("StemID");
+		n = reader.getAttributeValue(null, "StemID");
 		if (n != null)
-			this.stemType = StemType.getFromXmlId(Integer.parseInt(n.getTextContent()));
+			this.stemType = StemType.getFromXmlId(Integer.parseInt(n));
 
-		n = node.getAttributes().getNamedItem("LemmaEnding");
+		n = reader.getAttributeValue(null, "LemmaEnding");
 		if (n != null)
 			try {
-				setLemmaEnding(Integer.parseInt(n.getTextContent()));
+				setLemmaEnding(Integer.parseInt(n));
 				//FIXME - nestrādās, ja pamatformas galotne tiks ielasīta pēc šīs galotnes, nevis pirms..
-			} catch (NumberFormatException | DOMException e) {
-				// TODO Auto-generated catch block
+			} catch (NumberFormatException e) {
 				e.printStackTrace();
-			} catch (Exception e) {
-				throw new Error(e.getMessage());
 			}
+
+		while (Lexicon.nextChildElement(reader)) {
+			if (reader.getLocalName().equals("Attributes"))
+				addAttributes(reader);
+			Lexicon.skipElement(reader);
+		}
 	}
 
 	@Override
@@ -164,6 +169,13 @@ public class Ending extends AttributeValues {
 		return lemmaEnding;
 	}
 
+	/**
+	 * Lemma ending set for this ending itself, without falling back to the paradigm lemma ending.
+	 */
+	Ending getOwnLemmaEnding() {
+		return lemmaEnding;
+	}
+
 	public void setLemmaEnding(int lemmaEndingNr){
 		if (lemmaEndingNr == id) lemmaEnding = this;
 			// vajag, jo šai gadījumā pati pamatformas galotne vēl nav vārdgrupā, un vārdgrupa.galotnePēcNr būs null.
@@ -181,9 +193,9 @@ public class Ending extends AttributeValues {
 
 	/* 
 	 * Returned Lexemes shouldn't be modified to avoid changing recognition of other words!
-	 * Not cloned due to performance and memory usage concerns.
+	 * Not cloned due to performance and memory usage concerns; read-only once the lexicon is frozen.
 	 */
-	public ArrayList<Lexeme> getEndingLexemes(String celms) {
-		return paradigm.getLexemesByStem(stemType).get(celms);
+	public List<Lexeme> getEndingLexemes(String celms) {
+		return paradigm.getLexemesByStem(stemType, celms);
 	}
 }
@@ -25,8 +25,9 @@ import lv.semti.morphology.analyzer.Analyzer;
 import lv.semti.morphology.analyzer.Mijas;
 import lv.semti.morphology.analyzer.StemVariant;
 import org.json.simple.JSONObject;
-import org.w3c.dom.Node;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import lv.semti.morphology.attributes.*;
 
 /**
@@ -37,6 +38,7 @@ public class Lexeme extends AttributeValues {
 	private int id = 0;		// numurs pēc kārtas - ID
 	private HashMap <StemType, String> stems = new HashMap<>();    // Saknes - 1 vai 3 eksemplāri.
 	private Paradigm paradigm = null;
+	boolean temporary = false; // knows its paradigm, but isn't in it - see Lexicon.createTemporaryLexeme
 
 	protected void setParadigm(Paradigm paradigm) {
 		this.paradigm = paradigm;
@@ -79,28 +81,33 @@ public class Lexeme extends AttributeValues {
 	}
 
     /**
-     * Constructs a lexeme from an XML node
+     * Constructs a lexeme from the XML stream, starting at its start tag and ending at its end tag
      */
-	public Lexeme(Paradigm paradigm, Node node) {
-		super(node);
-		if (!node.getNodeName().equalsIgnoreCase("Lexeme")) throw new Error("Node '" + node.getNodeName() + "' but Lexeme expected");
+	public Lexeme(Paradigm paradigm, XMLStreamReader reader) throws XMLStreamException {
+		if (!reader.getLocalName().equalsIgnoreCase("Lexeme")) throw new Error("Node '" + reader.getLocalName() + "' but Lexeme expected");
 		this.paradigm = paradigm;
 		setAllowedStems(paradigm.getStems());
 
-        Node n = node.getAttributes().getNamedItem("Stem1");
+		String n = reader.getAttributeValue(null, "Stem1");
 		if (n != null)
-			stems.put(StemType.STEM1, n.getTextContent().toLowerCase()); // TODO - supports case-sensitive lietām - saīsinājumiem utml
-		n = node.getAttributes().getNamedItem("Stem2");
+			stems.put(StemType.STEM1, n.toLowerCase()); // TODO - supports case-sensitive lietām - saīsinājumiem utml
+		n = reader.getAttributeValue(null, "Stem2");
 		if (n != null)
-			stems.put(StemType.STEM2, n.getTextContent().toLowerCase());
-		n = node.getAttributes().getNamedItem("Stem3");
+			stems.put(StemType.STEM2, n.toLowerCase());
+		n = reader.getAttributeValue(null, "Stem3");
 		if (n != null)
-			stems.put(StemType.STEM3, n.getTextContent().toLowerCase());
+			stems.put(StemType.STEM3, n.toLowerCase());
 		//FIXME - te paļaujas, ka pēc tam pati vārdgrupa 100% izsauks PieliktLeksēmu un sakārtos savus masīvus tādi.
 
-		n = node.getAttributes().getNamedItem("ID");
+		n = reader.getAttributeValue(null, "ID");
 		if (n != null)
-			this.setID(Integer.parseInt(n.getTextContent()));
+			this.id = Integer.parseInt(n); // not setID, as the lexeme isn't in the paradigm yet
+
+		while (Lexicon.nextChildElement(reader)) {
+			if (reader.getLocalName().equals("Attributes"))
+				addAttributes(reader);
+			Lexicon.skipElement(reader);
+		}
 
         if (getValue(AttributeNames.i_LemmaOverride) != null) {
             addAttribute(AttributeNames.i_Lemma, getValue(AttributeNames.i_LemmaOverride));
@@ -108,55 +115,50 @@ public class Lexeme extends AttributeValues {
 	}
 
     /**
-     * Constructs a lexeme from a JSON object
+     * Constructs a lexeme from a JSON object and adds it to its paradigm
      */
     public Lexeme(JSONObject json, Lexicon lexicon) {
-        if (json.get("paradigm") != null) {
-            int paradigmID = ((Long)json.get("paradigm")).intValue();
-            this.paradigm = lexicon.paradigmByID(paradigmID);
-        } else if (json.get("paradigm_name") != null) {
-            String paradigmName = ((String)json.get("paradigm_name"));
-            this.paradigm = lexicon.paradigmByName(paradigmName);
+        this(LexemeJSONReader.Record.fromJSON(json), lexicon, true);
+    }
+
+    /**
+     * Constructs a lexeme from the fields of a tezaurs JSON record, as read by json-simple or by LexemeJSONReader.
+     * When loading sublexicons, the lexeme is added to the paradigm later.
+     */
+    Lexeme(LexemeJSONReader.Record json, Lexicon lexicon, boolean addToParadigm) {
+        if (json.hasParadigmID) {
+            this.paradigm = lexicon.paradigmByID(json.paradigmID);
+        } else if (json.paradigmName != null) {
+            this.paradigm = lexicon.paradigmByName(json.paradigmName);
         }
         if (this.paradigm == null)
-            throw new Error("Nav paradigmas leksēmai " + json.toJSONString());
+            throw new Error("Nav paradigmas leksēmai " + json.source);
 
         setAllowedStems(this.paradigm.getStems());
 
-        if (json.get("lexeme_id") != null) {
-            setID(((Long) json.get("lexeme_id")).intValue());
+        if (json.hasLexemeID) {
+            this.id = json.lexemeID; // not setID, as the lexeme isn't in the paradigm yet
         }
-        if (json.get("entry_id") != null)
-            addAttribute(AttributeNames.i_EntryID, ((Long)json.get("entry_id")).toString());
-        if (json.get("human_id") != null)
-            addAttribute(AttributeNames.i_EntryName, (String)json.get("human_id"));
-        if (json.get("lemma") != null)
-            addAttribute(AttributeNames.i_Lemma, (String)json.get("lemma"));
-        if (json.get("stem1") != null)
-            stems.put(StemType.STEM1, (String)json.get("stem1"));
-        if (json.get("stem2") != null) {
+        if (json.entryID != null)
+            addAttribute(AttributeNames.i_EntryID, json.entryID);
+        if (json.humanID != null)
+            addAttribute(AttributeNames.i_EntryName, json.humanID);
+        if (json.lemma != null)
+            addAttribute(AttributeNames.i_Lemma, json.lemma);
+        if (json.stem1 != null)
+            stems.put(StemType.STEM1, json.stem1);
+        if (json.stem2 != null) {
             if (stems.size() < 2) {
-                throw new Error("Paradigmai neatbilstošs celms " + json.toJSONString());
-            } else stems.put(StemType.STEM2, (String) json.get("stem2"));
+                throw new Error("Paradigmai neatbilstošs celms " + json.source);
+            } else stems.put(StemType.STEM2, json.stem2);
         }
-        if (json.get("stem3") != null) {
+        if (json.stem3 != null) {
             if (stems.size() < 3) {
-                throw new Error("Paradigmai neatbilstošs celms " + json.toJSONString());
-            } else stems.put(StemType.STEM3, (String) json.get("stem3"));
-        }
-        if (json.get("attributes") != null) {
-            JSONObject attrs = (JSONObject)json.get("attributes");
-            for (Object key : attrs.keySet()) {
-                Object value_obj = attrs.get(key);
-                String value;
-                if (value_obj instanceof String) {
-                    value = (String) value_obj;
-                } else {
-                    value = value_obj.toString();
-                }
-                this.addAttribute((String)key, value);
-            }
+                throw new Error("Paradigmai neatbilstošs celms " + json.source);
+            } else stems.put(StemType.STEM3, json.stem3);
         }
+        for (int i = 0; i < json.attributes.size(); i += 2)
+            this.addAttribute(json.attributes.get(i), json.attributes.get(i + 1));
 
         if (stems.get(StemType.STEM1).isEmpty() && getValue(AttributeNames.i_Lemma) != null) {
             String lemma = getValue(AttributeNames.i_Lemma).toLowerCase();
@@ -177,7 +179,7 @@ public class Lexeme extends AttributeValues {
                     String stem = paradigm.getLemmaEnding().stem(lemma);
                     int mija = paradigm.getLemmaEnding().getMija();
                     if (mija != 0 && (mija != 3 || isMatchingStrong(AttributeNames.i_EntryProperties, AttributeNames.v_EntryComparative)) ) {
-                        ArrayList<StemVariant> varianti = Mijas.applyFormToLemmaMija(stem, mija, false);
+                        List<StemVariant> varianti = Mijas.applyFormToLemmaMija(stem, mija, false);
                         for (StemVariant v : varianti) {
                             if (isMatchingStrong(AttributeNames.i_EntryProperties, AttributeNames.v_EntryComparative) &&
                                     !v.isMatchingStrong(AttributeNames.i_Degree, AttributeNames.v_Comparative)
@@ -204,7 +206,8 @@ public class Lexeme extends AttributeValues {
         if (getValue(AttributeNames.i_LemmaOverride) != null) {
             addAttribute(AttributeNames.i_Lemma, getValue(AttributeNames.i_LemmaOverride));
         }
-        paradigm.addLexeme(this);
+        if (addToParadigm)
+            paradigm.addLexeme(this);
     }
 
     private void constructor_try_plural() {
@@ -218,7 +221,7 @@ public class Lexeme extends AttributeValues {
             if (e.isMatchingWeak(filter)) {
                 try {
                     String stem = e.stem(lemma);
-                    ArrayList<StemVariant> stems = Mijas.applyFormToLemmaMija(stem, e.getMija(), Analyzer.p_firstcap.matcher(lemma).matches());
+                    List<StemVariant> stems = Mijas.applyFormToLemmaMija(stem, e.getMija(), Analyzer.p_firstcap.matcher(lemma).matches());
                     for (StemVariant v : stems) {
                         // FIXME - ko tad darīt ar vairākiem variantiem ????
                         this.stems.put(StemType.STEM1, v.stem.toLowerCase(Locale.ROOT));
@@ -268,8 +271,16 @@ public class Lexeme extends AttributeValues {
 		return id;
 	}
 
+	/**
+	 * Changes the ID; a lexeme that is already in a paradigm is found by its new ID afterwards
+	 */
 	public void setID(int id) {
+		if (id == this.id) return;
+		boolean added = paradigm != null && !temporary && paradigm.lexemesByID.get(this.id) == this;
+		if (added) paradigm.checkEditable();
+		int oldID = this.id;
 		this.id = id;
+		if (added) paradigm.lexemeIDChanged(this, oldID);
 	}
 
 	public String getStem(StemType stemType) {
@@ -289,11 +300,12 @@ public class Lexeme extends AttributeValues {
 					"Leksēmai %d ar %d celmiem mēģinam uzlikt celmu %s ar tipu \"%s\".",
 					id,stems.size(),stem,stemType.descriptionLV));
 		}
-		if (paradigm != null) paradigm.removeLexeme(this);
+		boolean added = paradigm != null && !temporary;
+		if (added) paradigm.removeLexeme(this);
 		stems.put(stemType, stem);
 
 		// FIXME - neloģiski paļaujas, ka pēc izņemšanas lauks vārdgrupa paliks pa vecam - vajadzētu tak null
-		if (paradigm != null) paradigm.addLexeme(this);
+		if (added) paradigm.addLexeme(this);
 	}
 
 	protected void setAllowedStems (Set<StemType> stemTypes) {
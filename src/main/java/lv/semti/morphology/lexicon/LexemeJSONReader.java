@@ -0,0 +1,415 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.lexicon;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Streaming reader for tezaurs lexeme dumps - one JSON object per line with the fields lexeme_id, entry_id,
+ * human_id, paradigm or paradigm_name, lemma, stem1..stem3 and attributes.
+ *
+ * Unlike going through json-simple, no map is built for each line: the line is scanned in a reused buffer, known
+ * fields are stored in a reused record, and strings are created only for the values that end up in the lexeme.
+ * Unknown fields are skipped, and so are attributes with a null value.
+ */
+public class LexemeJSONReader implements Closeable {
+	private final Lexicon lexicon;
+	private final Reader input;
+	private final char[] chunk = new char[1 << 16];
+	private int chunkPos = 0;
+	private int chunkEnd = 0;
+	private char[] line = new char[1024];
+	private int lineLength = 0;
+	private int lineNumber = 0;
+	private int pos;
+	private final Record record = new Record();
+
+	/**
+	 * Fields of a single lexeme record. Attributes are kept as alternating names and values in their JSON order.
+	 */
+	static class Record {
+		boolean hasLexemeID;
+		int lexemeID;
+		boolean hasParadigmID;
+		int paradigmID;
+		String paradigmName;
+		String entryID;
+		String humanID;
+		String lemma;
+		String stem1;
+		String stem2;
+		String stem3;
+		final ArrayList<String> attributes = new ArrayList<>();
+		Object source; // its toString() gives the JSON text of the record, for error messages
+
+		void clear() {
+			hasLexemeID = false;
+			hasParadigmID = false;
+			paradigmName = entryID = humanID = lemma = stem1 = stem2 = stem3 = null;
+			attributes.clear();
+		}
+
+		/**
+		 * Takes the fields from an already parsed json-simple object
+		 */
+		static Record fromJSON(JSONObject json) {
+			Record record = new Record();
+			record.source = json;
+			if (json.get("lexeme_id") != null) {
+				record.hasLexemeID = true;
+				record.lexemeID = ((Long) json.get("lexeme_id")).intValue();
+			}
+			if (json.get("paradigm") != null) {
+				record.hasParadigmID = true;
+				record.paradigmID = ((Long) json.get("paradigm")).intValue();
+			}
+			record.paradigmName = (String) json.get("paradigm_name");
+			if (json.get("entry_id") != null)
+				record.entryID = ((Long) json.get("entry_id")).toString();
+			record.humanID = (String) json.get("human_id");
+			record.lemma = (String) json.get("lemma");
+			record.stem1 = (String) json.get("stem1");
+			record.stem2 = (String) json.get("stem2");
+			record.stem3 = (String) json.get("stem3");
+			if (json.get("attributes") != null) {
+				JSONObject attrs = (JSONObject) json.get("attributes");
+				for (Object key : attrs.keySet()) {
+					Object value = attrs.get(key);
+					if (value == null) continue; // same as no attribute
+					record.attributes.add((String) key);
+					record.attributes.add(value instanceof String ? (String) value : value.toString());
+				}
+			}
+			return record;
+		}
+	}
+
+	public LexemeJSONReader(Lexicon lexicon, Reader input) {
+		this.lexicon = lexicon;
+		this.input = input;
+		record.source = this;
+	}
+
+	/**
+	 * Reads the next lexeme. The lexeme knows its paradigm, but is not yet added to it.
+	 *
+	 * @return the lexeme, or null at the end of input
+	 */
+	public Lexeme next() throws IOException {
+		Record next = nextRecord();
+		return next == null ? null : new Lexeme(next, lexicon, false);
+	}
+
+	/**
+	 * Reads the fields of the next lexeme into the reused record
+	 *
+	 * @return the record, or null at the end of input
+	 */
+	Record nextRecord() throws IOException {
+		while (readLine()) {
+			pos = 0;
+			skipWhitespace();
+			if (pos == lineLength) continue; // empty line
+			record.clear();
+			parseRecord();
+			skipWhitespace();
+			if (pos < lineLength) throw error("End of line expected");
+			return record;
+		}
+		return null;
+	}
+
+	@Override
+	public void close() throws IOException {
+		input.close();
+	}
+
+	/**
+	 * The current line, for error messages.
+	 */
+	@Override
+	public String toString() {
+		return new String(line, 0, lineLength);
+	}
+
+	private boolean readLine() throws IOException {
+		lineLength = 0;
+		boolean any = false;
+		while (true) {
+			if (chunkPos == chunkEnd) {
+				chunkEnd = input.read(chunk, 0, chunk.length);
+				chunkPos = 0;
+				if (chunkEnd <= 0) {
+					chunkEnd = 0;
+					if (any) lineNumber++;
+					return any;
+				}
+			}
+			any = true;
+			int start = chunkPos;
+			while (chunkPos < chunkEnd && chunk[chunkPos] != '\n') chunkPos++;
+			int length = chunkPos - start;
+			if (lineLength + length > line.length) {
+				char[] bigger = new char[Math.max(line.length * 2, lineLength + length)];
+				System.arraycopy(line, 0, bigger, 0, lineLength);
+				line = bigger;
+			}
+			System.arraycopy(chunk, start, line, lineLength, length);
+			lineLength += length;
+			if (chunkPos < chunkEnd) { // found the newline
+				chunkPos++;
+				if (lineLength > 0 && line[lineLength - 1] == '\r') lineLength--;
+				lineNumber++;
+				return true;
+			}
+		}
+	}
+
+	private void parseRecord() throws IOException {
+		expect('{');
+		skipWhitespace();
+		if (peek() == '}') {
+			pos++;
+			return;
+		}
+		while (true) {
+			skipWhitespace();
+			expect('"');
+			int keyStart = pos;
+			int keyEnd = skipString();
+			skipWhitespace();
+			expect(':');
+			skipWhitespace();
+
+			if (keyIs(keyStart, keyEnd, "lexeme_id")) {
+				if (!isNull()) {
+					record.hasLexemeID = true;
+					record.lexemeID = (int) parseLong();
+				}
+			} else if (keyIs(keyStart, keyEnd, "entry_id")) {
+				record.entryID = isNull() ? null : Long.toString(parseLong());
+			} else if (keyIs(keyStart, keyEnd, "paradigm")) {
+				if (!isNull()) {
+					record.hasParadigmID = true;
+					record.paradigmID = (int) parseLong();
+				}
+			} else if (keyIs(keyStart, keyEnd, "paradigm_name")) {
+				record.paradigmName = parseStringOrNull();
+			} else if (keyIs(keyStart, keyEnd, "human_id")) {
+				record.humanID = parseStringOrNull();
+			} else if (keyIs(keyStart, keyEnd, "lemma")) {
+				record.lemma = parseStringOrNull();
+			} else if (keyIs(keyStart, keyEnd, "stem1")) {
+				record.stem1 = parseStringOrNull();
+			} else if (keyIs(keyStart, keyEnd, "stem2")) {
+				record.stem2 = parseStringOrNull();
+			} else if (keyIs(keyStart, keyEnd, "stem3")) {
+				record.stem3 = parseStringOrNull();
+			} else if (keyIs(keyStart, keyEnd, "attributes")) {
+				if (!isNull()) parseAttributes();
+			} else {
+				skipValue();
+			}
+
+			skipWhitespace();
+			char c = nextChar();
+			if (c == '}') return;
+			if (c != ',') throw error("',' or '}' expected");
+		}
+	}
+
+	private void parseAttributes() throws IOException {
+		expect('{');
+		skipWhitespace();
+		if (peek() == '}') {
+			pos++;
+			return;
+		}
+		while (true) {
+			skipWhitespace();
+			expect('"');
+			String attribute = parseString();
+			skipWhitespace();
+			expect(':');
+			skipWhitespace();
+			String value;
+			if (peek() == '"') {
+				pos++;
+				value = parseString();
+			} else if (isNull()) {
+				value = null; // same as no attribute
+			} else { // numbers, arrays etc. are stored as their JSON text, same as through json-simple
+				int start = pos;
+				skipValue();
+				try {
+					value = JSONValue.parseWithException(new String(line, start, pos - start)).toString();
+				} catch (ParseException e) {
+					throw error("Attribute value expected");
+				}
+			}
+			if (value != null) {
+				record.attributes.add(attribute);
+				record.attributes.add(value);
+			}
+
+			skipWhitespace();
+			char c = nextChar();
+			if (c == '}') return;
+			if (c != ',') throw error("',' or '}' expected");
+		}
+	}
+
+	private boolean keyIs(int start, int end, String key) {
+		if (end - start != key.length()) return false;
+		for (int i = 0; i < key.length(); i++)
+			if (line[start + i] != key.charAt(i)) return false;
+		return true;
+	}
+
+	private boolean isNull() {
+		if (pos + 4 <= lineLength && line[pos] == 'n' && line[pos + 1] == 'u' && line[pos + 2] == 'l' && line[pos + 3] == 'l') {
+			pos += 4;
+			return true;
+		}
+		return false;
+	}
+
+	private String parseStringOrNull() throws IOException {
+		if (isNull()) return null;
+		expect('"');
+		return parseString();
+	}
+
+	/**
+	 * Parses the rest of a string whose opening quote is already consumed
+	 */
+	private String parseString() throws IOException {
+		int start = pos;
+		while (pos < lineLength) {
+			char c = line[pos];
+			if (c == '"') {
+				pos++;
+				return new String(line, start, pos - 1 - start);
+			}
+			if (c == '\\') break;
+			pos++;
+		}
+		// slow path for strings with escapes
+		StringBuilder sb = new StringBuilder(pos - start + 16);
+		sb.append(line, start, pos - start);
+		while (pos < lineLength) {
+			char c = line[pos++];
+			if (c == '"') return sb.toString();
+			if (c != '\\') {
+				sb.append(c);
+				continue;
+			}
+			char e = nextChar();
+			switch (e) {
+				case 'n': sb.append('\n'); break;
+				case 't': sb.append('\t'); break;
+				case 'r': sb.append('\r'); break;
+				case 'b': sb.append('\b'); break;
+				case 'f': sb.append('\f'); break;
+				case 'u':
+					if (pos + 4 > lineLength) throw error("Incomplete unicode escape");
+					sb.append((char) Integer.parseInt(new String(line, pos, 4), 16));
+					pos += 4;
+					break;
+				default: sb.append(e); // \" \\ \/
+			}
+		}
+		throw error("Unterminated string");
+	}
+
+	/**
+	 * Skips the rest of a string whose opening quote is already consumed, returning the position of the closing quote
+	 */
+	private int skipString() throws IOException {
+		while (pos < lineLength) {
+			char c = line[pos++];
+			if (c == '"') return pos - 1;
+			if (c == '\\') pos++;
+		}
+		throw error("Unterminated string");
+	}
+
+	private long parseLong() throws IOException {
+		boolean negative = false;
+		if (peek() == '-') {
+			negative = true;
+			pos++;
+		}
+		int start = pos;
+		long result = 0;
+		while (pos < lineLength && line[pos] >= '0' && line[pos] <= '9') {
+			result = result * 10 + (line[pos] - '0');
+			pos++;
+		}
+		if (pos == start) throw error("Number expected");
+		return negative ? -result : result;
+	}
+
+	private void skipValue() throws IOException {
+		char c = peek();
+		if (c == '"') {
+			pos++;
+			skipString();
+		} else if (c == '{' || c == '[') {
+			int depth = 0;
+			do {
+				c = nextChar();
+				if (c == '"') skipString();
+				else if (c == '{' || c == '[') depth++;
+				else if (c == '}' || c == ']') depth--;
+			} while (depth > 0);
+		} else {
+			while (pos < lineLength && ",}] \t".indexOf(line[pos]) < 0) pos++;
+		}
+	}
+
+	private void skipWhitespace() {
+		while (pos < lineLength && Character.isWhitespace(line[pos])) pos++;
+	}
+
+	private char peek() throws IOException {
+		if (pos >= lineLength) throw error("Unexpected end of line");
+		return line[pos];
+	}
+
+	private char nextChar() throws IOException {
+		if (pos >= lineLength) throw error("Unexpected end of line");
+		return line[pos++];
+	}
+
+	private void expect(char c) throws IOException {
+		if (nextChar() != c) throw error("'" + c + "' expected");
+	}
+
+	private IOException error(String message) {
+		return new IOException(String.format("Malformed lexeme JSON at line %d, position %d: %s\n%s",
+				lineNumber, pos, message, toString()));
+	}
+}
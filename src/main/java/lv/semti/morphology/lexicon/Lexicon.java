@@ -18,34 +18,38 @@
 package lv.semti.morphology.lexicon;
 
 import lv.semti.morphology.analyzer.AllEndings;
+import lv.semti.morphology.analyzer.FormAutomaton;
 import lv.semti.morphology.analyzer.Mijas;
 import lv.semti.morphology.analyzer.StemVariant;
+import lv.semti.morphology.analyzer.TokenShape;
 import lv.semti.morphology.analyzer.Trie;
 import lv.semti.morphology.attributes.AttributeNames;
+import lv.semti.morphology.attributes.AttributePool;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * Contains lexicon data -- lexeme list and information about the inflection of
  * the given lexemes. Provides functionality to read from / write to XML, JSON
  * as well as functionality to add and remove lexemes.
  *
+ * A lexicon can be frozen, after which it can't be edited and can be shared - by any number of analyzers
+ * (see Analyzer(Lexicon)) and threads. LexiconRegistry keeps one frozen copy of each lexicon file per JVM.
+ *
  * @author Pēteris Paikens
  */
 public class Lexicon {
@@ -61,21 +65,38 @@ public class Lexicon {
 		return revision;
 	}
 
-	private String revision;
-	private String licence;
+	String revision;
+	String licence;
 	
 	public ArrayList<Paradigm> paradigms; //TODO - nebūtu jābūt publiskam, vajag tikai read-only iterēt
 	private AllEndings allEndings = null;
+	StemIndex stemIndex = null;
+	SurfaceStemIndex surfaceStemIndex = null;
+	private volatile FormAutomaton formAutomaton = null;
+	private Lexicon source = null; // the lexicon whose data this one uses, see Lexicon(Lexicon shared)
+	// the paradigms by ID and by lowercase name, and the lexemes by ID - built when first needed and then kept up to
+	// date as paradigms and lexemes are added; of several with the same key the last one in the lexicon is found
+	private HashMap<Integer, Paradigm> paradigmsByID = null;
+	private HashMap<String, Paradigm> paradigmsByName = null;
+	private HashMap<Integer, Lexeme> lexemesByID = null;
 	protected ArrayList<String> prefixes;
-	private ArrayList<String> corpusFileNames = new ArrayList<>();
+	ArrayList<String> corpusFileNames = new ArrayList<>();
 
 	// Vārdu lielo/mazo burtu nošķiršana
 	protected static Pattern p_firstcap = Pattern.compile("\\p{Lu}.*");
 	protected static Pattern p_allcaps = Pattern.compile("(\\p{Lu})*");
 	protected static Pattern p_doublesurname = Pattern.compile("\\p{Lu}.+-\\p{Lu}.+");
 
+	private static final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+	static {
+		xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+	}
+
 	protected Multimap<Integer, Lexeme> hardcodedForms = ArrayListMultimap.create();
 	public Trie automats = new Trie();
+	ArrayList<String> tokenizerExceptions = new ArrayList<>(); // kept so that the lexicon snapshot can replay them
+	private boolean tokenizerExceptionsFinished = false;
+	private volatile boolean frozen = false;
 
 	public boolean guessAllParadigms = false; // Attempt guessing words even in paradigms where AllowedGuessEndings are marked with !
 
@@ -121,6 +142,80 @@ public class Lexicon {
 		init(lexiconFileName, blacklist);
 	}
 
+	/**
+	 * Creates a lexicon object from a precompiled snapshot of the given lexicon file, see {@link LexiconSnapshot}.
+	 * The lexicon file and its sublexicons are not parsed, only read through to verify that the snapshot was
+	 * compiled from the same content; the compacted attributes and the stem indexes are restored from the snapshot
+	 * as well instead of being built again.
+	 *
+	 * @param lexiconFileName	file name for main lexicon
+	 * @param snapshotFile		snapshot compiled from that lexicon
+	 * @throws LexiconSnapshot.StaleSnapshotException	if the lexicon files have changed since the snapshot was compiled
+	 */
+	public Lexicon(String lexiconFileName, File snapshotFile) throws Exception {
+		System.err.println("Loading " + lexiconFileName + " from snapshot " + snapshotFile);
+		this.filename = lexiconFileName;
+		LexiconSnapshot.load(this, snapshotFile, lexiconFileName);
+		System.err.println("Lexicon " + revision + " loaded");
+	}
+
+	/**
+	 * Creates a lexicon object that uses the data of an already loaded lexicon, without copying it - it costs only
+	 * the few fields of this object. The shared lexicon must be frozen already, as edits in it would not be seen
+	 * consistently by both objects; this one is frozen as well.
+	 *
+	 * @param shared	the loaded and frozen lexicon, see freeze()
+	 * @throws IllegalArgumentException	if the lexicon isn't frozen
+	 */
+	protected Lexicon(Lexicon shared) {
+		if (!shared.isFrozen())
+			throw new IllegalArgumentException("Only a frozen lexicon can be shared - call freeze() on it first");
+		this.filename = shared.filename;
+		this.NEGATION_PREFIX = shared.NEGATION_PREFIX;
+		this.DEBITIVE_PREFIX = shared.DEBITIVE_PREFIX;
+		this.SUPERLATIVE_PREFIX = shared.SUPERLATIVE_PREFIX;
+		this.revision = shared.revision;
+		this.licence = shared.licence;
+		this.paradigms = shared.paradigms;
+		this.allEndings = shared.allEndings;
+		this.stemIndex = shared.stemIndex;
+		this.surfaceStemIndex = shared.surfaceStemIndex;
+		this.source = shared.source != null ? shared.source : shared; // for the form automaton, which may come later
+		this.paradigmsByID = shared.paradigmsByID;
+		this.paradigmsByName = shared.paradigmsByName;
+		this.lexemesByID = shared.lexemesByID;
+		this.prefixes = shared.prefixes;
+		this.corpusFileNames = shared.corpusFileNames;
+		this.hardcodedForms = shared.hardcodedForms;
+		this.automats = shared.automats;
+		this.tokenizerExceptions = shared.tokenizerExceptions;
+		this.tokenizerExceptionsFinished = shared.tokenizerExceptionsFinished;
+		this.guessAllParadigms = shared.guessAllParadigms;
+		this.lexeme_id_counter = shared.lexeme_id_counter;
+		this.frozen = true;
+	}
+
+	/**
+	 * Makes this lexicon read-only: afterwards adding or removing paradigms, endings and lexemes throws an
+	 * UnsupportedOperationException, and the lexicon can be shared by analyzers and threads.
+	 */
+	public synchronized void freeze() {
+		if (frozen) return;
+		getAllEndings(); // built now, instead of lazily by whichever thread comes first
+		getStemIndex();
+		getSurfaceStemIndex();
+		if (lexemesByID == null) buildRegistries();
+		frozen = true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	void checkEditable() {
+		if (frozen) throw new UnsupportedOperationException("The lexicon is frozen and shared, it can't be edited");
+	}
+
 	/**
 	 * @return null, if the lexicon is read from an input stream.
 	 */
@@ -143,167 +238,416 @@ public class Lexicon {
 	
 	void invalidateAllEndings() {
 		allEndings = null;
+		surfaceStemIndex = null;
+		formAutomaton = null;
+	}
+
+	/**
+	 * Index of the stems of all lexemes, see {@link StemIndex}
+	 */
+	protected StemIndex getStemIndex() {
+		if (stemIndex == null)
+			stemIndex = new StemIndex(paradigms);
+		return stemIndex;
+	}
+
+	void stemAdded(Paradigm paradigm, StemType stemType, String stem) {
+		if (stemIndex != null) stemIndex.add(paradigm, stemType, stem);
+		formAutomaton = null;
+	}
+
+	void stemRemoved(Paradigm paradigm, StemType stemType, String stem) {
+		if (stemIndex != null) stemIndex.remove(paradigm, stemType, stem);
+		formAutomaton = null;
+	}
+
+	/**
+	 * Index of the surface stems that the lexemes get with stem changes, see {@link SurfaceStemIndex}
+	 */
+	protected SurfaceStemIndex getSurfaceStemIndex() {
+		if (surfaceStemIndex == null)
+			surfaceStemIndex = new SurfaceStemIndex(paradigms);
+		return surfaceStemIndex;
+	}
+
+	/**
+	 * Called after a lexeme is added to or removed from a paradigm of this lexicon
+	 */
+	void lexemeChanged(Paradigm paradigm, Lexeme lexeme) {
+		if (surfaceStemIndex != null) surfaceStemIndex.update(paradigm, lexeme);
+		formAutomaton = null;
+	}
+
+	/**
+	 * Fills the paradigm and lexeme registries from the paradigm list, in its order so that the last one of several
+	 * with the same key is kept
+	 */
+	private void buildRegistries() {
+		HashMap<Integer, Paradigm> byID = new HashMap<>();
+		HashMap<String, Paradigm> byName = new HashMap<>();
+		HashMap<Integer, Lexeme> lexemes = new HashMap<>();
+		for (int i = 0; i < paradigms.size(); i++) {
+			Paradigm paradigm = paradigms.get(i);
+			paradigm.lexiconPosition = i;
+			byID.put(paradigm.getID(), paradigm);
+			if (paradigm.getName() != null)
+				byName.put(registryName(paradigm.getName()), paradigm);
+			lexemes.putAll(paradigm.lexemesByID);
+		}
+		paradigmsByID = byID;
+		paradigmsByName = byName;
+		lexemesByID = lexemes;
+	}
+
+	private static String registryName(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Whether the paradigm is in the paradigm list of this lexicon - it isn't yet while its lexemes are read
+	 */
+	boolean registered(Paradigm paradigm) {
+		if (paradigm == null) return false;
+		int position = paradigm.lexiconPosition;
+		return position >= 0 && position < paradigms.size() && paradigms.get(position) == paradigm;
+	}
+
+	/**
+	 * Called after the ID of a paradigm of this lexicon or of one of its lexemes is changed - the registries are
+	 * built again when next needed
+	 */
+	void idsChanged() {
+		paradigmsByID = null;
+		paradigmsByName = null;
+		lexemesByID = null;
+	}
+
+	/**
+	 * Called after a lexeme is added to a paradigm of this lexicon
+	 */
+	void lexemeAdded(Paradigm paradigm, Lexeme lexeme) {
+		if (lexemesByID == null || !registered(paradigm)) return;
+		Lexeme existing = lexemesByID.get(lexeme.getID());
+		// a lexeme with the same ID in a paradigm further down the list stays the one that is found
+		if (existing == null || !registered(existing.getParadigm())
+				|| existing.getParadigm().lexiconPosition <= paradigm.lexiconPosition)
+			lexemesByID.put(lexeme.getID(), lexeme);
+	}
+
+	/**
+	 * Called after a lexeme is removed from a paradigm of this lexicon
+	 */
+	void lexemeRemoved(Paradigm paradigm, Lexeme lexeme) {
+		if (lexemesByID == null || !registered(paradigm)) return;
+		Lexeme existing = lexemesByID.get(lexeme.getID());
+		if (existing == null || (existing.getParadigm() != paradigm && registered(existing.getParadigm())))
+			return;
+		// the ID is no longer in this paradigm, but there may be another lexeme with it in an earlier one
+		Lexeme result = null;
+		for (Paradigm p : paradigms) {
+			Lexeme found = p.lexemesByID.get(lexeme.getID());
+			if (found != null) result = found;
+		}
+		if (result == null) lexemesByID.remove(lexeme.getID());
+		else lexemesByID.put(lexeme.getID(), result);
+	}
+
+	/**
+	 * The precompiled lookup of the known forms, see {@link FormAutomaton}; null if there is none
+	 */
+	public FormAutomaton getFormAutomaton() {
+		if (source != null) return source.getFormAutomaton();
+		return formAutomaton;
+	}
+
+	/**
+	 * Makes the analysis use a form automaton compiled from this lexicon (also when the lexicon is frozen). It is
+	 * dropped when the lexicon is edited, as it would be out of date. For a lexicon that uses the data of another
+	 * one, the automaton is attached to that one, so that all lexicons that share it use the automaton.
+	 * @throws IllegalArgumentException	if the automaton was compiled from another lexicon
+	 */
+	public void setFormAutomaton(FormAutomaton automaton) {
+		if (automaton != null && automaton.getLexiconFingerprint() != FormAutomaton.fingerprint(this))
+			throw new IllegalArgumentException(String.format("Form automaton of lexicon revision %s does not match this lexicon",
+					automaton.getRevision()));
+		if (source != null) source.setFormAutomaton(automaton);
+		else formAutomaton = automaton;
+	}
+
+	/**
+	 * Opens a lexicon file either from the JAR resources or from the file system.
+	 */
+	static InputStream openLexiconFile(String fileName) throws IOException {
+		InputStream stream = Lexicon.class.getClassLoader().getResourceAsStream(fileName);
+		if (stream != null) return stream;
+		return new FileInputStream(fileName);
+	}
+
+	/**
+	 * Opens a sublexicon file from the folder of the main lexicon file, or from the JAR resources if it has none.
+	 */
+	static InputStream openSublexiconFile(String path, String filename) throws IOException {
+		if (path != null)
+			return new FileInputStream(path + java.io.File.separatorChar + filename);
+		InputStream stream = Lexicon.class.getClassLoader().getResourceAsStream(filename);
+		if (stream == null) throw new IOException(String.format("Can't find sublexicon '%s'", filename));
+		return stream;
+	}
+
+	/**
+	 * Registers a multi-part lemma (with spaces, periods, digits etc.) as a tokenizer exception. Only those added
+	 * while the lexicon is being loaded are kept for the lexicon snapshot; later ones are passed on to the tokenizer
+	 * automaton all the same, which decides if it still takes them.
+	 */
+	void addTokenizerException(String lemma) {
+		if (!tokenizerExceptionsFinished) tokenizerExceptions.add(lemma);
+		automats.addException(lemma);
+	}
+
+	void finishTokenizerExceptions() {
+		automats.initializeExceptions();
+		tokenizerExceptionsFinished = true;
 	}
 	
+	/**
+	 * Replaces the attributes of all paradigms, endings and lexemes with shared immutable copies, one per distinct
+	 * attribute set, with interned names and values. An entry that is edited afterwards gets its own copy again.
+	 */
+	void compactAttributes() {
+		AttributePool pool = new AttributePool();
+		for (Paradigm paradigm : paradigms) {
+			paradigm.compact(pool);
+			for (Ending ending : paradigm.endings)
+				ending.compact(pool);
+			for (Lexeme lexeme : paradigm.lexemes)
+				lexeme.compact(pool);
+		}
+	}
+
 	private void init(String fileName, boolean useAuxiliaryLexicons) throws Exception {
 		System.err.println("Loading " + fileName);
 		this.filename = fileName;
-        Document doc;
-        DocumentBuilder docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-        InputStream stream = getClass().getClassLoader().getResourceAsStream(fileName);
-        if (stream != null) {
-            doc = docBuilder.parse(stream);
-        } else doc = docBuilder.parse(new File(fileName));
-
-		init_main(doc, new File(fileName).getParent(), useAuxiliaryLexicons);
+		try (InputStream stream = openLexiconFile(fileName)) {
+			init_main(stream, new File(fileName).getParent(), useAuxiliaryLexicons);
+		}
 	}
 
 	private void init(String fileName, ArrayList<String> blacklist) throws Exception {
 		System.err.println("Loading " + fileName);
 		this.filename = fileName;
-		Document doc;
-		DocumentBuilder docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-        InputStream stream = getClass().getClassLoader().getResourceAsStream(fileName);
-        if (stream != null) {
-            doc = docBuilder.parse(stream);
-        } else doc = docBuilder.parse(new File(fileName));
-
-		init_main(doc, new File(fileName).getParent(), blacklist);
+		try (InputStream stream = openLexiconFile(fileName)) {
+			init_main(stream, new File(fileName).getParent(), blacklist);
+		}
 	}	
 
 	private void init(InputStream input, boolean useAuxiliaryLexicons) throws Exception {
 		System.err.println("Loading the lexicon from an input stream...");
-		
-		DocumentBuilder docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-		Document doc = docBuilder.parse(input);
-
-		init_main(doc, null, useAuxiliaryLexicons);
+		init_main(input, null, useAuxiliaryLexicons);
 	}
 
-	private void init_main(Document doc, String path, boolean useAuxiliaryLexicons) throws Exception {
-		init_main(doc, path, useAuxiliaryLexicons, true, null);
+	private void init_main(InputStream input, String path, boolean useAuxiliaryLexicons) throws Exception {
+		init_main(input, path, useAuxiliaryLexicons, true, null);
 	}
 	
-	private void init_main(Document doc, String path, ArrayList<String> blacklist) throws Exception{
-		init_main(doc, path, true, true, blacklist);		
+	private void init_main(InputStream input, String path, ArrayList<String> blacklist) throws Exception{
+		init_main(input, path, true, true, blacklist);		
 	}
 	
-	private void init_main(Document doc, String path, boolean useAuxiliaryLexicons, boolean useCore, ArrayList<String> blacklist) throws Exception {
-		Node node = doc.getDocumentElement();
-		if (!node.getNodeName().equalsIgnoreCase("Morphology")) throw new Error("Node '" + node.getNodeName() + "' but Morphology expected!");
-
-		Node nodeRevision = node.getAttributes().getNamedItem("revision");
-		if (nodeRevision != null)
-			revision = nodeRevision.getTextContent();
-		
-		Node nodeLicence = node.getAttributes().getNamedItem("licence");
-		if (nodeLicence != null)
-			licence = nodeLicence.getTextContent();
+	/**
+	 * Reads the main lexicon file as a stream - paradigms are built as their elements are read, without a DOM tree
+	 * of the whole file - and then loads the sublexicons listed in its Corpus elements.
+	 */
+	private void init_main(InputStream input, String path, boolean useAuxiliaryLexicons, boolean useCore, ArrayList<String> blacklist) throws Exception {
+		XMLStreamReader reader = xmlReader(input);
+		reader.nextTag();
+		if (!reader.getLocalName().equalsIgnoreCase("Morphology")) throw new Error("Node '" + reader.getLocalName() + "' but Morphology expected!");
 
-		NodeList nodes = node.getChildNodes();
+		revision = reader.getAttributeValue(null, "revision");
+		licence = reader.getAttributeValue(null, "licence");
 
 		prefixes = new ArrayList<>();
 		paradigms = new ArrayList<>();
-
-		for (int i = 0; i < nodes.getLength(); i++) {
-			if (nodes.item(i).getNodeName().equals("Paradigm"))
-				addParadigm(new Paradigm(this, nodes.item(i)));
-			if (nodes.item(i).getNodeName().equals("Corpus")) {
-				Node corpusFileName = nodes.item(i).getAttributes().getNamedItem("FileName");
-				Node lexiconType = nodes.item(i).getAttributes().getNamedItem("Type");
-				boolean isCore = false;
-				if (lexiconType != null) isCore = lexiconType.getTextContent().equalsIgnoreCase("core");
-				
-				if (corpusFileName != null && (useAuxiliaryLexicons || (isCore && useCore)))
-					corpusFileNames.add(corpusFileName.getTextContent());
-			}
-			if (nodes.item(i).getNodeName().equals("Prefixes")) {
-				this.loadPrefixes(nodes.item(i));
+		paradigmsByID = null;
+		paradigmsByName = null;
+		lexemesByID = null;
+
+		while (nextChildElement(reader)) {
+			switch (reader.getLocalName()) {
+				case "Paradigm":
+					addParadigm(new Paradigm(this, reader));
+					break;
+				case "Corpus":
+					String corpusFileName = reader.getAttributeValue(null, "FileName");
+					String lexiconType = reader.getAttributeValue(null, "Type");
+					boolean isCore = false;
+					if (lexiconType != null) isCore = lexiconType.equalsIgnoreCase("core");
+
+					if (corpusFileName != null && (useAuxiliaryLexicons || (isCore && useCore)))
+						corpusFileNames.add(corpusFileName);
+					skipElement(reader);
+					break;
+				case "Prefixes":
+					this.loadPrefixes(reader);
+					break;
+				default:
+					skipElement(reader);
 			}
 		}
-		
-		for (String filename : corpusFileNames) {
-			if (blacklist != null && blacklist.contains(filename)) continue; //FIXME - case sensitivity?
+		reader.close();
 
-            if (filename.endsWith(".xml")) {
-                Document doc2;
-                DocumentBuilder docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-                if (path != null) {
-                    String fullname = path + java.io.File.separatorChar + filename;
-                    doc2 = docBuilder.parse(new File(fullname));
-                } else {
-                    doc2 = docBuilder.parse(getClass().getClassLoader().getResourceAsStream(filename));
-                }
-                load_sublexicon_xml(doc2);
-            } else if (filename.endsWith(".json")) {
-                if (path != null) {
-                    String fullname = path + java.io.File.separatorChar + filename;
-                    load_sublexicon_json(new FileInputStream(new File(fullname)));
-                } else {
-                    load_sublexicon_json(getClass().getClassLoader().getResourceAsStream(filename));
-                }
-            } else throw new Error(String.format("Unsupported file format for sublexicon '%s'", filename));
-		}
+		// the registries are built here, before the sublexicon loader threads look paradigms up in them
+		buildRegistries();
+		load_sublexicons(path, blacklist);
 
-		automats.initializeExceptions();
+		finishTokenizerExceptions();
+		compactAttributes();
+		getStemIndex();
+		getSurfaceStemIndex();
 		System.err.println("Lexicon " + (revision != null ? revision : "") + " loaded");
 	}
 
-	private void loadPrefixes(Node node) {
-		NodeList nodes = node.getChildNodes();
-		for (int i = 0; i < nodes.getLength(); i++) {
-			if (nodes.item(i).getNodeName().equals("Negation")) {
-				this.NEGATION_PREFIX = nodes.item(i).getTextContent();
-			}
-			if (nodes.item(i).getNodeName().equals("Superlative")) {
-				this.SUPERLATIVE_PREFIX = nodes.item(i).getTextContent();
-			}
-			if (nodes.item(i).getNodeName().equals("Debitive")) {
-				this.DEBITIVE_PREFIX = nodes.item(i).getTextContent();
-			}
-			if (nodes.item(i).getNodeName().equals("VerbPrefix")) {
-				this.prefixes.add(nodes.item(i).getTextContent());
+	private void loadPrefixes(XMLStreamReader reader) throws XMLStreamException {
+		while (nextChildElement(reader)) {
+			switch (reader.getLocalName()) {
+				case "Negation":
+					this.NEGATION_PREFIX = reader.getElementText();
+					break;
+				case "Superlative":
+					this.SUPERLATIVE_PREFIX = reader.getElementText();
+					break;
+				case "Debitive":
+					this.DEBITIVE_PREFIX = reader.getElementText();
+					break;
+				case "VerbPrefix":
+					this.prefixes.add(reader.getElementText());
+					break;
+				default:
+					skipElement(reader);
 			}
 		}
 	}
 
-	private void load_sublexicon_json(InputStream input)
-			throws ParseException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
-        JSONParser parser = new JSONParser();
-        String json_row;
-        try {
-            while ((json_row = reader.readLine()) != null) {
-                Lexeme l = new Lexeme((JSONObject) parser.parse(json_row), this);
-                if (l.isMatchingStrong(AttributeNames.i_EntryName, "irt:1")
-						|| l.isMatchingStrong(AttributeNames.i_EntryName, "irt")
-						|| l.isMatchingStrong(AttributeNames.i_EntryName, "art:1")
-                        || l.isMatchingStrong(AttributeNames.i_EntryName, "art")) {
-                    l.addAttribute(AttributeNames.i_Frequency, AttributeNames.v_Rare);
-                }
-            }
-        } catch (IOException e) {
-            // TODO Auto-generated catch block
-            e.printStackTrace();
-        }
-	}
-
-    private void load_sublexicon_xml(Document doc) throws Exception {
-		Node node = doc.getDocumentElement();
-		if (!node.getNodeName().equalsIgnoreCase("Lexicon")) throw new Error("Node '" + node.getNodeName() + "' but Lexicon expected!");
-	
-		NodeList nodes = node.getChildNodes();
-
-		for (int i = 0; i < nodes.getLength(); i++) {
-			if (nodes.item(i).getNodeName().equals("Paradigm")) {
-				Node n = nodes.item(i).getAttributes().getNamedItem("ID");
-				if (n != null) {
-					int paradigmID = Integer.parseInt(n.getTextContent());
-					Paradigm paradigm = this.paradigmByID(paradigmID);
-					if (paradigm != null) paradigm.addLexemesFromXML(nodes.item(i));
-					else throw new Exception(String.format("When loading subcorpus, cannot find paradigm %d in main morphology", paradigmID));
+	/**
+	 * Loads the sublexicons listed in corpusFileNames. Files are parsed in parallel on a bounded thread pool into
+	 * batches of lexemes, and the batches are then added to their paradigms in the original file order, so that
+	 * lexeme IDs, hardcoded forms and tokenizer exceptions come out exactly as with a sequential load.
+	 */
+	private void load_sublexicons(String path, ArrayList<String> blacklist) throws Exception {
+		ArrayList<String> files = new ArrayList<>();
+		for (String filename : corpusFileNames) {
+			if (blacklist != null && blacklist.contains(filename)) continue; //FIXME - case sensitivity?
+			files.add(filename);
+		}
+		if (files.isEmpty()) return;
+
+		int threads = Math.min(files.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+			Thread thread = new Thread(task, "sublexicon-loader");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			ArrayList<Future<ArrayList<Lexeme>>> batches = new ArrayList<>();
+			for (String filename : files)
+				batches.add(pool.submit(() -> parse_sublexicon(path, filename)));
+
+			for (Future<ArrayList<Lexeme>> batch : batches) {
+				ArrayList<Lexeme> lexemes;
+				try {
+					lexemes = batch.get();
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof Exception) throw (Exception) e.getCause();
+					if (e.getCause() instanceof Error) throw (Error) e.getCause();
+					throw e;
 				}
+				for (Lexeme l : lexemes)
+					l.getParadigm().addLexeme(l);
 			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Parses a single sublexicon file into lexemes that know their paradigm but are not yet added to it.
+	 * Only reads the shared lexicon data (paradigms and their endings), so it is safe to run for several files at once.
+	 */
+	private ArrayList<Lexeme> parse_sublexicon(String path, String filename) throws Exception {
+		InputStream stream = openSublexiconFile(path, filename);
+		try {
+			if (filename.endsWith(".xml")) {
+				return parse_sublexicon_xml(stream);
+			} else if (filename.endsWith(".json")) {
+				return parse_sublexicon_json(stream);
+			} else throw new Error(String.format("Unsupported file format for sublexicon '%s'", filename));
+		} finally {
+			stream.close();
+		}
+	}
+
+	private ArrayList<Lexeme> parse_sublexicon_json(InputStream input) throws IOException {
+		ArrayList<Lexeme> result = new ArrayList<>();
+		LexemeJSONReader reader = new LexemeJSONReader(this, new InputStreamReader(input, StandardCharsets.UTF_8));
+		Lexeme l;
+		while ((l = reader.next()) != null) {
+			if (l.isMatchingStrong(AttributeNames.i_EntryName, "irt:1")
+					|| l.isMatchingStrong(AttributeNames.i_EntryName, "irt")
+					|| l.isMatchingStrong(AttributeNames.i_EntryName, "art:1")
+					|| l.isMatchingStrong(AttributeNames.i_EntryName, "art")) {
+				l.addAttribute(AttributeNames.i_Frequency, AttributeNames.v_Rare);
+			}
+			result.add(l);
+		}
+		return result;
+	}
+
+	/**
+	 * Reads an XML sublexicon as a stream, building its lexemes one by one as they are read
+	 */
+    private ArrayList<Lexeme> parse_sublexicon_xml(InputStream input) throws Exception {
+		ArrayList<Lexeme> result = new ArrayList<>();
+		XMLStreamReader reader = xmlReader(input);
+		reader.nextTag();
+		if (!reader.getLocalName().equalsIgnoreCase("Lexicon")) throw new Error("Node '" + reader.getLocalName() + "' but Lexicon expected!");
+
+		while (nextChildElement(reader)) {
+			String id = reader.getLocalName().equals("Paradigm") ? reader.getAttributeValue(null, "ID") : null;
+			if (id != null) {
+				int paradigmID = Integer.parseInt(id);
+				Paradigm paradigm = this.paradigmByID(paradigmID);
+				if (paradigm != null) paradigm.readLexemesFromXML(reader, result);
+				else throw new Exception(String.format("When loading subcorpus, cannot find paradigm %d in main morphology", paradigmID));
+			} else skipElement(reader);
+		}
+		reader.close();
+		return result;
+	}
+
+	static XMLStreamReader xmlReader(InputStream input) throws XMLStreamException {
+		return xmlInputFactory.createXMLStreamReader(input);
+	}
+
+	/**
+	 * Advances the reader to the next child element of the current element.
+	 * @return false, if the end of the current element was reached instead
+	 */
+	static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+		while (true) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) return true;
+			if (event == XMLStreamConstants.END_ELEMENT || event == XMLStreamConstants.END_DOCUMENT) return false;
+		}
+	}
+
+	/**
+	 * Skips the current element with all its content, leaving the reader at its end tag.
+	 */
+	static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) depth++;
+			else if (event == XMLStreamConstants.END_ELEMENT) depth--;
 		}
 	}
 	
@@ -404,12 +748,8 @@ public class Lexicon {
 	 */
 	public Paradigm paradigmByID(int id) {
 		//FIXME - vispār vajadzētu likvidēt to atsauci uz numuriem pēc iespējas.
-		Paradigm result = null;
-		for (Paradigm p : paradigms) {
-			if (p.getID() == id)
-				result = p;
-		}
-		return result;
+		if (paradigmsByID == null) buildRegistries();
+		return paradigmsByID.get(id);
 	}
 
 	/**
@@ -419,12 +759,9 @@ public class Lexicon {
 	 * @return		paradigm or null if no such paradigm exists
 	 */
 	public Paradigm paradigmByName(String name) {
-		Paradigm result = null;
-		for (Paradigm p : paradigms) {
-			if (p.getName().equalsIgnoreCase(name))
-				result = p;
-		}
-		return result;
+		if (name == null) return null;
+		if (paradigmsByName == null) buildRegistries();
+		return paradigmsByName.get(registryName(name));
 	}
 
 	/**
@@ -445,24 +782,19 @@ public class Lexicon {
 	 * @return		lexeme or null if no such lexeme exists
 	 */
 	public Lexeme lexemeByID(int id) {
-		Lexeme result = null;
-		for (Paradigm paradigm : paradigms) {
-			if (paradigm.lexemesByID.get(id) != null) {
-				// TODO - hmm, nepamanīs ja ir vienādi ID dažādās paradigmās
-				result = paradigm.lexemesByID.get(id);
-			}
-		}
-		return result;
+		// TODO - hmm, nepamanīs ja ir vienādi ID dažādās paradigmās
+		if (lexemesByID == null) buildRegistries();
+		return lexemesByID.get(id);
 	}
 
 	/**
 	 * Get new, unique, unused lexeme ID.
 	 */
-	private int lexeme_id_counter = 1100000;
+	int lexeme_id_counter = 1100000;
 	int newLexemeID() {
 		lexeme_id_counter += 1;
 		while (lexemeByID(lexeme_id_counter) != null)
-			lexeme_id_counter += 1; // ja nu ir ielādēts jau kāds virs miljona, tad būs lēni bet vismaz korekti
+			lexeme_id_counter += 1; // ja nu ir ielādēts jau kāds virs miljona
 		return lexeme_id_counter;
 	}
 
@@ -476,12 +808,48 @@ public class Lexicon {
 	 * @return			The created lexeme or NULL if it couldn't be created
 	 */
 	public Lexeme createLexeme(String word, Ending ending, String source) {
+		checkEditable();
+		Lexeme result = newLexeme(word, ending, source);
+		if (result == null) return null;
+		ending.getParadigm().addLexeme(result); // At this moment the actual lemma is generated
+		finishLexeme(result, word, source);
+		clearCache();
+		return result;
+	}
+
+	/**
+	 * Creates a lexeme based on a wordform with a known ending ID like createLexeme, but doesn't append it to the
+	 * lexicon - it knows its paradigm, but the paradigm doesn't know it. Used for generating the inflections of words
+	 * that aren't in the lexicon; as the lexicon isn't changed, this works also when it is frozen and shared.
+	 *
+	 * @param word		full wordform of the word
+	 * @param ending	ending object of the word's lemma
+	 * @param source	description field of the lexeme source
+	 * @return			The created lexeme or NULL if it couldn't be created
+	 */
+	public Lexeme createTemporaryLexeme(String word, Ending ending, String source) {
+		Lexeme result = newLexeme(word, ending, source);
+		if (result == null) return null;
+		Paradigm paradigm = ending.getParadigm();
+		result.setParadigm(paradigm);
+		result.temporary = true;
+		if (paradigm.getLemmaEnding() != null) // the same lemma that Paradigm.addLexeme would give it
+			result.addAttribute(AttributeNames.i_Lemma,
+					result.getStem(paradigm.getLemmaEnding().stemType) + paradigm.getLemmaEnding().getEnding());
+		finishLexeme(result, word, source);
+		return result;
+	}
+
+	/**
+	 * The lexeme with the stem of the word, not yet in any paradigm; null if the stem can't be found
+	 */
+	private Lexeme newLexeme(String word, Ending ending, String source) {
 		String stem;
 		try {
 			stem = ending.stem(word.toLowerCase());
 			int mija = ending.getMija();
 			if (mija != 0 && mija != 3) { // don't try to apply comparative and superlative forms
-				ArrayList<StemVariant> stems = Mijas.applyFormToLemmaMija(stem, mija, word.matches("\\p{Lu}.*"));
+				List<StemVariant> stems = Mijas.applyFormToLemmaMija(stem, mija, word.matches("\\p{Lu}.*"));
 				if (stems.isEmpty()) return null; // acīmredzot neder ar miju
 				// FIXME ! Nevajadzētu te būt iespējai uz null!
 				stem = stems.get(0).stem;
@@ -496,14 +864,15 @@ public class Lexicon {
 		Lexeme result = new Lexeme();
 		result.setAllowedStems(ending.getParadigm().getStems());
 		result.setStem(ending.stemType, stem);
-		ending.getParadigm().addLexeme(result); // At this moment the actual lemma is generated
-		String lemma = result.getValue(AttributeNames.i_Lemma);
+		return result;
+	}
+
+	private void finishLexeme(Lexeme lexeme, String word, String source) {
+		String lemma = lexeme.getValue(AttributeNames.i_Lemma);
 		lemma = recapitalize(lemma, word);
-		result.addAttribute(AttributeNames.i_Lemma, lemma);
+		lexeme.addAttribute(AttributeNames.i_Lemma, lemma);
 
-		result.addAttribute(AttributeNames.i_Source, source);
-		clearCache();
-		return result;
+		lexeme.addAttribute(AttributeNames.i_Source, source);
 	}
 	
 	/**
@@ -544,6 +913,7 @@ public class Lexicon {
 	 * new ID.
 	 */
 	public void addParadigm (Paradigm paradigm) {
+		checkEditable();
 		if (paradigm.getID() == 0) {
 			int maxnr = 0;
 			for (Paradigm p : paradigms) {
@@ -553,13 +923,42 @@ public class Lexicon {
 		}
 
 		paradigms.add(paradigm);
+		if (lexemesByID != null) { // the new paradigm is the last one, so it comes before any others with its keys
+			paradigm.lexiconPosition = paradigms.size() - 1;
+			paradigmsByID.put(paradigm.getID(), paradigm);
+			if (paradigm.getName() != null)
+				paradigmsByName.put(registryName(paradigm.getName()), paradigm);
+			lexemesByID.putAll(paradigm.lexemesByID);
+		}
+		stemIndex = null;
+		surfaceStemIndex = null;
+		formAutomaton = null;
+		paradigmsChanged();
 	}
 
 	/**
 	 * Removes the given paradigm from lexicon.
 	 */
 	public void removeParadigm (Paradigm paradigm) {
+		checkEditable();
 		paradigms.remove(paradigm);
+		paradigm.stemIndexSlot = -1;
+		paradigm.lexiconPosition = -1;
+		stemIndex = null;
+		surfaceStemIndex = null;
+		formAutomaton = null;
+		// the positions of the following paradigms change, and their keys may have been hidden by this one
+		paradigmsByID = null;
+		paradigmsByName = null;
+		lexemesByID = null;
+		paradigmsChanged();
+	}
+
+	/**
+	 * Called after a paradigm is added to or removed from this lexicon (or gets another ID), for subclasses that keep
+	 * paradigms resolved
+	 */
+	protected void paradigmsChanged() {
 	}
 
 	/**
@@ -583,11 +982,23 @@ public class Lexicon {
 	public void clearCache () {}
 
 	public static String recapitalize(String word, String originalWord) {
-		if (p_firstcap.matcher(originalWord).matches())
+		return recapitalize(word, p_firstcap.matcher(originalWord).matches(), p_allcaps.matcher(originalWord).matches(),
+				p_doublesurname.matcher(originalWord).matches());
+	}
+
+	/**
+	 * Same as recapitalize(word, originalWord), with the letter case of the original word from its shape
+	 */
+	public static String recapitalize(String word, TokenShape shape) {
+		return recapitalize(word, shape.firstUpper, shape.allUpper, shape.doubleSurname);
+	}
+
+	private static String recapitalize(String word, boolean firstUpper, boolean allUpper, boolean doubleSurname) {
+		if (firstUpper)
 			word = word.substring(0, 1).toUpperCase() + word.substring(1);
-		if (p_allcaps.matcher(originalWord).matches())
+		if (allUpper)
 			word = word.toUpperCase();
-		if (p_doublesurname.matcher(originalWord).matches()) {
+		if (doubleSurname) {
 			int dash = word.indexOf("-");
 			if (dash > -1 && word.length() > dash + 1) // nočekojam gadījumam ja nu originalWord'ā ir '-' bet lemmā nav
 				word = word.substring(0, dash + 1)
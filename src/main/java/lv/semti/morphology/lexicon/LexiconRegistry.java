@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.lexicon;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads each lexicon file at most once per JVM, and hands out the same frozen Lexicon to all callers, e.g. to make
+ * any number of analyzers with new Analyzer(LexiconRegistry.get(fileName)).
+ *
+ * Threads that ask for a lexicon while it is being loaded wait for that load instead of starting their own; if the
+ * loading fails, the exception is thrown to the callers that were waiting, and the next call tries again.
+ */
+public final class LexiconRegistry {
+	private static final ConcurrentHashMap<String, Entry> lexicons = new ConcurrentHashMap<>();
+
+	private LexiconRegistry() {}
+
+	/**
+	 * The default lexicon from the JAR resources, with the auxiliary lexicons
+	 */
+	public static Lexicon getDefault() throws Exception {
+		return get(Lexicon.DEFAULT_LEXICON_FILE, true);
+	}
+
+	/**
+	 * The lexicon loaded from this file (from the JAR resources or the file system), with the auxiliary lexicons
+	 */
+	public static Lexicon get(String lexiconFileName) throws Exception {
+		return get(lexiconFileName, true);
+	}
+
+	/**
+	 * The lexicon loaded from this file (from the JAR resources or the file system)
+	 * @param lexiconFileName	file name for main lexicon
+	 * @param useAuxiliaryLexicons	should additional lexicons be loaded as well?
+	 * @return	the shared, frozen lexicon
+	 */
+	public static Lexicon get(String lexiconFileName, boolean useAuxiliaryLexicons) throws Exception {
+		String key = (useAuxiliaryLexicons ? "+" : "-") + lexiconFileName;
+		return lexicons.computeIfAbsent(key, k -> new Entry(lexiconFileName, useAuxiliaryLexicons)).get();
+	}
+
+	/**
+	 * Forgets the loaded lexicons, so that they can be garbage collected once the analyzers using them are gone
+	 */
+	public static void clear() {
+		lexicons.clear();
+	}
+
+	private static final class Entry {
+		private final String fileName;
+		private final boolean useAuxiliaryLexicons;
+		private volatile Lexicon lexicon;
+
+		Entry(String fileName, boolean useAuxiliaryLexicons) {
+			this.fileName = fileName;
+			this.useAuxiliaryLexicons = useAuxiliaryLexicons;
+		}
+
+		Lexicon get() throws Exception {
+			Lexicon result = lexicon;
+			if (result == null) {
+				synchronized (this) {
+					result = lexicon;
+					if (result == null) {
+						result = new Lexicon(fileName, useAuxiliaryLexicons);
+						result.freeze();
+						lexicon = result;
+					}
+				}
+			}
+			return result;
+		}
+	}
+}
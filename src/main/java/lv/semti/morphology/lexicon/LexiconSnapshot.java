@@ -0,0 +1,575 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.lexicon;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+
+import lv.semti.morphology.analyzer.StemVariant;
+import lv.semti.morphology.attributes.AttributeValues;
+
+/**
+ * Precompiled binary form of a fully loaded lexicon - paradigms, endings, lexemes, hardcoded forms and tokenizer
+ * exceptions, with the attribute sets compacted (see Lexicon.compactAttributes) and the stem indexes (StemIndex and
+ * SurfaceStemIndex) as they were built. Loading a snapshot skips the XML/JSON parsing of the lexicon and all its
+ * sublexicons and the building of the indexes, but not the building of the lexicon objects - the whole lexicon is
+ * still deserialized into the heap, just from a simpler format.
+ *
+ * A snapshot is compiled with
+ * <pre>java lv.semti.morphology.lexicon.LexiconSnapshot Lexicon_v2.xml lexicon.bin</pre>
+ * and loaded with {@link Lexicon#Lexicon(String, File)} or the matching Analyzer constructor.
+ * Every snapshot records a fingerprint of the content of the lexicon file and the sublexicons it was compiled from,
+ * and is rejected if any of them has changed since. The revision is recorded as well, but only for information -
+ * in the lexicon files it usually is the unexpanded ${project.version}, the same for every edit.
+ *
+ * Layout: header (magic, format version, revision, fingerprint, the names of the sublexicons), a deduplicated
+ * string table, a table of the distinct attribute sets, and then the lexicon body that refers to strings and attribute
+ * sets by their index in the tables.
+ */
+public final class LexiconSnapshot {
+	private static final int MAGIC = 0x4C564C58; // "LVLX"
+	static final int FORMAT_VERSION = 3;
+	private static final int NONE = -1;
+
+	/**
+	 * Thrown when the snapshot does not match the lexicon it is supposed to replace.
+	 */
+	public static class StaleSnapshotException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		public StaleSnapshotException(String message) {
+			super(message);
+		}
+	}
+
+	private LexiconSnapshot() {}
+
+	/**
+	 * Compiles a lexicon file into a snapshot.
+	 * Usage: LexiconSnapshot &lt;lexicon file&gt; &lt;snapshot file&gt; [--core-only]
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: LexiconSnapshot <lexicon file> <snapshot file> [--core-only]");
+			System.exit(1);
+		}
+		boolean useAuxiliaryLexicons = !(args.length > 2 && args[2].equals("--core-only"));
+		Lexicon lexicon = new Lexicon(args[0], useAuxiliaryLexicons);
+		write(lexicon, new File(args[1]));
+		System.err.println("Snapshot of lexicon " + lexicon.getRevision() + " written to " + args[1]);
+	}
+
+	/**
+	 * Reads the revision recorded in a snapshot file.
+	 */
+	public static String getRevision(File snapshotFile) throws IOException {
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+			checkHeader(input.readInt(), input.readInt());
+			byte[] bytes = new byte[input.readInt()];
+			input.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * Fingerprint of the content of a lexicon file and of the given sublexicons, opened the same way as the lexicon
+	 * loads them. The files are read through, but not parsed. Like FormAutomaton.fingerprint it is only meant to
+	 * notice that a snapshot no longer matches its source.
+	 */
+	static long fingerprint(String lexiconFileName, List<String> sublexicons) throws IOException {
+		long hash = 17;
+		byte[] buffer = new byte[1 << 16];
+		try (InputStream stream = Lexicon.openLexiconFile(lexiconFileName)) {
+			hash = hash * 1000003 + checksum(stream, buffer);
+		}
+		String path = new File(lexiconFileName).getParent();
+		for (String filename : sublexicons) {
+			hash = hash * 1000003 + filename.hashCode();
+			try (InputStream stream = Lexicon.openSublexiconFile(path, filename)) {
+				hash = hash * 1000003 + checksum(stream, buffer);
+			}
+		}
+		return hash;
+	}
+
+	private static long checksum(InputStream stream, byte[] buffer) throws IOException {
+		CRC32 crc = new CRC32();
+		long length = 0;
+		int count;
+		while ((count = stream.read(buffer)) > 0) {
+			crc.update(buffer, 0, count);
+			length += count;
+		}
+		return crc.getValue() * 1000003 + length;
+	}
+
+	/**
+	 * Stores the lexicon in the snapshot format.
+	 */
+	public static void write(Lexicon lexicon, File snapshotFile) throws IOException {
+		if (lexicon.getRevision() == null)
+			throw new IOException("Lexicon without a revision can't be stored as a snapshot");
+		if (lexicon.getFilename() == null)
+			throw new IOException("Lexicon without a file name can't be stored as a snapshot");
+		long fingerprint = fingerprint(lexicon.getFilename(), lexicon.corpusFileNames);
+
+		StringTable strings = new StringTable();
+		AttributeSetTable sets = new AttributeSetTable(strings);
+		ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(1 << 20);
+		DataOutputStream body = new DataOutputStream(bodyBytes);
+
+		body.writeInt(strings.index(lexicon.licence));
+		body.writeInt(strings.index(lexicon.NEGATION_PREFIX));
+		body.writeInt(strings.index(lexicon.DEBITIVE_PREFIX));
+		body.writeInt(strings.index(lexicon.SUPERLATIVE_PREFIX));
+		writeStrings(body, strings, lexicon.prefixes);
+		writeStrings(body, strings, lexicon.corpusFileNames);
+		body.writeInt(lexicon.lexeme_id_counter);
+
+		body.writeInt(lexicon.paradigms.size());
+		IdentityHashMap<Paradigm, Integer> paradigmPositions = new IdentityHashMap<>();
+		IdentityHashMap<Lexeme, int[]> lexemePositions = new IdentityHashMap<>();
+		for (int p = 0; p < lexicon.paradigms.size(); p++) {
+			Paradigm paradigm = lexicon.paradigms.get(p);
+			paradigmPositions.put(paradigm, p);
+			body.writeInt(paradigm.getID());
+			body.writeInt(strings.index(paradigm.name));
+			body.writeInt(strings.index(paradigm.description));
+			body.writeInt(strings.index(paradigm.getAllowedGuessEndings()));
+			body.writeInt(paradigm.getStems().size());
+			body.writeInt(sets.index(paradigm));
+
+			body.writeInt(paradigm.endings.size());
+			for (Ending ending : paradigm.endings) {
+				body.writeInt(ending.getID());
+				body.writeInt(ending.getMija());
+				body.writeInt(strings.index(ending.getEnding()));
+				body.writeInt(ending.stemType.ordinal() + 1);
+				body.writeInt(ending.getOwnLemmaEnding() == null ? NONE : ending.getOwnLemmaEnding().getID());
+				body.writeInt(sets.index(ending));
+			}
+			body.writeInt(paradigm.getLemmaEnding() == null ? NONE : paradigm.getLemmaEnding().getID());
+
+			body.writeInt(paradigm.lexemes.size());
+			for (int l = 0; l < paradigm.lexemes.size(); l++) {
+				Lexeme lexeme = paradigm.lexemes.get(l);
+				lexemePositions.put(lexeme, new int[] {p, l});
+				body.writeInt(lexeme.getID());
+				for (StemType stemType : StemType.values()) {
+					if (paradigm.getStems().contains(stemType))
+						body.writeInt(strings.index(lexeme.getStem(stemType)));
+				}
+				body.writeInt(sets.index(lexeme));
+			}
+		}
+
+		body.writeInt(lexicon.hardcodedForms.size());
+		for (Entry<Integer, Lexeme> entry : lexicon.hardcodedForms.entries()) {
+			int[] position = lexemePositions.get(entry.getValue());
+			if (position == null)
+				throw new IOException(String.format("Hardcoded lexeme %d is not in any paradigm", entry.getKey()));
+			body.writeInt(entry.getKey());
+			body.writeInt(position[0]);
+			body.writeInt(position[1]);
+		}
+
+		writeStrings(body, strings, lexicon.tokenizerExceptions);
+		writeStemIndex(body, strings, lexicon.getStemIndex(), paradigmPositions);
+		writeSurfaceStemIndex(body, strings, sets, lexicon.getSurfaceStemIndex(), paradigmPositions, lexemePositions);
+		body.flush();
+
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(snapshotFile)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(FORMAT_VERSION);
+			byte[] revision = lexicon.getRevision().getBytes(StandardCharsets.UTF_8);
+			output.writeInt(revision.length);
+			output.write(revision);
+			output.writeLong(fingerprint);
+			output.writeInt(lexicon.corpusFileNames.size());
+			for (String filename : lexicon.corpusFileNames) {
+				byte[] bytes = filename.getBytes(StandardCharsets.UTF_8);
+				output.writeInt(bytes.length);
+				output.write(bytes);
+			}
+			output.writeInt(strings.list.size());
+			for (String s : strings.list) {
+				byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+				output.writeInt(bytes.length);
+				output.write(bytes);
+			}
+			output.writeInt(sets.list.size());
+			for (int[] set : sets.list) {
+				output.writeInt(set.length / 2);
+				for (int index : set)
+					output.writeInt(index);
+			}
+			bodyBytes.writeTo(output);
+		}
+	}
+
+	/**
+	 * Fills an empty lexicon from the snapshot file. The file is mapped only while it is read - all of the lexicon is
+	 * deserialized into ordinary objects, so this saves the parsing of the source files, not the memory they take.
+	 *
+	 * @param lexiconFileName	the lexicon file the snapshot should have been compiled from
+	 * @throws StaleSnapshotException	if the lexicon file or its sublexicons have changed since, or the format version
+	 */
+	static void load(Lexicon lexicon, File snapshotFile, String lexiconFileName) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		checkHeader(buffer.getInt(), buffer.getInt());
+		byte[] scratch = new byte[256];
+		String revision = readUTF8(buffer, scratch);
+		long fingerprint = buffer.getLong();
+		ArrayList<String> sublexicons = new ArrayList<>();
+		for (int i = buffer.getInt(); i > 0; i--)
+			sublexicons.add(readUTF8(buffer, scratch));
+		if (fingerprint != fingerprint(lexiconFileName, sublexicons))
+			throw new StaleSnapshotException(String.format(
+					"Snapshot %s was compiled from another version of lexicon %s or its sublexicons", snapshotFile, lexiconFileName));
+
+		String[] strings = new String[buffer.getInt()];
+		for (int i = 0; i < strings.length; i++) {
+			int length = buffer.getInt();
+			if (length > scratch.length) scratch = new byte[Math.max(length, scratch.length * 2)];
+			buffer.get(scratch, 0, length);
+			strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+		}
+
+		// each distinct set is compacted once, and the entries share it
+		AttributeValues[] sets = new AttributeValues[buffer.getInt()];
+		for (int i = 0; i < sets.length; i++) {
+			String[] pairs = new String[buffer.getInt() * 2];
+			for (int j = 0; j < pairs.length; j++)
+				pairs[j] = string(strings, buffer.getInt());
+			sets[i] = AttributeValues.compacted(pairs);
+		}
+
+		lexicon.revision = revision;
+		lexicon.licence = string(strings, buffer.getInt());
+		lexicon.NEGATION_PREFIX = string(strings, buffer.getInt());
+		lexicon.DEBITIVE_PREFIX = string(strings, buffer.getInt());
+		lexicon.SUPERLATIVE_PREFIX = string(strings, buffer.getInt());
+		lexicon.prefixes = readStrings(buffer, strings);
+		lexicon.corpusFileNames = readStrings(buffer, strings);
+		lexicon.lexeme_id_counter = buffer.getInt();
+
+		int paradigmCount = buffer.getInt();
+		lexicon.paradigms = new ArrayList<>(paradigmCount);
+		for (int p = 0; p < paradigmCount; p++) {
+			Paradigm paradigm = new Paradigm(lexicon);
+			paradigm.setID(buffer.getInt());
+			paradigm.name = string(strings, buffer.getInt());
+			paradigm.setDescription(string(strings, buffer.getInt()));
+			paradigm.setAllowedGuessEndings(string(strings, buffer.getInt()));
+			paradigm.setStems(buffer.getInt());
+			paradigm.compact(sets[buffer.getInt()]);
+
+			int endingCount = buffer.getInt();
+			int[] ownLemmaEndings = new int[endingCount];
+			for (int e = 0; e < endingCount; e++) {
+				Ending ending = new Ending();
+				ending.setID(buffer.getInt());
+				ending.setMija(buffer.getInt());
+				ending.setEnding(string(strings, buffer.getInt()));
+				ending.stemType = StemType.getFromXmlId(buffer.getInt());
+				ownLemmaEndings[e] = buffer.getInt();
+				ending.compact(sets[buffer.getInt()]);
+				paradigm.addEnding(ending);
+			}
+			for (int e = 0; e < endingCount; e++) {
+				if (ownLemmaEndings[e] != NONE)
+					paradigm.endings.get(e).setLemmaEnding(ownLemmaEndings[e]);
+			}
+			int lemmaEnding = buffer.getInt();
+			if (lemmaEnding != NONE)
+				paradigm.setLemmaEnding(lemmaEnding);
+
+			int lexemeCount = buffer.getInt();
+			paradigm.lexemes.ensureCapacity(lexemeCount);
+			for (int l = 0; l < lexemeCount; l++) {
+				Lexeme lexeme = new Lexeme();
+				lexeme.setID(buffer.getInt());
+				lexeme.setAllowedStems(paradigm.getStems());
+				for (StemType stemType : StemType.values()) {
+					if (paradigm.getStems().contains(stemType))
+						lexeme.setStem(stemType, string(strings, buffer.getInt()));
+				}
+				lexeme.compact(sets[buffer.getInt()]);
+				paradigm.restoreLexeme(lexeme);
+			}
+			lexicon.paradigms.add(paradigm);
+		}
+
+		int hardcodedCount = buffer.getInt();
+		for (int i = 0; i < hardcodedCount; i++) {
+			int key = buffer.getInt();
+			Paradigm paradigm = lexicon.paradigms.get(buffer.getInt());
+			lexicon.hardcodedForms.put(key, paradigm.lexemes.get(buffer.getInt()));
+		}
+
+		for (String exception : readStrings(buffer, strings))
+			lexicon.addTokenizerException(exception);
+		lexicon.finishTokenizerExceptions();
+		lexicon.getAllEndings(); // the suffix trie is cheap to rebuild from the ending order kept in the snapshot
+		lexicon.stemIndex = readStemIndex(buffer, strings, lexicon.paradigms);
+		lexicon.surfaceStemIndex = readSurfaceStemIndex(buffer, strings, sets, lexicon.paradigms);
+	}
+
+	/**
+	 * The stem index: the paradigms by their slot, the stems with the numbers of their masks, the distinct masks and
+	 * the characters of the stems
+	 */
+	private static void writeStemIndex(DataOutputStream output, StringTable strings, StemIndex index,
+									   IdentityHashMap<Paradigm, Integer> paradigmPositions) throws IOException {
+		output.writeInt(index.slots().size());
+		for (Paradigm paradigm : index.slots()) {
+			Integer position = paradigmPositions.get(paradigm);
+			output.writeInt(position == null ? NONE : position);
+		}
+		IdentityHashMap<StemIndex.Mask, Integer> maskNumbers = new IdentityHashMap<>();
+		ArrayList<StemIndex.Mask> distinctMasks = new ArrayList<>();
+		output.writeInt(index.masks().size());
+		for (Entry<String, StemIndex.Mask> stem : index.masks().entrySet()) {
+			Integer number = maskNumbers.get(stem.getValue());
+			if (number == null) {
+				maskNumbers.put(stem.getValue(), number = distinctMasks.size());
+				distinctMasks.add(stem.getValue());
+			}
+			output.writeInt(strings.index(stem.getKey()));
+			output.writeInt(number);
+		}
+		output.writeInt(distinctMasks.size());
+		for (StemIndex.Mask mask : distinctMasks)
+			writeLongs(output, StemIndex.bits(mask));
+		writeLongs(output, index.characters());
+	}
+
+	private static StemIndex readStemIndex(ByteBuffer buffer, String[] strings, List<Paradigm> paradigms) {
+		Paradigm[] slots = new Paradigm[buffer.getInt()];
+		for (int i = 0; i < slots.length; i++) {
+			int position = buffer.getInt();
+			slots[i] = position == NONE ? null : paradigms.get(position);
+		}
+		String[] stems = new String[buffer.getInt()];
+		int[] maskOfStem = new int[stems.length];
+		for (int i = 0; i < stems.length; i++) {
+			stems[i] = strings[buffer.getInt()];
+			maskOfStem[i] = buffer.getInt();
+		}
+		long[][] distinctMasks = new long[buffer.getInt()][];
+		for (int i = 0; i < distinctMasks.length; i++)
+			distinctMasks[i] = readLongs(buffer);
+		return new StemIndex(slots, stems, distinctMasks, maskOfStem, readLongs(buffer));
+	}
+
+	/**
+	 * The surface stem index: the indexed paradigms, and the entries of each surface stem with their matches - the
+	 * lexemes of a match by their position in the paradigm of the entry
+	 */
+	private static void writeSurfaceStemIndex(DataOutputStream output, StringTable strings, AttributeSetTable sets,
+											  SurfaceStemIndex index, IdentityHashMap<Paradigm, Integer> paradigmPositions,
+											  IdentityHashMap<Lexeme, int[]> lexemePositions) throws IOException {
+		ArrayList<Integer> covered = new ArrayList<>();
+		for (Paradigm paradigm : index.paradigms())
+			if (paradigmPositions.containsKey(paradigm)) covered.add(paradigmPositions.get(paradigm));
+		covered.sort(null);
+		output.writeInt(covered.size());
+		for (int position : covered)
+			output.writeInt(position);
+
+		int count = 0;
+		for (SurfaceStemIndex.Entry first : index.entries().values())
+			for (SurfaceStemIndex.Entry entry = first; entry != null; entry = entry.next)
+				if (paradigmPositions.containsKey(entry.paradigm)) count++;
+		output.writeInt(count);
+		for (Entry<String, SurfaceStemIndex.Entry> surfaceStem : index.entries().entrySet()) {
+			for (SurfaceStemIndex.Entry entry = surfaceStem.getValue(); entry != null; entry = entry.next) {
+				Integer position = paradigmPositions.get(entry.paradigm);
+				if (position == null) continue;
+				output.writeInt(strings.index(surfaceStem.getKey()));
+				output.writeInt(position);
+				output.writeInt(entry.stemType.ordinal() + 1);
+				output.writeInt(entry.stemChange);
+				writeMatches(output, strings, sets, entry.common, position, lexemePositions);
+				output.writeBoolean(entry.properName == entry.common);
+				if (entry.properName != entry.common)
+					writeMatches(output, strings, sets, entry.properName, position, lexemePositions);
+			}
+		}
+	}
+
+	private static void writeMatches(DataOutputStream output, StringTable strings, AttributeSetTable sets,
+									 SurfaceStemIndex.Match[] matches, int paradigm,
+									 IdentityHashMap<Lexeme, int[]> lexemePositions) throws IOException {
+		if (matches == null) {
+			output.writeInt(NONE);
+			return;
+		}
+		output.writeInt(matches.length);
+		for (SurfaceStemIndex.Match match : matches) {
+			output.writeInt(strings.index(match.stemVariant.stem));
+			output.writeInt(sets.index(match.stemVariant));
+			output.writeInt(match.lexemes.size());
+			for (Lexeme lexeme : match.lexemes) {
+				int[] position = lexemePositions.get(lexeme);
+				if (position == null || position[0] != paradigm)
+					throw new IOException(String.format("Lexeme %d of the surface stem index is not in its paradigm", lexeme.getID()));
+				output.writeInt(position[1]);
+			}
+		}
+	}
+
+	private static SurfaceStemIndex readSurfaceStemIndex(ByteBuffer buffer, String[] strings, AttributeValues[] sets,
+														 List<Paradigm> paradigms) {
+		ArrayList<Paradigm> covered = new ArrayList<>();
+		for (int i = buffer.getInt(); i > 0; i--)
+			covered.add(paradigms.get(buffer.getInt()));
+		SurfaceStemIndex index = new SurfaceStemIndex(covered);
+		for (int i = buffer.getInt(); i > 0; i--) {
+			String surfaceStem = strings[buffer.getInt()];
+			Paradigm paradigm = paradigms.get(buffer.getInt());
+			StemType stemType = StemType.getFromXmlId(buffer.getInt());
+			int stemChange = buffer.getInt();
+			SurfaceStemIndex.Match[] common = readMatches(buffer, strings, sets, paradigm);
+			SurfaceStemIndex.Match[] properName = buffer.get() != 0 ? common : readMatches(buffer, strings, sets, paradigm);
+			index.restore(surfaceStem, paradigm, stemType, stemChange, common, properName);
+		}
+		return index;
+	}
+
+	private static SurfaceStemIndex.Match[] readMatches(ByteBuffer buffer, String[] strings, AttributeValues[] sets,
+														Paradigm paradigm) {
+		int count = buffer.getInt();
+		if (count == NONE) return null;
+		SurfaceStemIndex.Match[] matches = new SurfaceStemIndex.Match[count];
+		for (int i = 0; i < count; i++) {
+			StemVariant stemVariant = new StemVariant(strings[buffer.getInt()], sets[buffer.getInt()]);
+			ArrayList<Lexeme> lexemes = new ArrayList<>(0);
+			for (int j = buffer.getInt(); j > 0; j--)
+				lexemes.add(paradigm.lexemes.get(buffer.getInt()));
+			matches[i] = new SurfaceStemIndex.Match(stemVariant, lexemes);
+		}
+		return matches;
+	}
+
+	private static void checkHeader(int magic, int version) throws IOException {
+		if (magic != MAGIC)
+			throw new IOException("Not a lexicon snapshot file");
+		if (version != FORMAT_VERSION)
+			throw new StaleSnapshotException(String.format("Snapshot format version %d, but %d was expected", version, FORMAT_VERSION));
+	}
+
+	private static void writeLongs(DataOutputStream output, long[] values) throws IOException {
+		output.writeInt(values.length);
+		for (long value : values)
+			output.writeLong(value);
+	}
+
+	private static long[] readLongs(ByteBuffer buffer) {
+		long[] values = new long[buffer.getInt()];
+		for (int i = 0; i < values.length; i++)
+			values[i] = buffer.getLong();
+		return values;
+	}
+
+	private static void writeStrings(DataOutputStream output, StringTable strings, List<String> list) throws IOException {
+		output.writeInt(list.size());
+		for (String s : list)
+			output.writeInt(strings.index(s));
+	}
+
+	private static ArrayList<String> readStrings(ByteBuffer buffer, String[] strings) {
+		int count = buffer.getInt();
+		ArrayList<String> result = new ArrayList<>(count);
+		for (int i = 0; i < count; i++)
+			result.add(string(strings, buffer.getInt()));
+		return result;
+	}
+
+	private static String readUTF8(ByteBuffer buffer, byte[] scratch) {
+		int length = buffer.getInt();
+		byte[] bytes = length > scratch.length ? new byte[length] : scratch;
+		buffer.get(bytes, 0, length);
+		return new String(bytes, 0, length, StandardCharsets.UTF_8);
+	}
+
+	private static String string(String[] strings, int index) {
+		return index == NONE ? null : strings[index];
+	}
+
+	/**
+	 * Table of the distinct attribute sets, each as the string indexes of its names and values in alternating order;
+	 * identical sets are stored once and compacted once when loaded.
+	 */
+	private static class AttributeSetTable {
+		private final StringTable strings;
+		private final HashMap<List<Integer>, Integer> indexes = new HashMap<>();
+		private final ArrayList<int[]> list = new ArrayList<>();
+
+		AttributeSetTable(StringTable strings) {
+			this.strings = strings;
+		}
+
+		int index(AttributeValues attributes) {
+			int[] set = new int[attributes.size() * 2];
+			int i = 0;
+			for (Entry<String, String> entry : attributes.entrySet()) {
+				set[i++] = strings.index(entry.getKey());
+				set[i++] = strings.index(entry.getValue());
+			}
+			List<Integer> key = new ArrayList<>(set.length);
+			for (int value : set) key.add(value);
+			Integer index = indexes.get(key);
+			if (index == null) {
+				index = list.size();
+				indexes.put(key, index);
+				list.add(set);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Deduplicated string table; identical strings are stored once and shared after loading.
+	 */
+	private static class StringTable {
+		private final HashMap<String, Integer> indexes = new HashMap<>();
+		private final ArrayList<String> list = new ArrayList<>();
+
+		int index(String s) {
+			if (s == null) return NONE;
+			Integer index = indexes.get(s);
+			if (index == null) {
+				index = list.size();
+				indexes.put(s, index);
+				list.add(s);
+			}
+			return index;
+		}
+	}
+}
@@ -19,15 +19,20 @@ package lv.semti.morphology.lexicon;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.google.common.collect.Maps;
 
 import lv.semti.morphology.attributes.*;
 
@@ -35,7 +40,7 @@ public class Paradigm extends AttributeValues {
 	private Lexicon lexicon;
 	private int id = 0;  // numurs pēc kārtas - ID
 	public String name = ""; // vārdiskais ID
-	private HashMap <StemType, HashMap<String, ArrayList<Lexeme>>> lexemesByStem
+	private HashMap <StemType, HashMap<String, List<Lexeme>>> lexemesByStem
 		= new HashMap<>();
 		// 1-3 hashmapi, kuros pēc saknes var atrast tai atbilstošās leksēmas
 		// vajadzētu to (un to apstaigājošās funkcijas) iznest kā klasi)
@@ -47,6 +52,8 @@ public class Paradigm extends AttributeValues {
 			.collect(Collectors.toCollection(HashSet::new));      // kuras saknes ir šai vārdgrupai (tipiski 1; darbībasvārdiem 3)
 	private String allowedGuessEndings = "";
 	public String description = "";
+	int stemIndexSlot = -1; // position of this paradigm in the StemIndex of its lexicon, if it has been indexed
+	int lexiconPosition = -1; // position of this paradigm in the paradigm list of its lexicon, kept with its registries
 
 	public Paradigm (Lexicon lexicon) {
 		this.lexicon = lexicon;
@@ -94,63 +101,86 @@ public class Paradigm extends AttributeValues {
 		output.write("</Paradigm>\n");
 	}
 
-	public Paradigm(Lexicon lexicon, Node node) {
-		super(node);
-		if (!node.getNodeName().equalsIgnoreCase("Paradigm")) throw new Error("Node '" + node.getNodeName() + "' but Paradigm expected.");
-		this.lexicon = lexicon;
+	/**
+	 * Reads a paradigm from the XML stream, starting at its start tag and ending at its end tag.
+	 * Lexemes listed inside the paradigm are added only after its endings and lemma ending are known.
+	 */
+	public Paradigm(Lexicon lexicon, XMLStreamReader reader) throws XMLStreamException {
+		this(lexicon);
+		if (!reader.getLocalName().equalsIgnoreCase("Paradigm")) throw new Error("Node '" + reader.getLocalName() + "' but Paradigm expected.");
 
-		Node n = node.getAttributes().getNamedItem("Stems");
+		String n = reader.getAttributeValue(null, "Stems");
 		if (n != null)
-			this.setStems(Integer.parseInt(n.getTextContent()));
+			this.setStems(Integer.parseInt(n));
 
-		n = node.getAttributes().getNamedItem("ID");
+		n = reader.getAttributeValue(null, "ID");
 		if (n != null)
-			this.setID(Integer.parseInt(n.getTextContent()));
+			this.setID(Integer.parseInt(n));
 
-		n = node.getAttributes().getNamedItem("Name");
+		n = reader.getAttributeValue(null, "Name");
 		if (n != null)
-			this.name = n.getTextContent();
+			this.name = n;
 
-		n = node.getAttributes().getNamedItem("Description");
+		n = reader.getAttributeValue(null, "Description");
 		if (n != null)
-			this.setDescription(n.getTextContent());
-
-		NodeList nodes = node.getChildNodes();
-		for (int i = 0; i < nodes.getLength(); i++) {
-			if (nodes.item(i).getNodeName().equals("Ending"))
-				addEnding(new Ending(this, nodes.item(i)));
+			this.setDescription(n);
+
+		String lemmaEndingID = reader.getAttributeValue(null, "LemmaEnding");
+		String guessEndings = reader.getAttributeValue(null, "AllowedGuessEndings");
+
+		ArrayList<Lexeme> paradigmLexemes = new ArrayList<>();
+		while (Lexicon.nextChildElement(reader)) {
+			switch (reader.getLocalName()) {
+				case "Attributes":
+					addAttributes(reader);
+					Lexicon.skipElement(reader);
+					break;
+				case "Ending":
+					addEnding(new Ending(this, reader));
+					break;
+				case "Lexeme":
+					paradigmLexemes.add(new Lexeme(this, reader));
+					break;
+				default:
+					Lexicon.skipElement(reader);
+			}
 		}
 
-		n = node.getAttributes().getNamedItem("LemmaEnding");
-		if (n != null)
-			this.setLemmaEnding(Integer.parseInt(n.getTextContent()));
+		if (lemmaEndingID != null)
+			this.setLemmaEnding(Integer.parseInt(lemmaEndingID));
 		
-		n = node.getAttributes().getNamedItem("AllowedGuessEndings");
-		if (n != null)
-			this.allowedGuessEndings = n.getTextContent();
+		if (guessEndings != null)
+			this.allowedGuessEndings = guessEndings;
 
-		for (int i = 0; i < nodes.getLength(); i++) {
-			if (nodes.item(i).getNodeName().equals("Lexeme")) {
-			    Lexeme l = new Lexeme(this, nodes.item(i));
-				addLexeme(l);
-			}
-		}
+		for (Lexeme l : paradigmLexemes)
+			addLexeme(l);
 	}
 
 	/**
-	 * Takes an XML-sublexicon node of type 'Paradigm', and takes the Lexeme elements from there
+	 * Takes the Lexeme elements from an XML-sublexicon element of type 'Paradigm', adding them one by one as they are
+	 * read from the stream.
 	 */
-	public void addLexemesFromXML(Node node) {
-		if (!node.getNodeName().equalsIgnoreCase("Paradigm")) throw new Error("Node '" + node.getNodeName() + "' but Paradigm expected.");
+	public void addLexemesFromXML(XMLStreamReader reader) throws XMLStreamException {
+		ArrayList<Lexeme> sublexicon = new ArrayList<>();
+		readLexemesFromXML(reader, sublexicon);
+		for (Lexeme l : sublexicon)
+			addLexeme(l);
+	}
 
-		NodeList nodes = node.getChildNodes();
-		for (int i = 0; i < nodes.getLength(); i++) {
-			if (nodes.item(i).getNodeName().equals("Lexeme")) {
-                Lexeme l = new Lexeme(this, nodes.item(i));
+	/**
+	 * Reads the Lexeme elements of an XML-sublexicon element of type 'Paradigm' into the given list without adding
+	 * them to the paradigm, skipping proper names below the frequency floor.
+	 */
+	void readLexemesFromXML(XMLStreamReader reader, List<Lexeme> result) throws XMLStreamException {
+		if (!reader.getLocalName().equalsIgnoreCase("Paradigm")) throw new Error("Node '" + reader.getLocalName() + "' but Paradigm expected.");
+
+		while (Lexicon.nextChildElement(reader)) {
+			if (reader.getLocalName().equals("Lexeme")) {
+                Lexeme l = new Lexeme(this, reader);
 				String frequency = l.getValue("Skaits"); // FIXME - hardcoded value
 				if (frequency == null || Integer.parseInt(frequency) > Lexicon.proper_name_frequency_floor)
-					addLexeme(l);
-			}
+					result.add(l);
+			} else Lexicon.skipElement(reader);
 		}
 	}
 	
@@ -161,7 +191,7 @@ public class Paradigm extends AttributeValues {
 		Paradigm clone;
 		try {
 			clone = (Paradigm) super.clone();
-			clone.lexemesByStem = (HashMap<StemType, HashMap<String, ArrayList<Lexeme>>>)lexemesByStem.clone();
+			clone.lexemesByStem = (HashMap<StemType, HashMap<String, List<Lexeme>>>)lexemesByStem.clone();
 			clone.lexemes = (ArrayList <Lexeme>)lexemes.clone();
 			clone.endings = (ArrayList <Ending>)endings.clone();
 			clone.id = id;
@@ -186,6 +216,7 @@ public class Paradigm extends AttributeValues {
 	}
 
 	public void addLexeme (Lexeme lexeme) {
+		checkEditable();
 		lexeme.setParadigm(this);
 
 		if (lexeme.getID() == 0) {
@@ -205,11 +236,16 @@ public class Paradigm extends AttributeValues {
 
 		for (StemType stemType : stems)
 		{
-			ArrayList<Lexeme> existing = lexemesByStem.get(stemType)
+			List<Lexeme> existing = lexemesByStem.get(stemType)
 					.computeIfAbsent(lexeme.getStem(stemType), k -> new ArrayList<>());
 			existing.add(lexeme);
+			if (lexicon != null) lexicon.stemAdded(this, stemType, lexeme.getStem(stemType));
 		}
 		lexemes.add(lexeme);
+		if (lexicon != null) {
+			lexicon.lexemeAdded(this, lexeme);
+			lexicon.lexemeChanged(this, lexeme);
+		}
 
 		if (lexeme.getValue(AttributeNames.i_Lemma) == null && getLemmaEnding() != null)
 			lexeme.addAttribute(
@@ -225,27 +261,61 @@ public class Paradigm extends AttributeValues {
 		String lemma = lexeme.getValue(AttributeNames.i_Lemma);
         if (lemma.matches(".*[ ./'\\d]+.*") && lemma.length() > 1
 				&& !lemma.matches("\\.+")) {
-		    this.lexicon.automats.addException(lemma);
+		    this.lexicon.addTokenizerException(lemma);
         }
 	}
 
+	/**
+	 * Puts an already complete lexeme (with ID, stems and lemma) back in the paradigm indexes, as when loading a
+	 * lexicon snapshot - hardcoded forms and tokenizer exceptions are restored separately.
+	 */
+	void restoreLexeme (Lexeme lexeme) {
+		lexeme.setParadigm(this);
+		lexemesByID.put(lexeme.getID(), lexeme);
+		for (StemType stemType : stems) {
+			lexemesByStem.get(stemType).computeIfAbsent(lexeme.getStem(stemType), k -> new ArrayList<>()).add(lexeme);
+			if (lexicon != null) lexicon.stemAdded(this, stemType, lexeme.getStem(stemType));
+		}
+		lexemes.add(lexeme);
+		if (lexicon != null) {
+			lexicon.lexemeAdded(this, lexeme);
+			lexicon.lexemeChanged(this, lexeme);
+		}
+	}
+
+	/**
+	 * Called after the ID of a lexeme is changed, to find it by the new one - unless another lexeme of the paradigm
+	 * already has it, which stays the one that is found
+	 */
+	void lexemeIDChanged(Lexeme lexeme, int oldID) {
+		lexemesByID.remove(oldID, lexeme);
+		lexemesByID.putIfAbsent(lexeme.getID(), lexeme);
+		if (lexicon != null && lexicon.registered(this)) lexicon.idsChanged();
+	}
+
 	public void removeLexeme (Lexeme lexeme) {
+		checkEditable();
 		// ja nebūs tādas leksēmas, tad nekas arī nenotiks
 		lexemes.remove(lexeme);
-		lexemesByID.remove(lexeme.getID());
+		lexemesByID.remove(lexeme.getID(), lexeme);
 		for (StemType stemType : stems)
 		{
-			ArrayList<Lexeme> matchingstems = lexemesByStem.get(stemType).get(lexeme.getStem(stemType));
+			List<Lexeme> matchingstems = lexemesByStem.get(stemType).get(lexeme.getStem(stemType));
 			if (matchingstems != null) {
 				matchingstems.remove(lexeme);
-				if (matchingstems.isEmpty())
+				if (matchingstems.isEmpty()) {
 					lexemesByStem.get(stemType).remove(lexeme.getStem(stemType));
+					lexicon.stemRemoved(this, stemType, lexeme.getStem(stemType));
+				}
 			}
 		}
+		lexicon.lexemeRemoved(this, lexeme);
+		lexicon.lexemeChanged(this, lexeme);
 		this.lexicon.hardcodedForms.remove(lexeme.getID(), lexeme);
 	}
 
 	public void addEnding (Ending ending) {
+		checkEditable();
 		if (ending.getID() == 0) {
 			ending.setID( lexicon.maxEndingID() + 1 );
 		}
@@ -255,11 +325,16 @@ public class Paradigm extends AttributeValues {
 	}
 
 	public void removeEnding (Ending ending) {
+		checkEditable();
 		// ja nebūs tādas galotnes, tad nekas arī nenotiks
 		endings.remove(ending);
 		lexicon.invalidateAllEndings();
 	}
 
+	void checkEditable() {
+		if (lexicon != null) lexicon.checkEditable();
+	}
+
 	/**
 	 * Return a list of endings matching given search criterion - an attribute
 	 * value pair.
@@ -299,8 +374,17 @@ public class Paradigm extends AttributeValues {
 		return id;
 	}
 
+	/**
+	 * Changes the ID; if the paradigm is already in a lexicon, the lexicon finds it by its new ID afterwards
+	 */
 	public void setID(int id) {
+		boolean registered = lexicon != null && lexicon.registered(this);
+		if (registered) checkEditable();
 		this.id = id;
+		if (registered) {
+			lexicon.idsChanged();
+			lexicon.paradigmsChanged();
+		}
 	}
 
 	public void setLemmaEnding(int lemmaEnding) {
@@ -330,6 +414,14 @@ public class Paradigm extends AttributeValues {
 		return name;
 	}
 
+	String getAllowedGuessEndings() {
+		return allowedGuessEndings;
+	}
+
+	void setAllowedGuessEndings(String allowedGuessEndings) {
+		this.allowedGuessEndings = allowedGuessEndings;
+	}
+
 	public void setDescription(String description) {
 		this.description = description;
 	}
@@ -341,9 +433,28 @@ public class Paradigm extends AttributeValues {
 		return null;
 	}
 
-	public HashMap<String, ArrayList<Lexeme>> getLexemesByStem(StemType stemType) {
-		//TODO - jāprotektē
-		return lexemesByStem.get(stemType);
+	/**
+	 * The lexemes of this paradigm by their stem of the given type. Once the lexicon is frozen and shared, the map
+	 * and its lists are read-only views.
+	 */
+	public Map<String, List<Lexeme>> getLexemesByStem(StemType stemType) {
+		Map<String, List<Lexeme>> result = lexemesByStem.get(stemType);
+		if (result == null || !frozen()) return result;
+		return Maps.transformValues(Collections.unmodifiableMap(result), Collections::unmodifiableList);
+	}
+
+	/**
+	 * The lexemes of this paradigm with the given stem of the given type, the same as getLexemesByStem(stemType).get(stem)
+	 * without the view of the whole map; null if there are none
+	 */
+	public List<Lexeme> getLexemesByStem(StemType stemType, String stem) {
+		List<Lexeme> result = lexemesByStem.get(stemType).get(stem);
+		if (result == null || !frozen()) return result;
+		return Collections.unmodifiableList(result);
+	}
+
+	private boolean frozen() {
+		return lexicon != null && lexicon.isFrozen();
 	}
 
 	/**
@@ -351,8 +462,15 @@ public class Paradigm extends AttributeValues {
 	 * 	last letter(s?) of that stem.
  	 */
 	public boolean allowedGuess(String stem) {
+		return allowedGuess(stem, this.lexicon.guessAllParadigms);
+	}
+
+	/**
+	 * Same as allowedGuess(stem), with the guessAllParadigms setting given by the caller instead of the lexicon
+	 */
+	public boolean allowedGuess(String stem, boolean guessAllParadigms) {
 		if (allowedGuessEndings.isEmpty()) return true; // FIXME - workaround until all paradigms have this data filled
-		if ((allowedGuessEndings.indexOf('!') >= 0) && !this.lexicon.guessAllParadigms) return false;
+		if ((allowedGuessEndings.indexOf('!') >= 0) && !guessAllParadigms) return false;
 		if (stem.isEmpty()) return false;
 
 		if (this.id == 12 && stem.endsWith("as")) return true; // FIXME Hardcoded -as inflexible nouns like Lithuanian derived surnames Arvydas etc
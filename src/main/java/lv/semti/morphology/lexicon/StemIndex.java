@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.lexicon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of all lexeme stems of the lexicon: for each stem, a bitmask of the paradigm and stem type pairs where it
+ * occurs. One lookup tells whether a stem is worth looking up in any paradigm at all, which most of the stems that
+ * analysis tries are not.
+ *
+ * The masks are shared - there are few distinct ones, as most stems occur in one or two paradigms. The index is kept
+ * up to date as lexemes are added to or removed from paradigms of its lexicon; a paradigm that was not in the
+ * lexicon when the index was built has no bits, and its stems are always reported as possibly present.
+ */
+public final class StemIndex {
+	private static final int STEM_TYPES = StemType.values().length;
+
+	/**
+	 * Set of paradigm and stem type pairs
+	 */
+	public static final class Mask {
+		private final long[] bits;
+
+		private Mask(long[] bits) {
+			this.bits = bits;
+		}
+
+		/**
+		 * Whether the stem may occur as the stem of this ending - in its paradigm, with its stem type
+		 */
+		public boolean contains(Ending ending) {
+			int bit = bit(ending.getParadigm(), ending.stemType);
+			if (bit < 0) return true;
+			int word = bit >>> 6;
+			return word < bits.length && (bits[word] & (1L << bit)) != 0;
+		}
+
+		public boolean isEmpty() {
+			return bits.length == 0;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Mask && Arrays.equals(bits, ((Mask) o).bits);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(bits);
+		}
+	}
+
+	/**
+	 * The mask of stems that occur nowhere
+	 */
+	public static final Mask NONE = new Mask(new long[0]);
+
+	private final HashMap<String, Mask> masks = new HashMap<>();
+	private final HashMap<Mask, Mask> pool = new HashMap<>();
+	private final List<Paradigm> paradigms = new ArrayList<>();
+	private final BitSet characters = new BitSet(); // that occur in any stem; not cleared when stems are removed
+
+	StemIndex(List<Paradigm> lexiconParadigms) {
+		pool.put(NONE, NONE);
+		HashMap<String, long[]> bits = new HashMap<>();
+		for (Paradigm paradigm : lexiconParadigms) {
+			paradigm.stemIndexSlot = paradigms.size();
+			paradigms.add(paradigm);
+			for (StemType stemType : paradigm.getStems()) {
+				int bit = bit(paradigm, stemType);
+				for (String stem : paradigm.getLexemesByStem(stemType).keySet()) {
+					addCharacters(stem);
+					long[] mask = bits.get(stem);
+					if (mask == null || (bit >>> 6) >= mask.length) {
+						mask = mask == null ? new long[(bit >>> 6) + 1] : Arrays.copyOf(mask, (bit >>> 6) + 1);
+						bits.put(stem, mask);
+					}
+					mask[bit >>> 6] |= 1L << bit;
+				}
+			}
+		}
+		for (Map.Entry<String, long[]> stem : bits.entrySet())
+			masks.put(stem.getKey(), intern(stem.getValue()));
+	}
+
+	/**
+	 * Restores an index stored by LexiconSnapshot, see its accessors below
+	 * @param slots - the paradigms by their slot number, null for a slot whose paradigm is no longer in the lexicon
+	 * @param distinctMasks - the bits of the masks that the stems refer to
+	 * @param maskOfStem - for each stem, the position of its mask in distinctMasks
+	 */
+	StemIndex(Paradigm[] slots, String[] stems, long[][] distinctMasks, int[] maskOfStem, long[] characters) {
+		pool.put(NONE, NONE);
+		for (int slot = 0; slot < slots.length; slot++) {
+			if (slots[slot] != null) slots[slot].stemIndexSlot = slot;
+			paradigms.add(slots[slot]);
+		}
+		Mask[] shared = new Mask[distinctMasks.length];
+		for (int i = 0; i < shared.length; i++)
+			shared[i] = intern(distinctMasks[i]);
+		for (int i = 0; i < stems.length; i++)
+			masks.put(stems[i], shared[maskOfStem[i]]);
+		this.characters.or(BitSet.valueOf(characters));
+	}
+
+	/** The paradigms by their slot number, for LexiconSnapshot */
+	List<Paradigm> slots() {
+		return paradigms;
+	}
+
+	/** The masks of all stems, for LexiconSnapshot */
+	Map<String, Mask> masks() {
+		return masks;
+	}
+
+	/** The bits of a mask, for LexiconSnapshot */
+	static long[] bits(Mask mask) {
+		return mask.bits;
+	}
+
+	/** The characters that occur in the stems, for LexiconSnapshot */
+	long[] characters() {
+		return characters.toLongArray();
+	}
+
+	private static int bit(Paradigm paradigm, StemType stemType) {
+		int slot = paradigm.stemIndexSlot;
+		return slot < 0 ? -1 : slot * STEM_TYPES + stemType.ordinal();
+	}
+
+	private Mask intern(long[] bits) {
+		Mask mask = new Mask(bits);
+		Mask existing = pool.putIfAbsent(mask, mask);
+		return existing != null ? existing : mask;
+	}
+
+	/**
+	 * The paradigm and stem type pairs where this stem occurs, NONE if it is not a stem of any lexeme
+	 */
+	public Mask get(String stem) {
+		Mask mask = masks.get(stem);
+		return mask != null ? mask : NONE;
+	}
+
+	/**
+	 * Whether this stem may occur as the stem of this ending, see Mask.contains
+	 */
+	public boolean contains(String stem, Ending ending) {
+		return get(stem).contains(ending);
+	}
+
+	/**
+	 * Number of distinct stems
+	 */
+	public int size() {
+		return masks.size();
+	}
+
+	/**
+	 * Whether the character occurs in any stem (or did, in a stem that has been removed)
+	 */
+	public boolean hasCharacter(char c) {
+		return characters.get(c);
+	}
+
+	private void addCharacters(String stem) {
+		for (int i = 0; i < stem.length(); i++)
+			characters.set(stem.charAt(i));
+	}
+
+	void add(Paradigm paradigm, StemType stemType, String stem) {
+		addCharacters(stem);
+		int bit = bit(paradigm, stemType);
+		if (bit < 0 || !belongs(paradigm)) return;
+		long[] bits = get(stem).bits;
+		if ((bit >>> 6) < bits.length && (bits[bit >>> 6] & (1L << bit)) != 0) return;
+		bits = Arrays.copyOf(bits, Math.max(bits.length, (bit >>> 6) + 1));
+		bits[bit >>> 6] |= 1L << bit;
+		masks.put(stem, intern(bits));
+	}
+
+	/**
+	 * Clears the bit of the stem, after the last lexeme with this stem is removed from the paradigm
+	 */
+	void remove(Paradigm paradigm, StemType stemType, String stem) {
+		int bit = bit(paradigm, stemType);
+		if (bit < 0 || !belongs(paradigm)) return;
+		long[] bits = get(stem).bits;
+		if ((bit >>> 6) >= bits.length || (bits[bit >>> 6] & (1L << bit)) == 0) return;
+		bits = bits.clone();
+		bits[bit >>> 6] &= ~(1L << bit);
+		int length = bits.length;
+		while (length > 0 && bits[length - 1] == 0) length--;
+		if (length == 0) masks.remove(stem);
+		else masks.put(stem, intern(Arrays.copyOf(bits, length)));
+	}
+
+	private boolean belongs(Paradigm paradigm) {
+		int slot = paradigm.stemIndexSlot;
+		return slot < paradigms.size() && paradigms.get(slot) == paradigm;
+	}
+}
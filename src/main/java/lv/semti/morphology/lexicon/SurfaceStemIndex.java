@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ * Author: Pēteris Paikens
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package lv.semti.morphology.lexicon;
+
+import lv.semti.morphology.analyzer.Mijas;
+import lv.semti.morphology.analyzer.StemVariant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the surface stems that the lexemes of the lexicon get with stem changes (mijas): for each surface stem,
+ * the lexemes that it is recognized as, with the stem variant attributes, per paradigm, stem type and stem change.
+ * With it, the endings with these stem changes need no Mijas.applyFormToLemmaMija and backwardsVerification calls
+ * to recognize a word - they are made once per surface stem, when the index is built, and the results are stored
+ * exactly as they come out; and a stem that is not in the index is not a form of any lexeme with these endings.
+ *
+ * The surface stems are found by applying the stem changes to the lexeme stems (Mijas.applyLemmaToFormMija), so
+ * only the stem changes where recognition is verified by generation are indexed - those that
+ * Mijas.backwardsVerification checks strictly, except 7, which has an exception. The other stem changes (and no stem
+ * change at all, which the analyzer handles with the StemIndex) also recognize forms that they don't generate. Also
+ * not indexed are the stem changes that depend on the third stem, in paradigms that have no third stem - there the
+ * analyzer uses the surface stem in its place.
+ *
+ * The index is kept up to date as lexemes are added to or removed from paradigms of its lexicon; after endings or
+ * paradigms change, the lexicon builds a new one.
+ */
+public final class SurfaceStemIndex {
+	// stem changes that use the third stem
+	private static final Set<Integer> THIRD_STEM = new HashSet<>(Arrays.asList(6, 7, 15, 23, 36, 37));
+
+	/**
+	 * A stem variant of a surface stem, with the lexemes of the paradigm that it is recognized as
+	 */
+	public static final class Match {
+		public final StemVariant stemVariant;
+		public final List<Lexeme> lexemes;
+
+		Match(StemVariant stemVariant, List<Lexeme> verified) {
+			this.stemVariant = stemVariant;
+			this.lexemes = verified.isEmpty() ? Collections.emptyList() : verified.size() == 1 ?
+					Collections.singletonList(verified.get(0)) : Collections.unmodifiableList(verified);
+		}
+	}
+
+	// the analysis of one surface stem with one paradigm, stem type and stem change
+	static final class Entry {
+		final Paradigm paradigm;
+		final StemType stemType;
+		final int stemChange;
+		Match[] common;
+		Match[] properName;
+		Entry next;
+
+		Entry(Paradigm paradigm, StemType stemType, int stemChange) {
+			this.paradigm = paradigm;
+			this.stemType = stemType;
+			this.stemChange = stemChange;
+		}
+
+		boolean isFor(Paradigm paradigm, StemType stemType, int stemChange) {
+			return this.paradigm == paradigm && this.stemType == stemType && this.stemChange == stemChange;
+		}
+	}
+
+	private final HashMap<String, Entry> entries = new HashMap<>();
+	private final Set<Paradigm> paradigms = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	SurfaceStemIndex(List<Paradigm> lexiconParadigms) {
+		for (Paradigm paradigm : lexiconParadigms) {
+			paradigms.add(paradigm);
+			List<Ending> indexed = indexedEndings(paradigm);
+			if (indexed.isEmpty()) continue;
+			for (Lexeme lexeme : paradigm.lexemes)
+				update(paradigm, lexeme, indexed, false);
+		}
+	}
+
+	/**
+	 * Restores an index stored by LexiconSnapshot, without entries - see restore
+	 * @param covered - the paradigms that were indexed
+	 */
+	SurfaceStemIndex(Collection<Paradigm> covered) {
+		paradigms.addAll(covered);
+	}
+
+	/**
+	 * Adds an entry stored by LexiconSnapshot
+	 */
+	void restore(String surfaceStem, Paradigm paradigm, StemType stemType, int stemChange, Match[] common, Match[] properName) {
+		Entry entry = new Entry(paradigm, stemType, stemChange);
+		entry.common = common;
+		entry.properName = properName;
+		link(surfaceStem, entry);
+	}
+
+	/** The indexed paradigms, for LexiconSnapshot */
+	Set<Paradigm> paradigms() {
+		return paradigms;
+	}
+
+	/** The first entry of each surface stem, the others linked from it, for LexiconSnapshot */
+	Map<String, Entry> entries() {
+		return entries;
+	}
+
+	/**
+	 * Whether the surface stems of this ending are in the index - if so, get gives all that the analysis with
+	 * Mijas would find
+	 */
+	public boolean covers(Ending ending) {
+		return isIndexed(ending) && paradigms.contains(ending.getParadigm());
+	}
+
+	private static boolean isIndexed(Ending ending) {
+		int stemChange = ending.getMija();
+		return Mijas.isStrictlyVerified(stemChange) && stemChange != 7 && // "dodi" is recognized, but not generated
+				(!THIRD_STEM.contains(stemChange) || ending.getParadigm().getStems().contains(StemType.STEM3));
+	}
+
+	/**
+	 * The stem variants of this surface stem with this ending, in the order of Mijas.applyFormToLemmaMija, with the
+	 * lexemes that pass backwards verification; null if it is not recognized as any lexeme. Only for the endings that
+	 * the index covers.
+	 */
+	public Match[] get(String surfaceStem, Ending ending, boolean properName) {
+		for (Entry entry = entries.get(surfaceStem); entry != null; entry = entry.next)
+			if (entry.isFor(ending.getParadigm(), ending.stemType, ending.getMija()))
+				return properName ? entry.properName : entry.common;
+		return null;
+	}
+
+	/**
+	 * Number of distinct surface stems
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Reanalyzes the surface stems of the lexeme, after it is added to or removed from the paradigm
+	 */
+	void update(Paradigm paradigm, Lexeme lexeme) {
+		if (paradigms.contains(paradigm))
+			update(paradigm, lexeme, indexedEndings(paradigm), true);
+	}
+
+	private static List<Ending> indexedEndings(Paradigm paradigm) {
+		List<Ending> result = new ArrayList<>();
+		for (Ending ending : paradigm.endings) {
+			if (!isIndexed(ending)) continue;
+			boolean seen = false;
+			for (Ending other : result)
+				seen |= other.stemType == ending.stemType && other.getMija() == ending.getMija();
+			if (!seen) result.add(ending);
+		}
+		return result;
+	}
+
+	/**
+	 * (Re)analyzes the surface stems that the lexeme gets with the endings - with each of them, the same lexemes as
+	 * this one can be found: those that have the same stem. The entries already there are up to date while the
+	 * index is being built, as the lexicon is complete by then.
+	 */
+	private void update(Paradigm paradigm, Lexeme lexeme, List<Ending> endings, boolean reanalyze) {
+		for (Ending ending : endings) {
+			String stem = lexeme.getStem(ending.stemType);
+			if (stem == null) continue;
+			String thirdStem = paradigm.getStems().contains(StemType.STEM3) ? lexeme.getStem(StemType.STEM3) : stem;
+			Set<String> surfaceStems = new LinkedHashSet<>();
+			for (boolean superlative : new boolean[] {false, true})
+				for (boolean properName : new boolean[] {false, true})
+					for (StemVariant variant : Mijas.applyLemmaToFormMija(stem, ending.getMija(), thirdStem, superlative, properName))
+						surfaceStems.add(variant.stem.toLowerCase());
+			for (String surfaceStem : surfaceStems) {
+				Entry entry = null;
+				for (Entry e = entries.get(surfaceStem); e != null && entry == null; e = e.next)
+					if (e.isFor(paradigm, ending.stemType, ending.getMija())) entry = e;
+				if (entry != null && !reanalyze) continue;
+				if (entry == null) entry = new Entry(paradigm, ending.stemType, ending.getMija());
+				entry.common = analyze(surfaceStem, entry, false);
+				entry.properName = analyze(surfaceStem, entry, true);
+				if (sameMatches(entry.common, entry.properName)) entry.properName = entry.common;
+				if (entry.common == null && entry.properName == null) unlink(surfaceStem, entry);
+				else link(surfaceStem, entry);
+			}
+		}
+	}
+
+	private void link(String surfaceStem, Entry entry) {
+		Entry first = entries.get(surfaceStem);
+		for (Entry e = first; e != null; e = e.next)
+			if (e == entry) return;
+		entry.next = first;
+		entries.put(surfaceStem, entry);
+	}
+
+	private void unlink(String surfaceStem, Entry entry) {
+		Entry first = entries.get(surfaceStem);
+		if (first == entry) {
+			if (entry.next == null) entries.remove(surfaceStem);
+			else entries.put(surfaceStem, entry.next);
+			return;
+		}
+		for (Entry e = first; e != null; e = e.next)
+			if (e.next == entry) e.next = entry.next;
+	}
+
+	private static boolean sameMatches(Match[] a, Match[] b) {
+		if (a == null || b == null || a.length != b.length) return a == b;
+		for (int i = 0; i < a.length; i++) {
+			if (!a[i].stemVariant.stem.equals(b[i].stemVariant.stem) || !a[i].stemVariant.equals(b[i].stemVariant) ||
+					!a[i].lexemes.equals(b[i].lexemes))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * The same as the analyzer does without the index
+	 */
+	private static Match[] analyze(String surfaceStem, Entry entry, boolean properName) {
+		boolean hasThirdStem = entry.paradigm.getStems().contains(StemType.STEM3);
+		Map<String, List<Lexeme>> lexemesByStem = entry.paradigm.getLexemesByStem(entry.stemType);
+		List<StemVariant> stemVariants = Mijas.applyFormToLemmaMija(surfaceStem, entry.stemChange, properName);
+		Match[] result = new Match[stemVariants.size()];
+		boolean found = false;
+		for (int i = 0; i < result.length; i++) {
+			StemVariant stemVariant = stemVariants.get(i);
+			ArrayList<Lexeme> verified = new ArrayList<>(0);
+			List<Lexeme> lexemes = lexemesByStem.get(stemVariant.stem);
+			if (lexemes != null)
+				for (Lexeme lexeme : lexemes) {
+					String thirdStem = hasThirdStem ? lexeme.getStem(StemType.STEM3) : surfaceStem;
+					if (Mijas.backwardsVerification(stemVariant, surfaceStem, entry.stemChange, thirdStem, properName))
+						verified.add(lexeme);
+				}
+			found |= !verified.isEmpty();
+			result[i] = new Match(stemVariant, verified);
+		}
+		return found ? result : null;
+	}
+}
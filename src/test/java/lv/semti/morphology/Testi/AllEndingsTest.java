@@ -0,0 +1,73 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.AllEndings;
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.lexicon.Ending;
+import lv.semti.morphology.lexicon.Paradigm;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AllEndingsTest {
+	/**
+	 * The automaton finds the same endings as checking each ending: those that leave a stem of at least two
+	 * characters (and the empty endings for any word), longest first and otherwise in the order of the lexicon
+	 */
+	@Test
+	public void matchedEndings() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		List<Ending> all = new ArrayList<>();
+		for (Paradigm paradigm : analyzer.paradigms)
+			all.addAll(paradigm.endings);
+		AllEndings allEndings = new AllEndings(all);
+
+		List<String> words = new ArrayList<>(Arrays.asList("", "a", "ai", "uo", "bruoleits", "bruoļam", "dareitu",
+				"vysuzaļuokais", "xyzzyt", "Ābece", "123", "ci", "mamai"));
+		for (Ending ending : all)
+			words.add("ma" + ending.getEnding());
+
+		for (String word : words) {
+			List<Ending> expected = new ArrayList<>();
+			for (int length = Math.max(word.length() - 2, 0); length >= 0; length--)
+				for (Ending ending : all)
+					if (ending.getEnding().length() == length && word.endsWith(ending.getEnding()))
+						expected.add(ending);
+			assertEquals(word, expected, allEndings.matchedEndings(word));
+
+			int state = allEndings.match(word);
+			assertEquals(word, expected, Arrays.asList(allEndings.endings(state)));
+			for (int length = 0; length <= word.length(); length++) {
+				List<Ending> ofLength = new ArrayList<>();
+				for (Ending ending : expected)
+					if (ending.getEnding().length() == length) ofLength.add(ending);
+				assertEquals(word + " " + length, ofLength, Arrays.asList(allEndings.endings(state))
+						.subList(allEndings.from(state, length), allEndings.to(state, length)));
+			}
+		}
+
+		for (Ending ending : all)
+			assertEquals(ending.getID(), allEndings.endingByID(ending.getID()).getID());
+		assertNull(allEndings.endingByID(-12345));
+	}
+}
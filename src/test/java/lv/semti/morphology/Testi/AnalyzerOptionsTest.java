@@ -0,0 +1,95 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.analyzer.AnalyzerOptions;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AnalyzerOptionsTest {
+	private static final String UNKNOWN = "kirbuleits"; // not in the lexicon, but can be guessed
+	private static Analyzer analyzer;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		analyzer = new Analyzer("Latgalian.xml", false);
+	}
+
+	@Test
+	public void fingerprint() {
+		AnalyzerOptions guessing = AnalyzerOptions.DEFAULT.enableGuessing(true);
+		assertTrue(guessing.enableGuessing());
+		assertFalse(AnalyzerOptions.DEFAULT.enableGuessing());
+		assertNotEquals(AnalyzerOptions.DEFAULT.fingerprint(), guessing.fingerprint());
+		assertEquals(AnalyzerOptions.DEFAULT, guessing.enableGuessing(false));
+		assertEquals(AnalyzerOptions.DEFAULT.fingerprint(), guessing.enableGuessing(false).fingerprint());
+		assertSame(guessing, guessing.enableGuessing(true));
+
+		analyzer.defaultSettings();
+		assertEquals(AnalyzerOptions.DEFAULT, analyzer.getOptions());
+		analyzer.setOptions(guessing.enableVocative(true));
+		assertTrue(analyzer.enableGuessing);
+		assertTrue(analyzer.enableVocative);
+		assertEquals(guessing.enableVocative(true), analyzer.getOptions());
+		analyzer.defaultSettings();
+	}
+
+	@Test
+	public void flagsAreNotCachedOver() {
+		analyzer.defaultSettings();
+		analyzer.setCacheSize(1000);
+		analyzer.clearCache();
+		assertFalse(analyzer.analyze(UNKNOWN).isRecognized());
+		analyzer.enableGuessing = true;
+		assertTrue(analyzer.analyze(UNKNOWN).isRecognized());
+		analyzer.enableGuessing = false;
+		assertFalse(analyzer.analyzeShared(UNKNOWN).isRecognized());
+	}
+
+	@Test
+	public void optionsPerCall() throws InterruptedException {
+		analyzer.defaultSettings();
+		analyzer.setCacheSize(1000);
+		analyzer.clearCache();
+		final AnalyzerOptions guessing = AnalyzerOptions.DEFAULT.enableGuessing(true);
+		final AtomicInteger wrong = new AtomicInteger();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			final boolean guess = t % 2 == 0;
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < 200; i++) {
+					boolean recognized = guess ?
+							analyzer.analyze(UNKNOWN, guessing).isRecognized() :
+							analyzer.analyzeShared(UNKNOWN, AnalyzerOptions.DEFAULT).isRecognized();
+					if (recognized != guess) wrong.incrementAndGet();
+				}
+			}));
+		}
+		for (Thread thread : threads) thread.start();
+		for (Thread thread : threads) thread.join();
+		assertEquals(0, wrong.get());
+		assertFalse(analyzer.enableGuessing);
+	}
+}
@@ -0,0 +1,92 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.analyzer.Word;
+import lv.semti.morphology.analyzer.Wordform;
+import lv.semti.morphology.attributes.AttributeNames;
+import lv.semti.morphology.corpus.Statistics;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BestWordformTest {
+	private static final String[] WORDS = {"bruoleits", "Bruoleišim", "bruoļa", "akmiņs", "auklēja", "aukleju", "dareit",
+			"dareituokais", "darejušuokais", "dūmuoju", "dūmuos", "eļkšņa", "guli", "deveni", "cīši", "ceļš", "Jezus",
+			"nadareit", "juodora", "sadūmuoja", "vysdareituokais", "pokemonizēja", "Kirbuļs", "12", "12.", "a", "", "-"};
+
+	/**
+	 * The best analysis is the best wordform of the full analysis, and the top k are its wordforms in the order of
+	 * their estimates, with the ones listed first among equals
+	 */
+	@Test
+	public void sameAsFullAnalysis() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		Statistics statistics = Statistics.getStatistics();
+		for (boolean guessing : new boolean[]{false, true}) {
+			analyzer.enableGuessing = guessing;
+			for (int round = 0; round < 2; round++) // uncached and cached
+				for (String token : WORDS) {
+					Word word = analyzer.analyze(token);
+					Wordform best = word.getBestWordform();
+					Wordform found = analyzer.analyzeBest(token);
+					assertEquals(token, best == null ? null : best.toJSON(), found == null ? null : found.toJSON());
+
+					List<Wordform> ranked = new ArrayList<>(word.wordforms); // a stable sort keeps equals in order
+					ranked.sort(Comparator.comparingDouble((Wordform wf) -> -statistics.getEstimate(wf)));
+					for (int k = 0; k <= ranked.size() + 1; k++) {
+						List<Wordform> top = analyzer.analyzeTopK(token, k);
+						assertEquals(token + " " + k, Math.min(k, ranked.size()), top.size());
+						for (int i = 0; i < top.size(); i++)
+							assertEquals(token + " " + k, ranked.get(i).toJSON(), top.get(i).toJSON());
+					}
+				}
+		}
+	}
+
+	/**
+	 * The analysis that is ranked is put in the word cache, so a token seen again is ranked from it
+	 */
+	@Test
+	public void cached() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		Wordform best = analyzer.analyzeBest("bruoleits");
+		assertEquals(1, analyzer.getCache().size());
+		long hits = analyzer.getCache().hitCount();
+		assertEquals(best.toJSON(), analyzer.analyzeBest("bruoleits").toJSON());
+		assertEquals(hits + 1, analyzer.getCache().hitCount());
+	}
+
+	/**
+	 * The wordforms that are returned can be edited without changing the shared analysis
+	 */
+	@Test
+	public void editable() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		Wordform best = analyzer.analyzeBest("bruoleits");
+		String lemma = best.getValue(AttributeNames.i_Lemma);
+		best.addAttribute(AttributeNames.i_Lemma, "x");
+		assertEquals(lemma, analyzer.analyzeBest("bruoleits").getValue(AttributeNames.i_Lemma));
+		assertNull(analyzer.analyzeBest("qqqqqq"));
+	}
+}
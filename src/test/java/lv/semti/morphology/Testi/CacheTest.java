@@ -0,0 +1,85 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Cache;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CacheTest {
+	@Test
+	public void boundedWithCounters() {
+		Cache<String, String> cache = new Cache<>(100);
+		for (int i = 0; i < 1000; i++)
+			cache.put("w" + i, "v" + i);
+		assertEquals(100, cache.size());
+		assertEquals(900, cache.evictionCount());
+
+		assertEquals("v999", cache.get("w999"));
+		assertNull(cache.get("w0"));
+		assertEquals(1, cache.hitCount());
+		assertEquals(1, cache.missCount());
+
+		cache.setSize(0);
+		assertEquals(0, cache.size());
+		cache.put("a", "b");
+		assertNull(cache.get("a"));
+	}
+
+	@Test
+	public void frequentWordsSurviveRareOnes() {
+		Cache<String, String> cache = new Cache<>(100);
+		for (int round = 0; round < 10; round++)
+			for (int i = 0; i < 50; i++)
+				if (cache.get("frequent" + i) == null) cache.put("frequent" + i, "x");
+		for (int i = 0; i < 10000; i++) // a long run of words that are seen once, as in a list of names
+			if (cache.get("rare" + i) == null) cache.put("rare" + i, "x");
+		int kept = 0;
+		for (int i = 0; i < 50; i++)
+			if (cache.get("frequent" + i) != null) kept++;
+		assertTrue("only " + kept + " of the frequent words kept", kept >= 45);
+	}
+
+	@Test
+	public void sharedByThreads() throws InterruptedException {
+		final Cache<Integer, Integer> cache = new Cache<>(500);
+		final AtomicInteger wrong = new AtomicInteger();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			final int seed = t;
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < 100000; i++) {
+					int key = (i * 31 + seed * 7) % 2000;
+					Integer value = cache.get(key);
+					if (value == null) cache.put(key, -key);
+					else if (value != -key) wrong.incrementAndGet();
+				}
+			}));
+		}
+		for (Thread thread : threads) thread.start();
+		for (Thread thread : threads) thread.join();
+		assertEquals(0, wrong.get());
+		assertTrue(cache.size() <= 500);
+		assertEquals(800000, cache.hitCount() + cache.missCount());
+	}
+}
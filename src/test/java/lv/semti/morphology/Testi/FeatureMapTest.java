@@ -0,0 +1,173 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Wordform;
+import lv.semti.morphology.attributes.AttributeIndex;
+import lv.semti.morphology.attributes.AttributeLayer;
+import lv.semti.morphology.attributes.AttributeNames;
+import lv.semti.morphology.attributes.AttributeValues;
+import lv.semti.morphology.attributes.Feature;
+import lv.semti.morphology.attributes.FeatureMap;
+import lv.semti.morphology.attributes.FeatureStructure;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class FeatureMapTest {
+	private static final String[][] VALUES = {
+			{AttributeNames.i_PartOfSpeech, AttributeNames.v_Noun},
+			{AttributeNames.i_Case, AttributeNames.v_Genitive + "|" + AttributeNames.v_Dative},
+			{AttributeNames.i_Number, "daudzskaitlis"}, // differs from v_Plural only in case
+			{AttributeNames.i_Lemma, "galds"},
+			{AttributeNames.i_Source, null},
+	};
+
+	private static final String[][] QUERIES = {
+			{AttributeNames.i_PartOfSpeech, AttributeNames.v_Noun},
+			{AttributeNames.i_PartOfSpeech, AttributeNames.v_Verb},
+			{AttributeNames.i_PartOfSpeech, null},
+			{AttributeNames.i_Case, AttributeNames.v_Dative},
+			{AttributeNames.i_Case, AttributeNames.v_Genitive + "|" + AttributeNames.v_Dative},
+			{AttributeNames.i_Case, "datīvs"},
+			{AttributeNames.i_Number, AttributeNames.v_Plural},
+			{AttributeNames.i_Number, "some value nobody has used"},
+			{AttributeNames.i_Gender, AttributeNames.v_Masculine},
+			{AttributeNames.i_Gender, null},
+			{AttributeNames.i_Lemma, "GALDS"},
+			{AttributeNames.i_Source, null},
+			{AttributeNames.i_Source, "x"},
+			{"Attribute nobody has used", null},
+	};
+
+	@Test
+	public void sameAsHashMap() {
+		AttributeValues reference = new AttributeValues();
+		Wordform wordform = new Wordform("galda");
+		for (String[] av : VALUES) {
+			reference.addAttribute(av[0], av[1]);
+			wordform.addAttribute(av[0], av[1]);
+		}
+		assertEquals(reference.size(), wordform.size());
+		assertEquals(reference.entrySet(), wordform.entrySet());
+
+		for (String[] q : QUERIES) {
+			Feature feature = new Feature(q[0], q[1]);
+			String message = q[0] + " = " + q[1];
+			assertEquals(message, reference.getValue(q[0]), wordform.getValue(q[0]));
+			assertEquals(message, reference.isMatchingStrong(q[0], q[1]), wordform.isMatchingStrong(q[0], q[1]));
+			assertEquals(message, reference.isMatchingStrong(q[0], q[1]), wordform.isMatchingStrong(feature));
+			assertEquals(message, reference.isMatchingStrong(q[0], q[1]), reference.isMatchingStrong(feature));
+			assertEquals(message, reference.isMatchingWeak(q[0], q[1]), wordform.isMatchingWeak(q[0], q[1]));
+			assertEquals(message, reference.isMatchingWeak(q[0], q[1]), wordform.isMatchingWeak(feature));
+		}
+	}
+
+	/**
+	 * A feature structure that is not an AttributeValues gets the Feature matching of the interface
+	 */
+	@Test
+	public void otherFeatureStructure() {
+		AttributeValues reference = new AttributeValues();
+		HashMap<String, String> values = new HashMap<>();
+		for (String[] av : VALUES) {
+			reference.addAttribute(av[0], av[1]);
+			if (av[1] != null) values.put(av[0], av[1]);
+		}
+		FeatureStructure other = new FeatureStructure() {
+			public void addAttribute(String attribute, String value) { values.put(attribute, value); }
+			public void addAttributes(HashMap<String, String> attributes) { values.putAll(attributes); }
+			public String getValue(String attribute) { return values.get(attribute); }
+			public boolean isMatchingStrong(String attribute, String value) { return reference.isMatchingStrong(attribute, value); }
+			public Map.Entry<String, String> get(int nr) { return null; }
+			public int size() { return values.size(); }
+		};
+		for (String[] q : QUERIES) {
+			Feature feature = new Feature(q[0], q[1]);
+			String message = q[0] + " = " + q[1];
+			assertEquals(message, reference.isMatchingStrong(feature), other.isMatchingStrong(feature));
+			assertEquals(message, reference.isMatchingWeak(feature), other.isMatchingWeak(feature));
+		}
+	}
+
+	@Test
+	public void editing() {
+		FeatureMap map = new FeatureMap();
+		Map<String, String> reference = new HashMap<>();
+		for (String[] av : VALUES) {
+			assertEquals(reference.put(av[0], av[1]), map.put(av[0], av[1]));
+		}
+		assertEquals(reference.put(AttributeNames.i_Case, AttributeNames.v_Vocative), map.put(AttributeNames.i_Case, AttributeNames.v_Vocative));
+		assertEquals(reference.remove(AttributeNames.i_Lemma), map.remove(AttributeNames.i_Lemma));
+		assertEquals(reference.remove(AttributeNames.i_Lemma), map.remove(AttributeNames.i_Lemma));
+		assertEquals(reference, map);
+
+		FeatureMap copy = map.clone();
+		copy.put(AttributeNames.i_Gender, AttributeNames.v_Feminine);
+		assertNull(map.get(AttributeNames.i_Gender));
+		assertEquals(reference.size() + 1, copy.size());
+
+		map.keySet().remove(AttributeNames.i_Case);
+		reference.keySet().remove(AttributeNames.i_Case);
+		assertEquals(reference, map);
+		assertEquals(reference.hashCode(), map.hashCode());
+	}
+
+	@Test
+	public void baseLayer() {
+		final Map<String, String> layer = new HashMap<>();
+		for (String[] av : VALUES) layer.put(AttributeIndex.intern(av[0]), av[1]);
+		FeatureMap map = new FeatureMap(new AttributeLayer() {
+			@Override
+			public String getValue(String attribute) {
+				return layer.get(attribute);
+			}
+
+			@Override
+			public void copyTo(Map<String, String> target) {
+				target.putAll(layer);
+			}
+		});
+		Map<String, String> reference = new HashMap<>(layer);
+
+		assertEquals(reference.put(AttributeNames.i_Case, AttributeNames.v_Vocative), map.put(AttributeNames.i_Case, AttributeNames.v_Vocative));
+		assertEquals(reference.remove(AttributeNames.i_Lemma), map.remove(AttributeNames.i_Lemma));
+		assertEquals(reference.put(AttributeNames.i_Gender, AttributeNames.v_Feminine), map.put(AttributeNames.i_Gender, AttributeNames.v_Feminine));
+		AttributeValues expected = new AttributeValues();
+		for (Map.Entry<String, String> av : reference.entrySet())
+			if (av.getValue() != null) expected.addAttribute(av.getKey(), av.getValue());
+		for (String[] q : QUERIES) {
+			String message = q[0] + " = " + q[1];
+			assertEquals(message, reference.get(q[0]), map.get(q[0]));
+			assertEquals(message, reference.get(q[0]) != null, map.containsKey(q[0]));
+			assertEquals(message, expected.isMatchingStrong(q[0], q[1]), map.isMatchingStrong(new Feature(q[0], q[1])));
+			assertEquals(message, expected.isMatchingWeak(q[0], q[1]), map.isMatchingWeak(new Feature(q[0], q[1])));
+		}
+
+		FeatureMap copy = map.clone();
+		copy.remove(AttributeNames.i_PartOfSpeech);
+		assertEquals(AttributeNames.v_Noun, map.get(AttributeNames.i_PartOfSpeech));
+		assertEquals(reference, map);
+		assertEquals(reference.hashCode(), map.hashCode());
+		reference.remove(AttributeNames.i_PartOfSpeech);
+		assertEquals(reference, copy);
+	}
+}
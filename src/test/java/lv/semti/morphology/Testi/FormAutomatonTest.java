@@ -0,0 +1,82 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.analyzer.FormAutomaton;
+import lv.semti.morphology.analyzer.Wordform;
+import lv.semti.morphology.attributes.AttributeNames;
+import lv.semti.morphology.lexicon.Lexeme;
+import lv.semti.morphology.lexicon.LexiconSnapshot;
+import lv.semti.morphology.lexicon.Paradigm;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class FormAutomatonTest {
+	/**
+	 * Words analyzed with the automaton must get the same analyses as without it - forms in the automaton, also
+	 * capitalized, and words that are not in it
+	 */
+	@Test
+	public void sameAnalysis() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		analyzer.setCacheSize(0);
+		Lexeme bruoleits = analyzer.analyze("bruoleits").wordforms.get(0).lexeme;
+		Set<String> forms = new TreeSet<>();
+		for (Wordform wf : analyzer.generateInflections(bruoleits, bruoleits.getValue(AttributeNames.i_Lemma)))
+			forms.add(wf.getToken().toLowerCase());
+		List<String> words = new ArrayList<>(forms);
+		words.addAll(Arrays.asList("kirbuleits", "nabruoleits", "Bruoleits", "BRUOLEITS"));
+		List<String> expected = new ArrayList<>();
+		for (String word : words)
+			expected.add(WordDescription.describe(analyzer.analyze(word)));
+
+		File file = File.createTempFile("Latgalian", ".fst");
+		file.deleteOnExit();
+		FormAutomaton.build(analyzer, forms).write(file);
+		FormAutomaton automaton = FormAutomaton.load(file, analyzer);
+		assertEquals(forms.size(), automaton.size());
+		analyzer.setFormAutomaton(automaton);
+		for (int i = 0; i < words.size(); i++)
+			assertEquals(words.get(i), expected.get(i), WordDescription.describe(analyzer.analyze(words.get(i))));
+
+		// generating the inflections of a word that isn't in the lexicon doesn't edit it, so the automaton stays
+		assertFalse(analyzer.generateInflectionsFromParadigm("zumbulis", 1).isEmpty());
+		analyzer.enableGuessing = true;
+		assertFalse(analyzer.generateInflections("Zumbulis").isEmpty());
+		analyzer.enableGuessing = false;
+		assertSame(automaton, analyzer.getFormAutomaton());
+		assertEquals(expected.get(0), WordDescription.describe(analyzer.analyze(words.get(0))));
+
+		// an edited lexicon drops the automaton, and it no longer matches the lexicon
+		Paradigm paradigm = bruoleits.getParadigm();
+		analyzer.createLexemeFromParadigm("kirbuleits", paradigm.getID(), "test");
+		assertNull(analyzer.getFormAutomaton());
+		assertTrue(analyzer.analyze("kirbuleits").isRecognized());
+		try {
+			FormAutomaton.load(file, analyzer);
+			fail("The automaton of the unedited lexicon was loaded");
+		} catch (LexiconSnapshot.StaleSnapshotException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.analyzer.LemmaTags;
+import lv.semti.morphology.analyzer.Wordform;
+import lv.semti.morphology.attributes.AttributeNames;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LemmaTagsTest {
+	private static final String[] WORDS = {"bruoleits", "Bruoleišim", "bruoļa", "akmiņs", "auklēja", "dareituokais",
+			"dūmuos", "guli", "Jezus", "nadareit", "juodora", "vysdareituokais", "pokemonizēja", "Kirbuļs", "12", "a", "",
+			" guli "};
+
+	/**
+	 * The lemmas and tags are those of the full analysis, each pair once, in order - whether the full analysis is
+	 * in the word cache or not
+	 */
+	@Test
+	public void sameAsAnalysis() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		for (boolean guessing : new boolean[]{false, true}) {
+			analyzer.enableGuessing = guessing;
+			for (boolean analyzedFirst : new boolean[]{false, true}) {
+				analyzer.clearCache();
+				for (String token : WORDS) {
+					if (analyzedFirst) analyzer.analyze(token);
+					LemmaTags found = analyzer.lemmaTags(token);
+
+					LinkedHashSet<String> pairs = new LinkedHashSet<>();
+					LinkedHashSet<String> lemmas = new LinkedHashSet<>();
+					for (Wordform wordform : analyzer.analyze(token).wordforms) {
+						pairs.add(wordform.getValue(AttributeNames.i_Lemma) + "/" + wordform.getTag());
+						lemmas.add(wordform.getValue(AttributeNames.i_Lemma));
+					}
+
+					List<String> foundPairs = new ArrayList<>();
+					for (int i = 0; i < found.size(); i++) {
+						foundPairs.add(found.lemma(i) + "/" + found.tag(i));
+						assertTrue(token, found.contains(found.lemma(i), found.tag(i)));
+					}
+					assertEquals(token, new ArrayList<>(pairs), foundPairs);
+					assertEquals(token, new ArrayList<>(lemmas), analyzer.lemmas(token));
+					assertSame(token, found, analyzer.lemmaTags(token));
+				}
+			}
+		}
+		assertTrue(analyzer.getLemmaTagCache().hitCount() > 0);
+	}
+}
@@ -0,0 +1,123 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.lexicon.Lexeme;
+import lv.semti.morphology.lexicon.Paradigm;
+import lv.semti.morphology.lexicon.StemType;
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class LexiconLookupTest {
+	/**
+	 * The lookups find the same as scanning the paradigms did - of several with one key, the last one
+	 */
+	@Test
+	public void sameAsScan() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		for (Paradigm paradigm : analyzer.paradigms) {
+			Paradigm byID = null, byName = null;
+			for (Paradigm p : analyzer.paradigms) {
+				if (p.getID() == paradigm.getID()) byID = p;
+				if (p.getName().equalsIgnoreCase(paradigm.getName())) byName = p;
+			}
+			assertSame(byID, analyzer.paradigmByID(paradigm.getID()));
+			assertSame(byName, analyzer.paradigmByName(paradigm.getName().toUpperCase(Locale.ROOT)));
+
+			for (Lexeme lexeme : paradigm.lexemes) {
+				Lexeme expected = null;
+				for (Paradigm p : analyzer.paradigms)
+					if (p.lexemesByID.get(lexeme.getID()) != null) expected = p.lexemesByID.get(lexeme.getID());
+				assertSame(expected, analyzer.lexemeByID(lexeme.getID()));
+			}
+		}
+		assertNull(analyzer.paradigmByID(-1));
+		assertNull(analyzer.paradigmByName("no-such-paradigm"));
+		assertNull(analyzer.lexemeByID(-1));
+	}
+
+	/**
+	 * Paradigms and lexemes added and removed after loading are found and not found
+	 */
+	@Test
+	public void editedLexicon() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		Paradigm paradigm = analyzer.analyze("bruoleits").wordforms.get(0).lexeme.getParadigm();
+		Lexeme lexeme = analyzer.createLexemeFromParadigm("kirbuleits", paradigm.getID(), "test");
+		assertSame(lexeme, analyzer.lexemeByID(lexeme.getID()));
+
+		// a lexeme with the same ID in an earlier paradigm is found only when the later one is gone
+		Paradigm earlier = null;
+		for (Paradigm p : analyzer.paradigms) {
+			if (p == paradigm) break;
+			if (p.getStems().size() == 1 && p.getLemmaEnding() != null) earlier = p;
+		}
+		assertNotNull(earlier);
+		Lexeme duplicate = new Lexeme(StemType.STEM1, "kirbul");
+		duplicate.setID(lexeme.getID());
+		earlier.addLexeme(duplicate);
+		assertSame(lexeme, analyzer.lexemeByID(lexeme.getID()));
+		paradigm.removeLexeme(lexeme);
+		assertSame(duplicate, analyzer.lexemeByID(lexeme.getID()));
+		earlier.removeLexeme(duplicate);
+		assertNull(analyzer.lexemeByID(lexeme.getID()));
+
+		Paradigm added = new Paradigm(analyzer);
+		added.name = "Test-Paradigm";
+		analyzer.addParadigm(added);
+		assertTrue(added.getID() > 0);
+		assertSame(added, analyzer.paradigmByID(added.getID()));
+		assertSame(added, analyzer.paradigmByName("test-paradigm"));
+		analyzer.removeParadigm(added);
+		assertNull(analyzer.paradigmByID(added.getID()));
+		assertNull(analyzer.paradigmByName("test-paradigm"));
+		assertSame(paradigm, analyzer.paradigmByID(paradigm.getID()));
+		assertTrue(analyzer.analyze("bruoleits").isRecognized());
+	}
+
+	/**
+	 * Paradigms and lexemes are found by their new IDs after the IDs are changed, as in the lexicon editor
+	 */
+	@Test
+	public void changedIDs() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		Lexeme lexeme = analyzer.analyze("bruoleits").wordforms.get(0).lexeme;
+		Paradigm paradigm = lexeme.getParadigm();
+		int oldID = lexeme.getID();
+		assertSame(lexeme, analyzer.lexemeByID(oldID));
+
+		int newID = 2000000;
+		assertNull(analyzer.lexemeByID(newID));
+		lexeme.setID(newID);
+		assertSame(lexeme, analyzer.lexemeByID(newID));
+		assertNull(analyzer.lexemeByID(oldID));
+		assertSame(lexeme, paradigm.lexemesByID.get(newID));
+
+		int oldParadigmID = paradigm.getID();
+		int newParadigmID = 10000;
+		assertNull(analyzer.paradigmByID(newParadigmID));
+		paradigm.setID(newParadigmID);
+		assertSame(paradigm, analyzer.paradigmByID(newParadigmID));
+		assertNotSame(paradigm, analyzer.paradigmByID(oldParadigmID));
+		assertSame(lexeme, analyzer.lexemeByID(newID));
+	}
+}
@@ -0,0 +1,191 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.analyzer.FormAutomaton;
+import lv.semti.morphology.analyzer.Word;
+import lv.semti.morphology.analyzer.Wordform;
+import lv.semti.morphology.attributes.AttributeNames;
+import lv.semti.morphology.lexicon.Lexeme;
+import lv.semti.morphology.lexicon.Lexicon;
+import lv.semti.morphology.lexicon.LexiconRegistry;
+import lv.semti.morphology.lexicon.Paradigm;
+import lv.semti.morphology.lexicon.StemType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+public class LexiconRegistryTest {
+	private static final String LEXICON = "Latgalian.xml";
+	private static final String[] WORDS = {"akmiņs", "bruoleits", "bruoļa", "ceļš", "dareits", "dūmoju", "kirbuleits"};
+
+	@Test
+	public void loadedOnce() throws InterruptedException {
+		final Set<Lexicon> loaded = ConcurrentHashMap.newKeySet();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++)
+			threads.add(new Thread(() -> {
+				try {
+					loaded.add(LexiconRegistry.get(LEXICON, false));
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}));
+		for (Thread thread : threads) thread.start();
+		for (Thread thread : threads) thread.join();
+		assertEquals(1, loaded.size());
+		assertTrue(loaded.iterator().next().isFrozen());
+	}
+
+	@Test
+	public void sharedLexicon() throws Exception {
+		Lexicon lexicon = LexiconRegistry.get(LEXICON, false);
+		Analyzer own = new Analyzer(LEXICON, false);
+		Analyzer shared = new Analyzer(lexicon);
+		Analyzer guessing = new Analyzer(lexicon);
+		guessing.enableGuessing = true;
+
+		assertSame(lexicon.paradigms, shared.paradigms);
+		for (String word : WORDS) {
+			assertEquals(word, tags(own.analyze(word)), tags(shared.analyze(word)));
+			own.enableGuessing = true;
+			assertEquals(word, tags(own.analyze(word)), tags(guessing.analyze(word)));
+			own.enableGuessing = false;
+		}
+		assertFalse(shared.analyze("kirbuleits").isRecognized());
+		assertTrue(guessing.analyze("kirbuleits").isRecognized());
+	}
+
+	/**
+	 * A form automaton attached to the shared lexicon later is used by the analyzers that were made from it before
+	 */
+	@Test
+	public void formAutomatonAttachedLater() throws Exception {
+		Lexicon lexicon = LexiconRegistry.get(LEXICON, false);
+		Analyzer shared = new Analyzer(lexicon);
+		assertNull(shared.getFormAutomaton());
+		FormAutomaton automaton = FormAutomaton.build(shared, Collections.singleton("bruoleits"));
+		try {
+			lexicon.setFormAutomaton(automaton);
+			assertSame(automaton, shared.getFormAutomaton());
+			assertSame(automaton, new Analyzer(lexicon).getFormAutomaton());
+			assertTrue(shared.analyze("bruoleits").isRecognized());
+		} finally {
+			lexicon.setFormAutomaton(null);
+		}
+		assertNull(shared.getFormAutomaton());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void sharedLexiconCantBeEdited() throws Exception {
+		Analyzer shared = new Analyzer(LexiconRegistry.get(LEXICON, false));
+		shared.createLexemeFromParadigm("kirbuleits", 1, "test");
+	}
+
+	/**
+	 * The lexeme lists of a shared lexicon are read-only, so that an analysis can't change them for the others
+	 */
+	@Test
+	public void sharedLexemeListsAreReadOnly() throws Exception {
+		Analyzer shared = new Analyzer(LexiconRegistry.get(LEXICON, false));
+		Paradigm paradigm = shared.paradigmByID(1);
+		Lexeme lexeme = paradigm.lexemes.get(0);
+		String stem = lexeme.getStem(StemType.STEM1);
+		List<Lexeme> lexemes = paradigm.getLexemesByStem(StemType.STEM1, stem);
+		assertTrue(lexemes.contains(lexeme));
+		assertEquals(lexemes, paradigm.getLexemesByStem(StemType.STEM1).get(stem));
+		assertEquals(lexemes, paradigm.getLemmaEnding().getEndingLexemes(stem));
+		try {
+			lexemes.add(lexeme);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		try {
+			paradigm.getLexemesByStem(StemType.STEM1).get(stem).add(lexeme);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		try {
+			paradigm.getLexemesByStem(StemType.STEM1).remove(stem);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		assertEquals(lexemes.size(), paradigm.getLexemesByStem(StemType.STEM1, stem).size());
+	}
+
+	/**
+	 * Inflections are generated with temporary lexemes that aren't added to the lexicon, so a shared lexicon can
+	 * generate them as well, and stays as it was
+	 */
+	@Test
+	public void sharedLexiconGenerates() throws Exception {
+		Lexicon lexicon = LexiconRegistry.get(LEXICON, false);
+		Analyzer own = new Analyzer(LEXICON, false);
+		Analyzer shared = new Analyzer(lexicon);
+		own.enableGuessing = shared.enableGuessing = true; // to find the lemma of a word that isn't in the lexicon
+		int lexemes = shared.paradigmByID(1).numberOfLexemes();
+
+		List<String> forms = forms(own.generateInflections("Zumbulis"));
+		assertFalse(forms.isEmpty());
+		assertEquals(forms, forms(shared.generateInflections("Zumbulis")));
+		assertEquals(forms(own.generateInflectionsFromParadigm("zumbulis", 1)),
+				forms(shared.generateInflectionsFromParadigm("zumbulis", 1)));
+		assertEquals(lexemes, shared.paradigmByID(1).numberOfLexemes());
+		assertFalse(new Analyzer(lexicon).analyze("zumbulis").isRecognized());
+	}
+
+	/**
+	 * Only a frozen lexicon can be shared, the one that is passed doesn't get frozen behind the caller's back
+	 */
+	@Test
+	public void unfrozenLexiconIsNotShared() throws Exception {
+		Analyzer own = new Analyzer(LEXICON, false);
+		try {
+			new Analyzer(own);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertFalse(own.isFrozen());
+		}
+		own.freeze();
+		assertSame(own.paradigms, new Analyzer(own).paradigms);
+	}
+
+	private static List<String> forms(List<Wordform> wordforms) {
+		List<String> result = new ArrayList<>();
+		for (Wordform wf : wordforms)
+			result.add(wf.getToken() + " " + wf.getTag());
+		return result;
+	}
+
+	private static List<String> tags(Word word) {
+		List<String> result = new ArrayList<>();
+		for (Wordform wf : word.wordforms)
+			result.add(wf.getValue(AttributeNames.i_Lemma) + " " + wf.getTag());
+		return result;
+	}
+}
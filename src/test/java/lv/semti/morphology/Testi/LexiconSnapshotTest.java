@@ -0,0 +1,134 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.analyzer.Word;
+import lv.semti.morphology.analyzer.Wordform;
+import lv.semti.morphology.attributes.AttributeNames;
+import lv.semti.morphology.lexicon.Lexeme;
+import lv.semti.morphology.lexicon.LexiconSnapshot;
+import lv.semti.morphology.lexicon.Paradigm;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LexiconSnapshotTest {
+	private static final String LEXICON = "Latgalian.xml";
+	private static Analyzer analyzer;
+	private static File snapshot;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		analyzer = new Analyzer(LEXICON, false);
+		snapshot = File.createTempFile("lexicon", ".bin");
+		snapshot.deleteOnExit();
+		LexiconSnapshot.write(analyzer, snapshot);
+	}
+
+	private static List<String> describe(Word w) {
+		List<String> result = new ArrayList<>();
+		for (Wordform wf : w.wordforms)
+			result.add(wf.getTag() + " " + wf.getValue(AttributeNames.i_Lemma) + " " + wf.getValue(AttributeNames.i_LexemeID));
+		result.sort(null);
+		return result;
+	}
+
+	@Test
+	public void roundtrip() throws Exception {
+		Analyzer restored = new Analyzer(LEXICON, snapshot);
+		assertEquals(analyzer.getRevision(), restored.getRevision());
+		assertEquals(analyzer.paradigms.size(), restored.paradigms.size());
+		for (int i = 0; i < analyzer.paradigms.size(); i++) {
+			Paradigm p1 = analyzer.paradigms.get(i);
+			Paradigm p2 = restored.paradigms.get(i);
+			assertEquals(p1.getName(), p2.getName());
+			assertEquals(p1.numberOfEndings(), p2.numberOfEndings());
+			assertEquals(p1.numberOfLexemes(), p2.numberOfLexemes());
+		}
+
+		for (String token : new String[] {"mauduotuojs", "ols", "dorbs", "ruoka", "es", "taids", "vuordus", "xyzzy"}) {
+			assertEquals(token, describe(analyzer.analyze(token)), describe(restored.analyze(token)));
+		}
+	}
+
+	/**
+	 * The stem indexes are restored from the snapshot, not rebuilt: every lemma is analyzed the same, and the restored
+	 * indexes follow the edits of the lexicon
+	 */
+	@Test
+	public void restoredIndexes() throws Exception {
+		Analyzer restored = new Analyzer(LEXICON, snapshot);
+		restored.setCacheSize(0);
+		analyzer.setCacheSize(0);
+		for (Paradigm paradigm : analyzer.paradigms)
+			for (Lexeme lexeme : paradigm.lexemes) {
+				String lemma = lexeme.getValue(AttributeNames.i_Lemma);
+				if (lemma == null) continue;
+				assertEquals(lemma, describe(analyzer.analyze(lemma)), describe(restored.analyze(lemma)));
+			}
+
+		Word word = restored.analyze("dorbs");
+		assertTrue(word.isRecognized());
+		Lexeme lexeme = word.wordforms.get(0).lexeme;
+		Paradigm paradigm = lexeme.getParadigm();
+		paradigm.removeLexeme(lexeme);
+		for (Wordform wf : restored.analyze("dorbs").wordforms)
+			assertNotSame(lexeme, wf.lexeme);
+		paradigm.addLexeme(lexeme);
+		assertEquals(describe(analyzer.analyze("dorbs")), describe(restored.analyze("dorbs")));
+	}
+
+	@Test
+	public void staleSublexicon() throws Exception {
+		File folder = Files.createTempDirectory("lexicon").toFile();
+		for (String name : new String[] {LEXICON, "Latgalian_minicore.xml", "tezaurs_latgalian.json"}) {
+			File copy = new File(folder, name);
+			copy.deleteOnExit();
+			try (InputStream stream = getClass().getClassLoader().getResourceAsStream(name)) {
+				Files.copy(stream, copy.toPath());
+			}
+		}
+		folder.deleteOnExit();
+		String lexicon = new File(folder, LEXICON).getPath();
+		File stale = File.createTempFile("lexicon-stale", ".bin");
+		stale.deleteOnExit();
+		LexiconSnapshot.write(new Analyzer(lexicon, false), stale);
+		assertEquals(analyzer.getRevision(), new Analyzer(lexicon, stale).getRevision());
+
+		// an edited lexeme, with the revision of the lexicon file left as it was
+		File sublexicon = new File(folder, "tezaurs_latgalian.json");
+		byte[] content = Files.readAllBytes(sublexicon.toPath());
+		Files.write(sublexicon.toPath(), new String(content, StandardCharsets.UTF_8)
+				.replaceFirst("\"lemma\": \"", "\"lemma\": \"x").getBytes(StandardCharsets.UTF_8));
+		try {
+			new Analyzer(lexicon, stale);
+			fail("Snapshot of an edited sublexicon should be rejected");
+		} catch (LexiconSnapshot.StaleSnapshotException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Mijas;
+import lv.semti.morphology.analyzer.StemVariant;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MijaRulesTest {
+	private static final String LETTERS = "aābcčdeēfgģhiījkķlļmnņoprsštuūvyzž";
+	// the starts of stems that the rules look for, or that the rules look at the end of
+	private static final String[] STARTS = {"", "ma", "vis", "vys", "vysu", "jā", "juo", "juova", "jāvis", "gu", "vaja",
+			"te", "sē", "ņe", "do", "ve", "sar", "ļd", "ņd", "dz", "ie", "uo", "pie", "mā", "kā"};
+	private static final String[] THIRD_STEMS = {"gāj", "skaud", "pūt", "nes"};
+
+	private PrintStream err;
+
+	@Before
+	public void silence() {
+		// both print a stack trace for each stem that is too short for its rule
+		err = System.err;
+		System.setErr(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {}
+		}));
+		Mijas.setCacheSize(0);
+	}
+
+	@After
+	public void restore() {
+		System.setErr(err);
+		Mijas.setCacheSize(Mijas.DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * The rules give the same stem variants as the old switch did, for all stems that end with any one or two
+	 * letters after any of the starts, and all stem changes
+	 */
+	@Test
+	public void sameAsSwitch() {
+		List<String> stems = new ArrayList<>();
+		for (String start : STARTS) {
+			stems.add(start);
+			for (int i = 0; i < LETTERS.length(); i++) {
+				stems.add(start + LETTERS.charAt(i));
+				for (int j = 0; j < LETTERS.length(); j++)
+					stems.add(start + LETTERS.charAt(i) + LETTERS.charAt(j));
+			}
+		}
+
+		for (int stemChange = 0; stemChange <= 170; stemChange++) { // also the ones that don't exist
+			for (int i = 0; i < stems.size(); i++) {
+				String stem = stems.get(i);
+				boolean properName = i % 2 == 1;
+				assertEquals(stem + " " + stemChange,
+						describeReference(MijasReference.formToLemmaMija(stem, stemChange, properName)),
+						describe(Mijas.applyFormToLemmaMija(stem, stemChange, properName)));
+				String thirdStem = THIRD_STEMS[i / 2 % THIRD_STEMS.length];
+				boolean addSuperlative = i / 8 % 2 == 1;
+				assertEquals(stem + " " + stemChange + " " + thirdStem,
+						describeReference(MijasReference.lemmaToFormMija(stem, stemChange, thirdStem, addSuperlative, properName)),
+						describe(Mijas.applyLemmaToFormMija(stem, stemChange, thirdStem, addSuperlative, properName)));
+			}
+		}
+	}
+
+	private static List<String> describe(List<StemVariant> stemVariants) {
+		List<String> result = new ArrayList<>();
+		for (StemVariant stemVariant : stemVariants)
+			result.add(stemVariant.stem + " " + stemVariant);
+		return result;
+	}
+
+	private static List<String> describeReference(List<MijasReference.StemVariant> stemVariants) {
+		List<String> result = new ArrayList<>();
+		for (MijasReference.StemVariant stemVariant : stemVariants)
+			result.add(stemVariant.stem + " " + stemVariant);
+		return result;
+	}
+}
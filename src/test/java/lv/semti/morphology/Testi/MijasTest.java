@@ -0,0 +1,72 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Mijas;
+import lv.semti.morphology.analyzer.StemVariant;
+import lv.semti.morphology.attributes.AttributeNames;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MijasTest {
+	@After
+	public void restoreCache() {
+		Mijas.setCacheSize(Mijas.DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Cached stem variants are the same as computed ones, and they are shared and can't be edited
+	 */
+	@Test
+	public void cachedResults() {
+		Mijas.setCacheSize(0);
+		List<String> expected = describe(Mijas.applyFormToLemmaMija("vistvecāk", 13, false));
+		List<String> expectedForms = describe(Mijas.applyLemmaToFormMija("lāc", 1, "lāc", false, false));
+		assertFalse(expected.isEmpty());
+		assertFalse(expectedForms.isEmpty());
+
+		Mijas.setCacheSize(Mijas.DEFAULT_CACHE_SIZE);
+		long hits = Mijas.ANALYSIS.hitCount();
+		List<StemVariant> first = Mijas.applyFormToLemmaMija("vistvecāk", 13, false);
+		List<StemVariant> second = Mijas.applyFormToLemmaMija("vistvecāk", 13, false);
+		assertEquals(expected, describe(first));
+		assertSame(first, second);
+		assertEquals(hits + 1, Mijas.ANALYSIS.hitCount());
+		assertEquals(expectedForms, describe(Mijas.applyLemmaToFormMija("lāc", 1, "lāc", false, false)));
+		assertEquals(expectedForms, describe(Mijas.applyLemmaToFormMija("lāc", 1, "lāc", false, false)));
+
+		try {
+			first.get(0).addAttribute(AttributeNames.i_Degree, AttributeNames.v_Positive);
+			fail("A shared stem variant was edited");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	private static List<String> describe(List<StemVariant> stemVariants) {
+		List<String> result = new ArrayList<>();
+		for (StemVariant stemVariant : stemVariants)
+			result.add(stemVariant.stem + " " + stemVariant);
+		return result;
+	}
+}
@@ -22,13 +22,26 @@ import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import lv.semti.morphology.analyzer.*;
+import lv.semti.morphology.lexicon.Lexeme;
+import lv.semti.morphology.lexicon.LexemeJSONReader;
+import lv.semti.morphology.lexicon.Ending;
+import lv.semti.morphology.lexicon.Paradigm;
+
+import static org.junit.Assert.assertEquals;
 
 public class MorphoSpeedTest {
 	private static Analyzer locītājs;
@@ -147,4 +160,129 @@ public class MorphoSpeedTest {
 		System.out.printf("\tAr cache 100k - 27sec, 160 000 rq/sec\n");
 		ieeja.close();
 	}
+
+	private static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		return 0;
+	}
+
+	@Test
+	public void json_lexemes() throws Exception {
+		// the paradigms without the lexemes of the file, loaded again for each pass, so that each pass adds the
+		// lexemes to empty paradigms
+		ArrayList<String> bezLeksēmām = new ArrayList<>();
+		bezLeksēmām.add("tezaurs_latgalian.json");
+		for (int pass = 0; pass < 5; pass++) { // the last pass is measured, the rest is warmup
+			Analyzer latgalian = new Analyzer("Latgalian.xml", bezLeksēmām);
+			long sākums = System.nanoTime();
+			long atmiņa = allocatedBytes();
+			int skaits = 0;
+			BufferedReader ieeja = new BufferedReader(new InputStreamReader(
+					getClass().getClassLoader().getResourceAsStream("tezaurs_latgalian.json"), StandardCharsets.UTF_8));
+			JSONParser parser = new JSONParser();
+			String rinda;
+			while ((rinda = ieeja.readLine()) != null) {
+				new Lexeme((JSONObject) parser.parse(rinda), latgalian);
+				skaits++;
+			}
+			ieeja.close();
+			long jsonSimple = System.nanoTime() - sākums;
+			long jsonSimpleAtmiņa = allocatedBytes() - atmiņa;
+
+			latgalian = new Analyzer("Latgalian.xml", bezLeksēmām);
+			sākums = System.nanoTime();
+			atmiņa = allocatedBytes();
+			LexemeJSONReader reader = new LexemeJSONReader(latgalian, new InputStreamReader(
+					getClass().getClassLoader().getResourceAsStream("tezaurs_latgalian.json"), StandardCharsets.UTF_8));
+			Lexeme l;
+			int nolasītas = 0;
+			while ((l = reader.next()) != null) {
+				l.getParadigm().addLexeme(l);
+				nolasītas++;
+			}
+			reader.close();
+			long streaming = System.nanoTime() - sākums;
+			long streamingAtmiņa = allocatedBytes() - atmiņa;
+			assertEquals(skaits, nolasītas);
+
+			if (pass == 4) {
+				System.out.printf("%d JSON leksēmas\n", skaits);
+				System.out.printf("\tjson-simple: %d ms, %d KB alokāciju\n", jsonSimple / 1000000, jsonSimpleAtmiņa / 1024);
+				System.out.printf("\tLexemeJSONReader: %d ms, %d KB alokāciju\n", streaming / 1000000, streamingAtmiņa / 1024);
+			}
+		}
+	}
+
+	@Test
+	public void cache_hits() throws Exception {
+		Analyzer latgalian = new Analyzer("Latgalian.xml", false);
+		latgalian.setCacheSize(1000);
+		String[] vārdi = {"akmiņs", "bruoleits", "bruoļa", "ceļš", "dareits", "dori", "dūmoju", "auklēt", "Jezus", "xyzzyt"};
+		for (String vārds : vārdi) latgalian.analyzeShared(vārds);
+
+		int skaits = 100000;
+		long klons = 0, klonaAtmiņa = 0, kopīgs = 0, kopīgāAtmiņa = 0;
+		for (int pass = 0; pass < 5; pass++) { // the last pass is measured, the rest is warmup
+			long sākums = System.nanoTime();
+			long atmiņa = allocatedBytes();
+			for (int i = 0; i < skaits; i++)
+				latgalian.analyze(vārdi[i % vārdi.length]);
+			klons = System.nanoTime() - sākums;
+			klonaAtmiņa = allocatedBytes() - atmiņa;
+
+			sākums = System.nanoTime();
+			atmiņa = allocatedBytes();
+			for (int i = 0; i < skaits; i++)
+				latgalian.analyzeShared(vārdi[i % vārdi.length]);
+			kopīgs = System.nanoTime() - sākums;
+			kopīgāAtmiņa = allocatedBytes() - atmiņa;
+		}
+		System.out.printf("%d cache trāpījumi\n", skaits);
+		System.out.printf("\tanalyze (kopija): %d ns, %d baiti uz vārdu\n", klons / skaits, klonaAtmiņa / skaits);
+		System.out.printf("\tanalyzeShared: %d ns, %d baiti uz vārdu\n", kopīgs / skaits, kopīgāAtmiņa / skaits);
+	}
+
+	@Test
+	public void stem_changes() throws Exception {
+		Analyzer latgalian = new Analyzer("Latgalian.xml", false);
+		List<String> celmi = new ArrayList<>();
+		List<Integer> mijas = new ArrayList<>();
+		for (Paradigm p : latgalian.paradigms)
+			for (Lexeme l : p.lexemes)
+				for (Ending e : p.endings) {
+					celmi.add(l.getStem(e.stemType));
+					mijas.add(e.getMija());
+				}
+		Mijas.setCacheSize(0);
+		long tabulas = 0, tabuluAtmiņa = 0, switchs = 0, switchAtmiņa = 0;
+		try {
+			for (int pass = 0; pass < 5; pass++) { // the last pass is measured, the rest is warmup
+				long sākums = System.nanoTime();
+				long atmiņa = allocatedBytes();
+				for (int i = 0; i < celmi.size(); i++) {
+					Mijas.applyFormToLemmaMija(celmi.get(i), mijas.get(i), false);
+					Mijas.applyLemmaToFormMija(celmi.get(i), mijas.get(i), celmi.get(i), true, false);
+				}
+				tabulas = System.nanoTime() - sākums;
+				tabuluAtmiņa = allocatedBytes() - atmiņa;
+
+				sākums = System.nanoTime();
+				atmiņa = allocatedBytes();
+				for (int i = 0; i < celmi.size(); i++) {
+					MijasReference.formToLemmaMija(celmi.get(i), mijas.get(i), false);
+					MijasReference.lemmaToFormMija(celmi.get(i), mijas.get(i), celmi.get(i), true, false);
+				}
+				switchs = System.nanoTime() - sākums;
+				switchAtmiņa = allocatedBytes() - atmiņa;
+			}
+		} finally {
+			Mijas.setCacheSize(Mijas.DEFAULT_CACHE_SIZE);
+		}
+		int skaits = celmi.size() * 2;
+		System.out.printf("%d mijas\n", skaits);
+		System.out.printf("\tMijaRules: %d ns, %d baiti uz miju\n", tabulas / skaits, tabuluAtmiņa / skaits);
+		System.out.printf("\tswitch: %d ns, %d baiti uz miju\n", switchs / skaits, switchAtmiņa / skaits);
+	}
 }
@@ -461,7 +461,7 @@ public class MorphologyTest {
         izeja = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
 
         for (Paradigm vārdgrupa : locītājs.paradigms) {
-            for (ArrayList<Lexeme> leksēmas : vārdgrupa.getLexemesByStem(StemType.STEM1).values()) {
+            for (List<Lexeme> leksēmas : vārdgrupa.getLexemesByStem(StemType.STEM1).values()) {
                 for (int i = 0; i < leksēmas.size(); i++) {
                     for (int j = i + 1; j < leksēmas.size(); j++) {
                         Lexeme l1 = leksēmas.get(i);
@@ -1823,7 +1823,7 @@ public class MorphologyTest {
         leksēmas.addAll(trešā.lexemes);
         for (Lexeme lex : leksēmas) {
             LinkedList<Lexeme> alternatīvas = new LinkedList<>();
-            ArrayList<Lexeme> xx = pirmā.getLexemesByStem(StemType.STEM1).get(lex.getStem(StemType.STEM1));
+            List<Lexeme> xx = pirmā.getLexemesByStem(StemType.STEM1).get(lex.getStem(StemType.STEM1));
             if (xx != null) alternatīvas.addAll(xx);
             xx = otrā.getLexemesByStem(StemType.STEM1).get(lex.getStem(StemType.STEM1));
             if (xx != null) alternatīvas.addAll(xx);
@@ -4121,7 +4121,7 @@ public class MorphologyTest {
 
         Paradigm p15 = locītājs.paradigmByID(15);
 
-        for (ArrayList<Lexeme> lexemes : p15.getLexemesByStem(StemType.STEM1).values()) {
+        for (List<Lexeme> lexemes : p15.getLexemesByStem(StemType.STEM1).values()) {
             for (int i = 0; i < lexemes.size(); i++) {
                 Lexeme l = lexemes.get(i);
                 String lemma = l.getStem(StemType.STEM1) + "t";
@@ -0,0 +1,68 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.analyzer.Wordform;
+import lv.semti.morphology.attributes.AttributeNames;
+import org.junit.Test;
+
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+public class PrefixTest {
+	private static final String[] STEMS = {"gaida", "meklēja", "zaudēt", "vysuzaudātuokais"};
+	private static final String[] PREFIXES = {"", "sa", "sasa", "saza", "na", "nasa", "juo", "juosa", "vyssa"};
+
+	/**
+	 * Words with prefixes get the same analysis when the analyses of their stems are shared through the cache as
+	 * when each is analyzed alone, and the shared analyses of the stems stay as they were
+	 */
+	@Test
+	public void sameAsAlone() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		analyzer.freeze();
+		Analyzer alone = new Analyzer(analyzer); // with the same lexicon, and no cache
+		alone.setCacheSize(0);
+		analyzer.enableGuessing = alone.enableGuessing = true;
+
+		for (int round = 0; round < 2; round++)
+			for (String stem : STEMS)
+				for (String prefix : PREFIXES) {
+					String word = prefix + stem;
+					assertEquals(word, WordDescription.describe(alone.analyze(word)), WordDescription.describe(analyzer.analyze(word)));
+					assertEquals(stem, WordDescription.describe(alone.analyze(stem)), WordDescription.describe(analyzer.analyze(stem)));
+				}
+		assertTrue(analyzer.getCache().hitCount() > 0);
+	}
+
+	/**
+	 * All the prefixes that a word starts with are tried, also the longer ones that start with a shorter one
+	 */
+	@Test
+	public void overlappingPrefixes() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		TreeSet<String> prefixes = new TreeSet<>();
+		for (Wordform wordform : analyzer.analyze("sasagaida").wordforms)
+			if (wordform.isMatchingStrong(AttributeNames.i_Guess, AttributeNames.v_Prefix))
+				prefixes.add(wordform.getValue(AttributeNames.i_Prefix));
+		assertTrue(prefixes.toString(), prefixes.contains("sa"));
+		assertTrue(prefixes.toString(), prefixes.contains("sasa"));
+	}
+}
@@ -0,0 +1,49 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.analyzer.Word;
+import lv.semti.morphology.lexicon.Lexeme;
+import lv.semti.morphology.lexicon.Paradigm;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StemIndexTest {
+	/**
+	 * Lexemes added and removed after loading must be found and not found, as the stem index is updated with them
+	 */
+	@Test
+	public void editedLexicon() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		analyzer.setCacheSize(0);
+		Word bruoleits = analyzer.analyze("bruoleits");
+		assertTrue(bruoleits.isRecognized());
+		Paradigm paradigm = bruoleits.wordforms.get(0).lexeme.getParadigm();
+		assertFalse(analyzer.analyze("kirbuleits").isRecognized());
+
+		Lexeme lexeme = analyzer.createLexemeFromParadigm("kirbuleits", paradigm.getID(), "test");
+		assertNotNull(lexeme);
+		assertTrue(analyzer.analyze("kirbuleits").isRecognized());
+
+		paradigm.removeLexeme(lexeme);
+		assertFalse(analyzer.analyze("kirbuleits").isRecognized());
+		assertTrue(analyzer.analyze("bruoleits").isRecognized());
+	}
+}
@@ -0,0 +1,65 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.analyzer.Word;
+import lv.semti.morphology.analyzer.Wordform;
+import lv.semti.morphology.attributes.AttributeNames;
+import lv.semti.morphology.lexicon.Lexeme;
+import lv.semti.morphology.lexicon.Paradigm;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class SurfaceStemIndexTest {
+	/**
+	 * Forms with verified stem changes, which are found in the surface stem index, also after the lexeme is removed
+	 * from the paradigm and added back
+	 */
+	@Test
+	public void editedLexicon() throws Exception {
+		// without the sublexicons that are not in the repository, the core one has the verbs
+		Analyzer analyzer = new Analyzer("Lexicon.xml",
+				new ArrayList<>(Arrays.asList("Lexicon_sv.xml", "Lexicon_valerijs.xml", "Lexicon_onomastica.xml")));
+		analyzer.setCacheSize(0);
+		Word future = analyzer.analyze("nesīšu"); // 1st conjugation future, stem change 6
+		assertLemma(future, "nest");
+		assertLemma(analyzer.analyze("Nesīšu"), "nest");
+		assertLemma(analyzer.analyze("pūzdams"), "pūst"); // stem change 15
+		assertFalse(analyzer.analyze("nesišu").isRecognized());
+
+		Lexeme nest = future.wordforms.get(0).lexeme;
+		Paradigm paradigm = nest.getParadigm();
+		paradigm.removeLexeme(nest);
+		assertFalse(analyzer.analyze("nesīšu").isRecognized());
+		assertLemma(analyzer.analyze("vedīšu"), "vest");
+
+		paradigm.addLexeme(nest);
+		assertLemma(analyzer.analyze("nesīšu"), "nest");
+	}
+
+	private static void assertLemma(Word word, String lemma) {
+		assertTrue(word.getToken(), word.isRecognized());
+		for (Wordform wf : word.wordforms)
+			assertEquals(lemma, wf.getValue(AttributeNames.i_Lemma));
+	}
+}
@@ -0,0 +1,112 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.analyzer.TokenShape;
+import lv.semti.morphology.analyzer.Word;
+import lv.semti.morphology.attributes.AttributeNames;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class TokenShapeTest {
+	// the patterns that the analyzer used before
+	private static final Pattern p_firstcap = Pattern.compile("\\p{Lu}.*");
+	private static final Pattern p_allcaps = Pattern.compile("(\\p{Lu})*");
+	private static final Pattern p_number = Pattern.compile("[\\d., ]*[\\d+⁰¹²³⁴⁵⁶⁷⁸⁹₀₁₂₃₄₅₆₇₈₉]([.,][-‐‑‒–—―])?");
+	private static final Pattern p_ordinal = Pattern.compile("\\d+\\.");
+	private static final Pattern p_fractional = Pattern.compile("\\d+[\\\\/]\\d+");
+	private static final Pattern p_abbrev = Pattern.compile("\\w+\\.");
+	private static final Pattern p_abbrev_caps = Pattern.compile("\\p{Lu}+\\.");
+	private static final Pattern p_acronym = Pattern.compile("(\\p{Lu}){2,5}");
+	private static final Pattern p_doublesurname = Pattern.compile("\\p{Lu}.+-\\p{Lu}.+");
+	private static final Pattern p_letter = Pattern.compile("(\\p{L})");
+	private static final Pattern p_url = Pattern.compile("((ht|f)tps?://)?[.\\w-]+\\.(lv|com|org|gov)(/[\\w\\d-@:?=&%.]*)?");
+
+	private static final String ALPHABET = "09., /\\+¹₂-–aZĀļ:_\n";
+
+	/**
+	 * The shape has the same features as the patterns find, for all tokens of up to four characters of ALPHABET, and
+	 * for addresses
+	 */
+	@Test
+	public void sameAsPatterns() {
+		List<String> tokens = new ArrayList<>();
+		tokens.add("");
+		for (int length = 1; length <= 4; length++) {
+			int[] digits = new int[length];
+			while (true) {
+				StringBuilder token = new StringBuilder();
+				for (int digit : digits) token.append(ALPHABET.charAt(digit));
+				tokens.add(token.toString());
+				int i = length - 1;
+				while (i >= 0 && digits[i] == ALPHABET.length() - 1) digits[i--] = 0;
+				if (i < 0) break;
+				digits[i]++;
+			}
+		}
+		tokens.addAll(Arrays.asList("1 000 000", "12,5", "3.-", "3,–", "x²", "H₂O", "ĀBOLS", "Ābols", "𝐀𝐁", "A𝐁.", "ǅ",
+				"LVL.", "plkst.", "utt.", "ā.", "nr.", "ASV", "ABCDEF", "Ā\nB", "Bērziņa-Kalniņa", "Za-Za", "Z--Za", "Za-Z",
+				"Za-𝐀a", "𝐀-Za", "ZA-ZA", "Za-za-Za", "Za-Z\na"));
+		for (String scheme : new String[]{"", "http://", "https://", "ftp://", "ftps://", "htp://", "http:/"})
+			for (String host : new String[]{"delfi.lv", "www.lsm.lv", "lu-mii.org", "a_b.gov", "x.com", ".lv", "delfi.ee",
+					"dēlfi.lv", "lv", "a.lv.lv"})
+				for (String path : new String[]{"", "/", "/a?b=c&d=%20", "/raksts/1", "/@x:y.", "/ā"})
+					tokens.add(scheme + host + path);
+
+		for (String token : tokens) {
+			String word = token.toLowerCase().trim();
+			TokenShape shape = new TokenShape(token, word);
+			assertEquals(token, p_firstcap.matcher(token).matches(), shape.firstUpper);
+			assertEquals(token, p_allcaps.matcher(token).matches(), shape.allUpper);
+			assertEquals(token, p_abbrev_caps.matcher(token).matches(), shape.abbreviationCaps);
+			assertEquals(token, p_acronym.matcher(token).matches(), shape.acronym);
+			assertEquals(token, p_doublesurname.matcher(token).matches(), shape.doubleSurname);
+			assertEquals(token, p_number.matcher(word).matches(), shape.number);
+			assertEquals(token, p_fractional.matcher(word).matches(), shape.fractional);
+			assertEquals(token, p_ordinal.matcher(word).matches(), shape.ordinal);
+			assertEquals(token, p_abbrev.matcher(word).matches(), shape.abbreviation);
+			assertEquals(token, p_letter.matcher(word).matches(), shape.letter);
+			assertEquals(token, p_url.matcher(word).matches(), shape.url);
+		}
+	}
+
+	/**
+	 * Numbers and addresses, which are not looked up in the lexicon, are still recognized as before
+	 */
+	@Test
+	public void residuals() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		assertResidual(analyzer.analyze("1 000"), AttributeNames.v_Number);
+		assertResidual(analyzer.analyze("1/2"), AttributeNames.v_Number);
+		assertResidual(analyzer.analyze("12."), AttributeNames.v_Ordinal);
+		assertResidual(analyzer.analyze("http://www.lsm.lv/raksts"), AttributeNames.v_URI);
+		assertTrue(analyzer.analyze("bruoleits").isRecognized());
+	}
+
+	private static void assertResidual(Word word, String type) {
+		assertEquals(word.getToken(), 1, word.wordforms.size());
+		assertEquals(word.getToken(), type, word.wordforms.get(0).getValue(AttributeNames.i_ResidualType));
+	}
+}
@@ -0,0 +1,157 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Analyzer;
+import lv.semti.morphology.analyzer.Splitting;
+import lv.semti.morphology.analyzer.TokenSpan;
+import lv.semti.morphology.analyzer.Word;
+import lv.semti.morphology.attributes.AttributeNames;
+import org.junit.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TokenStreamTest {
+	private static final String[] TEXTS = {"", " ", "Bruoleits guli.", "Jis saceja ''lobi'' i aizguoja. Tod ", "A.  ",
+			"vysā 12. ", "1.  ", "\"Nu!\" Jis guli. (Tai.) Tod?", "akmiņs\u00ADakmiņs 'guli' ''", "x.y.z.",
+			"𝐀.", "abc. ", "http://www.lsm.lv/raksts. Tod"};
+
+	/**
+	 * Read in small parts, the text gives the same tokens, offsets, whitespace and sentences as a whole string
+	 */
+	@Test
+	public void sameAsString() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		for (String text : TEXTS) {
+			List<String> tokens = describe(Splitting.tokenize(analyzer, text));
+			List<String> streamed = new ArrayList<>();
+			Iterator<Word> stream = Splitting.tokenStream(analyzer, new SmallReads(text));
+			while (stream.hasNext()) streamed.add(WordDescription.describe(stream.next()));
+			assertEquals(text, tokens, streamed);
+
+			List<String> sequence = new ArrayList<>();
+			Splitting.tokenStream(analyzer, new StringBuilder(text)).forEachRemaining(word -> sequence.add(WordDescription.describe(word)));
+			assertEquals(text, tokens, sequence);
+
+			List<List<String>> sentences = new ArrayList<>();
+			for (LinkedList<Word> sentence : Splitting.tokenizeSentences(analyzer, text)) sentences.add(describe(sentence));
+			List<List<String>> streamedSentences = new ArrayList<>();
+			Splitting.sentenceStream(analyzer, new SmallReads(text)).forEachRemaining(sentence -> streamedSentences.add(describe(sentence)));
+			assertEquals(text, sentences, streamedSentences);
+		}
+	}
+
+	/**
+	 * The offsets are in the text as given, without the zero-width spaces that the tokenizer puts in
+	 */
+	@Test
+	public void offsets() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		analyzer.enableGuessing = true;
+		String text = "Jis saceja ''lobi'' i aizguoja ''. Tod guli.";
+		Iterator<Word> stream = Splitting.tokenStream(analyzer, new StringReader(text));
+		int tokens = 0;
+		while (stream.hasNext()) {
+			Word word = stream.next();
+			tokens++;
+			if (word.wordforms.isEmpty()) continue; // the offset is kept in the wordforms
+			int offset = Integer.parseInt(word.wordforms.get(0).getValue(AttributeNames.i_Offset));
+			assertTrue(word.getToken() + " " + offset, text.startsWith(word.getToken(), offset));
+		}
+		assertTrue(tokens > 10);
+	}
+
+	/**
+	 * The spans are those of the tokens in the text as given, with the whitespace between them
+	 */
+	@Test
+	public void spans() throws Exception {
+		Analyzer analyzer = new Analyzer("Latgalian.xml", false);
+		for (String text : TEXTS) {
+			List<String> tokens = new ArrayList<>();
+			for (Word word : Splitting.tokenize(analyzer, text)) tokens.add(word.getToken());
+			List<String> spans = new ArrayList<>();
+			int lastEnd = 0;
+			Iterator<TokenSpan> stream = Splitting.tokenSpans(analyzer, text);
+			while (stream.hasNext()) {
+				TokenSpan span = stream.next();
+				assertTrue(text + " " + span, lastEnd <= span.whitespaceStart && span.whitespaceStart <= span.start
+						&& span.start < span.end && span.end <= text.length());
+				spans.add(span.token(text).trim());
+				lastEnd = span.end;
+			}
+			assertEquals(text, tokens, spans);
+
+			List<TokenSpan> read = new ArrayList<>();
+			Splitting.tokenSpans(analyzer, new SmallReads(text)).forEachRemaining(read::add);
+			assertEquals(text, spans.size(), read.size());
+		}
+
+		String text = "Jis\u200B saceja ''lobi''.";
+		Iterator<TokenSpan> stream = Splitting.tokenSpans(analyzer, text);
+		TokenSpan first = stream.next();
+		TokenSpan second = stream.next();
+		assertEquals("Jis", first.token(text));
+		assertEquals(" ", second.whitespaceBefore(text));
+		assertEquals("saceja", second.token(text));
+		boolean found = false;
+		while (stream.hasNext()) {
+			TokenSpan span = stream.next();
+			if (span.token(text).equals("lobi")) found = span.start == text.indexOf("lobi");
+		}
+		assertTrue(found); // at its place in the text, after the apostrophes
+	}
+
+	private static List<String> describe(List<Word> words) {
+		List<String> result = new ArrayList<>();
+		for (Word word : words) result.add(WordDescription.describe(word));
+		return result;
+	}
+
+	/**
+	 * Gives out the text one or two characters at a time
+	 */
+	private static class SmallReads extends Reader {
+		private final String text;
+		private int position = 0;
+
+		SmallReads(String text) {
+			this.text = text;
+		}
+
+		@Override
+		public int read(char[] buffer, int offset, int length) {
+			if (position >= text.length()) return -1;
+			int count = Math.min(Math.min(length, 1 + position % 2), text.length() - position);
+			text.getChars(position, position + count, buffer, offset);
+			position += count;
+			return count;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
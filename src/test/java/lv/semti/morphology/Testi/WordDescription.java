@@ -0,0 +1,42 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Word;
+import lv.semti.morphology.analyzer.Wordform;
+
+import java.util.Map;
+
+/**
+ * Text of an analysis with all its wordforms and attributes, in their order, for comparing two analyses in tests
+ */
+final class WordDescription {
+	private WordDescription() {
+	}
+
+	static String describe(Word word) {
+		StringBuilder result = new StringBuilder(word.getToken()).append('\n');
+		for (Wordform wordform : word.wordforms) {
+			result.append(wordform.getToken());
+			for (Map.Entry<String, String> attribute : wordform.entrySet())
+				result.append(' ').append(attribute.getKey()).append('=').append(attribute.getValue());
+			result.append('\n');
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,94 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.Testi;
+
+import lv.semti.morphology.analyzer.Word;
+import lv.semti.morphology.analyzer.Wordform;
+import lv.semti.morphology.attributes.AttributeNames;
+import lv.semti.morphology.attributes.AttributeValues;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class WordTest {
+	private static Word galds() {
+		Word word = new Word("galds");
+		for (String number : new String[]{AttributeNames.v_Singular, AttributeNames.v_Plural}) {
+			Wordform wordform = new Wordform("galds");
+			wordform.addAttribute(AttributeNames.i_PartOfSpeech, AttributeNames.v_Noun);
+			wordform.addAttribute(AttributeNames.i_Number, number);
+			word.addWordform(wordform);
+		}
+		return word;
+	}
+
+	private static void assertFails(Runnable edit) {
+		try {
+			edit.run();
+			fail("a frozen word was edited");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void frozenWordCantBeEdited() {
+		final Word word = galds();
+		word.freeze();
+		assertTrue(word.isFrozen());
+		final AttributeValues plural = new AttributeValues();
+		plural.addAttribute(AttributeNames.i_Number, AttributeNames.v_Plural);
+
+		assertFails(() -> word.filterByAttributes(plural));
+		assertFails(() -> word.setCorrectWordform(word.wordforms.get(0)));
+		assertFails(() -> word.addAttribute(AttributeNames.i_Case, AttributeNames.v_Nominative));
+		assertFails(() -> word.addWordform(new Wordform("galds")));
+		assertFails(() -> word.wordforms.remove(0));
+		assertFails(() -> {
+			Iterator<Wordform> i = word.wordforms.iterator();
+			i.next();
+			i.remove();
+		});
+		assertFails(() -> word.wordforms.get(0).addAttribute(AttributeNames.i_Case, AttributeNames.v_Nominative));
+		assertFails(() -> word.wordforms.get(0).removeAttribute(AttributeNames.i_Number));
+		assertFails(() -> word.wordforms.get(0).entrySet().clear());
+		assertEquals(2, word.wordformsCount());
+		assertEquals(3, word.wordforms.get(1).size()); // with the Word attribute set by addWordform
+	}
+
+	@Test
+	public void mutableCopy() {
+		Word word = galds();
+		word.freeze();
+		AttributeValues plural = new AttributeValues();
+		plural.addAttribute(AttributeNames.i_Number, AttributeNames.v_Plural);
+
+		Word copy = word.mutableCopy();
+		assertFalse(copy.isFrozen());
+		copy.filterByAttributes(plural);
+		copy.setCorrectWordform(copy.wordforms.get(0));
+		copy.wordforms.get(0).addAttribute(AttributeNames.i_Case, AttributeNames.v_Nominative);
+
+		assertEquals(1, copy.wordformsCount());
+		assertEquals(2, word.wordformsCount());
+		assertNull(word.wordforms.get(1).getValue(AttributeNames.i_Case));
+		assertEquals(AttributeNames.v_Nominative, copy.getCorrectWordform().getValue(AttributeNames.i_Case));
+	}
+}
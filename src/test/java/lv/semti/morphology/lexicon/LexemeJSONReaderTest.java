@@ -0,0 +1,144 @@
+/******************************************************************************
+ Copyright 2026 Institute of Mathematics and Computer Science, University of Latvia
+ Author: Pēteris Paikens
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package lv.semti.morphology.lexicon;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * The streaming reader must read the same fields as json-simple does - in the package of the reader, as the records
+ * are not public
+ */
+public class LexemeJSONReaderTest {
+	/**
+	 * Each line of the Latgalian lexicon, read by the reader and through json-simple
+	 */
+	@Test
+	public void sameAsJsonSimple() throws Exception {
+		JSONParser parser = new JSONParser();
+		int lines = 0;
+		try (BufferedReader input = new BufferedReader(new InputStreamReader(
+				getClass().getClassLoader().getResourceAsStream("tezaurs_latgalian.json"), StandardCharsets.UTF_8));
+			 LexemeJSONReader reader = new LexemeJSONReader(null, new InputStreamReader(
+				getClass().getClassLoader().getResourceAsStream("tezaurs_latgalian.json"), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = input.readLine()) != null) {
+				if (line.trim().isEmpty()) continue;
+				LexemeJSONReader.Record record = reader.nextRecord();
+				assertNotNull(line, record);
+				assertEquals(line, describe(LexemeJSONReader.Record.fromJSON((JSONObject) parser.parse(line))), describe(record));
+				lines++;
+			}
+			assertNull(reader.nextRecord());
+		}
+		assertTrue(lines > 6000);
+	}
+
+	/**
+	 * Escapes, unknown fields with nested values, nulls and attribute values that are not strings
+	 */
+	@Test
+	public void edgeCases() throws Exception {
+		String[] lines = {
+				"{\"lexeme_id\": 1, \"lemma\": \"a\\\"b\\\\c\\/d\\n\\t\", \"stem1\": \"\\u0161\\u0146\\u00e2\", \"human_id\": \"\\ud83d\\ude00:1\"}",
+				"{\"lexeme_id\": 2, \"extra\": {\"a\": \"}\", \"b\": [\"]\", {\"c\": \"\\\"}\"}], \"d\": {}}, \"lemma\": \"x\", \"more\": [1, {\"}\": 2}]}",
+				"{\"lexeme_id\": null, \"entry_id\": null, \"paradigm\": null, \"paradigm_name\": null, \"lemma\": null, \"stem1\": null, \"attributes\": null}",
+				"{\"lexeme_id\": 3, \"attributes\": {\"Skaitlis\": null, \"Dzimte\": \"Vīriešu\"}}",
+				"{\"lexeme_id\": 4, \"paradigm\": 7, \"entry_id\": -5, \"attributes\": {\"n\": 12, \"f\": 1.50, \"b\": true, \"l\": [1, \"a\"], \"o\": {\"k\": \"v\"}}}",
+				"  { }  ",
+		};
+		JSONParser parser = new JSONParser();
+		LexemeJSONReader reader = new LexemeJSONReader(null, new StringReader(String.join("\n", lines)));
+		for (String line : lines)
+			assertEquals(line, describe(LexemeJSONReader.Record.fromJSON((JSONObject) parser.parse(line))), describe(reader.nextRecord()));
+		assertNull(reader.nextRecord());
+
+		reader = new LexemeJSONReader(null, new StringReader(lines[0]));
+		LexemeJSONReader.Record record = reader.nextRecord();
+		assertEquals("a\"b\\c/d\n\t", record.lemma);
+		assertEquals("šņâ", record.stem1);
+		assertEquals("😀:1", record.humanID);
+	}
+
+	/**
+	 * Lines that end with CRLF, and empty lines, give the same records as with LF
+	 */
+	@Test
+	public void crlf() throws Exception {
+		String lf = "{\"lexeme_id\": 1, \"lemma\": \"a\"}\n\n{\"lexeme_id\": 2, \"attributes\": {\"x\": \"y\"}}\n";
+		LexemeJSONReader reader = new LexemeJSONReader(null, new StringReader(lf));
+		String first = describe(reader.nextRecord());
+		String second = describe(reader.nextRecord());
+		assertNull(reader.nextRecord());
+
+		reader = new LexemeJSONReader(null, new StringReader(lf.replace("\n", "\r\n")));
+		assertEquals(first, describe(reader.nextRecord()));
+		assertEquals(second, describe(reader.nextRecord()));
+		assertNull(reader.nextRecord());
+
+		reader = new LexemeJSONReader(null, new StringReader("{\"lexeme_id\": 1, \"lemma\": \"a\"}\r"));
+		assertEquals(first, describe(reader.nextRecord()));
+	}
+
+	/**
+	 * A malformed line fails with its line number
+	 */
+	@Test
+	public void malformed() throws Exception {
+		String[] malformed = {
+				"{\"lexeme_id\": 2, \"lemma\": \"b\"",
+				"{\"lexeme_id\": 2, \"lemma\": \"b}",
+				"{\"lexeme_id\": 2 \"lemma\": \"b\"}",
+				"{\"lexeme_id\": \"2\"}",
+				"{\"lexeme_id\": 2, \"attributes\": {\"a\": tru}}",
+				"{\"lexeme_id\": 2} x",
+				"[\"lexeme_id\", 2]",
+		};
+		for (String line : malformed) {
+			LexemeJSONReader reader = new LexemeJSONReader(null, new StringReader(
+					"{\"lexeme_id\": 1}\r\n\r\n" + line + "\r\n{\"lexeme_id\": 3}"));
+			assertNotNull(reader.nextRecord());
+			try {
+				reader.nextRecord();
+				fail(line);
+			} catch (IOException e) {
+				assertTrue(e.getMessage(), e.getMessage().contains("line 3,"));
+			}
+		}
+	}
+
+	private static String describe(LexemeJSONReader.Record record) {
+		Map<String, String> attributes = new TreeMap<>(); // json-simple doesn't keep their order
+		for (int i = 0; i < record.attributes.size(); i += 2)
+			attributes.put(record.attributes.get(i), record.attributes.get(i + 1));
+		return (record.hasLexemeID ? record.lexemeID : null) + " " + (record.hasParadigmID ? record.paradigmID : null)
+				+ " " + record.paradigmName + " " + record.entryID + " " + record.humanID + " " + record.lemma
+				+ " " + record.stem1 + " " + record.stem2 + " " + record.stem3 + " " + attributes;
+	}
+}
@@ -113,7 +113,7 @@ public class MorphDemo {
 				// TODO: In the case of nouns, the attribute NounType should be taken into account as well.
 				String ending = morph.paradigmByID(group_id).getLemmaEnding().getEnding();
 				String stem = lemma.toLowerCase().substring(0, lemma.length() - ending.length());
-				ArrayList<Lexeme> duplicates = morph.paradigmByID(group_id).getLexemesByStem(StemType.STEM1).get(stem);
+				List<Lexeme> duplicates = morph.paradigmByID(group_id).getLexemesByStem(StemType.STEM1).get(stem);
 
 				if (duplicates == null || duplicates.isEmpty()) {
 					Lexeme new_lexeme = morph.createLexeme(